@@ -1,5 +1,8 @@
 package com.ebarbe.config;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +13,439 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Cache cache = new Cache();
+
+    private final Export export = new Export();
+
+    private final Search search = new Search();
+
+    private final Bulk bulk = new Bulk();
+
+    private final Datasource datasource = new Datasource();
+
     // jhipster-needle-application-properties-property
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public Datasource getDatasource() {
+        return datasource;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    /**
+     * Per-region overrides of the second-level cache settings.
+     * <p>
+     * Regions are keyed by the kebab-cased simple name of the cached entity (e.g. {@code event-type}),
+     * any region not listed here falls back to {@code jhipster.cache.caffeine}.
+     */
+    public static class Cache {
+
+        private final Map<String, Region> regions = new HashMap<>();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public static class Region {
+
+            private Integer timeToLiveSeconds;
+
+            private Long maxEntries;
+
+            public Integer getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Integer timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+        }
+    }
+
+    /**
+     * Settings of the streamed {@code _export} endpoints.
+     */
+    public static class Export {
+
+        /**
+         * Number of rows fetched per round trip, the persistence context is also cleared after each batch.
+         */
+        private int fetchSize = 500;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    /**
+     * Settings of the Elasticsearch indexing.
+     */
+    public static class Search {
+
+        private final Outbox outbox = new Outbox();
+
+        private final Reindex reindex = new Reindex();
+
+        private final Cursor cursor = new Cursor();
+
+        private final Query query = new Query();
+
+        private final Global global = new Global();
+
+        public Outbox getOutbox() {
+            return outbox;
+        }
+
+        public Reindex getReindex() {
+            return reindex;
+        }
+
+        public Cursor getCursor() {
+            return cursor;
+        }
+
+        public Query getQuery() {
+            return query;
+        }
+
+        public Global getGlobal() {
+            return global;
+        }
+
+        /**
+         * Settings of the index outbox, see {@code IndexOutboxService}.
+         */
+        public static class Outbox {
+
+            /**
+             * Maximum number of outbox entries sent to Elasticsearch in a single transaction.
+             */
+            private int batchSize = 500;
+
+            /**
+             * Delay in milliseconds between the end of a drain of the outbox and the start of the next one.
+             */
+            private long pollDelay = 1000;
+
+            /**
+             * How long an entity type stays paused without its pause being renewed, after which an instance which died while
+             * rebuilding its index no longer holds its changes.
+             */
+            private Duration pauseLease = Duration.ofMinutes(5);
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+
+            public long getPollDelay() {
+                return pollDelay;
+            }
+
+            public void setPollDelay(long pollDelay) {
+                this.pollDelay = pollDelay;
+            }
+
+            public Duration getPauseLease() {
+                return pauseLease;
+            }
+
+            public void setPauseLease(Duration pauseLease) {
+                this.pauseLease = pauseLease;
+            }
+        }
+
+        /**
+         * Settings of the rebuild of the search indices, see {@code SearchReindexService}.
+         */
+        public static class Reindex {
+
+            /**
+             * Number of chunks read and indexed in parallel.
+             */
+            private int threads = 4;
+
+            /**
+             * Width of the range of ids read and indexed as a single chunk.
+             */
+            private int chunkSize = 1000;
+
+            public int getThreads() {
+                return threads;
+            }
+
+            public void setThreads(int threads) {
+                this.threads = threads;
+            }
+
+            public int getChunkSize() {
+                return chunkSize;
+            }
+
+            public void setChunkSize(int chunkSize) {
+                this.chunkSize = chunkSize;
+            }
+        }
+
+        /**
+         * Settings of the cursor pagination of the {@code _search} endpoints, see {@code PointInTimeSearch}.
+         */
+        public static class Cursor {
+
+            /**
+             * How long the point in time of a search is kept between two slices.
+             */
+            private Duration keepAlive = Duration.ofMinutes(1);
+
+            public Duration getKeepAlive() {
+                return keepAlive;
+            }
+
+            public void setKeepAlive(Duration keepAlive) {
+                this.keepAlive = keepAlive;
+            }
+        }
+
+        /**
+         * Bounds of the searches of the {@code _search} endpoints, see {@code BoundedSearch}.
+         */
+        public static class Query {
+
+            /**
+             * Time after which Elasticsearch returns the hits collected so far.
+             */
+            private Duration timeout = Duration.ofSeconds(2);
+
+            /**
+             * Maximum number of terms a fuzzy term of a query is expanded to.
+             */
+            private int maxExpansions = 50;
+
+            /**
+             * Number of hits after which Elasticsearch stops counting the hits of a page, the total sent is then this number.
+             */
+            private int maxCountedHits = 10000;
+
+            /**
+             * Number of buckets at most of a terms facet, the most frequent values.
+             */
+            private int maxFacetBuckets = 50;
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+
+            public int getMaxExpansions() {
+                return maxExpansions;
+            }
+
+            public void setMaxExpansions(int maxExpansions) {
+                this.maxExpansions = maxExpansions;
+            }
+
+            public int getMaxCountedHits() {
+                return maxCountedHits;
+            }
+
+            public void setMaxCountedHits(int maxCountedHits) {
+                this.maxCountedHits = maxCountedHits;
+            }
+
+            public int getMaxFacetBuckets() {
+                return maxFacetBuckets;
+            }
+
+            public void setMaxFacetBuckets(int maxFacetBuckets) {
+                this.maxFacetBuckets = maxFacetBuckets;
+            }
+        }
+
+        /**
+         * Settings of the search of all the entities at once, {@code GET /api/_search}, see {@code GlobalSearchService}.
+         */
+        public static class Global {
+
+            /**
+             * Number of hits at most returned for each type of entity.
+             */
+            private int topHits = 5;
+
+            /**
+             * Time after which Elasticsearch returns the hits of a type of entity collected so far.
+             */
+            private Duration timeout = Duration.ofMillis(500);
+
+            /**
+             * Settings overridden for some types of entity, by type, e.g. {@code mainTask}.
+             */
+            private Map<String, Type> types = new HashMap<>();
+
+            public int getTopHits() {
+                return topHits;
+            }
+
+            public void setTopHits(int topHits) {
+                this.topHits = topHits;
+            }
+
+            public Duration getTimeout() {
+                return timeout;
+            }
+
+            public void setTimeout(Duration timeout) {
+                this.timeout = timeout;
+            }
+
+            public Map<String, Type> getTypes() {
+                return types;
+            }
+
+            public void setTypes(Map<String, Type> types) {
+                this.types = types;
+            }
+
+            /**
+             * Settings of a type of entity, the global ones being used for those not set.
+             */
+            public static class Type {
+
+                private Integer topHits;
+
+                private Duration timeout;
+
+                public Integer getTopHits() {
+                    return topHits;
+                }
+
+                public void setTopHits(Integer topHits) {
+                    this.topHits = topHits;
+                }
+
+                public Duration getTimeout() {
+                    return timeout;
+                }
+
+                public void setTimeout(Duration timeout) {
+                    this.timeout = timeout;
+                }
+            }
+        }
+    }
+
+    /**
+     * Settings of the {@code _bulk} endpoints.
+     */
+    public static class Bulk {
+
+        /**
+         * Maximum number of items of a single bulk request, all of them being written in one transaction.
+         */
+        private int maxSize = 5000;
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    /**
+     * Settings of the database, on top of {@code spring.datasource}.
+     */
+    public static class Datasource {
+
+        private final Replica replica = new Replica();
+
+        public Replica getReplica() {
+            return replica;
+        }
+
+        /**
+         * Settings of the read replica, see {@code ReadReplicaConfiguration}. The read-only transactions are routed to it
+         * once its url is set, its pool has the settings of {@code spring.datasource.hikari}.
+         */
+        public static class Replica {
+
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            /**
+             * Time during which the reads of a user still go to the primary after one of their writes, the replica lagging behind.
+             */
+            private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Duration getReadYourWritesWindow() {
+                return readYourWritesWindow;
+            }
+
+            public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+                this.readYourWritesWindow = readYourWritesWindow;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -0,0 +1,102 @@
+package com.ebarbe.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.context.annotation.*;
+import tech.jhipster.config.JHipsterProperties;
+import tech.jhipster.config.cache.PrefixedKeyGenerator;
+
+/**
+ * Hibernate second-level cache backed by Caffeine through JCache.
+ * <p>
+ * Every region is created with statistics enabled, so that Spring Boot binds it to Micrometer
+ * ({@code cache.gets}, {@code cache.puts}, {@code cache.evictions}, ...).
+ * Entity writes going through the {@code EntityManager} update or evict the cached entries themselves.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private GitProperties gitProperties;
+    private BuildProperties buildProperties;
+
+    private final JHipsterProperties.Cache.Caffeine defaults;
+
+    private final ApplicationProperties.Cache cacheProperties;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.defaults = jHipsterProperties.getCache().getCaffeine();
+        this.cacheProperties = applicationProperties.getCache();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    @Bean
+    public JCacheManagerCustomizer cacheManagerCustomizer() {
+        return cm -> {
+            createCache(cm, com.ebarbe.domain.Authority.class);
+            createCache(cm, com.ebarbe.domain.Status.class);
+            createCache(cm, com.ebarbe.domain.Category.class);
+            createCache(cm, com.ebarbe.domain.Hierarchy.class);
+            createCache(cm, com.ebarbe.domain.EventType.class);
+            // jhipster-needle-caffeine-add-entry
+        };
+    }
+
+    private void createCache(javax.cache.CacheManager cm, Class<?> entityClass) {
+        String cacheName = entityClass.getName();
+        javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        } else {
+            String region = entityClass.getSimpleName().replaceAll("([a-z])([A-Z])", "$1-$2").toLowerCase(Locale.ROOT);
+            cm.createCache(cacheName, regionConfiguration(region));
+        }
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> regionConfiguration(String region) {
+        ApplicationProperties.Cache.Region overrides = cacheProperties.getRegions().get(region);
+        long maxEntries = defaults.getMaxEntries();
+        long timeToLiveSeconds = defaults.getTimeToLiveSeconds();
+        if (overrides != null && overrides.getMaxEntries() != null) {
+            maxEntries = overrides.getMaxEntries();
+        }
+        if (overrides != null && overrides.getTimeToLiveSeconds() != null) {
+            timeToLiveSeconds = overrides.getTimeToLiveSeconds();
+        }
+
+        CaffeineConfiguration<Object, Object> caffeineConfiguration = new CaffeineConfiguration<>();
+        caffeineConfiguration.setMaximumSize(OptionalLong.of(maxEntries));
+        caffeineConfiguration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(timeToLiveSeconds)));
+        caffeineConfiguration.setStatisticsEnabled(true);
+        return caffeineConfiguration;
+    }
+
+    @Autowired(required = false)
+    public void setGitProperties(GitProperties gitProperties) {
+        this.gitProperties = gitProperties;
+    }
+
+    @Autowired(required = false)
+    public void setBuildProperties(BuildProperties buildProperties) {
+        this.buildProperties = buildProperties;
+    }
+
+    @Bean
+    public KeyGenerator keyGenerator() {
+        return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ebarbe.config;
 
+import com.ebarbe.repository.SlicingJpaRepository;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.elasticsearch.repository.config.EnableElasticsearchRepositories;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
@@ -7,7 +8,7 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 @Configuration
-@EnableJpaRepositories({ "com.ebarbe.repository" })
+@EnableJpaRepositories(basePackages = { "com.ebarbe.repository" }, repositoryBaseClass = SlicingJpaRepository.class)
 @EnableJpaAuditing(auditorAwareRef = "springSecurityAuditorAware")
 @EnableTransactionManagement
 @EnableElasticsearchRepositories("com.ebarbe.repository.search")
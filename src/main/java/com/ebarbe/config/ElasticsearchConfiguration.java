@@ -1,5 +1,6 @@
 package com.ebarbe.config;
 
+import com.ebarbe.domain.RelEventPersonId;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -26,7 +27,9 @@ public class ElasticsearchConfiguration extends ElasticsearchConfigurationSuppor
                 new InstantWritingConverter(),
                 new InstantReadingConverter(),
                 new LocalDateWritingConverter(),
-                new LocalDateReadingConverter()
+                new LocalDateReadingConverter(),
+                new RelEventPersonIdWritingConverter(),
+                new RelEventPersonIdReadingConverter()
             )
         );
     }
@@ -102,4 +105,32 @@ public class ElasticsearchConfiguration extends ElasticsearchConfigurationSuppor
             return LocalDate.parse(source);
         }
     }
+
+    /**
+     * Writes the composite key of a relEventPerson as {@code eventId-personId}, which is also the id of its document.
+     */
+    @WritingConverter
+    static class RelEventPersonIdWritingConverter implements Converter<RelEventPersonId, String> {
+
+        @Override
+        public String convert(RelEventPersonId source) {
+            if (source == null) {
+                return null;
+            }
+            return source.getEventId() + "-" + source.getPersonId();
+        }
+    }
+
+    @ReadingConverter
+    static class RelEventPersonIdReadingConverter implements Converter<String, RelEventPersonId> {
+
+        @Override
+        public RelEventPersonId convert(String source) {
+            if (source == null) {
+                return null;
+            }
+            int separator = source.indexOf('-');
+            return new RelEventPersonId(Long.valueOf(source.substring(0, separator)), Long.valueOf(source.substring(separator + 1)));
+        }
+    }
 }
@@ -0,0 +1,101 @@
+package com.ebarbe.config;
+
+import com.ebarbe.domain.Category;
+import com.ebarbe.domain.Event;
+import com.ebarbe.domain.EventType;
+import com.ebarbe.domain.Hierarchy;
+import com.ebarbe.domain.Person;
+import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.domain.Status;
+import com.ebarbe.domain.SubTask;
+import com.ebarbe.domain.search.MainTaskDocument;
+import com.ebarbe.repository.search.CategorySearchRepository;
+import com.ebarbe.repository.search.EventSearchRepository;
+import com.ebarbe.repository.search.EventTypeSearchRepository;
+import com.ebarbe.repository.search.HierarchySearchRepository;
+import com.ebarbe.repository.search.MainTaskSearchRepository;
+import com.ebarbe.repository.search.PersonSearchRepository;
+import com.ebarbe.repository.search.RelEventPersonSearchRepository;
+import com.ebarbe.repository.search.StatusSearchRepository;
+import com.ebarbe.repository.search.SubTaskSearchRepository;
+import com.ebarbe.service.GlobalSearchTarget;
+import com.ebarbe.service.mapper.CategoryMapper;
+import com.ebarbe.service.mapper.EventMapper;
+import com.ebarbe.service.mapper.EventTypeMapper;
+import com.ebarbe.service.mapper.HierarchyMapper;
+import com.ebarbe.service.mapper.MainTaskDocumentMapper;
+import com.ebarbe.service.mapper.PersonMapper;
+import com.ebarbe.service.mapper.RelEventPersonMapper;
+import com.ebarbe.service.mapper.StatusMapper;
+import com.ebarbe.service.mapper.SubTaskMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+
+/**
+ * The types of entity searched by {@code GET /api/_search}, in the order of their totals. The users are left out, they are
+ * searched by the admins only.
+ */
+@Configuration
+public class GlobalSearchConfiguration {
+
+    @Bean
+    @Order(1)
+    public GlobalSearchTarget<MainTaskDocument> mainTaskGlobalSearchTarget(
+        MainTaskSearchRepository repository,
+        MainTaskDocumentMapper mapper
+    ) {
+        return GlobalSearchTarget.of("mainTask", MainTaskDocument.class, repository::searchQuery, mapper::toDto);
+    }
+
+    @Bean
+    @Order(2)
+    public GlobalSearchTarget<SubTask> subTaskGlobalSearchTarget(SubTaskSearchRepository repository, SubTaskMapper mapper) {
+        return GlobalSearchTarget.of("subTask", SubTask.class, repository::searchQuery, mapper::toDto);
+    }
+
+    @Bean
+    @Order(3)
+    public GlobalSearchTarget<Event> eventGlobalSearchTarget(EventSearchRepository repository, EventMapper mapper) {
+        return GlobalSearchTarget.of("event", Event.class, repository::searchQuery, mapper::toDto);
+    }
+
+    @Bean
+    @Order(4)
+    public GlobalSearchTarget<Person> personGlobalSearchTarget(PersonSearchRepository repository, PersonMapper mapper) {
+        return GlobalSearchTarget.of("person", Person.class, repository::searchQuery, mapper::toDto);
+    }
+
+    @Bean
+    @Order(5)
+    public GlobalSearchTarget<Category> categoryGlobalSearchTarget(CategorySearchRepository repository, CategoryMapper mapper) {
+        return GlobalSearchTarget.of("category", Category.class, repository::searchQuery, mapper::toDto);
+    }
+
+    @Bean
+    @Order(6)
+    public GlobalSearchTarget<Status> statusGlobalSearchTarget(StatusSearchRepository repository, StatusMapper mapper) {
+        return GlobalSearchTarget.of("status", Status.class, repository::searchQuery, mapper::toDto);
+    }
+
+    @Bean
+    @Order(7)
+    public GlobalSearchTarget<EventType> eventTypeGlobalSearchTarget(EventTypeSearchRepository repository, EventTypeMapper mapper) {
+        return GlobalSearchTarget.of("eventType", EventType.class, repository::searchQuery, mapper::toDto);
+    }
+
+    @Bean
+    @Order(8)
+    public GlobalSearchTarget<Hierarchy> hierarchyGlobalSearchTarget(HierarchySearchRepository repository, HierarchyMapper mapper) {
+        return GlobalSearchTarget.of("hierarchy", Hierarchy.class, repository::searchQuery, mapper::toDto);
+    }
+
+    @Bean
+    @Order(9)
+    public GlobalSearchTarget<RelEventPerson> relEventPersonGlobalSearchTarget(
+        RelEventPersonSearchRepository repository,
+        RelEventPersonMapper mapper
+    ) {
+        return GlobalSearchTarget.of("relEventPerson", RelEventPerson.class, repository::searchQuery, mapper::toDto);
+    }
+}
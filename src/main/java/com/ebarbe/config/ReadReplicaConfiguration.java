@@ -0,0 +1,76 @@
+package com.ebarbe.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Clock;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read replica of the database, enabled by {@code application.datasource.replica.url}.
+ * <p>
+ * The read-only transactions, those of the query services and of the find and search methods of the services, are served
+ * by the replica, all the others by the primary, see {@link ReadReplicaRoutingDataSource}.
+ * Each side has its own Hikari pool, named {@value #PRIMARY_POOL} and {@value #REPLICA_POOL},
+ * so that Spring Boot publishes distinct {@code hikaricp.*} metrics for them.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.datasource.replica", name = "url")
+public class ReadReplicaConfiguration {
+
+    public static final String PRIMARY_POOL = "primary";
+
+    public static final String REPLICA_POOL = "replica";
+
+    @Bean
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties, Environment environment) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(PRIMARY_POOL);
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(
+        @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        ApplicationProperties.Datasource.Replica replica = applicationProperties.getDatasource().getReplica();
+        HikariDataSource dataSource = new HikariDataSource();
+        primaryDataSource.copyStateTo(dataSource);
+        dataSource.setJdbcUrl(replica.getUrl());
+        if (replica.getUsername() != null) {
+            dataSource.setUsername(replica.getUsername());
+            dataSource.setPassword(replica.getPassword());
+        }
+        dataSource.setPoolName(REPLICA_POOL);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+        @Qualifier("replicaDataSource") HikariDataSource replicaDataSource,
+        ApplicationProperties applicationProperties
+    ) {
+        ReplicaLagGuard replicaLagGuard = new ReplicaLagGuard(
+            applicationProperties.getDatasource().getReplica().getReadYourWritesWindow(),
+            Clock.systemUTC()
+        );
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagGuard));
+        // No connection has to be opened to find out the default, it is the one of both pools
+        dataSource.setDefaultAutoCommit(primaryDataSource.isAutoCommit());
+        return dataSource;
+    }
+}
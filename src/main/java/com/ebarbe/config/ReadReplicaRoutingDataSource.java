@@ -0,0 +1,61 @@
+package com.ebarbe.config;
+
+import com.ebarbe.security.SecurityUtils;
+import java.util.Map;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes the connections of the read-only transactions to the replica, and all the others to the primary.
+ * <p>
+ * The route is chosen when the connection is first used, so this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction, and whether it is read-only,
+ * is only known by then. The reads of a user who just committed a read-write transaction stay on the primary
+ * for the window of the {@link ReplicaLagGuard}.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Route {
+        PRIMARY,
+        REPLICA,
+    }
+
+    private final ReplicaLagGuard replicaLagGuard;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard replicaLagGuard) {
+        this.replicaLagGuard = replicaLagGuard;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Route determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Route.PRIMARY;
+        }
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            login.ifPresent(this::recordWriteOnCommit);
+            return Route.PRIMARY;
+        }
+        return login.filter(replicaLagGuard::hasRecentWrite).isPresent() ? Route.PRIMARY : Route.REPLICA;
+    }
+
+    private void recordWriteOnCommit(String login) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        replicaLagGuard.recordWrite(login);
+                    }
+                }
+            );
+        }
+    }
+}
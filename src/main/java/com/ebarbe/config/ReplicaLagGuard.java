@@ -0,0 +1,59 @@
+package com.ebarbe.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the users who just wrote to the primary, so that their reads are not served by a replica
+ * which may not have received their write yet.
+ * <p>
+ * The writes are remembered by this instance only: behind a load balancer without sticky sessions, the window
+ * should cover the replication lag plus the time a user takes to hit another instance.
+ */
+public class ReplicaLagGuard {
+
+    private static final int PURGE_THRESHOLD = 10_000;
+
+    private final Duration window;
+
+    private final Clock clock;
+
+    private final Map<String, Instant> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaLagGuard(Duration window, Clock clock) {
+        this.window = window;
+        this.clock = clock;
+    }
+
+    /**
+     * Remember that the user has just written to the primary.
+     *
+     * @param login the login of the user.
+     */
+    public void recordWrite(String login) {
+        Instant now = clock.instant();
+        lastWrites.put(login, now.plus(window));
+        if (lastWrites.size() > PURGE_THRESHOLD) {
+            lastWrites.values().removeIf(end -> !end.isAfter(now));
+        }
+    }
+
+    /**
+     * @param login the login of the user.
+     * @return whether the user wrote to the primary less than the window ago.
+     */
+    public boolean hasRecentWrite(String login) {
+        Instant end = lastWrites.get(login);
+        if (end == null) {
+            return false;
+        }
+        if (end.isAfter(clock.instant())) {
+            return true;
+        }
+        lastWrites.remove(login, end);
+        return false;
+    }
+}
@@ -20,11 +20,15 @@ public class Event implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventSequenceGenerator")
+    @SequenceGenerator(name = "eventSequenceGenerator", sequenceName = "event_seq")
     @Column(name = "id")
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @NotNull
     @Size(min = 3, max = 50)
     @Column(name = "label", length = 50, nullable = false)
@@ -43,10 +47,18 @@ public class Event implements Serializable {
 
     @NotNull
     @Column(name = "date_start", nullable = false)
+    @org.springframework.data.elasticsearch.annotations.Field(
+        type = org.springframework.data.elasticsearch.annotations.FieldType.Date,
+        format = org.springframework.data.elasticsearch.annotations.DateFormat.date
+    )
     private LocalDate dateStart;
 
     @NotNull
     @Column(name = "date_end", nullable = false)
+    @org.springframework.data.elasticsearch.annotations.Field(
+        type = org.springframework.data.elasticsearch.annotations.FieldType.Date,
+        format = org.springframework.data.elasticsearch.annotations.DateFormat.date
+    )
     private LocalDate dateEnd;
 
     @NotNull
@@ -69,6 +81,7 @@ public class Event implements Serializable {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "event" }, allowSetters = true)
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Object)
     private EventType eventType;
 
     @ManyToMany(fetch = FetchType.LAZY)
@@ -100,6 +113,19 @@ public class Event implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Event version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getLabel() {
         return this.label;
     }
@@ -7,12 +7,15 @@ import java.io.Serializable;
 import java.time.Duration;
 import java.util.HashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A EventType.
  */
 @Entity
 @Table(name = "event_type")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "eventtype")
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class EventType implements Serializable {
@@ -20,9 +23,10 @@ public class EventType implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventTypeSequenceGenerator")
+    @SequenceGenerator(name = "eventTypeSequenceGenerator", sequenceName = "event_type_seq")
     @Column(name = "id")
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Keyword)
     private Long id;
 
     @NotNull
@@ -6,12 +6,15 @@ import jakarta.validation.constraints.*;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * A Hierarchy.
  */
 @Entity
 @Table(name = "hierarchy")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "hierarchy")
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class Hierarchy implements Serializable {
@@ -19,8 +22,8 @@ public class Hierarchy implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "hierarchySequenceGenerator")
+    @SequenceGenerator(name = "hierarchySequenceGenerator", sequenceName = "hierarchy_seq")
     @Column(name = "id")
     private Long id;
 
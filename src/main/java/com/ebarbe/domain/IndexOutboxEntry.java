@@ -0,0 +1,103 @@
+package com.ebarbe.domain;
+
+import com.ebarbe.domain.enumeration.IndexOperation;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A change waiting to be sent to Elasticsearch.
+ * <p>
+ * Written in the same transaction as the entity change, then drained in batches by
+ * {@link com.ebarbe.service.IndexOutboxService}.
+ */
+@Entity
+@Table(name = "index_outbox")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class IndexOutboxEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "indexOutboxEntrySequenceGenerator")
+    @SequenceGenerator(name = "indexOutboxEntrySequenceGenerator", sequenceName = "index_outbox_seq")
+    @Column(name = "id")
+    private Long id;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(name = "entity_type", length = 50, nullable = false)
+    private String entityType;
+
+    @NotNull
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", length = 10, nullable = false)
+    private IndexOperation operation;
+
+    @NotNull
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    protected IndexOutboxEntry() {}
+
+    public IndexOutboxEntry(String entityType, Long entityId, IndexOperation operation) {
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.createdDate = Instant.now();
+    }
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getEntityType() {
+        return this.entityType;
+    }
+
+    public Long getEntityId() {
+        return this.entityId;
+    }
+
+    public IndexOperation getOperation() {
+        return this.operation;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IndexOutboxEntry)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((IndexOutboxEntry) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IndexOutboxEntry{" +
+            "id=" + getId() +
+            ", entityType='" + getEntityType() + "'" +
+            ", entityId=" + getEntityId() +
+            ", operation='" + getOperation() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,76 @@
+package com.ebarbe.domain;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * An entity type whose changes are held in the index outbox while its index is rebuilt.
+ * <p>
+ * The pause is kept in the database, so that every instance draining the outbox honours it, and is held by a lease renewed
+ * by the instance rebuilding the index: the pause of an instance which died during a rebuild ends once its lease expires.
+ * It is written with the native queries of {@link com.ebarbe.repository.IndexPauseRepository} only.
+ */
+@Entity
+@Table(name = "index_pause")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class IndexPause implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Size(max = 50)
+    @Column(name = "entity_type", length = 50)
+    private String entityType;
+
+    @NotNull
+    @Size(max = 36)
+    @Column(name = "owner", length = 36, nullable = false)
+    private String owner;
+
+    @NotNull
+    @Column(name = "lease_until", nullable = false)
+    private Instant leaseUntil;
+
+    protected IndexPause() {}
+
+    public String getEntityType() {
+        return this.entityType;
+    }
+
+    public String getOwner() {
+        return this.owner;
+    }
+
+    public Instant getLeaseUntil() {
+        return this.leaseUntil;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof IndexPause)) {
+            return false;
+        }
+        return getEntityType() != null && getEntityType().equals(((IndexPause) o).getEntityType());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "IndexPause{" +
+            "entityType='" + getEntityType() + "'" +
+            ", owner='" + getOwner() + "'" +
+            ", leaseUntil='" + getLeaseUntil() + "'" +
+            "}";
+    }
+}
@@ -10,21 +10,28 @@ import java.util.Set;
 
 /**
  * A MainTask.
+ * <p>
+ * It is indexed as a {@link com.ebarbe.domain.search.MainTaskDocument}; its mapping below is the one of the mainTask embedded
+ * in the subTask documents.
  */
 @Entity
 @Table(name = "main_task")
-@org.springframework.data.elasticsearch.annotations.Document(indexName = "maintask")
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class MainTask implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mainTaskSequenceGenerator")
+    @SequenceGenerator(name = "mainTaskSequenceGenerator", sequenceName = "main_task_seq")
     @Column(name = "id")
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Keyword)
     private Long id;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @Size(min = 3, max = 100)
     @Column(name = "description", length = 100)
     @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Text)
@@ -32,9 +39,17 @@ public class MainTask implements Serializable {
 
     @NotNull
     @Column(name = "deadline", nullable = false)
+    @org.springframework.data.elasticsearch.annotations.Field(
+        type = org.springframework.data.elasticsearch.annotations.FieldType.Date,
+        format = org.springframework.data.elasticsearch.annotations.DateFormat.date
+    )
     private LocalDate deadline;
 
     @Column(name = "creation")
+    @org.springframework.data.elasticsearch.annotations.Field(
+        type = org.springframework.data.elasticsearch.annotations.FieldType.Date,
+        format = org.springframework.data.elasticsearch.annotations.DateFormat.date
+    )
     private LocalDate creation;
 
     @Column(name = "cost")
@@ -42,14 +57,17 @@ public class MainTask implements Serializable {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "mainTasks" }, allowSetters = true)
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Object)
     private Category category;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "user", "events", "relEventPeople" }, allowSetters = true)
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Object)
     private Person personOwner;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "mainTasks", "subTasks" }, allowSetters = true)
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Object)
     private Status status;
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "mainTask")
@@ -72,6 +90,19 @@ public class MainTask implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public MainTask version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getDescription() {
         return this.description;
     }
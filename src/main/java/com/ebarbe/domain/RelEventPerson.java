@@ -3,53 +3,67 @@ package com.ebarbe.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.io.Serializable;
-import java.util.Objects;
 
 /**
  * A RelEventPerson.
+ * <p>
+ * Its associations are lazy: each use case loads the ones it needs with one of the entity graphs below.
+ * <ul>
+ *     <li>{@code roster}: the participants of an event, with their person, the person's user and their hierarchy.</li>
+ *     <li>{@code person-agenda}: the events of a person, with their event, the event's type and their hierarchy.</li>
+ *     <li>{@code ids-only}: none of them, only the ids of the event, the person and the hierarchy are read.</li>
+ * </ul>
  */
 @Entity
-@Table(name = "rel_event__person", uniqueConstraints = @UniqueConstraint(columnNames = { "event_id", "person_id" }))
+@NamedEntityGraph(
+    name = "roster",
+    attributeNodes = { @NamedAttributeNode(value = "person", subgraph = "person-user"), @NamedAttributeNode("hierarchy") },
+    subgraphs = @NamedSubgraph(name = "person-user", attributeNodes = @NamedAttributeNode("user"))
+)
+@NamedEntityGraph(
+    name = "person-agenda",
+    attributeNodes = { @NamedAttributeNode(value = "event", subgraph = "event-type"), @NamedAttributeNode("hierarchy") },
+    subgraphs = @NamedSubgraph(name = "event-type", attributeNodes = @NamedAttributeNode("eventType"))
+)
+@NamedEntityGraph(name = "ids-only")
+@Table(name = "rel_event__person")
 @org.springframework.data.elasticsearch.annotations.Document(indexName = "releventperson")
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class RelEventPerson implements Serializable {
 
-    @Id
-    public Long id;
+    private static final long serialVersionUID = 1L;
+
+    @EmbeddedId
+    private RelEventPersonId id = new RelEventPersonId();
 
     @Column(name = "participation")
     @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Text)
     private String participation;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @MapsId("eventId")
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id")
     @JsonIgnoreProperties(value = { "eventType", "person", "relEventPeople" }, allowSetters = true)
     private Event event;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @MapsId("personId")
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "person_id")
     @JsonIgnoreProperties(value = { "user", "event", "relEventPeople" }, allowSetters = true)
     private Person person;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "hierarchy_id")
     @JsonIgnoreProperties(value = { "relEventPeople" }, allowSetters = true)
     private Hierarchy hierarchy;
 
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
-    public String createId() {
-        if (this.event != null && this.event.getId() != null && this.person != null && this.person.getId() != null) {
-            return this.event.getId() + "-" + this.person.getId();
-        }
-        return null;
-    }
-
-    public Long getId() {
+    public RelEventPersonId getId() {
         return this.id;
     }
 
-    public void setId(Long id) {
+    public void setId(RelEventPersonId id) {
         this.id = id;
     }
 
@@ -72,6 +86,12 @@ public class RelEventPerson implements Serializable {
 
     public void setEvent(Event event) {
         this.event = event;
+        this.id.setEventId(event != null ? event.getId() : null);
+    }
+
+    public RelEventPerson event(Event event) {
+        this.setEvent(event);
+        return this;
     }
 
     public Person getPerson() {
@@ -80,6 +100,12 @@ public class RelEventPerson implements Serializable {
 
     public void setPerson(Person person) {
         this.person = person;
+        this.id.setPersonId(person != null ? person.getId() : null);
+    }
+
+    public RelEventPerson person(Person person) {
+        this.setPerson(person);
+        return this;
     }
 
     public Hierarchy getHierarchy() {
@@ -90,40 +116,36 @@ public class RelEventPerson implements Serializable {
         this.hierarchy = hierarchy;
     }
 
+    public RelEventPerson hierarchy(Hierarchy hierarchy) {
+        this.setHierarchy(hierarchy);
+        return this;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        RelEventPerson that = (RelEventPerson) o;
-        return (
-            Objects.equals(participation, that.participation) &&
-            Objects.equals(event, that.event) &&
-            Objects.equals(person, that.person) &&
-            Objects.equals(hierarchy, that.hierarchy)
-        );
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RelEventPerson)) {
+            return false;
+        }
+        return getId() != null && getId().isComplete() && getId().equals(((RelEventPerson) o).getId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(participation, event, person, hierarchy);
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
     }
 
+    // prettier-ignore
     @Override
     public String toString() {
-        return (
-            "RelEventPerson{" +
-            "participation='" +
-            participation +
-            '\'' +
-            ", event=" +
-            event +
-            ", person=" +
-            person +
-            ", hierarchy=" +
-            hierarchy +
-            '}'
-        );
+        return "RelEventPerson{" +
+            "id=" + getId() +
+            ", participation='" + getParticipation() + "'" +
+            "}";
     }
 }
@@ -0,0 +1,78 @@
+package com.ebarbe.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * The primary key of a {@link RelEventPerson}: a person takes part in an event at most once.
+ */
+@Embeddable
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class RelEventPersonId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "person_id")
+    private Long personId;
+
+    public RelEventPersonId() {}
+
+    public RelEventPersonId(Long eventId, Long personId) {
+        this.eventId = eventId;
+        this.personId = personId;
+    }
+
+    public Long getEventId() {
+        return this.eventId;
+    }
+
+    public void setEventId(Long eventId) {
+        this.eventId = eventId;
+    }
+
+    public Long getPersonId() {
+        return this.personId;
+    }
+
+    public void setPersonId(Long personId) {
+        this.personId = personId;
+    }
+
+    /**
+     * @return whether both the event and the person are known, i.e. whether the key identifies a relEventPerson.
+     */
+    public boolean isComplete() {
+        return this.eventId != null && this.personId != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RelEventPersonId)) {
+            return false;
+        }
+        RelEventPersonId that = (RelEventPersonId) o;
+        return Objects.equals(this.eventId, that.eventId) && Objects.equals(this.personId, that.personId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.eventId, this.personId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "RelEventPersonId{" +
+            "eventId=" + getEventId() +
+            ", personId=" + getPersonId() +
+            "}";
+    }
+}
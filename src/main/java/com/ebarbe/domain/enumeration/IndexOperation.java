@@ -0,0 +1,9 @@
+package com.ebarbe.domain.enumeration;
+
+/**
+ * The IndexOperation enumeration.
+ */
+public enum IndexOperation {
+    INDEX,
+    DELETE,
+}
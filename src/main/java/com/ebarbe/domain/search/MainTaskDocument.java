@@ -0,0 +1,371 @@
+package com.ebarbe.domain.search;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import org.springframework.data.annotation.Id;
+
+/**
+ * The search document of a {@link com.ebarbe.domain.MainTask}: the mainTask, with the labels of its category, status and
+ * owner and a summary of its subTasks, so that a hit is a full result row.
+ * <p>
+ * It is built by a query of the database, see {@code MainTaskRepository#findSearchDocumentsByIdIn}, and indexed again when
+ * the mainTask, one of its subTasks or one of the entities it embeds the label of changes.
+ */
+@org.springframework.data.elasticsearch.annotations.Document(indexName = "maintask")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class MainTaskDocument implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Keyword)
+    private Long id;
+
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Long)
+    private Long version;
+
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Text)
+    private String description;
+
+    @org.springframework.data.elasticsearch.annotations.Field(
+        type = org.springframework.data.elasticsearch.annotations.FieldType.Date,
+        format = org.springframework.data.elasticsearch.annotations.DateFormat.date
+    )
+    private LocalDate deadline;
+
+    @org.springframework.data.elasticsearch.annotations.Field(
+        type = org.springframework.data.elasticsearch.annotations.FieldType.Date,
+        format = org.springframework.data.elasticsearch.annotations.DateFormat.date
+    )
+    private LocalDate creation;
+
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Double)
+    private Double cost;
+
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Object)
+    private CategorySummary category;
+
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Object)
+    private StatusSummary status;
+
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Object)
+    private PersonSummary personOwner;
+
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Long)
+    private Long subTaskCount;
+
+    @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Double)
+    private Double subTaskTotalCost;
+
+    @org.springframework.data.elasticsearch.annotations.Field(
+        type = org.springframework.data.elasticsearch.annotations.FieldType.Date,
+        format = org.springframework.data.elasticsearch.annotations.DateFormat.date
+    )
+    private LocalDate nearestSubTaskDeadline;
+
+    public MainTaskDocument() {}
+
+    /**
+     * Constructor of the query building the documents, with the ids and labels of the relations, {@code null} when unset,
+     * and the aggregates of the subTasks.
+     */
+    public MainTaskDocument(
+        Long id,
+        Long version,
+        String description,
+        LocalDate deadline,
+        LocalDate creation,
+        Double cost,
+        Long categoryId,
+        String categoryLabel,
+        Long statusId,
+        String statusDescription,
+        Long personOwnerId,
+        String personOwnerName,
+        Long subTaskCount,
+        Double subTaskTotalCost,
+        LocalDate nearestSubTaskDeadline
+    ) {
+        this.id = id;
+        this.version = version;
+        this.description = description;
+        this.deadline = deadline;
+        this.creation = creation;
+        this.cost = cost;
+        this.category = categoryId != null ? new CategorySummary(categoryId, categoryLabel) : null;
+        this.status = statusId != null ? new StatusSummary(statusId, statusDescription) : null;
+        this.personOwner = personOwnerId != null ? new PersonSummary(personOwnerId, personOwnerName) : null;
+        this.subTaskCount = subTaskCount;
+        this.subTaskTotalCost = subTaskTotalCost;
+        this.nearestSubTaskDeadline = nearestSubTaskDeadline;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDate getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(LocalDate deadline) {
+        this.deadline = deadline;
+    }
+
+    public LocalDate getCreation() {
+        return creation;
+    }
+
+    public void setCreation(LocalDate creation) {
+        this.creation = creation;
+    }
+
+    public Double getCost() {
+        return cost;
+    }
+
+    public void setCost(Double cost) {
+        this.cost = cost;
+    }
+
+    public CategorySummary getCategory() {
+        return category;
+    }
+
+    public void setCategory(CategorySummary category) {
+        this.category = category;
+    }
+
+    public StatusSummary getStatus() {
+        return status;
+    }
+
+    public void setStatus(StatusSummary status) {
+        this.status = status;
+    }
+
+    public PersonSummary getPersonOwner() {
+        return personOwner;
+    }
+
+    public void setPersonOwner(PersonSummary personOwner) {
+        this.personOwner = personOwner;
+    }
+
+    public Long getSubTaskCount() {
+        return subTaskCount;
+    }
+
+    public void setSubTaskCount(Long subTaskCount) {
+        this.subTaskCount = subTaskCount;
+    }
+
+    public Double getSubTaskTotalCost() {
+        return subTaskTotalCost;
+    }
+
+    public void setSubTaskTotalCost(Double subTaskTotalCost) {
+        this.subTaskTotalCost = subTaskTotalCost;
+    }
+
+    public LocalDate getNearestSubTaskDeadline() {
+        return nearestSubTaskDeadline;
+    }
+
+    public void setNearestSubTaskDeadline(LocalDate nearestSubTaskDeadline) {
+        this.nearestSubTaskDeadline = nearestSubTaskDeadline;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MainTaskDocument)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((MainTaskDocument) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MainTaskDocument{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", description='" + getDescription() + "'" +
+            ", deadline='" + getDeadline() + "'" +
+            ", creation='" + getCreation() + "'" +
+            ", cost=" + getCost() +
+            ", category=" + getCategory() +
+            ", status=" + getStatus() +
+            ", personOwner=" + getPersonOwner() +
+            ", subTaskCount=" + getSubTaskCount() +
+            ", subTaskTotalCost=" + getSubTaskTotalCost() +
+            ", nearestSubTaskDeadline='" + getNearestSubTaskDeadline() + "'" +
+            "}";
+    }
+
+    /**
+     * The category of a mainTask, reduced to its id and label.
+     */
+    public static class CategorySummary implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Keyword)
+        private Long id;
+
+        @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Text)
+        private String label;
+
+        public CategorySummary() {}
+
+        public CategorySummary(Long id, String label) {
+            this.id = id;
+            this.label = label;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public void setLabel(String label) {
+            this.label = label;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "CategorySummary{" +
+                "id=" + getId() +
+                ", label='" + getLabel() + "'" +
+                "}";
+        }
+    }
+
+    /**
+     * The status of a mainTask, reduced to its id and description.
+     */
+    public static class StatusSummary implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Keyword)
+        private Long id;
+
+        @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Text)
+        private String description;
+
+        public StatusSummary() {}
+
+        public StatusSummary(Long id, String description) {
+            this.id = id;
+            this.description = description;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public void setDescription(String description) {
+            this.description = description;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "StatusSummary{" +
+                "id=" + getId() +
+                ", description='" + getDescription() + "'" +
+                "}";
+        }
+    }
+
+    /**
+     * The owner of a mainTask, reduced to its id and name.
+     */
+    public static class PersonSummary implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Keyword)
+        private Long id;
+
+        @org.springframework.data.elasticsearch.annotations.Field(type = org.springframework.data.elasticsearch.annotations.FieldType.Text)
+        private String name;
+
+        public PersonSummary() {}
+
+        public PersonSummary(Long id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        // prettier-ignore
+        @Override
+        public String toString() {
+            return "PersonSummary{" +
+                "id=" + getId() +
+                ", name='" + getName() + "'" +
+                "}";
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.ebarbe.repository;
+
+import com.ebarbe.domain.IndexOutboxEntry;
+import com.ebarbe.domain.IndexPause;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts the committed writes of each entity in the {@code entity_change} table, so that a list can be given an {@code ETag}
+ * without reading the tables it shows: as long as the counts of the entities a list shows have not moved, the list has not changed.
+ * <p>
+ * The inserts, updates and deletes made through Hibernate are counted by their transaction, just before it commits, the
+ * statements sent around it, native or bulk ones, with {@link #recordChange(Class)}: the counts are shared by all the
+ * instances and survive a restart. Each transaction increments the count of each entity it wrote once, in the order of
+ * their names, so that the row of an entity is only locked for the time of the commit. A stamp must be taken before the
+ * list is read: a write committed in between then changes the next stamp, never the one sent with the list.
+ * <p>
+ * With a read replica, the stamps are read from the replica: the list read afterwards, from the replica or from the
+ * primary, is never older than its stamp.
+ */
+@Component
+public class EntityChangeCounter {
+
+    // the bookkeeping of the search index, written with most transactions and shown by no list
+    private static final Set<Class<?>> UNCOUNTED_ENTITIES = Set.of(IndexOutboxEntry.class, IndexPause.class);
+
+    private static final String INCREMENT =
+        "insert into entity_change (entity_type, change_count) values (?, 1) " +
+        "on conflict (entity_type) do update set change_count = entity_change.change_count + 1";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final JdbcTemplate stampJdbcTemplate;
+
+    private final Map<SharedSessionContractImplementor, PendingChanges> pendingChanges = new ConcurrentHashMap<>();
+
+    public EntityChangeCounter(
+        EntityManagerFactory entityManagerFactory,
+        DataSource dataSource,
+        @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.stampJdbcTemplate = new JdbcTemplate(replicaDataSource.getIfAvailable(() -> dataSource));
+        EventListenerRegistry listeners = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        WriteListener listener = new WriteListener();
+        listeners.appendListeners(EventType.POST_INSERT, listener);
+        listeners.appendListeners(EventType.POST_UPDATE, listener);
+        listeners.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    /**
+     * Take a stamp of the writes committed so far.
+     *
+     * @param entityClasses the entities shown by a list.
+     * @return a stamp which changes with each write committed to one of these entities.
+     */
+    public String stamp(Class<?>... entityClasses) {
+        String[] entityTypes = new String[entityClasses.length];
+        for (int i = 0; i < entityClasses.length; i++) {
+            entityTypes[i] = getEntityType(entityClasses[i]);
+        }
+        Long total = stampJdbcTemplate.queryForObject(
+            "select coalesce(sum(change_count), 0) from entity_change where entity_type in (" +
+            String.join(",", Collections.nCopies(entityTypes.length, "?")) +
+            ")",
+            Long.class,
+            (Object[]) entityTypes
+        );
+        return Long.toString(total);
+    }
+
+    /**
+     * Count a write Hibernate does not see, when the current transaction, if any, commits.
+     *
+     * @param entityClass the entity written.
+     */
+    public void recordChange(Class<?> entityClass) {
+        EntityManager entityManager = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (entityManager != null) {
+            record(entityManager.unwrap(SessionImplementor.class), getEntityType(entityClass));
+        } else {
+            jdbcTemplate.update(INCREMENT, getEntityType(entityClass));
+        }
+    }
+
+    private void record(SessionImplementor session, String entityType) {
+        pendingChanges
+            .computeIfAbsent(
+                session,
+                key -> {
+                    PendingChanges changes = new PendingChanges();
+                    session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) changes);
+                    session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) changes);
+                    return changes;
+                }
+            )
+            .add(entityType);
+    }
+
+    private void record(SessionImplementor session, EntityPersister persister) {
+        if (!UNCOUNTED_ENTITIES.contains(persister.getMappedClass())) {
+            record(session, getEntityType(persister.getMappedClass()));
+        }
+    }
+
+    private static String getEntityType(Class<?> entityClass) {
+        return entityClass.getSimpleName();
+    }
+
+    /**
+     * The entities written by the transaction of a session, counted just before it commits.
+     */
+    private final class PendingChanges implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        private final SortedSet<String> entityTypes = new TreeSet<>();
+
+        private void add(String entityType) {
+            entityTypes.add(entityType);
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(SessionImplementor session) {
+            pendingChanges.remove(session, this);
+            session.doWork(connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(INCREMENT)) {
+                    for (String entityType : entityTypes) {
+                        statement.setString(1, entityType);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(boolean success, SharedSessionContractImplementor session) {
+            // nothing was counted if the transaction was rolled back
+            pendingChanges.remove(session, this);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private final class WriteListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            record(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            record(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            record(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+    }
+}
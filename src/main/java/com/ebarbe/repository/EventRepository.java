@@ -4,8 +4,10 @@ import com.ebarbe.domain.Event;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -15,16 +17,34 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface EventRepository extends EventRepositoryWithBagRelationships, JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
+public interface EventRepository
+    extends
+        EventRepositoryWithBagRelationships,
+        JpaRepository<Event, Long>,
+        JpaSpecificationExecutor<Event>,
+        SliceSpecificationExecutor<Event> {
     default Optional<Event> findOneWithEagerRelationships(Long id) {
-        return this.fetchBagRelationships(this.findById(id));
+        return this.findAllWithEagerRelationshipsByIdIn(List.of(id)).stream().findFirst();
     }
 
     default List<Event> findAllWithEagerRelationships() {
         return this.fetchBagRelationships(this.findAll());
     }
 
+    /**
+     * Read a page of event ids, then the events of the page with all their associations in a single query.
+     */
     default Page<Event> findAllWithEagerRelationships(Pageable pageable) {
-        return this.fetchBagRelationships(this.findAll(pageable));
+        Page<Long> ids = this.findAllIds(pageable);
+        return new PageImpl<>(this.findAllWithEagerRelationshipsByIdIn(ids.getContent()), ids.getPageable(), ids.getTotalElements());
     }
+
+    @Query("select event.id from Event event")
+    Page<Long> findAllIds(Pageable pageable);
+
+    /**
+     * Read the version of an event alone, without loading it.
+     */
+    @Query("select event.version from Event event where event.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 }
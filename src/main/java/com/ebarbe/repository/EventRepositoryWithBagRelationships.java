@@ -1,6 +1,7 @@
 package com.ebarbe.repository;
 
 import com.ebarbe.domain.Event;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -11,4 +12,12 @@ public interface EventRepositoryWithBagRelationships {
     List<Event> fetchBagRelationships(List<Event> events);
 
     Page<Event> fetchBagRelationships(Page<Event> events);
+
+    /**
+     * Load the events of the given ids with their type, their people and the users of their people, in a single query.
+     *
+     * @param ids the ids of the events.
+     * @return the events found, in the order of their ids.
+     */
+    List<Event> findAllWithEagerRelationshipsByIdIn(Collection<Long> ids);
 }
@@ -3,25 +3,32 @@ package com.ebarbe.repository;
 import com.ebarbe.domain.Event;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
-import java.util.Collections;
-import java.util.HashMap;
+import jakarta.persistence.TypedQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.IntStream;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
 /**
- * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
+ * Utility repository to load the associations of events: the events of a page are read again by id, with their type,
+ * their people and the users of their people, in a single query, whatever the size of the page.
  */
 public class EventRepositoryWithBagRelationshipsImpl implements EventRepositoryWithBagRelationships {
 
+    private static final String FETCH_BY_IDS =
+        "select event from Event event left join fetch event.eventType " +
+        "left join fetch event.person person left join fetch person.user where event.id in :ids";
+
     @PersistenceContext
     private EntityManager entityManager;
 
     @Override
     public Optional<Event> fetchBagRelationships(Optional<Event> event) {
-        return event.map(this::fetchPeople);
+        return event.flatMap(result -> findAllWithEagerRelationshipsByIdIn(List.of(result.getId())).stream().findFirst());
     }
 
     @Override
@@ -31,24 +38,44 @@ public class EventRepositoryWithBagRelationshipsImpl implements EventRepositoryW
 
     @Override
     public List<Event> fetchBagRelationships(List<Event> events) {
-        return Optional.of(events).map(this::fetchPeople).orElse(Collections.emptyList());
+        return findAllWithEagerRelationshipsByIdIn(events.stream().map(Event::getId).toList());
     }
 
-    Event fetchPeople(Event result) {
-        return entityManager
-            .createQuery("select event from Event event left join fetch event.people where event.id = :id", Event.class)
-            .setParameter("id", result.getId())
-            .getSingleResult();
+    @Override
+    public List<Event> findAllWithEagerRelationshipsByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // the ids in request order, and a sorted copy with the position of each id, to look them up without boxing
+        long[] requested = ids.stream().mapToLong(Long::longValue).toArray();
+        long[] sortedIds = requested.clone();
+        Arrays.sort(sortedIds);
+        int[] positions = new int[sortedIds.length];
+        Arrays.fill(positions, -1);
+        int count = 0;
+        for (long id : requested) {
+            int index = leftmost(sortedIds, id);
+            if (positions[index] < 0) {
+                positions[index] = count++;
+            }
+        }
+        Event[] ordered = new Event[count];
+        TypedQuery<Event> query = entityManager.createQuery(FETCH_BY_IDS, Event.class).setParameter("ids", ids);
+        for (Event event : ReadOnlyQueries.readOnlyInReadOnlyTransaction(query).getResultList()) {
+            ordered[positions[leftmost(sortedIds, event.getId())]] = event;
+        }
+        // the events deleted in the meantime leave a hole
+        return new ArrayList<>(Arrays.stream(ordered).filter(Objects::nonNull).toList());
     }
 
-    List<Event> fetchPeople(List<Event> events) {
-        HashMap<Object, Integer> order = new HashMap<>();
-        IntStream.range(0, events.size()).forEach(index -> order.put(events.get(index).getId(), index));
-        List<Event> result = entityManager
-            .createQuery("select event from Event event left join fetch event.people where event in :events", Event.class)
-            .setParameter("events", events)
-            .getResultList();
-        Collections.sort(result, (o1, o2) -> Integer.compare(order.get(o1.getId()), order.get(o2.getId())));
-        return result;
+    /**
+     * @return the index of the first copy of the id in the sorted ids, where its position is kept.
+     */
+    private static int leftmost(long[] sortedIds, long id) {
+        int index = Arrays.binarySearch(sortedIds, id);
+        while (index > 0 && sortedIds[index - 1] == id) {
+            index--;
+        }
+        return index;
     }
 }
@@ -1,7 +1,10 @@
 package com.ebarbe.repository;
 
 import com.ebarbe.domain.Hierarchy;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface HierarchyRepository extends JpaRepository<Hierarchy, Long>, JpaSpecificationExecutor<Hierarchy> {}
+public interface HierarchyRepository extends JpaRepository<Hierarchy, Long>, JpaSpecificationExecutor<Hierarchy> {
+    /**
+     * Keep, among the given ids, the ones of an existing hierarchy, with a single query.
+     */
+    @Query("select hierarchy.id from Hierarchy hierarchy where hierarchy.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
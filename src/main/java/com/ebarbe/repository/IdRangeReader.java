@@ -0,0 +1,90 @@
+package com.ebarbe.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads any entity by ranges of ids, so that a full table can be split into chunks read in parallel.
+ * The entity must have a numeric {@code id} attribute, or the bounds are read on another numeric attribute, e.g. a part of a
+ * composite id.
+ */
+@Repository
+public class IdRangeReader {
+
+    private static final String ID = "id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The bounds of the ids of an entity.
+     *
+     * @param min the lowest id, {@code null} if the table is empty.
+     * @param max the highest id, {@code null} if the table is empty.
+     * @param count the number of rows.
+     */
+    public record IdBounds(Long min, Long max, long count) {}
+
+    /**
+     * Get the lowest id, the highest id and the number of rows of an entity, with a single query.
+     *
+     * @param domainClass the entity type.
+     * @return the bounds.
+     */
+    public IdBounds findIdBounds(Class<?> domainClass) {
+        return findIdBounds(domainClass, ID);
+    }
+
+    /**
+     * Get the lowest and the highest value of a numeric attribute of an entity, and its number of rows, with a single query.
+     *
+     * @param domainClass the entity type.
+     * @param attribute the attribute, or the path to it in an embedded id, e.g. {@code id.eventId}.
+     * @return the bounds.
+     */
+    public IdBounds findIdBounds(Class<?> domainClass, String attribute) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(domainClass);
+        Path<Long> id = path(root, attribute);
+        query.multiselect(cb.min(id), cb.max(id), cb.count(root));
+        Tuple result = entityManager.createQuery(query).getSingleResult();
+        return new IdBounds(result.get(0, Long.class), result.get(1, Long.class), result.get(2, Long.class));
+    }
+
+    /**
+     * Get the entities whose id is in {@code [fromId, toId)}, ordered by id.
+     * They are loaded read-only, as they are only meant to be copied elsewhere.
+     *
+     * @param domainClass the entity type.
+     * @param fromId the lowest id, inclusive.
+     * @param toId the highest id, exclusive.
+     * @return the entities.
+     */
+    public <T> List<T> findByIdRange(Class<T> domainClass, long fromId, long toId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        Path<Long> id = root.get(ID);
+        query.select(root).where(cb.greaterThanOrEqualTo(id, fromId), cb.lessThan(id, toId)).orderBy(cb.asc(id));
+        return entityManager.createQuery(query).setHint(AvailableHints.HINT_READ_ONLY, true).getResultList();
+    }
+
+    private static Path<Long> path(Root<?> root, String attribute) {
+        Path<?> path = root;
+        for (String name : attribute.split("\\.")) {
+            path = path.get(name);
+        }
+        @SuppressWarnings("unchecked")
+        Path<Long> id = (Path<Long>) path;
+        return id;
+    }
+}
@@ -0,0 +1,28 @@
+package com.ebarbe.repository;
+
+import com.ebarbe.domain.IndexOutboxEntry;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the IndexOutboxEntry entity.
+ */
+@Repository
+public interface IndexOutboxRepository extends JpaRepository<IndexOutboxEntry, Long> {
+    /**
+     * Lock the oldest pending entries, but the ones of the entity types paused in {@code index_pause}. Rows already locked by
+     * another instance are skipped, so several instances can drain the outbox at the same time without sending a change twice.
+     */
+    @Query(
+        value = "select * from index_outbox o where not exists (" +
+        "select 1 from index_pause p where p.entity_type = o.entity_type and p.lease_until > now()" +
+        ") order by o.id limit :limit for update of o skip locked",
+        nativeQuery = true
+    )
+    List<IndexOutboxEntry> lockOldest(@Param("limit") int limit);
+
+    Optional<IndexOutboxEntry> findFirstByOrderByIdAsc();
+}
@@ -0,0 +1,52 @@
+package com.ebarbe.repository;
+
+import com.ebarbe.domain.IndexPause;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the IndexPause entity.
+ * <p>
+ * The leases are compared to the clock of the database, shared by all the instances.
+ */
+@Repository
+public interface IndexPauseRepository extends JpaRepository<IndexPause, String> {
+    /**
+     * Pause an entity type for the given owner, unless another owner holds a lease on it which has not expired.
+     *
+     * @return 1 if the owner now holds the pause, 0 if it is held by another owner.
+     */
+    @Modifying
+    @Query(
+        value = "insert into index_pause (entity_type, owner, lease_until) " +
+        "values (:entityType, :owner, now() + interval '1 second' * :leaseSeconds) " +
+        "on conflict (entity_type) do update set owner = excluded.owner, lease_until = excluded.lease_until " +
+        "where index_pause.lease_until < now()",
+        nativeQuery = true
+    )
+    int acquire(@Param("entityType") String entityType, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * Extend the lease of a pause held by the given owner.
+     *
+     * @return 1 if the lease was extended, 0 if the owner does not hold the pause anymore.
+     */
+    @Modifying
+    @Query(
+        value = "update index_pause set lease_until = now() + interval '1 second' * :leaseSeconds " +
+        "where entity_type = :entityType and owner = :owner",
+        nativeQuery = true
+    )
+    int renew(@Param("entityType") String entityType, @Param("owner") String owner, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * End a pause held by the given owner.
+     */
+    @Modifying
+    @Query(value = "delete from index_pause where entity_type = :entityType and owner = :owner", nativeQuery = true)
+    int release(@Param("entityType") String entityType, @Param("owner") String owner);
+
+    @Query(value = "select count(*) > 0 from index_pause where entity_type = :entityType and lease_until > now()", nativeQuery = true)
+    boolean isPaused(@Param("entityType") String entityType);
+}
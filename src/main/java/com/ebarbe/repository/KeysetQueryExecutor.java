@@ -0,0 +1,100 @@
+package com.ebarbe.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Runs a {@link Specification} with keyset ("seek") pagination instead of OFFSET/LIMIT.
+ * <p>
+ * Rows are ordered on {@code (sort key, id)} and a slice starts strictly after the last row of the previous one,
+ * so the cost of a slice does not depend on how deep the client is paging, and no COUNT query is issued.
+ * The sort key must be a non-null column.
+ */
+@Repository
+public class KeysetQueryExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Get the slice following the given position.
+     *
+     * @param domainClass the entity type.
+     * @param specification the filters, may be {@code null}.
+     * @param sortAttribute the attribute the rows are sorted on.
+     * @param idAttribute the id attribute, used as tie-breaker.
+     * @param direction the direction of the sort.
+     * @param lastKey the sort key of the last row already returned, {@code null} for the first slice.
+     * @param lastId the id of the last row already returned, {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the slice, {@link Slice#hasNext()} tells if there is something after it.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public <T> Slice<T> findAll(
+        Class<T> domainClass,
+        Specification<T> specification,
+        SingularAttribute<? super T, ?> sortAttribute,
+        SingularAttribute<? super T, Long> idAttribute,
+        Sort.Direction direction,
+        Object lastKey,
+        Long lastId,
+        int size
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        boolean ascending = direction.isAscending();
+        boolean sortedById = sortAttribute.getName().equals(idAttribute.getName());
+
+        Path<Comparable> key = (Path) root.get(sortAttribute);
+        Path<Long> id = root.get(idAttribute);
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate filter = specification.toPredicate(root, query, cb);
+            if (filter != null) {
+                predicates.add(filter);
+            }
+        }
+        if (lastId != null) {
+            Predicate afterId = ascending ? cb.greaterThan(id, lastId) : cb.lessThan(id, lastId);
+            if (sortedById) {
+                predicates.add(afterId);
+            } else {
+                Comparable last = (Comparable) lastKey;
+                Predicate afterKey = ascending ? cb.greaterThan(key, last) : cb.lessThan(key, last);
+                predicates.add(cb.or(afterKey, cb.and(cb.equal(key, last), afterId)));
+            }
+        }
+
+        query.select(root).where(predicates.toArray(new Predicate[0]));
+        if (sortedById) {
+            query.orderBy(ascending ? cb.asc(id) : cb.desc(id));
+        } else {
+            query.orderBy(ascending ? cb.asc(key) : cb.desc(key), ascending ? cb.asc(id) : cb.desc(id));
+        }
+
+        // one more row than asked tells if there is a next slice, without counting
+        List<T> rows = ReadOnlyQueries
+            .readOnlyInReadOnlyTransaction(entityManager.createQuery(query))
+            .setMaxResults(size + 1)
+            .getResultList();
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        return new SliceImpl<>(content, PageRequest.of(0, size, Sort.by(direction, sortAttribute.getName())), hasNext);
+    }
+}
@@ -1,7 +1,13 @@
 package com.ebarbe.repository;
 
 import com.ebarbe.domain.MainTask;
+import com.ebarbe.domain.search.MainTaskDocument;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +15,54 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface MainTaskRepository extends JpaRepository<MainTask, Long>, JpaSpecificationExecutor<MainTask> {}
+public interface MainTaskRepository
+    extends JpaRepository<MainTask, Long>, JpaSpecificationExecutor<MainTask>, SliceSpecificationExecutor<MainTask> {
+    // the search documents, built with the labels of the relations and the aggregates of the subTasks in a single query
+    String SEARCH_DOCUMENT_SELECT =
+        "select new com.ebarbe.domain.search.MainTaskDocument(" +
+        "mainTask.id, mainTask.version, mainTask.description, mainTask.deadline, mainTask.creation, mainTask.cost, " +
+        "category.id, category.label, status.id, status.description, personOwner.id, personOwner.name, " +
+        "count(subTask.id), sum(subTask.cost), min(subTask.deadline)) " +
+        "from MainTask mainTask " +
+        "left join mainTask.category category " +
+        "left join mainTask.status status " +
+        "left join mainTask.personOwner personOwner " +
+        "left join mainTask.subTasks subTask ";
+
+    String SEARCH_DOCUMENT_GROUP_BY =
+        " group by mainTask.id, mainTask.version, mainTask.description, mainTask.deadline, mainTask.creation, mainTask.cost, " +
+        "category.id, category.label, status.id, status.description, personOwner.id, personOwner.name";
+
+    /**
+     * Keep, among the given ids, the ones of an existing mainTask, with a single query.
+     */
+    @Query("select mainTask.id from MainTask mainTask where mainTask.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read the version of a mainTask alone, without loading it.
+     */
+    @Query("select mainTask.version from MainTask mainTask where mainTask.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Build the search documents of the given mainTasks, with a single query.
+     */
+    @Query(SEARCH_DOCUMENT_SELECT + "where mainTask.id in :ids" + SEARCH_DOCUMENT_GROUP_BY)
+    List<MainTaskDocument> findSearchDocumentsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Build the search documents of the mainTasks whose id is in {@code [fromId, toId)}, with a single query.
+     */
+    @Query(SEARCH_DOCUMENT_SELECT + "where mainTask.id >= :fromId and mainTask.id < :toId" + SEARCH_DOCUMENT_GROUP_BY)
+    List<MainTaskDocument> findSearchDocumentsByIdRange(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query("select mainTask.id from MainTask mainTask where mainTask.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query("select mainTask.id from MainTask mainTask where mainTask.status.id = :statusId")
+    List<Long> findIdsByStatusId(@Param("statusId") Long statusId);
+
+    @Query("select mainTask.id from MainTask mainTask where mainTask.personOwner.id = :personOwnerId")
+    List<Long> findIdsByPersonOwnerId(@Param("personOwnerId") Long personOwnerId);
+}
@@ -1,7 +1,10 @@
 package com.ebarbe.repository;
 
 import com.ebarbe.domain.Person;
+import java.util.Collection;
+import java.util.Set;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,11 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface PersonRepository extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person> {}
+public interface PersonRepository
+    extends JpaRepository<Person, Long>, JpaSpecificationExecutor<Person>, SliceSpecificationExecutor<Person> {
+    /**
+     * Keep, among the given ids, the ones of an existing person, with a single query.
+     */
+    @Query("select person.id from Person person where person.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,122 @@
+package com.ebarbe.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Runs a {@link Specification} selecting the columns of a {@link TupleProjection} instead of the entities.
+ * <p>
+ * No entity is instantiated, hydrated or added to the persistence context, so there is no dirty-checking snapshot
+ * and no lazy association to load afterward: each row is read once and turned into its result.
+ */
+@Repository
+public class ProjectionQueryExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Get the results of all the entities matching the specification.
+     *
+     * @param domainClass the entity type.
+     * @param specification the filters, may be {@code null}.
+     * @param projection the columns to read and the result built from them.
+     * @param sort the sort of the rows.
+     * @return the results, in the order of the rows.
+     */
+    public <T, R> List<R> findAll(Class<T> domainClass, Specification<T> specification, TupleProjection<T, R> projection, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        query.multiselect(projection.select(root));
+        filter(query, root, cb, specification);
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query).getResultList().stream().map(row -> projection.map(row, 0)).toList();
+    }
+
+    /**
+     * Get a page of the results of the entities matching the specification, with the total read in the same query by the
+     * {@link TotalCountFunctionContributor#TOTAL_COUNT} window. A distinct query, whose rows the window would count before
+     * they are made distinct, and a page past the last one, which has no row to carry the total, are counted separately.
+     *
+     * @param domainClass the entity type.
+     * @param specification the filters, may be {@code null}.
+     * @param projection the columns to read and the result built from them.
+     * @param pageable the page, with the sort of the rows.
+     * @return the page of results.
+     */
+    public <T, R> Page<R> findAll(
+        Class<T> domainClass,
+        Specification<T> specification,
+        TupleProjection<T, R> projection,
+        Pageable pageable
+    ) {
+        if (pageable.isUnpaged()) {
+            List<R> content = findAll(domainClass, specification, projection, pageable.getSort());
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(domainClass);
+        filter(query, root, cb, specification);
+        // The window counts the rows before they are made distinct
+        boolean counted = !query.isDistinct();
+        List<Selection<?>> columns = new ArrayList<>(projection.select(root));
+        if (counted) {
+            columns.add(cb.function(TotalCountFunctionContributor.TOTAL_COUNT, Long.class));
+        }
+        query.multiselect(columns);
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<Tuple> rows = entityManager
+            .createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+        List<R> content = rows.stream().map(row -> projection.map(row, 0)).toList();
+        if (counted && !rows.isEmpty()) {
+            return new PageImpl<>(content, pageable, rows.get(0).get(columns.size() - 1, Long.class));
+        }
+        if (rows.isEmpty() && pageable.getOffset() == 0) {
+            return new PageImpl<>(content, pageable, 0);
+        }
+        return new PageImpl<>(content, pageable, count(domainClass, specification));
+    }
+
+    private <T> long count(Class<T> domainClass, Specification<T> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<T> root = query.from(domainClass);
+        filter(query, root, cb, specification);
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        // The distinct of the filters applies to the counted entities, not to the single count row
+        query.distinct(false);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static <T> void filter(CriteriaQuery<?> query, Root<T> root, CriteriaBuilder cb, Specification<T> specification) {
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+    }
+}
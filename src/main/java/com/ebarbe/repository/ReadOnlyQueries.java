@@ -0,0 +1,30 @@
+package com.ebarbe.repository;
+
+import jakarta.persistence.Query;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Utility class marking the queries run in a read-only transaction as read-only.
+ * <p>
+ * A read-only transaction already opens its session in read-only mode, with {@code FlushMode.MANUAL}: the entities it loads
+ * keep no snapshot of their state and are never dirty-checked. The hint gives the same to the queries built here,
+ * whatever the session they run in. A read-write transaction is left as it is, as it may still change what it reads.
+ */
+final class ReadOnlyQueries {
+
+    private ReadOnlyQueries() {}
+
+    /**
+     * Mark the query as read-only when the current transaction is.
+     *
+     * @param query the query.
+     * @return the same query.
+     */
+    static <Q extends Query> Q readOnlyInReadOnlyTransaction(Q query) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            query.setHint(AvailableHints.HINT_READ_ONLY, true);
+        }
+        return query;
+    }
+}
@@ -1,10 +1,14 @@
 package com.ebarbe.repository;
 
 import com.ebarbe.domain.RelEventPerson;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -12,31 +16,35 @@ import org.springframework.data.repository.query.Param;
  * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
  * List of relEventPerson with complete data ( EVENT, PERSON+USER AND HIERARCHY ) : all, all concerninf by an event, all concerning by a person
  * get the one relEventPerson with complete data ( EVENT, PERSON+USER AND HIERARCHY ) concerned with the combination of an event and a person
+ * the associations of RelEventPerson are lazy: the listings by event or by person read only what they show, with an entity graph
  * */
 public interface RelEventPersonExtendedRepositoryWithBagRelationships {
     static final Logger logger = LoggerFactory.getLogger(RelEventPersonExtendedRepositoryWithBagRelationships.class);
 
     /**
-     * get ALL (EVENT, PERSON+USER AND HIERARCHY )  data for each relEventPerson
+     * get a page of ALL (EVENT, PERSON+USER AND HIERARCHY )  data for each relEventPerson
+     * the person's user and the hierarchy may be missing, so they are left joined and the count query needs no join
      *
-     * @param
-     * @return a list of RelEventPerson, included all data about entities linked
+     * @param pageable the pagination information
+     * @return a page of RelEventPerson, included all data about entities linked
      */
-
     @Query(
-        "SELECT rep FROM RelEventPerson rep " +
+        value = "SELECT rep FROM RelEventPerson rep " +
         "JOIN FETCH rep.event e " +
         "JOIN FETCH rep.person p " +
-        "JOIN FETCH p.user u " +
-        "JOIN FETCH rep.hierarchy h "
+        "LEFT JOIN FETCH p.user u " +
+        "LEFT JOIN FETCH rep.hierarchy h ",
+        countQuery = "SELECT count(rep) FROM RelEventPerson rep"
     )
-    List<RelEventPerson> findAllREPComplete();
+    Page<RelEventPerson> findAllREPComplete(Pageable pageable);
 
     /**
-     * get ALL (EVENT, PERSON+USER AND HIERARCHY )  data for each relEventPerson concerning by the event in param
+     * get a page of the participants of the event in param, with the "roster" entity graph: PERSON+USER AND HIERARCHY
+     * the event is the same for all of them, so it is left out, and the entity graph left joins the user and the hierarchy
      *
      * @param eventId
-     * @return a list of RelEventPerson, included all data about entities linked
+     * @param pageable the pagination information
+     * @return a page of RelEventPerson, included all data about entities linked
      */
     /* @Query(
         "SELECT rep FROM RelEventPerson rep " +
@@ -47,48 +55,46 @@ public interface RelEventPersonExtendedRepositoryWithBagRelationships {
             "WHERE rep.event_id = :eventId"
     )*/
 
+    @EntityGraph("roster")
     @Query(
-        "SELECT rep FROM RelEventPerson rep " +
-        "JOIN FETCH rep.event e " +
-        "JOIN FETCH rep.person p " +
-        "JOIN FETCH p.user u " +
-        "JOIN FETCH rep.hierarchy h " +
-        "WHERE rep.event.id = :eventId"
+        value = "SELECT rep FROM RelEventPerson rep WHERE rep.event.id = :eventId",
+        countQuery = "SELECT count(rep) FROM RelEventPerson rep WHERE rep.event.id = :eventId"
     )
-    List<RelEventPerson> findAllREPCompleteByEventId(@Param("eventId") Long eventId);
+    Page<RelEventPerson> findAllREPCompleteByEventId(@Param("eventId") Long eventId, Pageable pageable);
 
     /**
-     * get ALL (EVENT, PERSON+USER AND HIERARCHY )  data for each relEventPerson concerning by the person in param
+     * get a page of the events of the person in param, with the "person-agenda" entity graph: EVENT+EVENT TYPE AND HIERARCHY
+     * the person is the same for all of them, so it is left out, and the entity graph left joins the hierarchy
      *
      * @param personId
-     * @return a list of RelEventPerson, included all data about entities linked
+     * @param pageable the pagination information
+     * @return a page of RelEventPerson, included all data about entities linked
      */
+    @EntityGraph("person-agenda")
     @Query(
-        "SELECT rep FROM RelEventPerson rep " +
-        "JOIN FETCH rep.event e " +
-        "JOIN FETCH rep.person p " +
-        "JOIN FETCH p.user u " +
-        "JOIN FETCH rep.hierarchy h " +
-        "WHERE rep.person.id = :personId"
+        value = "SELECT rep FROM RelEventPerson rep WHERE rep.person.id = :personId",
+        countQuery = "SELECT count(rep) FROM RelEventPerson rep WHERE rep.person.id = :personId"
     )
-    List<RelEventPerson> findAllREPCompleteByPersonId(@Param("personId") Long personId);
+    Page<RelEventPerson> findAllREPCompleteByPersonId(@Param("personId") Long personId, Pageable pageable);
 
     /**
-     * get ALL (EVENT, PERSON+USER AND HIERARCHY )  data for each relEventPerson concerning by the event and the hierarchy in param
+     * get a page of the participants of the event in param having the hierarchy in param, with the "roster" entity graph
      *
      * @param eventId,
      * @param hierarchyId,
-     * @return a list of RelEventPerson, included all data about entities linked
+     * @param pageable the pagination information
+     * @return a page of RelEventPerson, included all data about entities linked
      */
+    @EntityGraph("roster")
     @Query(
-        "SELECT rep, e, p, u, h FROM RelEventPerson rep " +
-        "JOIN Event e ON rep.event.id = e.id " +
-        "JOIN Person p ON rep.person.id = p.id " +
-        "JOIN User u ON p.user.id = u.id " +
-        "JOIN Hierarchy h ON rep.hierarchy.id = h.id " +
-        "WHERE rep.event.id = :eventId AND rep.hierarchy.id = :hierarchyId"
+        value = "SELECT rep FROM RelEventPerson rep WHERE rep.event.id = :eventId AND rep.hierarchy.id = :hierarchyId",
+        countQuery = "SELECT count(rep) FROM RelEventPerson rep WHERE rep.event.id = :eventId AND rep.hierarchy.id = :hierarchyId"
     )
-    List<RelEventPerson> findAllREPCompleteByEventIdAndHierarchyId(@Param("eventId") Long eventId, @Param("hierarchyId") Long hierarchyId);
+    Page<RelEventPerson> findAllREPCompleteByEventIdAndHierarchyId(
+        @Param("eventId") Long eventId,
+        @Param("hierarchyId") Long hierarchyId,
+        Pageable pageable
+    );
 
     /**
      * get ONE (EVENT, PERSON+USER AND HIERARCHY )  data for each relEventPerson concerning by the event + the person in param
@@ -101,9 +107,57 @@ public interface RelEventPersonExtendedRepositoryWithBagRelationships {
         "SELECT rep FROM RelEventPerson rep " +
         "JOIN FETCH rep.event e " +
         "JOIN FETCH rep.person p " +
-        "JOIN FETCH p.user u " +
-        "JOIN FETCH rep.hierarchy h " +
+        "LEFT JOIN FETCH p.user u " +
+        "LEFT JOIN FETCH rep.hierarchy h " +
         "WHERE rep.event.id = :eventId AND rep.person.id = :personId"
     )
     Optional<RelEventPerson> findREPCompleteByEventIdAndPersonId(@Param("eventId") Long eventId, @Param("personId") Long personId);
+
+    /**
+     * get ONE relEventPerson concerning by the event + the person in param, with the "ids-only" entity graph:
+     * none of the entities linked is read, only their ids
+     *
+     * @param eventId
+     * @param personId
+     * @return the RelEventPerson, if the person takes part in the event
+     */
+    @EntityGraph("ids-only")
+    @Query("SELECT rep FROM RelEventPerson rep WHERE rep.event.id = :eventId AND rep.person.id = :personId")
+    Optional<RelEventPerson> findIdsOnlyByEventIdAndPersonId(@Param("eventId") Long eventId, @Param("personId") Long personId);
+
+    /**
+     * get ALL (EVENT, PERSON+USER AND HIERARCHY ) data for the relEventPeople of the events in param, in a single query
+     * the person's user and the hierarchy may be missing, so they are left joined
+     *
+     * @param eventIds
+     * @return the list of RelEventPerson, included all data about entities linked
+     */
+    @Query(
+        "SELECT rep FROM RelEventPerson rep " +
+        "JOIN FETCH rep.event e " +
+        "JOIN FETCH rep.person p " +
+        "LEFT JOIN FETCH p.user u " +
+        "LEFT JOIN FETCH rep.hierarchy h " +
+        "WHERE rep.event.id IN :eventIds"
+    )
+    List<RelEventPerson> findAllREPCompleteByEventIdIn(@Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * get ALL (EVENT, PERSON+USER AND HIERARCHY ) data for the relEventPeople of the events whose id is in [fromEventId, toEventId),
+     * ordered by their (event, person) key, in a single query
+     *
+     * @param fromEventId the lowest event id, inclusive
+     * @param toEventId the highest event id, exclusive
+     * @return the list of RelEventPerson, included all data about entities linked
+     */
+    @Query(
+        "SELECT rep FROM RelEventPerson rep " +
+        "JOIN FETCH rep.event e " +
+        "JOIN FETCH rep.person p " +
+        "LEFT JOIN FETCH p.user u " +
+        "LEFT JOIN FETCH rep.hierarchy h " +
+        "WHERE rep.event.id >= :fromEventId AND rep.event.id < :toEventId " +
+        "ORDER BY rep.event.id, rep.person.id"
+    )
+    List<RelEventPerson> findAllREPCompleteByEventIdRange(@Param("fromEventId") long fromEventId, @Param("toEventId") long toEventId);
 }
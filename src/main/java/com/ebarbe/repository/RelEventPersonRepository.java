@@ -1,6 +1,7 @@
 package com.ebarbe.repository;
 
 import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.domain.RelEventPersonId;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -20,14 +21,10 @@ public interface RelEventPersonRepository
         RelEventPersonRepositoryWithBagRelationships,
         RelEventPersonExtendedRepositoryWithBagRelationships,
         RelEventPersonExtendedRepository,
-        JpaRepository<RelEventPerson, Long>,
+        RelEventPersonUpsertRepository,
+        JpaRepository<RelEventPerson, RelEventPersonId>,
         JpaSpecificationExecutor<RelEventPerson> {
-    /**
-     * /!\ relEventperson doesn't have id -> obsolete method -> cf findByEventAndPersonId() / findByEventId() / findByPersonId()
-     * @param id
-     * @return
-     */
-    default Optional<RelEventPerson> findOneWithEagerRelationships(Long id) {
+    default Optional<RelEventPerson> findOneWithEagerRelationships(RelEventPersonId id) {
         return this.fetchBagRelationships(this.findById(id));
     }
 
@@ -12,8 +12,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 
 /**
- * /!\ no method of this class can be used beacause there is no Id in relEventPerson table => RelEventPersonExtendedRepositoryWithBagRelationshipsImpl
  * Utility repository to load bag relationships based on https://vladmihalcea.com/hibernate-multiplebagfetchexception/
+ * the relEventPeople are looked up by their (event_id, person_id) primary key
  */
 public class RelEventPersonRepositoryWithBagRelationshipsImpl implements RelEventPersonRepositoryWithBagRelationships {
 
@@ -45,7 +45,6 @@ public class RelEventPersonRepositoryWithBagRelationshipsImpl implements RelEven
     }
 
     /**
-     * /!\ Can't be used beacause there is no Id in relEventPerson table => cf findByEventAndPersonId() / findByEventId() / findByPersonId()
      * get event data for relEventPerson in param
      * @param result
      * @return
@@ -61,9 +60,8 @@ public class RelEventPersonRepositoryWithBagRelationshipsImpl implements RelEven
     }
 
     /**
-     * /!\ Can't be used beacause there is no Id in relEventPerson table => cf findByEventAndPersonId() / findByEventId() / findByPersonId()
      * get event data for each relEventPerson in param
-     * uses the RelEventPerson ID to maintain the initial order when sorting the results. Here's where it happens
+     * uses the RelEventPerson ID (event + person) to maintain the initial order when sorting the results. Here's where it happens
      * @param relEventPeople
      * @return
      */
@@ -82,7 +80,6 @@ public class RelEventPersonRepositoryWithBagRelationshipsImpl implements RelEven
     }
 
     /**
-     * /!\ Can't be used beacause there is no Id in relEventPerson table => cf findByEventAndPersonId() / findByEventId() / findByPersonId()
      * get person data for relEventPerson in param
      * @param result may be a person object
      * @return
@@ -98,9 +95,8 @@ public class RelEventPersonRepositoryWithBagRelationshipsImpl implements RelEven
     }
 
     /**
-     * /!\ Can't be used beacause there is no Id in relEventPerson table => cf findByEventAndPersonId() / findByEventId() / findByPersonId()
      * get person data for each relEventPerson in param
-     * uses the RelEventPerson ID to maintain the initial order when sorting the results. Here's where it happens:
+     * uses the RelEventPerson ID (event + person) to maintain the initial order when sorting the results. Here's where it happens:
      * @param relEventPeople
      * @return
      */
@@ -119,7 +115,6 @@ public class RelEventPersonRepositoryWithBagRelationshipsImpl implements RelEven
     }
 
     /**
-     * /!\ Can't be used beacause there is no Id in relEventPerson table => cf findByEventAndPersonId() / findByEventId() / findByPersonId()
      * get hierarchy data for the relEventPerson in param
      * @param result may be a hierarchy object
      * @return the RelEventPerson with hierarchy data
@@ -135,9 +130,8 @@ public class RelEventPersonRepositoryWithBagRelationshipsImpl implements RelEven
     }
 
     /**
-     * /!\ Can't be used beacause there is no Id in relEventPerson table => cf findByEventAndPersonId() / findByEventId() / findByPersonId()
      * get hierarchy data for each relEventPerson
-     * uses the RelEventPerson ID to maintain the initial order when sorting the results. Here's where it happens:
+     * uses the RelEventPerson ID (event + person) to maintain the initial order when sorting the results. Here's where it happens:
      * @param relEventPeople
      * @return list of relEventPerson
      */
@@ -0,0 +1,29 @@
+package com.ebarbe.repository;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes the participants of an event in bulk, without reading the existing {@code rel_event__person} rows first.
+ */
+public interface RelEventPersonUpsertRepository {
+    /**
+     * A person taking part in an event.
+     *
+     * @param personId the id of the person.
+     * @param hierarchyId the id of the hierarchy of the person in the event, may be {@code null}.
+     * @param participation the participation of the person, may be {@code null}.
+     */
+    record Participant(Long personId, Long hierarchyId, String participation) {}
+
+    /**
+     * Link the given people to the event, or update the hierarchy and the participation of the ones already linked to it,
+     * with a single multi-row {@code INSERT ... ON CONFLICT (event_id, person_id) DO UPDATE} statement.
+     * Concurrent calls for the same couple cannot fail on the unique constraint: the last one wins.
+     *
+     * @param eventId the id of the event.
+     * @param participants the participants, with distinct people.
+     * @return the ids of the people newly linked to the event, the others were already linked and have been updated.
+     */
+    Set<Long> upsertParticipants(Long eventId, List<Participant> participants);
+}
@@ -0,0 +1,43 @@
+package com.ebarbe.repository;
+
+import com.ebarbe.domain.RelEventPerson;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+public class RelEventPersonUpsertRepositoryImpl implements RelEventPersonUpsertRepository {
+
+    // xmax is 0 for a row version created by the statement itself, i.e. for an insert rather than an update
+    private static final String UPSERT =
+        "insert into rel_event__person (event_id, person_id, hierarchy_id, participation) values %s " +
+        "on conflict (event_id, person_id) do update " +
+        "set hierarchy_id = excluded.hierarchy_id, participation = excluded.participation " +
+        "returning person_id, xmax = 0 as inserted";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Set<Long> upsertParticipants(Long eventId, List<Participant> participants) {
+        String rows = participants.stream().map(participant -> "(?, ?, ?, ?)").collect(Collectors.joining(", "));
+        NativeQuery<Object[]> query = entityManager
+            .createNativeQuery(String.format(UPSERT, rows))
+            .unwrap(NativeQuery.class)
+            .addScalar("person_id", StandardBasicTypes.LONG)
+            .addScalar("inserted", StandardBasicTypes.BOOLEAN)
+            .addSynchronizedEntityClass(RelEventPerson.class);
+        int position = 0;
+        for (Participant participant : participants) {
+            query.setParameter(++position, eventId, StandardBasicTypes.LONG);
+            query.setParameter(++position, participant.personId(), StandardBasicTypes.LONG);
+            query.setParameter(++position, participant.hierarchyId(), StandardBasicTypes.LONG);
+            query.setParameter(++position, participant.participation(), StandardBasicTypes.STRING);
+        }
+        return query.getResultList().stream().filter(row -> (Boolean) row[1]).map(row -> (Long) row[0]).collect(Collectors.toSet());
+    }
+}
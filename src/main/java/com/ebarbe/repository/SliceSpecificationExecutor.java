@@ -0,0 +1,27 @@
+package com.ebarbe.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+/**
+ * Repository fragment reading a slice of entities matching a {@link Specification} in one query,
+ * where {@link JpaSpecificationExecutor#findAll(Specification, Pageable)} runs a second one for the total.
+ * <p>
+ * It is implemented by {@link SlicingJpaRepository}, the base class of the repositories. The pages with their total are read
+ * as columns by the {@link ProjectionQueryExecutor}.
+ *
+ * @param <T> the type of the entity.
+ */
+public interface SliceSpecificationExecutor<T> {
+    /**
+     * Returns a {@link Slice} of entities matching the given {@link Specification}, without any total.
+     * One more entity than the page size is read, to know whether there is a next slice.
+     *
+     * @param spec can be {@literal null}.
+     * @param pageable must not be {@literal null}.
+     * @return never {@literal null}.
+     */
+    Slice<T> findSlice(Specification<T> spec, Pageable pageable);
+}
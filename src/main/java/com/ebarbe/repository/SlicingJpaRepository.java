@@ -0,0 +1,37 @@
+package com.ebarbe.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.support.JpaEntityInformation;
+import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+
+/**
+ * Base class of the Spring Data JPA repositories, implementing {@link SliceSpecificationExecutor}
+ * for the repositories declaring it.
+ *
+ * @param <T> the type of the entity.
+ * @param <ID> the type of the id of the entity.
+ */
+public class SlicingJpaRepository<T, ID> extends SimpleJpaRepository<T, ID> implements SliceSpecificationExecutor<T> {
+
+    public SlicingJpaRepository(JpaEntityInformation<T, ?> entityInformation, EntityManager entityManager) {
+        super(entityInformation, entityManager);
+    }
+
+    @Override
+    public Slice<T> findSlice(Specification<T> spec, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(findAll(spec, pageable.getSort()), pageable, false);
+        }
+
+        TypedQuery<T> query = ReadOnlyQueries.readOnlyInReadOnlyTransaction(getQuery(spec, pageable.getSort()));
+        List<T> rows = query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + 1).getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
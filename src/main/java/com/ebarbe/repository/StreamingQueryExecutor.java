@@ -0,0 +1,82 @@
+package com.ebarbe.repository;
+
+import com.ebarbe.config.ApplicationProperties;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Runs a {@link Specification} over a JDBC cursor instead of loading the whole result list.
+ * <p>
+ * Rows are fetched {@code application.export.fetch-size} at a time and the persistence context is cleared
+ * after each batch, so the memory used does not depend on the number of matching rows.
+ * It must be called inside a transaction: the PostgreSQL driver only uses a cursor when auto-commit is off.
+ */
+@Repository
+public class StreamingQueryExecutor {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final int fetchSize;
+
+    public StreamingQueryExecutor(ApplicationProperties applicationProperties) {
+        this.fetchSize = applicationProperties.getExport().getFetchSize();
+    }
+
+    /**
+     * Pass each entity matching the specification to the consumer, ordered by id.
+     * <p>
+     * The entities are detached once their batch is done: the consumer must not keep them, nor rely on lazy loading afterward.
+     *
+     * @param domainClass the entity type.
+     * @param specification the filters, may be {@code null}.
+     * @param idAttribute the id attribute, the rows are sorted on it.
+     * @param consumer the consumer of each entity.
+     */
+    public <T> void forEach(
+        Class<T> domainClass,
+        Specification<T> specification,
+        SingularAttribute<? super T, Long> idAttribute,
+        Consumer<? super T> consumer
+    ) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> query = cb.createQuery(domainClass);
+        Root<T> root = query.from(domainClass);
+        query.select(root);
+        if (specification != null) {
+            Predicate filter = specification.toPredicate(root, query, cb);
+            if (filter != null) {
+                query.where(filter);
+            }
+        }
+        query.orderBy(cb.asc(root.get(idAttribute)));
+
+        try (
+            Stream<T> rows = entityManager
+                .createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(AvailableHints.HINT_READ_ONLY, true)
+                .getResultStream()
+        ) {
+            Iterator<T> iterator = rows.iterator();
+            int count = 0;
+            while (iterator.hasNext()) {
+                consumer.accept(iterator.next());
+                if (++count % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.ebarbe.repository;
 
 import com.ebarbe.domain.SubTask;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +13,23 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface SubTaskRepository extends JpaRepository<SubTask, Long>, JpaSpecificationExecutor<SubTask> {}
+public interface SubTaskRepository
+    extends JpaRepository<SubTask, Long>, JpaSpecificationExecutor<SubTask>, SliceSpecificationExecutor<SubTask> {
+    /**
+     * Keep, among the given ids, the ones of an existing subTask, with a single query.
+     */
+    @Query("select subTask.id from SubTask subTask where subTask.id in :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Read the version of a subTask alone, without loading it.
+     */
+    @Query("select subTask.version from SubTask subTask where subTask.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Get the mainTasks of the given subTasks, with a single query.
+     */
+    @Query("select distinct subTask.mainTask.id from SubTask subTask where subTask.id in :ids")
+    Set<Long> findMainTaskIdsByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,27 @@
+package com.ebarbe.repository;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Registers the {@value #TOTAL_COUNT} function, rendered as the {@code count(*) over()} window function:
+ * the number of rows matching the query, before its offset and limit are applied.
+ * <p>
+ * It is contributed through {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class TotalCountFunctionContributor implements FunctionContributor {
+
+    public static final String TOTAL_COUNT = "total_count";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        functionContributions
+            .getFunctionRegistry()
+            .registerPattern(
+                TOTAL_COUNT,
+                "count(*) over()",
+                functionContributions.getTypeConfiguration().getBasicTypeRegistry().resolve(StandardBasicTypes.LONG)
+            );
+    }
+}
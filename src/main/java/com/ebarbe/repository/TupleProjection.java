@@ -0,0 +1,32 @@
+package com.ebarbe.repository;
+
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+
+/**
+ * The columns a query reads from an entity, and how a row of them is turned into a result,
+ * so that the result is built without any managed entity. It is run by the {@link ProjectionQueryExecutor}.
+ *
+ * @param <T> the type of the entity the columns are read from.
+ * @param <R> the type of the result.
+ */
+public interface TupleProjection<T, R> {
+    /**
+     * The columns to read, the to-one associations being reached with left joins from the given root or join.
+     *
+     * @param from the root or join of the entity.
+     * @return the columns, in the order {@link #map(Tuple, int)} reads them.
+     */
+    List<Selection<?>> select(From<?, T> from);
+
+    /**
+     * Build the result from the columns of a row, starting at the given position.
+     *
+     * @param row the row.
+     * @param first the position of the first column of the projection in the row.
+     * @return the result.
+     */
+    R map(Tuple row, int first);
+}
@@ -0,0 +1,166 @@
+package com.ebarbe.repository.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.SimpleQueryStringQuery;
+import com.ebarbe.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchAggregations;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.stereotype.Component;
+
+/**
+ * Searches typed by the users, each with a bounded cost.
+ * <p>
+ * In {@link SearchMode#SIMPLE} mode, the text is a {@code simple_query_string} on the text fields of the entity, boosted
+ * by their weight: a syntax error gives no hit instead of a failure, and there is no leading wildcard nor regular expression
+ * to scan a whole index. In both modes, a fuzzy term is expanded to a limited number of terms, the search is stopped on
+ * Elasticsearch after a timeout, and the hits of a page are counted up to a limit only. The facets asked with the hits are
+ * computed by the same search, each terms facet with a limited number of buckets. Several searches may be run together in a
+ * single {@code _msearch} request, each one with its own timeout.
+ * <p>
+ * The time taken by each search is recorded in the {@value #QUERY_METER_NAME} timer, by entity and mode, the searches run
+ * together being recorded as the {@value #MULTI_SEARCH_ENTITY} entity.
+ */
+@Component
+public class BoundedSearch {
+
+    public static final String QUERY_METER_NAME = "search.query";
+
+    public static final String MULTI_SEARCH_ENTITY = "multi";
+
+    private final ElasticsearchTemplate elasticsearchTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration timeout;
+
+    private final int maxExpansions;
+
+    private final int maxCountedHits;
+
+    private final int maxFacetBuckets;
+
+    public BoundedSearch(
+        ElasticsearchTemplate elasticsearchTemplate,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.meterRegistry = meterRegistry;
+        this.timeout = applicationProperties.getSearch().getQuery().getTimeout();
+        this.maxExpansions = applicationProperties.getSearch().getQuery().getMaxExpansions();
+        this.maxCountedHits = applicationProperties.getSearch().getQuery().getMaxCountedHits();
+        this.maxFacetBuckets = applicationProperties.getSearch().getQuery().getMaxFacetBuckets();
+    }
+
+    /**
+     * Build the query of the text typed by a user.
+     *
+     * @param query the text typed.
+     * @param mode how the text is read.
+     * @param fields the fields searched in {@link SearchMode#SIMPLE} mode, each one with its boost, e.g. {@code label^3}.
+     * @return the query.
+     */
+    public Query query(String query, SearchMode mode, List<String> fields) {
+        if (mode == SearchMode.RAW) {
+            return QueryStringQuery.of(qs -> qs.query(query).fuzzyMaxExpansions(maxExpansions))._toQuery();
+        }
+        return SimpleQueryStringQuery.of(sqs -> sqs.query(query).fields(fields).fuzzyMaxExpansions(maxExpansions))._toQuery();
+    }
+
+    /**
+     * Run a search within the bounds, and record the time it took.
+     *
+     * @param query the search, whose hits are counted unless it disables it.
+     * @param domainClass the entity searched.
+     * @param mode how the text of the query was read.
+     * @return the hits.
+     */
+    public <T> SearchHits<T> search(NativeQuery query, Class<T> domainClass, SearchMode mode) {
+        query.setTimeout(timeout);
+        if (!Boolean.FALSE.equals(query.getTrackTotalHits())) {
+            query.setTrackTotalHitsUpTo(maxCountedHits);
+        }
+        return Timer
+            .builder(QUERY_METER_NAME)
+            .description("Time taken by a search typed by a user")
+            .tag("entity", domainClass.getSimpleName())
+            .tag("mode", mode.name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry)
+            .record(() -> elasticsearchTemplate.search(query, domainClass));
+    }
+
+    /**
+     * Run several searches within the bounds in a single round trip, and record the time they took.
+     *
+     * @param queries the searches, each one stopped after its own timeout if it has one.
+     * @param domainClasses the entity searched by each search.
+     * @param mode how the text of the queries was read.
+     * @return the hits of each search, in the order of the searches.
+     */
+    public List<SearchHits<?>> multiSearch(List<NativeQuery> queries, List<Class<?>> domainClasses, SearchMode mode) {
+        for (NativeQuery query : queries) {
+            if (query.getTimeout() == null) {
+                query.setTimeout(timeout);
+            }
+            query.setTrackTotalHitsUpTo(maxCountedHits);
+        }
+        return Timer
+            .builder(QUERY_METER_NAME)
+            .description("Time taken by a search typed by a user")
+            .tag("entity", MULTI_SEARCH_ENTITY)
+            .tag("mode", mode.name().toLowerCase(Locale.ROOT))
+            .register(meterRegistry)
+            .record(() -> elasticsearchTemplate.multiSearch(queries, domainClasses));
+    }
+
+    /**
+     * Get a page of hits within the bounds, with the given facets of all the hits.
+     *
+     * @param query the query.
+     * @param facets the facets to compute.
+     * @param pageable the pagination information.
+     * @param domainClass the entity searched.
+     * @param mode how the text of the query was read.
+     * @return the page of hits, with the facets.
+     */
+    public <T> FacetedPage<T> searchWithFacets(
+        Query query,
+        List<SearchFacet> facets,
+        Pageable pageable,
+        Class<T> domainClass,
+        SearchMode mode
+    ) {
+        NativeQueryBuilder builder = NativeQuery.builder().withQuery(query).withPageable(pageable);
+        for (SearchFacet facet : facets) {
+            builder.withAggregation(facet.getName(), facet.toAggregation(maxFacetBuckets));
+        }
+        SearchHits<T> searchHits = search(builder.build(), domainClass, mode);
+        Page<T> page = new PageImpl<>(searchHits.map(SearchHit::getContent).stream().toList(), pageable, searchHits.getTotalHits());
+
+        Map<String, ElasticsearchAggregation> aggregations = searchHits.hasAggregations()
+            ? ((ElasticsearchAggregations) searchHits.getAggregations()).aggregationsAsMap()
+            : Map.of();
+        Map<String, List<FacetBucket>> buckets = new LinkedHashMap<>();
+        for (SearchFacet facet : facets) {
+            ElasticsearchAggregation aggregation = aggregations.get(facet.getName());
+            buckets.put(facet.getName(), aggregation != null ? facet.toBuckets(aggregation.aggregation().getAggregate()) : List.of());
+        }
+        return new FacetedPage<>(page, buckets);
+    }
+}
@@ -1,8 +1,11 @@
 package com.ebarbe.repository.search;
 
-import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.ebarbe.domain.IndexOutboxEntry;
 import com.ebarbe.domain.Category;
+import com.ebarbe.domain.enumeration.IndexOperation;
+import com.ebarbe.repository.IndexOutboxRepository;
 import com.ebarbe.repository.CategoryRepository;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -13,39 +16,88 @@ import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Category} entity.
  */
 public interface CategorySearchRepository extends ElasticsearchRepository<Category, Long>, CategorySearchRepositoryInternal {}
 
-interface CategorySearchRepositoryInternal {
-    Page<Category> search(String query, Pageable pageable);
+interface CategorySearchRepositoryInternal extends OutboxIndexer {
+    Page<Category> search(String query, SearchMode mode, Pageable pageable);
+
+    /**
+     * Build the search of a page of hits of {@link #search(String, SearchMode, Pageable)}, to run it along with other searches.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pageable the pagination information.
+     * @return the search, not run yet.
+     */
+    NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable);
 
     Page<Category> search(Query query);
 
-    @Async
+    /**
+     * Search the categories slice by slice, in a point in time of the index.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pointInTimeId the point in time of the previous slice, {@code null} for the first slice.
+     * @param searchAfter the sort values of the last hit of the previous slice, {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the slice, with the point in time and the sort values to get the next one.
+     */
+    SearchAfterSlice<Category> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size);
+
+    /**
+     * Queue the entity to be indexed, in the transaction of the caller.
+     */
     void index(Category entity);
 
-    @Async
+    /**
+     * Queue the entity to be removed from the index, in the transaction of the caller.
+     */
     void deleteFromIndexById(Long id);
 }
 
 class CategorySearchRepositoryInternalImpl implements CategorySearchRepositoryInternal {
 
+    // the text fields searched, with their boost
+    private static final List<String> SEARCH_FIELDS = List.of("label^2", "description");
+
     private final ElasticsearchTemplate elasticsearchTemplate;
     private final CategoryRepository repository;
+    private final IndexOutboxRepository indexOutboxRepository;
+    private final BoundedSearch boundedSearch;
+    private final PointInTimeSearch pointInTimeSearch;
 
-    CategorySearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, CategoryRepository repository) {
+    CategorySearchRepositoryInternalImpl(
+        ElasticsearchTemplate elasticsearchTemplate,
+        CategoryRepository repository,
+        IndexOutboxRepository indexOutboxRepository,
+        BoundedSearch boundedSearch,
+        PointInTimeSearch pointInTimeSearch
+    ) {
         this.elasticsearchTemplate = elasticsearchTemplate;
         this.repository = repository;
+        this.indexOutboxRepository = indexOutboxRepository;
+        this.boundedSearch = boundedSearch;
+        this.pointInTimeSearch = pointInTimeSearch;
+    }
+
+    @Override
+    public NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = new NativeQuery(boundedSearch.query(query, mode, SEARCH_FIELDS));
+        nativeQuery.setPageable(pageable);
+        return nativeQuery;
     }
 
     @Override
-    public Page<Category> search(String query, Pageable pageable) {
-        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
-        return search(nativeQuery.setPageable(pageable));
+    public Page<Category> search(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = searchQuery(query, mode, pageable);
+        SearchHits<Category> searchHits = boundedSearch.search(nativeQuery, Category.class, mode);
+        List<Category> hits = searchHits.map(SearchHit::getContent).stream().toList();
+        return new PageImpl<>(hits, pageable, searchHits.getTotalHits());
     }
 
     @Override
@@ -55,13 +107,44 @@ class CategorySearchRepositoryInternalImpl implements CategorySearchRepositoryIn
         return new PageImpl<>(hits, query.getPageable(), searchHits.getTotalHits());
     }
 
+    @Override
+    public SearchAfterSlice<Category> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size) {
+        return pointInTimeSearch.search(
+            Category.class,
+            boundedSearch.query(query, mode, SEARCH_FIELDS),
+            mode,
+            pointInTimeId,
+            searchAfter,
+            size,
+            "id"
+        );
+    }
+
     @Override
     public void index(Category entity) {
-        repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), entity.getId(), IndexOperation.INDEX));
     }
 
     @Override
     public void deleteFromIndexById(Long id) {
-        elasticsearchTemplate.delete(String.valueOf(id), Category.class);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), id, IndexOperation.DELETE));
+    }
+
+    @Override
+    public String getEntityType() {
+        return Category.class.getSimpleName();
+    }
+
+    @Override
+    public void indexAllById(Collection<Long> ids) {
+        List<Category> entities = repository.findAllById(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities);
+        }
+    }
+
+    @Override
+    public void deleteAllFromIndexById(Collection<Long> ids) {
+        elasticsearchTemplate.delete(elasticsearchTemplate.idsQuery(ids.stream().map(String::valueOf).toList()), Category.class);
     }
 }
@@ -1,8 +1,11 @@
 package com.ebarbe.repository.search;
 
-import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.ebarbe.domain.IndexOutboxEntry;
 import com.ebarbe.domain.Event;
+import com.ebarbe.domain.enumeration.IndexOperation;
+import com.ebarbe.repository.IndexOutboxRepository;
 import com.ebarbe.repository.EventRepository;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -13,39 +16,125 @@ import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Event} entity.
  */
 public interface EventSearchRepository extends ElasticsearchRepository<Event, Long>, EventSearchRepositoryInternal {}
 
-interface EventSearchRepositoryInternal {
-    Page<Event> search(String query, Pageable pageable);
+interface EventSearchRepositoryInternal extends OutboxIndexer {
+    Page<Event> search(String query, SearchMode mode, Pageable pageable);
+
+    /**
+     * Build the search of a page of hits of {@link #search(String, SearchMode, Pageable)}, to run it along with other searches.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pageable the pagination information.
+     * @return the search, not run yet.
+     */
+    NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable);
+
+    /**
+     * Search the events page by page, with facets of all the hits.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param facets the names of the facets to compute, all of them if empty.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the facets.
+     * @throws IllegalArgumentException if a facet is unknown.
+     */
+    FacetedPage<Event> searchWithFacets(String query, SearchMode mode, Collection<String> facets, Pageable pageable);
 
     Page<Event> search(Query query);
 
-    @Async
+    /**
+     * Search the events slice by slice, in a point in time of the index.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pointInTimeId the point in time of the previous slice, {@code null} for the first slice.
+     * @param searchAfter the sort values of the last hit of the previous slice, {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the slice, with the point in time and the sort values to get the next one.
+     */
+    SearchAfterSlice<Event> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size);
+
+    /**
+     * Queue the entity to be indexed, in the transaction of the caller.
+     */
     void index(Event entity);
 
-    @Async
+    /**
+     * Queue the entity to be removed from the index, in the transaction of the caller.
+     */
     void deleteFromIndexById(Long id);
 }
 
 class EventSearchRepositoryInternalImpl implements EventSearchRepositoryInternal {
 
+    // the text fields searched, with their boost
+    private static final List<String> SEARCH_FIELDS = List.of(
+        "label^3",
+        "theme^2",
+        "place^2",
+        "description",
+        "placeDetails",
+        "adress",
+        "note"
+    );
+
+    // the facets of the hits the clients may ask for
+    private static final List<SearchFacet> FACETS = List.of(
+        SearchFacet.terms("eventType", "eventType.id"),
+        SearchFacet.months("dateStart", "dateStart")
+    );
+
     private final ElasticsearchTemplate elasticsearchTemplate;
     private final EventRepository repository;
+    private final IndexOutboxRepository indexOutboxRepository;
+    private final BoundedSearch boundedSearch;
+    private final PointInTimeSearch pointInTimeSearch;
 
-    EventSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, EventRepository repository) {
+    EventSearchRepositoryInternalImpl(
+        ElasticsearchTemplate elasticsearchTemplate,
+        EventRepository repository,
+        IndexOutboxRepository indexOutboxRepository,
+        BoundedSearch boundedSearch,
+        PointInTimeSearch pointInTimeSearch
+    ) {
         this.elasticsearchTemplate = elasticsearchTemplate;
         this.repository = repository;
+        this.indexOutboxRepository = indexOutboxRepository;
+        this.boundedSearch = boundedSearch;
+        this.pointInTimeSearch = pointInTimeSearch;
+    }
+
+    @Override
+    public NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = new NativeQuery(boundedSearch.query(query, mode, SEARCH_FIELDS));
+        nativeQuery.setPageable(pageable);
+        return nativeQuery;
+    }
+
+    @Override
+    public Page<Event> search(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = searchQuery(query, mode, pageable);
+        SearchHits<Event> searchHits = boundedSearch.search(nativeQuery, Event.class, mode);
+        List<Event> hits = searchHits.map(SearchHit::getContent).stream().toList();
+        return new PageImpl<>(hits, pageable, searchHits.getTotalHits());
     }
 
     @Override
-    public Page<Event> search(String query, Pageable pageable) {
-        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
-        return search(nativeQuery.setPageable(pageable));
+    public FacetedPage<Event> searchWithFacets(String query, SearchMode mode, Collection<String> facets, Pageable pageable) {
+        return boundedSearch.searchWithFacets(
+            boundedSearch.query(query, mode, SEARCH_FIELDS),
+            SearchFacet.select(FACETS, facets),
+            pageable,
+            Event.class,
+            mode
+        );
     }
 
     @Override
@@ -55,13 +144,44 @@ class EventSearchRepositoryInternalImpl implements EventSearchRepositoryInternal
         return new PageImpl<>(hits, query.getPageable(), searchHits.getTotalHits());
     }
 
+    @Override
+    public SearchAfterSlice<Event> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size) {
+        return pointInTimeSearch.search(
+            Event.class,
+            boundedSearch.query(query, mode, SEARCH_FIELDS),
+            mode,
+            pointInTimeId,
+            searchAfter,
+            size,
+            "id"
+        );
+    }
+
     @Override
     public void index(Event entity) {
-        repository.findOneWithEagerRelationships(entity.getId()).ifPresent(elasticsearchTemplate::save);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), entity.getId(), IndexOperation.INDEX));
     }
 
     @Override
     public void deleteFromIndexById(Long id) {
-        elasticsearchTemplate.delete(String.valueOf(id), Event.class);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), id, IndexOperation.DELETE));
+    }
+
+    @Override
+    public String getEntityType() {
+        return Event.class.getSimpleName();
+    }
+
+    @Override
+    public void indexAllById(Collection<Long> ids) {
+        List<Event> entities = repository.findAllWithEagerRelationshipsByIdIn(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities);
+        }
+    }
+
+    @Override
+    public void deleteAllFromIndexById(Collection<Long> ids) {
+        elasticsearchTemplate.delete(elasticsearchTemplate.idsQuery(ids.stream().map(String::valueOf).toList()), Event.class);
     }
 }
@@ -0,0 +1,32 @@
+package com.ebarbe.repository.search;
+
+/**
+ * A value of a facet, with the number of hits having it.
+ */
+public class FacetBucket {
+
+    private final String key;
+
+    private final long count;
+
+    public FacetBucket(String key, long count) {
+        this.key = key;
+        this.count = count;
+    }
+
+    /**
+     * @return the value: the id of a related entity, or the month of a date formatted as {@code yyyy-MM}.
+     */
+    public String getKey() {
+        return key;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "FacetBucket{" + "key='" + key + "'" + ", count=" + count + "}";
+    }
+}
@@ -0,0 +1,38 @@
+package com.ebarbe.repository.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.data.domain.Page;
+
+/**
+ * A page of the hits of a search, with the facets of all the hits, computed by the same search.
+ *
+ * @param <T> the type of the content.
+ */
+public class FacetedPage<T> {
+
+    private final Page<T> page;
+
+    private final Map<String, List<FacetBucket>> facets;
+
+    public FacetedPage(Page<T> page, Map<String, List<FacetBucket>> facets) {
+        this.page = page;
+        this.facets = facets;
+    }
+
+    public Page<T> getPage() {
+        return page;
+    }
+
+    /**
+     * @return the buckets of each facet asked, by facet name.
+     */
+    public Map<String, List<FacetBucket>> getFacets() {
+        return facets;
+    }
+
+    public <U> FacetedPage<U> map(Function<? super T, ? extends U> converter) {
+        return new FacetedPage<>(page.map(converter), facets);
+    }
+}
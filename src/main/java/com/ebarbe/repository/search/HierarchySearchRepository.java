@@ -1,8 +1,11 @@
 package com.ebarbe.repository.search;
 
-import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.ebarbe.domain.IndexOutboxEntry;
 import com.ebarbe.domain.Hierarchy;
+import com.ebarbe.domain.enumeration.IndexOperation;
+import com.ebarbe.repository.IndexOutboxRepository;
 import com.ebarbe.repository.HierarchyRepository;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -13,39 +16,88 @@ import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
 
 /**
  * Spring Data Elasticsearch repository for the {@link Hierarchy} entity.
  */
 public interface HierarchySearchRepository extends ElasticsearchRepository<Hierarchy, Long>, HierarchySearchRepositoryInternal {}
 
-interface HierarchySearchRepositoryInternal {
-    Page<Hierarchy> search(String query, Pageable pageable);
+interface HierarchySearchRepositoryInternal extends OutboxIndexer {
+    Page<Hierarchy> search(String query, SearchMode mode, Pageable pageable);
+
+    /**
+     * Build the search of a page of hits of {@link #search(String, SearchMode, Pageable)}, to run it along with other searches.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pageable the pagination information.
+     * @return the search, not run yet.
+     */
+    NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable);
 
     Page<Hierarchy> search(Query query);
 
-    @Async
+    /**
+     * Search the hierarchies slice by slice, in a point in time of the index.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pointInTimeId the point in time of the previous slice, {@code null} for the first slice.
+     * @param searchAfter the sort values of the last hit of the previous slice, {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the slice, with the point in time and the sort values to get the next one.
+     */
+    SearchAfterSlice<Hierarchy> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size);
+
+    /**
+     * Queue the entity to be indexed, in the transaction of the caller.
+     */
     void index(Hierarchy entity);
 
-    @Async
+    /**
+     * Queue the entity to be removed from the index, in the transaction of the caller.
+     */
     void deleteFromIndexById(Long id);
 }
 
 class HierarchySearchRepositoryInternalImpl implements HierarchySearchRepositoryInternal {
 
+    // the text fields searched, with their boost
+    private static final List<String> SEARCH_FIELDS = List.of("description");
+
     private final ElasticsearchTemplate elasticsearchTemplate;
     private final HierarchyRepository repository;
+    private final IndexOutboxRepository indexOutboxRepository;
+    private final BoundedSearch boundedSearch;
+    private final PointInTimeSearch pointInTimeSearch;
 
-    HierarchySearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, HierarchyRepository repository) {
+    HierarchySearchRepositoryInternalImpl(
+        ElasticsearchTemplate elasticsearchTemplate,
+        HierarchyRepository repository,
+        IndexOutboxRepository indexOutboxRepository,
+        BoundedSearch boundedSearch,
+        PointInTimeSearch pointInTimeSearch
+    ) {
         this.elasticsearchTemplate = elasticsearchTemplate;
         this.repository = repository;
+        this.indexOutboxRepository = indexOutboxRepository;
+        this.boundedSearch = boundedSearch;
+        this.pointInTimeSearch = pointInTimeSearch;
+    }
+
+    @Override
+    public NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = new NativeQuery(boundedSearch.query(query, mode, SEARCH_FIELDS));
+        nativeQuery.setPageable(pageable);
+        return nativeQuery;
     }
 
     @Override
-    public Page<Hierarchy> search(String query, Pageable pageable) {
-        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
-        return search(nativeQuery.setPageable(pageable));
+    public Page<Hierarchy> search(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = searchQuery(query, mode, pageable);
+        SearchHits<Hierarchy> searchHits = boundedSearch.search(nativeQuery, Hierarchy.class, mode);
+        List<Hierarchy> hits = searchHits.map(SearchHit::getContent).stream().toList();
+        return new PageImpl<>(hits, pageable, searchHits.getTotalHits());
     }
 
     @Override
@@ -55,13 +107,44 @@ class HierarchySearchRepositoryInternalImpl implements HierarchySearchRepository
         return new PageImpl<>(hits, query.getPageable(), searchHits.getTotalHits());
     }
 
+    @Override
+    public SearchAfterSlice<Hierarchy> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size) {
+        return pointInTimeSearch.search(
+            Hierarchy.class,
+            boundedSearch.query(query, mode, SEARCH_FIELDS),
+            mode,
+            pointInTimeId,
+            searchAfter,
+            size,
+            "id"
+        );
+    }
+
     @Override
     public void index(Hierarchy entity) {
-        repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), entity.getId(), IndexOperation.INDEX));
     }
 
     @Override
     public void deleteFromIndexById(Long id) {
-        elasticsearchTemplate.delete(String.valueOf(id), Hierarchy.class);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), id, IndexOperation.DELETE));
+    }
+
+    @Override
+    public String getEntityType() {
+        return Hierarchy.class.getSimpleName();
+    }
+
+    @Override
+    public void indexAllById(Collection<Long> ids) {
+        List<Hierarchy> entities = repository.findAllById(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities);
+        }
+    }
+
+    @Override
+    public void deleteAllFromIndexById(Collection<Long> ids) {
+        elasticsearchTemplate.delete(elasticsearchTemplate.idsQuery(ids.stream().map(String::valueOf).toList()), Hierarchy.class);
     }
 }
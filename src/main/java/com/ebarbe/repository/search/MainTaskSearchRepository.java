@@ -1,8 +1,12 @@
 package com.ebarbe.repository.search;
 
-import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.ebarbe.domain.IndexOutboxEntry;
 import com.ebarbe.domain.MainTask;
+import com.ebarbe.domain.enumeration.IndexOperation;
+import com.ebarbe.domain.search.MainTaskDocument;
+import com.ebarbe.repository.IndexOutboxRepository;
 import com.ebarbe.repository.MainTaskRepository;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -13,55 +17,241 @@ import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
 
 /**
- * Spring Data Elasticsearch repository for the {@link MainTask} entity.
+ * Spring Data Elasticsearch repository for the {@link MainTask} entity, indexed as {@link MainTaskDocument}.
  */
-public interface MainTaskSearchRepository extends ElasticsearchRepository<MainTask, Long>, MainTaskSearchRepositoryInternal {}
+public interface MainTaskSearchRepository extends ElasticsearchRepository<MainTaskDocument, Long>, MainTaskSearchRepositoryInternal {}
 
-interface MainTaskSearchRepositoryInternal {
-    Page<MainTask> search(String query, Pageable pageable);
+interface MainTaskSearchRepositoryInternal extends OutboxIndexer, SearchDocumentSource {
+    Page<MainTaskDocument> search(String query, SearchMode mode, Pageable pageable);
 
-    Page<MainTask> search(Query query);
+    /**
+     * Build the search of a page of hits of {@link #search(String, SearchMode, Pageable)}, to run it along with other searches.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pageable the pagination information.
+     * @return the search, not run yet.
+     */
+    NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable);
 
-    @Async
+    /**
+     * Search the mainTasks page by page, with facets of all the hits.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param facets the names of the facets to compute, all of them if empty.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the facets.
+     * @throws IllegalArgumentException if a facet is unknown.
+     */
+    FacetedPage<MainTaskDocument> searchWithFacets(String query, SearchMode mode, Collection<String> facets, Pageable pageable);
+
+    Page<MainTaskDocument> search(Query query);
+
+    /**
+     * Search the mainTasks slice by slice, in a point in time of the index.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pointInTimeId the point in time of the previous slice, {@code null} for the first slice.
+     * @param searchAfter the sort values of the last hit of the previous slice, {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the slice, with the point in time and the sort values to get the next one.
+     */
+    SearchAfterSlice<MainTaskDocument> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size);
+
+    /**
+     * Queue the entity to be indexed, in the transaction of the caller.
+     */
     void index(MainTask entity);
 
-    @Async
+    /**
+     * Queue the entities to be indexed, in the transaction of the caller.
+     */
+    void indexAll(Collection<MainTask> entities);
+
+    /**
+     * Queue the entity to be removed from the index, in the transaction of the caller.
+     */
     void deleteFromIndexById(Long id);
+
+    /**
+     * Queue the mainTasks of the given ids to be indexed again, in the transaction of the caller, e.g. after a change of
+     * their subTasks.
+     */
+    void reindexAllById(Collection<Long> ids);
+
+    /**
+     * Queue the mainTasks of a category to be indexed again, in the transaction of the caller, after a change of its label.
+     */
+    void reindexAllByCategoryId(Long categoryId);
+
+    /**
+     * Queue the mainTasks of a status to be indexed again, in the transaction of the caller, after a change of its description.
+     */
+    void reindexAllByStatusId(Long statusId);
+
+    /**
+     * Queue the mainTasks of an owner to be indexed again, in the transaction of the caller, after a change of its name.
+     */
+    void reindexAllByPersonOwnerId(Long personOwnerId);
 }
 
 class MainTaskSearchRepositoryInternalImpl implements MainTaskSearchRepositoryInternal {
 
+    // the text fields searched, with their boost
+    private static final List<String> SEARCH_FIELDS = List.of("description^2", "category.label", "status.description", "personOwner.name");
+
+    // the facets of the hits the clients may ask for
+    private static final List<SearchFacet> FACETS = List.of(
+        SearchFacet.terms("status", "status.id"),
+        SearchFacet.terms("category", "category.id"),
+        SearchFacet.terms("personOwner", "personOwner.id"),
+        SearchFacet.months("deadline", "deadline"),
+        SearchFacet.months("creation", "creation")
+    );
+
     private final ElasticsearchTemplate elasticsearchTemplate;
     private final MainTaskRepository repository;
+    private final IndexOutboxRepository indexOutboxRepository;
+    private final BoundedSearch boundedSearch;
+    private final PointInTimeSearch pointInTimeSearch;
 
-    MainTaskSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, MainTaskRepository repository) {
+    MainTaskSearchRepositoryInternalImpl(
+        ElasticsearchTemplate elasticsearchTemplate,
+        MainTaskRepository repository,
+        IndexOutboxRepository indexOutboxRepository,
+        BoundedSearch boundedSearch,
+        PointInTimeSearch pointInTimeSearch
+    ) {
         this.elasticsearchTemplate = elasticsearchTemplate;
         this.repository = repository;
+        this.indexOutboxRepository = indexOutboxRepository;
+        this.boundedSearch = boundedSearch;
+        this.pointInTimeSearch = pointInTimeSearch;
+    }
+
+    @Override
+    public NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = new NativeQuery(boundedSearch.query(query, mode, SEARCH_FIELDS));
+        nativeQuery.setPageable(pageable);
+        return nativeQuery;
     }
 
     @Override
-    public Page<MainTask> search(String query, Pageable pageable) {
-        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
-        return search(nativeQuery.setPageable(pageable));
+    public Page<MainTaskDocument> search(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = searchQuery(query, mode, pageable);
+        SearchHits<MainTaskDocument> searchHits = boundedSearch.search(nativeQuery, MainTaskDocument.class, mode);
+        List<MainTaskDocument> hits = searchHits.map(SearchHit::getContent).stream().toList();
+        return new PageImpl<>(hits, pageable, searchHits.getTotalHits());
     }
 
     @Override
-    public Page<MainTask> search(Query query) {
-        SearchHits<MainTask> searchHits = elasticsearchTemplate.search(query, MainTask.class);
-        List<MainTask> hits = searchHits.map(SearchHit::getContent).stream().toList();
+    public FacetedPage<MainTaskDocument> searchWithFacets(String query, SearchMode mode, Collection<String> facets, Pageable pageable) {
+        return boundedSearch.searchWithFacets(
+            boundedSearch.query(query, mode, SEARCH_FIELDS),
+            SearchFacet.select(FACETS, facets),
+            pageable,
+            MainTaskDocument.class,
+            mode
+        );
+    }
+
+    @Override
+    public Page<MainTaskDocument> search(Query query) {
+        SearchHits<MainTaskDocument> searchHits = elasticsearchTemplate.search(query, MainTaskDocument.class);
+        List<MainTaskDocument> hits = searchHits.map(SearchHit::getContent).stream().toList();
         return new PageImpl<>(hits, query.getPageable(), searchHits.getTotalHits());
     }
 
+    @Override
+    public SearchAfterSlice<MainTaskDocument> search(
+        String query,
+        SearchMode mode,
+        String pointInTimeId,
+        List<Object> searchAfter,
+        int size
+    ) {
+        return pointInTimeSearch.search(
+            MainTaskDocument.class,
+            boundedSearch.query(query, mode, SEARCH_FIELDS),
+            mode,
+            pointInTimeId,
+            searchAfter,
+            size,
+            "id"
+        );
+    }
+
     @Override
     public void index(MainTask entity) {
-        repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), entity.getId(), IndexOperation.INDEX));
+    }
+
+    @Override
+    public void indexAll(Collection<MainTask> entities) {
+        indexOutboxRepository.saveAll(
+            entities.stream().map(entity -> new IndexOutboxEntry(getEntityType(), entity.getId(), IndexOperation.INDEX)).toList()
+        );
     }
 
     @Override
     public void deleteFromIndexById(Long id) {
-        elasticsearchTemplate.delete(String.valueOf(id), MainTask.class);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), id, IndexOperation.DELETE));
+    }
+
+    @Override
+    public void reindexAllById(Collection<Long> ids) {
+        indexOutboxRepository.saveAll(ids.stream().map(id -> new IndexOutboxEntry(getEntityType(), id, IndexOperation.INDEX)).toList());
+    }
+
+    @Override
+    public void reindexAllByCategoryId(Long categoryId) {
+        reindexAllById(repository.findIdsByCategoryId(categoryId));
+    }
+
+    @Override
+    public void reindexAllByStatusId(Long statusId) {
+        reindexAllById(repository.findIdsByStatusId(statusId));
+    }
+
+    @Override
+    public void reindexAllByPersonOwnerId(Long personOwnerId) {
+        reindexAllById(repository.findIdsByPersonOwnerId(personOwnerId));
+    }
+
+    @Override
+    public String getEntityType() {
+        return MainTask.class.getSimpleName();
+    }
+
+    @Override
+    public void indexAllById(Collection<Long> ids) {
+        List<MainTaskDocument> documents = repository.findSearchDocumentsByIdIn(ids);
+        if (!documents.isEmpty()) {
+            elasticsearchTemplate.save(documents);
+        }
+    }
+
+    @Override
+    public void deleteAllFromIndexById(Collection<Long> ids) {
+        elasticsearchTemplate.delete(elasticsearchTemplate.idsQuery(ids.stream().map(String::valueOf).toList()), MainTaskDocument.class);
+    }
+
+    @Override
+    public Class<?> getDocumentClass() {
+        return MainTaskDocument.class;
+    }
+
+    @Override
+    public Class<?> getEntityClass() {
+        return MainTask.class;
+    }
+
+    @Override
+    public List<MainTaskDocument> findDocumentsByIdRange(long fromId, long toId) {
+        return repository.findSearchDocumentsByIdRange(fromId, toId);
     }
 }
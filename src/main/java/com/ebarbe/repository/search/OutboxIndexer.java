@@ -0,0 +1,31 @@
+package com.ebarbe.repository.search;
+
+import java.util.Collection;
+
+/**
+ * Bulk write side of a search repository, used to apply the changes queued in the index outbox.
+ * <p>
+ * The {@code index} methods of the search repositories only queue a change, in the transaction of the caller;
+ * the changes are later sent to Elasticsearch through these methods, one bulk request per entity type.
+ */
+public interface OutboxIndexer {
+    /**
+     * @return the name the queued changes of this repository are recorded under.
+     */
+    String getEntityType();
+
+    /**
+     * Read the current state of the given entities and index them with a single bulk request.
+     * Ids which no longer exist in the database are ignored.
+     *
+     * @param ids the ids of the entities.
+     */
+    void indexAllById(Collection<Long> ids);
+
+    /**
+     * Remove the given entities from the index with a single request.
+     *
+     * @param ids the ids of the entities.
+     */
+    void deleteAllFromIndexById(Collection<Long> ids);
+}
@@ -0,0 +1,101 @@
+package com.ebarbe.repository.search;
+
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.mapping.FieldType;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.ebarbe.config.ApplicationProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.stereotype.Component;
+
+/**
+ * Search walked slice by slice with {@code search_after}, instead of {@code from/size}: each slice costs the same, however deep,
+ * and there is no 10000 hits limit.
+ * <p>
+ * The hits are sorted by score, then by the tiebreakers of the entity, and the slices are all read in the point in time
+ * opened for the first one, so that no hit is skipped or repeated when the index changes during the walk. The point in time
+ * is closed with the last slice, or expires when the client stops before it.
+ */
+@Component
+public class PointInTimeSearch {
+
+    private final ElasticsearchTemplate elasticsearchTemplate;
+
+    private final BoundedSearch boundedSearch;
+
+    private final Duration keepAlive;
+
+    public PointInTimeSearch(
+        ElasticsearchTemplate elasticsearchTemplate,
+        BoundedSearch boundedSearch,
+        ApplicationProperties applicationProperties
+    ) {
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.boundedSearch = boundedSearch;
+        this.keepAlive = applicationProperties.getSearch().getCursor().getKeepAlive();
+    }
+
+    /**
+     * Get the slice of hits of a query right after the given sort values.
+     *
+     * @param domainClass the entity searched.
+     * @param query the query.
+     * @param mode how the text of the query was read.
+     * @param pointInTimeId the point in time of the previous slice, {@code null} to open one for the first slice.
+     * @param searchAfter the sort values of the last hit of the previous slice, {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @param tiebreakers the fields sorting the hits of the same score, which must identify a hit together.
+     * @return the slice, with the point in time and the sort values to get the next one.
+     */
+    public <T> SearchAfterSlice<T> search(
+        Class<T> domainClass,
+        Query query,
+        SearchMode mode,
+        String pointInTimeId,
+        List<Object> searchAfter,
+        int size,
+        String... tiebreakers
+    ) {
+        String pointInTime = pointInTimeId != null
+            ? pointInTimeId
+            : elasticsearchTemplate.openPointInTime(elasticsearchTemplate.getIndexCoordinatesFor(domainClass), keepAlive);
+
+        List<SortOptions> sort = new ArrayList<>();
+        sort.add(SortOptions.of(s -> s.score(score -> score.order(SortOrder.Desc))));
+        for (String tiebreaker : tiebreakers) {
+            sort.add(SortOptions.of(s -> s.field(field -> field.field(tiebreaker).order(SortOrder.Asc).unmappedType(FieldType.Long))));
+        }
+        NativeQuery nativeQuery = NativeQuery
+            .builder()
+            .withQuery(query)
+            .withSort(sort)
+            .withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(pointInTime, keepAlive))
+            .withSearchAfter(searchAfter)
+            // one more hit than asked, to find out whether there is a next slice
+            .withPageable(PageRequest.of(0, size + 1))
+            .withTrackTotalHits(false)
+            .build();
+        SearchHits<T> searchHits = boundedSearch.search(nativeQuery, domainClass, mode);
+
+        // the id of a point in time may change from one search to the next
+        String nextPointInTime = searchHits.getPointInTimeId() != null ? searchHits.getPointInTimeId() : pointInTime;
+        List<SearchHit<T>> hits = searchHits.getSearchHits();
+        if (hits.size() <= size) {
+            elasticsearchTemplate.closePointInTime(nextPointInTime);
+            return new SearchAfterSlice<>(hits.stream().map(SearchHit::getContent).toList(), null, null);
+        }
+        List<SearchHit<T>> slice = hits.subList(0, size);
+        return new SearchAfterSlice<>(
+            slice.stream().map(SearchHit::getContent).toList(),
+            nextPointInTime,
+            slice.get(size - 1).getSortValues()
+        );
+    }
+}
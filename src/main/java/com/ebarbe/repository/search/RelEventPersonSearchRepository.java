@@ -1,8 +1,13 @@
 package com.ebarbe.repository.search;
 
-import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import com.ebarbe.domain.IndexOutboxEntry;
 import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.domain.RelEventPersonId;
+import com.ebarbe.domain.enumeration.IndexOperation;
+import com.ebarbe.repository.IndexOutboxRepository;
 import com.ebarbe.repository.RelEventPersonRepository;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -13,42 +18,102 @@ import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
 
 /**
  * Spring Data Elasticsearch repository for the {@link RelEventPerson} entity.
  */
 public interface RelEventPersonSearchRepository
-    extends ElasticsearchRepository<RelEventPerson, Long>, RelEventPersonSearchRepositoryInternal {}
+    extends ElasticsearchRepository<RelEventPerson, RelEventPersonId>, RelEventPersonSearchRepositoryInternal {}
 
-interface RelEventPersonSearchRepositoryInternal {
-    Page<RelEventPerson> search(String query, Pageable pageable);
+interface RelEventPersonSearchRepositoryInternal extends OutboxIndexer, SearchDocumentSource {
+    Page<RelEventPerson> search(String query, SearchMode mode, Pageable pageable);
+
+    /**
+     * Build the search of a page of hits of {@link #search(String, SearchMode, Pageable)}, to run it along with other searches.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pageable the pagination information.
+     * @return the search, not run yet.
+     */
+    NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable);
 
     Page<RelEventPerson> search(Query query);
 
-    @Async
+    /**
+     * Search the relEventPeople slice by slice, in a point in time of the index.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pointInTimeId the point in time of the previous slice, {@code null} for the first slice.
+     * @param searchAfter the sort values of the last hit of the previous slice, {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the slice, with the point in time and the sort values to get the next one.
+     */
+    SearchAfterSlice<RelEventPerson> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size);
+
+    /**
+     * Queue the relEventPeople of the event of the entity to be indexed, in the transaction of the caller.
+     */
     void index(RelEventPerson entity);
 
     /**
-     * prefer to use a method that uses eventid + personid
-     * @param id
+     * Queue the relEventPeople of the event of the entity to be indexed again, in the transaction of the caller, so that the
+     * entity is removed from the index.
+     */
+    void deleteFromIndexById(RelEventPersonId id);
+
+    /**
+     * Queue the relEventPeople of the event to be indexed, in the transaction of the caller.
+     *
+     * @param eventId the id of the event.
      */
-    @Async
-    void deleteFromIndexById(Long id);
+    void indexAllByEventId(Long eventId);
 }
 
+/**
+ * The changes of the relEventPeople are queued in the index outbox by event, as their id is not a single number: each change
+ * of a relEventPerson queues its event, and the relEventPeople of an event are all indexed again once drained, the ones
+ * removed from the event being deleted from the index at the same time.
+ */
 class RelEventPersonSearchRepositoryInternalImpl implements RelEventPersonSearchRepositoryInternal {
 
+    // the text fields searched, with their boost
+    private static final List<String> SEARCH_FIELDS = List.of("participation");
+
     private final ElasticsearchTemplate elasticsearchTemplate;
+    private final RelEventPersonRepository repository;
+    private final IndexOutboxRepository indexOutboxRepository;
+    private final BoundedSearch boundedSearch;
+    private final PointInTimeSearch pointInTimeSearch;
 
-    RelEventPersonSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, RelEventPersonRepository repository) {
+    RelEventPersonSearchRepositoryInternalImpl(
+        ElasticsearchTemplate elasticsearchTemplate,
+        RelEventPersonRepository repository,
+        IndexOutboxRepository indexOutboxRepository,
+        BoundedSearch boundedSearch,
+        PointInTimeSearch pointInTimeSearch
+    ) {
         this.elasticsearchTemplate = elasticsearchTemplate;
+        this.repository = repository;
+        this.indexOutboxRepository = indexOutboxRepository;
+        this.boundedSearch = boundedSearch;
+        this.pointInTimeSearch = pointInTimeSearch;
+    }
+
+    @Override
+    public NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = new NativeQuery(boundedSearch.query(query, mode, SEARCH_FIELDS));
+        nativeQuery.setPageable(pageable);
+        return nativeQuery;
     }
 
     @Override
-    public Page<RelEventPerson> search(String query, Pageable pageable) {
-        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
-        return search(nativeQuery.setPageable(pageable));
+    public Page<RelEventPerson> search(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = searchQuery(query, mode, pageable);
+        SearchHits<RelEventPerson> searchHits = boundedSearch.search(nativeQuery, RelEventPerson.class, mode);
+        List<RelEventPerson> hits = searchHits.map(SearchHit::getContent).stream().toList();
+        return new PageImpl<>(hits, pageable, searchHits.getTotalHits());
     }
 
     @Override
@@ -58,16 +123,105 @@ class RelEventPersonSearchRepositoryInternalImpl implements RelEventPersonSearch
         return new PageImpl<>(hits, query.getPageable(), searchHits.getTotalHits());
     }
 
+    @Override
+    public SearchAfterSlice<RelEventPerson> search(
+        String query,
+        SearchMode mode,
+        String pointInTimeId,
+        List<Object> searchAfter,
+        int size
+    ) {
+        return pointInTimeSearch.search(
+            RelEventPerson.class,
+            boundedSearch.query(query, mode, SEARCH_FIELDS),
+            mode,
+            pointInTimeId,
+            searchAfter,
+            size,
+            // the id of the documents is a keyword made of both ids, the ids of the event and of the person are numbers
+            "event.id",
+            "person.id"
+        );
+    }
+
     @Override
     public void index(RelEventPerson entity) {
-        // not implemented because no siply index available
-        // prefer to use a method that uses eventid + personid
+        indexAllByEventId(entity.getId().getEventId());
+    }
+
+    @Override
+    public void deleteFromIndexById(RelEventPersonId id) {
+        indexAllByEventId(id.getEventId());
+    }
+
+    @Override
+    public void indexAllByEventId(Long eventId) {
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), eventId, IndexOperation.INDEX));
+    }
+
+    @Override
+    public String getEntityType() {
+        return RelEventPerson.class.getSimpleName();
+    }
+
+    /**
+     * Index the current relEventPeople of the given events, and delete the other documents of these events.
+     *
+     * @param ids the ids of the events.
+     */
+    @Override
+    public void indexAllById(Collection<Long> ids) {
+        List<RelEventPerson> entities = repository.findAllREPCompleteByEventIdIn(ids);
+        List<String> currentIds = entities
+            .stream()
+            .map(entity -> elasticsearchTemplate.getElasticsearchConverter().convertId(entity.getId()))
+            .toList();
+        List<FieldValue> eventIds = ids.stream().map(id -> FieldValue.of(id.longValue())).toList();
+        NativeQuery removed = NativeQuery
+            .builder()
+            .withQuery(q ->
+                q.bool(b -> {
+                    b.filter(f -> f.terms(t -> t.field("event.id").terms(v -> v.value(eventIds))));
+                    if (!currentIds.isEmpty()) {
+                        b.mustNot(m -> m.ids(i -> i.values(currentIds)));
+                    }
+                    return b;
+                })
+            )
+            .build();
+        elasticsearchTemplate.delete(removed, RelEventPerson.class);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities);
+        }
+    }
 
+    /**
+     * The outbox only queues events to be indexed again, which also deletes their documents which are not current anymore.
+     *
+     * @param ids the ids of the events.
+     */
+    @Override
+    public void deleteAllFromIndexById(Collection<Long> ids) {
+        indexAllById(ids);
+    }
+
+    @Override
+    public Class<?> getDocumentClass() {
+        return RelEventPerson.class;
+    }
+
+    @Override
+    public Class<?> getEntityClass() {
+        return RelEventPerson.class;
+    }
+
+    @Override
+    public String getRangeAttribute() {
+        return "id.eventId";
     }
 
     @Override
-    public void deleteFromIndexById(Long id) {
-        // not implemented because no siply index available
-        // prefer to use a method that uses eventid + personid
+    public List<RelEventPerson> findDocumentsByIdRange(long fromId, long toId) {
+        return repository.findAllREPCompleteByEventIdRange(fromId, toId);
     }
 }
@@ -0,0 +1,45 @@
+package com.ebarbe.repository.search;
+
+import java.util.List;
+
+/**
+ * A slice of the hits of a search walked with {@code search_after}, with what is needed to get the next one.
+ *
+ * @param <T> the type of the content.
+ */
+public class SearchAfterSlice<T> {
+
+    private final List<T> content;
+
+    private final String pointInTimeId;
+
+    private final List<Object> nextSortValues;
+
+    public SearchAfterSlice(List<T> content, String pointInTimeId, List<Object> nextSortValues) {
+        this.content = content;
+        this.pointInTimeId = pointInTimeId;
+        this.nextSortValues = nextSortValues;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the point in time the next slice is read in, or {@code null} if this slice is the last one.
+     */
+    public String getPointInTimeId() {
+        return pointInTimeId;
+    }
+
+    /**
+     * @return the sort values of the last hit of this slice, or {@code null} if this slice is the last one.
+     */
+    public List<Object> getNextSortValues() {
+        return nextSortValues;
+    }
+
+    public boolean hasNext() {
+        return nextSortValues != null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.ebarbe.repository.search;
+
+import java.util.List;
+
+/**
+ * Source of the documents of an index whose documents are built from the database, instead of being the entities themselves.
+ * <p>
+ * The rebuild of such an index splits the table of the entity into ranges of ids, and reads the documents of each range.
+ * An entity without a numeric id is split on another numeric attribute instead, see {@link #getRangeAttribute()}.
+ */
+public interface SearchDocumentSource {
+    /**
+     * @return the class of the documents, carrying the {@code @Document} annotation.
+     */
+    Class<?> getDocumentClass();
+
+    /**
+     * @return the entity each document is built from.
+     */
+    Class<?> getEntityClass();
+
+    /**
+     * @return the numeric attribute of the entity its table is split on, or the path to it in an embedded id.
+     */
+    default String getRangeAttribute() {
+        return "id";
+    }
+
+    /**
+     * Build the documents of the entities whose id, or range attribute, is in {@code [fromId, toId)}.
+     *
+     * @param fromId the lowest id, inclusive.
+     * @param toId the highest id, exclusive.
+     * @return the documents.
+     */
+    List<?> findDocumentsByIdRange(long fromId, long toId);
+}
@@ -0,0 +1,128 @@
+package com.ebarbe.repository.search;
+
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.CalendarInterval;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A facet of the hits of a search, computed by an aggregation of the search: the number of hits by related entity, or by
+ * month of a date.
+ */
+public final class SearchFacet {
+
+    private static final String MONTH_FORMAT = "yyyy-MM";
+
+    private enum Kind {
+        TERMS,
+        MONTHS,
+    }
+
+    private final String name;
+
+    private final String field;
+
+    private final Kind kind;
+
+    private SearchFacet(String name, String field, Kind kind) {
+        this.name = name;
+        this.field = field;
+        this.kind = kind;
+    }
+
+    /**
+     * @param name the name of the facet.
+     * @param field the keyword field counted, e.g. {@code status.id}.
+     * @return the facet counting the hits by value of the field, the most frequent first.
+     */
+    public static SearchFacet terms(String name, String field) {
+        return new SearchFacet(name, field, Kind.TERMS);
+    }
+
+    /**
+     * @param name the name of the facet.
+     * @param field the date field counted.
+     * @return the facet counting the hits by month of the field, in chronological order, the months without hit left out.
+     */
+    public static SearchFacet months(String name, String field) {
+        return new SearchFacet(name, field, Kind.MONTHS);
+    }
+
+    /**
+     * Select the facets asked by a client.
+     *
+     * @param facets the facets of the entity.
+     * @param names the names of the facets asked, all of them if empty.
+     * @return the facets asked.
+     * @throws IllegalArgumentException if a name is not one of a facet of the entity.
+     */
+    public static List<SearchFacet> select(List<SearchFacet> facets, Collection<String> names) {
+        if (names == null || names.isEmpty()) {
+            return facets;
+        }
+        List<SearchFacet> selected = new ArrayList<>();
+        for (String name : names) {
+            selected.add(
+                facets
+                    .stream()
+                    .filter(facet -> facet.name.equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Unknown facet " + name))
+            );
+        }
+        return selected;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Aggregation toAggregation(int maxBuckets) {
+        if (kind == Kind.MONTHS) {
+            return Aggregation.of(a ->
+                a.dateHistogram(h -> h.field(field).calendarInterval(CalendarInterval.Month).format(MONTH_FORMAT).minDocCount(1))
+            );
+        }
+        return Aggregation.of(a -> a.terms(t -> t.field(field).size(maxBuckets)));
+    }
+
+    List<FacetBucket> toBuckets(Aggregate aggregate) {
+        if (aggregate.isDateHistogram()) {
+            return aggregate
+                .dateHistogram()
+                .buckets()
+                .array()
+                .stream()
+                .map(bucket -> new FacetBucket(bucket.keyAsString(), bucket.docCount()))
+                .toList();
+        }
+        if (aggregate.isSterms()) {
+            return aggregate
+                .sterms()
+                .buckets()
+                .array()
+                .stream()
+                .map(bucket -> new FacetBucket(bucket.key().stringValue(), bucket.docCount()))
+                .toList();
+        }
+        // an index not rebuilt since the ids are keywords still has them as numbers
+        if (aggregate.isLterms()) {
+            return aggregate
+                .lterms()
+                .buckets()
+                .array()
+                .stream()
+                .map(bucket -> new FacetBucket(String.valueOf(bucket.key()), bucket.docCount()))
+                .toList();
+        }
+        // a field no document of the index has yet
+        return List.of();
+    }
+
+    @Override
+    public String toString() {
+        return "SearchFacet{" + "name='" + name + "'" + ", field='" + field + "'" + ", kind=" + kind + "}";
+    }
+}
@@ -0,0 +1,16 @@
+package com.ebarbe.repository.search;
+
+/**
+ * How the text typed by a user is read by the {@code _search} endpoints.
+ */
+public enum SearchMode {
+    /**
+     * Words, phrases and simple operators searched in the text fields of the entity, see {@link BoundedSearch}.
+     */
+    SIMPLE,
+
+    /**
+     * The full Lucene query syntax, leading wildcards and regular expressions included: reserved to administrators.
+     */
+    RAW,
+}
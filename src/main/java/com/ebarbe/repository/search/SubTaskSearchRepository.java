@@ -1,8 +1,11 @@
 package com.ebarbe.repository.search;
 
-import co.elastic.clients.elasticsearch._types.query_dsl.QueryStringQuery;
+import com.ebarbe.domain.IndexOutboxEntry;
 import com.ebarbe.domain.SubTask;
+import com.ebarbe.domain.enumeration.IndexOperation;
+import com.ebarbe.repository.IndexOutboxRepository;
 import com.ebarbe.repository.SubTaskRepository;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -13,39 +16,125 @@ import org.springframework.data.elasticsearch.core.SearchHit;
 import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.data.elasticsearch.core.query.Query;
 import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
-import org.springframework.scheduling.annotation.Async;
 
 /**
  * Spring Data Elasticsearch repository for the {@link SubTask} entity.
  */
 public interface SubTaskSearchRepository extends ElasticsearchRepository<SubTask, Long>, SubTaskSearchRepositoryInternal {}
 
-interface SubTaskSearchRepositoryInternal {
-    Page<SubTask> search(String query, Pageable pageable);
+interface SubTaskSearchRepositoryInternal extends OutboxIndexer {
+    Page<SubTask> search(String query, SearchMode mode, Pageable pageable);
+
+    /**
+     * Build the search of a page of hits of {@link #search(String, SearchMode, Pageable)}, to run it along with other searches.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pageable the pagination information.
+     * @return the search, not run yet.
+     */
+    NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable);
+
+    /**
+     * Search the subTasks page by page, with facets of all the hits.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param facets the names of the facets to compute, all of them if empty.
+     * @param pageable the pagination information.
+     * @return the page of hits, with the facets.
+     * @throws IllegalArgumentException if a facet is unknown.
+     */
+    FacetedPage<SubTask> searchWithFacets(String query, SearchMode mode, Collection<String> facets, Pageable pageable);
 
     Page<SubTask> search(Query query);
 
-    @Async
+    /**
+     * Search the subTasks slice by slice, in a point in time of the index.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param pointInTimeId the point in time of the previous slice, {@code null} for the first slice.
+     * @param searchAfter the sort values of the last hit of the previous slice, {@code null} for the first slice.
+     * @param size the size of the slice.
+     * @return the slice, with the point in time and the sort values to get the next one.
+     */
+    SearchAfterSlice<SubTask> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size);
+
+    /**
+     * Queue the entity to be indexed, in the transaction of the caller.
+     */
     void index(SubTask entity);
 
-    @Async
+    /**
+     * Queue the entities to be indexed, in the transaction of the caller.
+     */
+    void indexAll(Collection<SubTask> entities);
+
+    /**
+     * Queue the entity to be removed from the index, in the transaction of the caller.
+     */
     void deleteFromIndexById(Long id);
 }
 
 class SubTaskSearchRepositoryInternalImpl implements SubTaskSearchRepositoryInternal {
 
+    // the text fields searched, with their boost
+    private static final List<String> SEARCH_FIELDS = List.of("description");
+
+    // the facets of the hits the clients may ask for
+    private static final List<SearchFacet> FACETS = List.of(
+        SearchFacet.terms("status", "status.id"),
+        SearchFacet.terms("mainTask", "mainTask.id"),
+        SearchFacet.terms("personDoer", "personDoer.id"),
+        SearchFacet.months("deadline", "deadline"),
+        SearchFacet.months("creation", "creation")
+    );
+
     private final ElasticsearchTemplate elasticsearchTemplate;
     private final SubTaskRepository repository;
+    private final IndexOutboxRepository indexOutboxRepository;
+    private final BoundedSearch boundedSearch;
+    private final PointInTimeSearch pointInTimeSearch;
 
-    SubTaskSearchRepositoryInternalImpl(ElasticsearchTemplate elasticsearchTemplate, SubTaskRepository repository) {
+    SubTaskSearchRepositoryInternalImpl(
+        ElasticsearchTemplate elasticsearchTemplate,
+        SubTaskRepository repository,
+        IndexOutboxRepository indexOutboxRepository,
+        BoundedSearch boundedSearch,
+        PointInTimeSearch pointInTimeSearch
+    ) {
         this.elasticsearchTemplate = elasticsearchTemplate;
         this.repository = repository;
+        this.indexOutboxRepository = indexOutboxRepository;
+        this.boundedSearch = boundedSearch;
+        this.pointInTimeSearch = pointInTimeSearch;
+    }
+
+    @Override
+    public NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = new NativeQuery(boundedSearch.query(query, mode, SEARCH_FIELDS));
+        nativeQuery.setPageable(pageable);
+        return nativeQuery;
     }
 
     @Override
-    public Page<SubTask> search(String query, Pageable pageable) {
-        NativeQuery nativeQuery = new NativeQuery(QueryStringQuery.of(qs -> qs.query(query))._toQuery());
-        return search(nativeQuery.setPageable(pageable));
+    public Page<SubTask> search(String query, SearchMode mode, Pageable pageable) {
+        NativeQuery nativeQuery = searchQuery(query, mode, pageable);
+        SearchHits<SubTask> searchHits = boundedSearch.search(nativeQuery, SubTask.class, mode);
+        List<SubTask> hits = searchHits.map(SearchHit::getContent).stream().toList();
+        return new PageImpl<>(hits, pageable, searchHits.getTotalHits());
+    }
+
+    @Override
+    public FacetedPage<SubTask> searchWithFacets(String query, SearchMode mode, Collection<String> facets, Pageable pageable) {
+        return boundedSearch.searchWithFacets(
+            boundedSearch.query(query, mode, SEARCH_FIELDS),
+            SearchFacet.select(FACETS, facets),
+            pageable,
+            SubTask.class,
+            mode
+        );
     }
 
     @Override
@@ -55,13 +144,51 @@ class SubTaskSearchRepositoryInternalImpl implements SubTaskSearchRepositoryInte
         return new PageImpl<>(hits, query.getPageable(), searchHits.getTotalHits());
     }
 
+    @Override
+    public SearchAfterSlice<SubTask> search(String query, SearchMode mode, String pointInTimeId, List<Object> searchAfter, int size) {
+        return pointInTimeSearch.search(
+            SubTask.class,
+            boundedSearch.query(query, mode, SEARCH_FIELDS),
+            mode,
+            pointInTimeId,
+            searchAfter,
+            size,
+            "id"
+        );
+    }
+
     @Override
     public void index(SubTask entity) {
-        repository.findById(entity.getId()).ifPresent(elasticsearchTemplate::save);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), entity.getId(), IndexOperation.INDEX));
+    }
+
+    @Override
+    public void indexAll(Collection<SubTask> entities) {
+        indexOutboxRepository.saveAll(
+            entities.stream().map(entity -> new IndexOutboxEntry(getEntityType(), entity.getId(), IndexOperation.INDEX)).toList()
+        );
     }
 
     @Override
     public void deleteFromIndexById(Long id) {
-        elasticsearchTemplate.delete(String.valueOf(id), SubTask.class);
+        indexOutboxRepository.save(new IndexOutboxEntry(getEntityType(), id, IndexOperation.DELETE));
+    }
+
+    @Override
+    public String getEntityType() {
+        return SubTask.class.getSimpleName();
+    }
+
+    @Override
+    public void indexAllById(Collection<Long> ids) {
+        List<SubTask> entities = repository.findAllById(ids);
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities);
+        }
+    }
+
+    @Override
+    public void deleteAllFromIndexById(Collection<Long> ids) {
+        elasticsearchTemplate.delete(elasticsearchTemplate.idsQuery(ids.stream().map(String::valueOf).toList()), SubTask.class);
     }
 }
@@ -0,0 +1,150 @@
+package com.ebarbe.repository.search;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.update_aliases.Action;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.index.Settings;
+import org.springframework.data.elasticsearch.core.mapping.ElasticsearchPersistentEntity;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Component;
+
+/**
+ * Index administration used to rebuild a search index without downtime.
+ * <p>
+ * The index name of each {@code @Document} (e.g. {@code maintask}) is used as a read alias. A rebuild loads a fresh
+ * versioned index (e.g. {@code maintask-20240131120000}) with refresh and replicas disabled, then moves the alias to it
+ * in a single atomic request and drops the previous index. On the first rebuild, the concrete index which still carries
+ * the alias name is removed in the same request.
+ */
+@Component
+public class VersionedIndexOperations {
+
+    private static final DateTimeFormatter VERSION_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private static final String REFRESH_INTERVAL = "index.refresh_interval";
+
+    private static final String NUMBER_OF_REPLICAS = "index.number_of_replicas";
+
+    private final ElasticsearchTemplate elasticsearchTemplate;
+
+    private final ElasticsearchClient elasticsearchClient;
+
+    public VersionedIndexOperations(ElasticsearchTemplate elasticsearchTemplate, ElasticsearchClient elasticsearchClient) {
+        this.elasticsearchTemplate = elasticsearchTemplate;
+        this.elasticsearchClient = elasticsearchClient;
+    }
+
+    /**
+     * @return the classes stored in Elasticsearch.
+     */
+    public List<Class<?>> getIndexedClasses() {
+        return elasticsearchTemplate
+            .getElasticsearchConverter()
+            .getMappingContext()
+            .getPersistentEntities()
+            .stream()
+            .filter(entity -> entity.isAnnotationPresent(org.springframework.data.elasticsearch.annotations.Document.class))
+            .<Class<?>>map(ElasticsearchPersistentEntity::getType)
+            .toList();
+    }
+
+    /**
+     * @param entityClass the indexed class.
+     * @return the name the index of the class is read and written through.
+     */
+    public String getAlias(Class<?> entityClass) {
+        return elasticsearchTemplate.getIndexCoordinatesFor(entityClass).getIndexName();
+    }
+
+    /**
+     * Create a new versioned index with the mapping of the class, tuned for a bulk load: no refresh and no replica.
+     *
+     * @param entityClass the indexed class.
+     * @return the name of the new index.
+     */
+    public String createLoadingIndex(Class<?> entityClass) {
+        IndexOperations entityOperations = elasticsearchTemplate.indexOps(entityClass);
+        Settings settings = entityOperations.createSettings().flatten();
+        settings.put(REFRESH_INTERVAL, "-1");
+        settings.put(NUMBER_OF_REPLICAS, "0");
+        String index = getAlias(entityClass) + "-" + LocalDateTime.now().format(VERSION_FORMAT);
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(index)).create(settings, entityOperations.createMapping());
+        return index;
+    }
+
+    /**
+     * Write the entities to the given index, with a single bulk request.
+     *
+     * @param entities the entities.
+     * @param index the name of the index.
+     */
+    public void bulkIndex(Collection<?> entities, String index) {
+        if (!entities.isEmpty()) {
+            elasticsearchTemplate.save(entities, IndexCoordinates.of(index));
+        }
+    }
+
+    /**
+     * Restore the settings of a loaded index, then atomically point the alias of the class to it and drop the previous index.
+     *
+     * @param entityClass the indexed class.
+     * @param index the loaded index.
+     */
+    public void swapAlias(Class<?> entityClass, String index) {
+        Settings settings = elasticsearchTemplate.indexOps(entityClass).createSettings().flatten();
+        String alias = getAlias(entityClass);
+        try {
+            elasticsearchClient
+                .indices()
+                .putSettings(request ->
+                    request
+                        .index(index)
+                        .settings(indexSettings ->
+                            indexSettings
+                                .refreshInterval(time -> time.time(settings.getOrDefault(REFRESH_INTERVAL, "1s").toString()))
+                                .numberOfReplicas(settings.getOrDefault(NUMBER_OF_REPLICAS, "1").toString())
+                        )
+                );
+            elasticsearchClient.indices().refresh(request -> request.index(index));
+
+            List<Action> actions = new ArrayList<>();
+            actions.add(Action.of(action -> action.add(add -> add.index(index).alias(alias))));
+            List<String> previous = new ArrayList<>();
+            if (elasticsearchClient.indices().existsAlias(request -> request.name(alias)).value()) {
+                Set<String> aliased = elasticsearchClient.indices().getAlias(request -> request.name(alias)).result().keySet();
+                for (String old : aliased) {
+                    actions.add(Action.of(action -> action.remove(remove -> remove.index(old).alias(alias))));
+                    previous.add(old);
+                }
+            } else if (elasticsearchClient.indices().exists(request -> request.index(alias)).value()) {
+                actions.add(Action.of(action -> action.removeIndex(remove -> remove.index(alias))));
+            }
+            elasticsearchClient.indices().updateAliases(request -> request.actions(actions));
+
+            for (String old : previous) {
+                deleteIndex(old);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Drop an index, e.g. a versioned index whose load failed.
+     *
+     * @param index the name of the index.
+     */
+    public void deleteIndex(String index) {
+        elasticsearchTemplate.indexOps(IndexCoordinates.of(index)).delete();
+    }
+}
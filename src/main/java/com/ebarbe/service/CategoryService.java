@@ -3,6 +3,8 @@ package com.ebarbe.service;
 import com.ebarbe.domain.Category;
 import com.ebarbe.repository.CategoryRepository;
 import com.ebarbe.repository.search.CategorySearchRepository;
+import com.ebarbe.repository.search.MainTaskSearchRepository;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.dto.CategoryDTO;
 import com.ebarbe.service.mapper.CategoryMapper;
 import java.util.Optional;
@@ -28,14 +30,18 @@ public class CategoryService {
 
     private final CategorySearchRepository categorySearchRepository;
 
+    private final MainTaskSearchRepository mainTaskSearchRepository;
+
     public CategoryService(
         CategoryRepository categoryRepository,
         CategoryMapper categoryMapper,
-        CategorySearchRepository categorySearchRepository
+        CategorySearchRepository categorySearchRepository,
+        MainTaskSearchRepository mainTaskSearchRepository
     ) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
         this.categorySearchRepository = categorySearchRepository;
+        this.mainTaskSearchRepository = mainTaskSearchRepository;
     }
 
     /**
@@ -65,6 +71,8 @@ public class CategoryService {
         category = categoryRepository.save(category);
         CategoryDTO result = categoryMapper.toDto(category);
         categorySearchRepository.index(category);
+        // the search documents of the mainTasks embed its label
+        mainTaskSearchRepository.reindexAllByCategoryId(category.getId());
         return result;
     }
 
@@ -87,6 +95,7 @@ public class CategoryService {
             .map(categoryRepository::save)
             .map(savedCategory -> {
                 categorySearchRepository.index(savedCategory);
+                mainTaskSearchRepository.reindexAllByCategoryId(savedCategory.getId());
                 return savedCategory;
             })
             .map(categoryMapper::toDto);
@@ -131,12 +140,32 @@ public class CategoryService {
      * Search for the category corresponding to the query.
      *
      * @param query the query of the search.
+     * @param mode how the query is read.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<CategoryDTO> search(String query, Pageable pageable) {
+    public Page<CategoryDTO> search(String query, SearchMode mode, Pageable pageable) {
         log.debug("Request to search for a page of Categories for query {}", query);
-        return categorySearchRepository.search(query, pageable).map(categoryMapper::toDto);
+        return categorySearchRepository.search(query, mode, pageable).map(categoryMapper::toDto);
+    }
+
+    /**
+     * Search for the category corresponding to the query, the slice right after the given cursor.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param after the cursor returned with the previous slice, {@code null} or empty for the first one.
+     * @param size the size of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<CategoryDTO> search(String query, SearchMode mode, String after, int size) {
+        log.debug("Request to search for a slice of Categories for query {} after {}", query, after);
+        SearchCursor cursor = SearchCursor.decode(after);
+        return SearchCursor
+            .toKeysetSlice(categorySearchRepository.search(query, mode, cursor.getPointInTimeId(), cursor.getSortValues(), size))
+            .map(categoryMapper::toDto);
     }
 }
@@ -3,20 +3,29 @@ package com.ebarbe.service;
 import com.ebarbe.domain.*; // for static metamodels
 import com.ebarbe.domain.Event;
 import com.ebarbe.repository.EventRepository;
+import com.ebarbe.repository.KeysetQueryExecutor;
+import com.ebarbe.repository.ProjectionQueryExecutor;
+import com.ebarbe.repository.StreamingQueryExecutor;
 import com.ebarbe.repository.search.EventSearchRepository;
 import com.ebarbe.service.criteria.EventCriteria;
 import com.ebarbe.service.dto.EventDTO;
 import com.ebarbe.service.mapper.EventMapper;
-import jakarta.persistence.criteria.JoinType;
+import com.ebarbe.service.mapper.EventProjection;
+import jakarta.persistence.metamodel.SingularAttribute;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Event} entities in the database.
@@ -26,7 +35,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class EventQueryService extends QueryService<Event> {
+public class EventQueryService extends KeysetQueryService<Event> {
 
     private final Logger log = LoggerFactory.getLogger(EventQueryService.class);
 
@@ -34,16 +43,35 @@ public class EventQueryService extends QueryService<Event> {
 
     private final EventMapper eventMapper;
 
+    private final StreamingQueryExecutor streamingQueryExecutor;
+
     private final EventSearchRepository eventSearchRepository;
 
-    public EventQueryService(EventRepository eventRepository, EventMapper eventMapper, EventSearchRepository eventSearchRepository) {
+    private final ProjectionQueryExecutor projectionQueryExecutor;
+
+    private final EventProjection eventProjection;
+
+    public EventQueryService(
+        EventRepository eventRepository,
+        EventMapper eventMapper,
+        EventSearchRepository eventSearchRepository,
+        KeysetQueryExecutor keysetQueryExecutor,
+        StreamingQueryExecutor streamingQueryExecutor,
+        ProjectionQueryExecutor projectionQueryExecutor,
+        EventProjection eventProjection
+    ) {
+        super(keysetQueryExecutor);
         this.eventRepository = eventRepository;
         this.eventMapper = eventMapper;
+        this.streamingQueryExecutor = streamingQueryExecutor;
         this.eventSearchRepository = eventSearchRepository;
+        this.projectionQueryExecutor = projectionQueryExecutor;
+        this.eventProjection = eventProjection;
     }
 
     /**
      * Return a {@link List} of {@link EventDTO} which matches the criteria from the database.
+     * The DTOs are read as columns, without loading the entities, then the people of all of them with a second query.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
@@ -51,11 +79,12 @@ public class EventQueryService extends QueryService<Event> {
     public List<EventDTO> findByCriteria(EventCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<Event> specification = createSpecification(criteria);
-        return eventMapper.toDto(eventRepository.findAll(specification));
+        return addPeople(projectionQueryExecutor.findAll(Event.class, specification, eventProjection, Sort.unsorted()), specification);
     }
 
     /**
      * Return a {@link Page} of {@link EventDTO} which matches the criteria from the database.
+     * The DTOs are read as columns, without loading the entities, then the people of the page with a second query.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -64,7 +93,54 @@ public class EventQueryService extends QueryService<Event> {
     public Page<EventDTO> findByCriteria(EventCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Event> specification = createSpecification(criteria);
-        return eventRepository.findAll(specification, page).map(eventMapper::toDto);
+        Page<EventDTO> events = projectionQueryExecutor.findAll(Event.class, specification, eventProjection, page);
+        List<Long> ids = events.map(EventDTO::getId).getContent();
+        addPeople(events.getContent(), (root, query, builder) -> root.get(Event_.id).in(ids));
+        return events;
+    }
+
+    /**
+     * Return a {@link Slice} of {@link EventDTO} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<EventDTO> findSliceByCriteria(EventCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Event> specification = createSpecification(criteria);
+        return eventRepository.findSlice(specification, page).map(eventMapper::toDto);
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of {@link EventDTO} which matches the criteria from the database,
+     * starting right after the given cursor. No count query is run.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The cursor returned with the previous slice, or an empty string for the first one.
+     * @param page The size of the slice, and for the first slice its sort.
+     * @return the matching entities.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<EventDTO> findByCriteria(EventCriteria criteria, String after, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, after, page);
+        final Specification<Event> specification = createSpecification(criteria);
+        return findByKeyset(Event.class, specification, keysetAttributes(), Event_.id, after, page.getSort(), page.getPageSize())
+            .map(eventMapper::toDto);
+    }
+
+    /**
+     * Stream the {@link EventDTO} which match the criteria from the database to the consumer, ordered by id.
+     * The rows are read through a database cursor, so the whole result is never held in memory.
+     * The people of each event are not exported, only the id of its event type.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param consumer The consumer of each matching entity.
+     */
+    @Transactional(readOnly = true)
+    public void export(EventCriteria criteria, Consumer<EventDTO> consumer) {
+        log.debug("export by criteria : {}", criteria);
+        final Specification<Event> specification = createSpecification(criteria);
+        streamingQueryExecutor.forEach(Event.class, specification, Event_.id, entity -> consumer.accept(eventMapper.toExportDto(entity)));
     }
 
     /**
@@ -79,6 +155,41 @@ public class EventQueryService extends QueryService<Event> {
         return eventRepository.count(specification);
     }
 
+    /**
+     * Add to the events their people, read in a single query.
+     * @param events the events.
+     * @param specification the filters matching the events.
+     * @return the events.
+     */
+    private List<EventDTO> addPeople(List<EventDTO> events, Specification<Event> specification) {
+        if (!events.isEmpty()) {
+            Map<Long, EventDTO> eventsById = events.stream().collect(Collectors.toMap(EventDTO::getId, Function.identity()));
+            projectionQueryExecutor
+                .findAll(Event.class, specification, eventProjection.people(), Sort.unsorted())
+                .forEach(person -> eventsById.get(person.getKey()).getPeople().add(person.getValue()));
+        }
+        return events;
+    }
+
+    /**
+     * The attributes a keyset paginated list can be sorted on, they are all non-nullable.
+     * Built on each call, as the static metamodel is only populated once Hibernate has started.
+     */
+    private static Map<String, SingularAttribute<? super Event, ?>> keysetAttributes() {
+        return Map.of(
+            "id",
+            Event_.id,
+            "label",
+            Event_.label,
+            "dateStart",
+            Event_.dateStart,
+            "dateEnd",
+            Event_.dateEnd,
+            "place",
+            Event_.place
+        );
+    }
+
     /**
      * Function to convert {@link EventCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -122,16 +233,10 @@ public class EventQueryService extends QueryService<Event> {
                 specification = specification.and(buildStringSpecification(criteria.getNote(), Event_.note));
             }
             if (criteria.getEventTypeId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(criteria.getEventTypeId(), root -> root.join(Event_.eventType, JoinType.LEFT).get(EventType_.id))
-                    );
+                specification = specification.and(buildForeignKeySpecification(criteria.getEventTypeId(), Event_.eventType, EventType_.id));
             }
             if (criteria.getPersonId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(criteria.getPersonId(), root -> root.join(Event_.person, JoinType.LEFT).get(Person_.id))
-                    );
+                specification = specification.and(buildExistsSpecification(criteria.getPersonId(), Event_.person, Person_.id));
             }
         }
         return specification;
@@ -3,13 +3,17 @@ package com.ebarbe.service;
 import com.ebarbe.domain.Event;
 import com.ebarbe.repository.EventRepository;
 import com.ebarbe.repository.search.EventSearchRepository;
+import com.ebarbe.repository.search.FacetedPage;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.dto.EventDTO;
 import com.ebarbe.service.mapper.EventMapper;
+import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -52,13 +56,15 @@ public class EventService {
     /**
      * Update a event.
      *
-     * @param eventDTO the entity to save.
+     * @param eventDTO the entity to save, with the version it was read at.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the event is no longer at this version.
      */
     public EventDTO update(EventDTO eventDTO) {
         log.debug("Request to update Event : {}", eventDTO);
         Event event = eventMapper.toEntity(eventDTO);
-        event = eventRepository.save(event);
+        // flushed, so that the event returned has its new version
+        event = eventRepository.saveAndFlush(event);
         EventDTO result = eventMapper.toDto(event);
         eventSearchRepository.index(event);
         return result;
@@ -67,8 +73,9 @@ public class EventService {
     /**
      * Partially update a event.
      *
-     * @param eventDTO the entity to update partially.
+     * @param eventDTO the entity to update partially, with the version it was read at if it is to be checked.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the event is no longer at this version.
      */
     public Optional<EventDTO> partialUpdate(EventDTO eventDTO) {
         log.debug("Request to partially update Event : {}", eventDTO);
@@ -76,11 +83,12 @@ public class EventService {
         return eventRepository
             .findById(eventDTO.getId())
             .map(existingEvent -> {
+                checkVersion(existingEvent, eventDTO);
                 eventMapper.partialUpdate(existingEvent, eventDTO);
 
                 return existingEvent;
             })
-            .map(eventRepository::save)
+            .map(eventRepository::saveAndFlush)
             .map(savedEvent -> {
                 eventSearchRepository.index(savedEvent);
                 return savedEvent;
@@ -88,6 +96,15 @@ public class EventService {
             .map(eventMapper::toDto);
     }
 
+    /**
+     * An event given with a version must still be at it: the version of a loaded event cannot be set back.
+     */
+    private static void checkVersion(Event existingEvent, EventDTO eventDTO) {
+        if (eventDTO.getVersion() != null && !eventDTO.getVersion().equals(existingEvent.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Event.class, eventDTO.getId());
+        }
+    }
+
     /**
      * Get all the events.
      *
@@ -105,6 +122,7 @@ public class EventService {
      *
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<EventDTO> findAllWithEagerRelationships(Pageable pageable) {
         return eventRepository.findAllWithEagerRelationships(pageable).map(eventMapper::toDto);
     }
@@ -136,12 +154,48 @@ public class EventService {
      * Search for the event corresponding to the query.
      *
      * @param query the query of the search.
+     * @param mode how the query is read.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<EventDTO> search(String query, Pageable pageable) {
+    public Page<EventDTO> search(String query, SearchMode mode, Pageable pageable) {
         log.debug("Request to search for a page of Events for query {}", query);
-        return eventSearchRepository.search(query, pageable).map(eventMapper::toDto);
+        return eventSearchRepository.search(query, mode, pageable).map(eventMapper::toDto);
+    }
+
+    /**
+     * Search for the event corresponding to the query, with facets of all the hits.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param facets the names of the facets to compute, all of them if empty.
+     * @param pageable the pagination information.
+     * @return the page of entities, with the facets.
+     * @throws IllegalArgumentException if a facet is unknown.
+     */
+    @Transactional(readOnly = true)
+    public FacetedPage<EventDTO> searchWithFacets(String query, SearchMode mode, List<String> facets, Pageable pageable) {
+        log.debug("Request to search for a page of Events with facets {} for query {}", facets, query);
+        return eventSearchRepository.searchWithFacets(query, mode, facets, pageable).map(eventMapper::toDto);
+    }
+
+    /**
+     * Search for the event corresponding to the query, the slice right after the given cursor.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param after the cursor returned with the previous slice, {@code null} or empty for the first one.
+     * @param size the size of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<EventDTO> search(String query, SearchMode mode, String after, int size) {
+        log.debug("Request to search for a slice of Events for query {} after {}", query, after);
+        SearchCursor cursor = SearchCursor.decode(after);
+        return SearchCursor
+            .toKeysetSlice(eventSearchRepository.search(query, mode, cursor.getPointInTimeId(), cursor.getSortValues(), size))
+            .map(eventMapper::toDto);
     }
 }
@@ -3,6 +3,7 @@ package com.ebarbe.service;
 import com.ebarbe.domain.EventType;
 import com.ebarbe.repository.EventTypeRepository;
 import com.ebarbe.repository.search.EventTypeSearchRepository;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.dto.EventTypeDTO;
 import com.ebarbe.service.mapper.EventTypeMapper;
 import java.util.Optional;
@@ -131,12 +132,32 @@ public class EventTypeService {
      * Search for the eventType corresponding to the query.
      *
      * @param query the query of the search.
+     * @param mode how the query is read.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<EventTypeDTO> search(String query, Pageable pageable) {
+    public Page<EventTypeDTO> search(String query, SearchMode mode, Pageable pageable) {
         log.debug("Request to search for a page of EventTypes for query {}", query);
-        return eventTypeSearchRepository.search(query, pageable).map(eventTypeMapper::toDto);
+        return eventTypeSearchRepository.search(query, mode, pageable).map(eventTypeMapper::toDto);
+    }
+
+    /**
+     * Search for the eventType corresponding to the query, the slice right after the given cursor.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param after the cursor returned with the previous slice, {@code null} or empty for the first one.
+     * @param size the size of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<EventTypeDTO> search(String query, SearchMode mode, String after, int size) {
+        log.debug("Request to search for a slice of EventTypes for query {} after {}", query, after);
+        SearchCursor cursor = SearchCursor.decode(after);
+        return SearchCursor
+            .toKeysetSlice(eventTypeSearchRepository.search(query, mode, cursor.getPointInTimeId(), cursor.getSortValues(), size))
+            .map(eventTypeMapper::toDto);
     }
 }
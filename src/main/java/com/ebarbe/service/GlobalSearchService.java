@@ -0,0 +1,92 @@
+package com.ebarbe.service;
+
+import com.ebarbe.config.ApplicationProperties;
+import com.ebarbe.repository.search.BoundedSearch;
+import com.ebarbe.repository.search.SearchMode;
+import com.ebarbe.service.dto.GlobalSearchHitDTO;
+import com.ebarbe.service.dto.GlobalSearchResultDTO;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service searching all the entities at once, for the search box of the navbar.
+ * <p>
+ * The index of each {@link GlobalSearchTarget} is searched for its top hits only, with its own timeout, and all the searches
+ * are sent to Elasticsearch in a single {@code _msearch} request. The hits of all the types are then merged by score.
+ */
+@Service
+public class GlobalSearchService {
+
+    private final Logger log = LoggerFactory.getLogger(GlobalSearchService.class);
+
+    private final BoundedSearch boundedSearch;
+
+    private final List<GlobalSearchTarget<?>> targets;
+
+    private final ApplicationProperties.Search.Global properties;
+
+    public GlobalSearchService(
+        BoundedSearch boundedSearch,
+        List<GlobalSearchTarget<?>> targets,
+        ApplicationProperties applicationProperties
+    ) {
+        this.boundedSearch = boundedSearch;
+        this.targets = targets;
+        this.properties = applicationProperties.getSearch().getGlobal();
+    }
+
+    /**
+     * Search all the entities.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @return the top hits of each type of entity, merged by score, with the number of hits of each type.
+     */
+    public GlobalSearchResultDTO search(String query, SearchMode mode) {
+        log.debug("Request to search all the entities for query {}", query);
+        List<NativeQuery> queries = new ArrayList<>();
+        List<Class<?>> documentClasses = new ArrayList<>();
+        for (GlobalSearchTarget<?> target : targets) {
+            NativeQuery nativeQuery = target.searchQuery(query, mode, PageRequest.of(0, topHits(target)));
+            nativeQuery.setTimeout(timeout(target));
+            queries.add(nativeQuery);
+            documentClasses.add(target.getDocumentClass());
+        }
+        List<SearchHits<?>> results = boundedSearch.multiSearch(queries, documentClasses, mode);
+
+        List<GlobalSearchHitDTO> hits = new ArrayList<>();
+        Map<String, Long> totals = new LinkedHashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            GlobalSearchTarget<?> target = targets.get(i);
+            SearchHits<?> searchHits = results.get(i);
+            totals.put(target.getType(), searchHits.getTotalHits());
+            for (SearchHit<?> searchHit : searchHits) {
+                hits.add(new GlobalSearchHitDTO(target.getType(), searchHit.getScore(), target.toDto(searchHit.getContent())));
+            }
+        }
+        // the scores of the indices are not strictly comparable, but close enough to rank the hits of a search box
+        hits.sort(Comparator.comparingDouble(GlobalSearchHitDTO::getScore).reversed());
+        return new GlobalSearchResultDTO(hits, totals);
+    }
+
+    private int topHits(GlobalSearchTarget<?> target) {
+        ApplicationProperties.Search.Global.Type type = properties.getTypes().get(target.getType());
+        return type != null && type.getTopHits() != null ? type.getTopHits() : properties.getTopHits();
+    }
+
+    private Duration timeout(GlobalSearchTarget<?> target) {
+        ApplicationProperties.Search.Global.Type type = properties.getTypes().get(target.getType());
+        return type != null && type.getTimeout() != null ? type.getTimeout() : properties.getTimeout();
+    }
+}
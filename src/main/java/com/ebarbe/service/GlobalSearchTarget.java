@@ -0,0 +1,75 @@
+package com.ebarbe.service;
+
+import com.ebarbe.repository.search.SearchMode;
+import java.util.function.Function;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+
+/**
+ * A type of entity searched by the {@link GlobalSearchService}: how its search is built, and how its hits are sent to the
+ * clients.
+ *
+ * @param <T> the type of the documents of its index.
+ */
+public final class GlobalSearchTarget<T> {
+
+    /**
+     * Builds the search of a page of hits, usually the {@code searchQuery} method of a search repository.
+     */
+    @FunctionalInterface
+    public interface QueryBuilder {
+        NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable);
+    }
+
+    private final String type;
+
+    private final Class<T> documentClass;
+
+    private final QueryBuilder queryBuilder;
+
+    private final Function<? super T, ?> toDto;
+
+    private GlobalSearchTarget(String type, Class<T> documentClass, QueryBuilder queryBuilder, Function<? super T, ?> toDto) {
+        this.type = type;
+        this.documentClass = documentClass;
+        this.queryBuilder = queryBuilder;
+        this.toDto = toDto;
+    }
+
+    /**
+     * @param type the type of the entity sent to the clients with its hits, e.g. {@code mainTask}.
+     * @param documentClass the class of the documents of its index.
+     * @param queryBuilder the builder of its search.
+     * @param toDto the conversion of a document to the DTO sent to the clients.
+     * @return the target.
+     */
+    public static <T> GlobalSearchTarget<T> of(
+        String type,
+        Class<T> documentClass,
+        QueryBuilder queryBuilder,
+        Function<? super T, ?> toDto
+    ) {
+        return new GlobalSearchTarget<>(type, documentClass, queryBuilder, toDto);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Class<T> getDocumentClass() {
+        return documentClass;
+    }
+
+    NativeQuery searchQuery(String query, SearchMode mode, Pageable pageable) {
+        return queryBuilder.searchQuery(query, mode, pageable);
+    }
+
+    Object toDto(Object document) {
+        return toDto.apply(documentClass.cast(document));
+    }
+
+    @Override
+    public String toString() {
+        return "GlobalSearchTarget{" + "type='" + type + "'" + ", documentClass=" + documentClass.getSimpleName() + "}";
+    }
+}
@@ -7,7 +7,6 @@ import com.ebarbe.repository.search.HierarchySearchRepository;
 import com.ebarbe.service.criteria.HierarchyCriteria;
 import com.ebarbe.service.dto.HierarchyDTO;
 import com.ebarbe.service.mapper.HierarchyMapper;
-import jakarta.persistence.criteria.JoinType;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -101,15 +100,6 @@ public class HierarchyQueryService extends QueryService<Hierarchy> {
             if (criteria.getDescription() != null) {
                 specification = specification.and(buildStringSpecification(criteria.getDescription(), Hierarchy_.description));
             }
-            if (criteria.getRelEventPersonId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(
-                            criteria.getRelEventPersonId(),
-                            root -> root.join(Hierarchy_.relEventPeople, JoinType.LEFT).get(RelEventPerson_.id)
-                        )
-                    );
-            }
         }
         return specification;
     }
@@ -3,6 +3,7 @@ package com.ebarbe.service;
 import com.ebarbe.domain.Hierarchy;
 import com.ebarbe.repository.HierarchyRepository;
 import com.ebarbe.repository.search.HierarchySearchRepository;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.dto.HierarchyDTO;
 import com.ebarbe.service.mapper.HierarchyMapper;
 import java.util.Optional;
@@ -131,12 +132,32 @@ public class HierarchyService {
      * Search for the hierarchy corresponding to the query.
      *
      * @param query the query of the search.
+     * @param mode how the query is read.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<HierarchyDTO> search(String query, Pageable pageable) {
+    public Page<HierarchyDTO> search(String query, SearchMode mode, Pageable pageable) {
         log.debug("Request to search for a page of Hierarchies for query {}", query);
-        return hierarchySearchRepository.search(query, pageable).map(hierarchyMapper::toDto);
+        return hierarchySearchRepository.search(query, mode, pageable).map(hierarchyMapper::toDto);
+    }
+
+    /**
+     * Search for the hierarchy corresponding to the query, the slice right after the given cursor.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param after the cursor returned with the previous slice, {@code null} or empty for the first one.
+     * @param size the size of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<HierarchyDTO> search(String query, SearchMode mode, String after, int size) {
+        log.debug("Request to search for a slice of Hierarchies for query {} after {}", query, after);
+        SearchCursor cursor = SearchCursor.decode(after);
+        return SearchCursor
+            .toKeysetSlice(hierarchySearchRepository.search(query, mode, cursor.getPointInTimeId(), cursor.getSortValues(), size))
+            .map(hierarchyMapper::toDto);
     }
 }
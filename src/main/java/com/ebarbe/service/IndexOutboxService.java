@@ -0,0 +1,240 @@
+package com.ebarbe.service;
+
+import com.ebarbe.config.ApplicationProperties;
+import com.ebarbe.domain.IndexOutboxEntry;
+import com.ebarbe.domain.enumeration.IndexOperation;
+import com.ebarbe.repository.IndexOutboxRepository;
+import com.ebarbe.repository.IndexPauseRepository;
+import com.ebarbe.repository.search.OutboxIndexer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service sending the changes queued in the index outbox to Elasticsearch.
+ * <p>
+ * The search repositories only record which entity changed, in the same transaction as the change itself,
+ * so nothing is sent to Elasticsearch for a rolled back transaction and nothing is lost on a restart.
+ * The outbox is then drained in batches: the changes of a batch are coalesced per entity, the last one wins,
+ * and sent with one bulk request per entity type. A batch which fails is rolled back and retried on the next run.
+ * <p>
+ * The changes of an entity type can be held while its index is rebuilt. The pause is kept in the database, so that the
+ * instances draining the outbox all honour it, and only one of them can hold it at a time.
+ */
+@Service
+public class IndexOutboxService {
+
+    public static final String DEPTH_METER_NAME = "search.outbox.depth";
+    public static final String LAG_METER_NAME = "search.outbox.lag";
+    public static final String PROCESSED_METER_NAME = "search.outbox.processed";
+    public static final String BATCH_METER_NAME = "search.outbox.batch";
+
+    private final Logger log = LoggerFactory.getLogger(IndexOutboxService.class);
+
+    private final IndexOutboxRepository indexOutboxRepository;
+
+    private final IndexPauseRepository indexPauseRepository;
+
+    private final Map<String, OutboxIndexer> indexers;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final Counter indexedCounter;
+
+    private final Counter deletedCounter;
+
+    private final Timer batchTimer;
+
+    private final long pauseLeaseSeconds;
+
+    // identifies the pauses held by this instance
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public IndexOutboxService(
+        IndexOutboxRepository indexOutboxRepository,
+        IndexPauseRepository indexPauseRepository,
+        List<OutboxIndexer> indexers,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.indexOutboxRepository = indexOutboxRepository;
+        this.indexPauseRepository = indexPauseRepository;
+        // the fragment implementations are beans too, keep one indexer per entity type
+        this.indexers = indexers.stream().collect(Collectors.toMap(OutboxIndexer::getEntityType, Function.identity(), (a, b) -> a));
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = applicationProperties.getSearch().getOutbox().getBatchSize();
+        this.pauseLeaseSeconds = applicationProperties.getSearch().getOutbox().getPauseLease().toSeconds();
+
+        Gauge
+            .builder(DEPTH_METER_NAME, this, IndexOutboxService::getDepth)
+            .description("Number of changes waiting to be sent to Elasticsearch")
+            .baseUnit("changes")
+            .register(registry);
+        Gauge
+            .builder(LAG_METER_NAME, this, service -> service.getLag().toMillis() / 1000.0)
+            .description("Age of the oldest change waiting to be sent to Elasticsearch")
+            .baseUnit("seconds")
+            .register(registry);
+        this.indexedCounter = processedCounter(IndexOperation.INDEX).register(registry);
+        this.deletedCounter = processedCounter(IndexOperation.DELETE).register(registry);
+        this.batchTimer = Timer.builder(BATCH_METER_NAME).description("Time taken to send a batch of changes").register(registry);
+    }
+
+    private Counter.Builder processedCounter(IndexOperation operation) {
+        return Counter
+            .builder(PROCESSED_METER_NAME)
+            .description("Number of changes sent to Elasticsearch, after coalescing")
+            .baseUnit("changes")
+            .tag("operation", operation.name().toLowerCase());
+    }
+
+    /**
+     * Drain the outbox, one transaction per batch, until it is empty.
+     * <p>
+     * This is scheduled every {@code application.search.outbox.poll-delay} milliseconds (1 second by default).
+     */
+    @Scheduled(fixedDelayString = "${application.search.outbox.poll-delay:1000}")
+    public void drainAll() {
+        try {
+            Integer drained;
+            do {
+                drained = transactionTemplate.execute(status -> drainBatch());
+            } while (drained != null && drained == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Could not send the index outbox to Elasticsearch, it will be retried: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Send a single batch of queued changes to Elasticsearch, in the current transaction.
+     * The changes of the entity types which are paused, by any instance, are left in the outbox.
+     *
+     * @return the number of outbox entries processed.
+     */
+    @Transactional
+    public int drain() {
+        return drainBatch();
+    }
+
+    private int drainBatch() {
+        List<IndexOutboxEntry> entries = indexOutboxRepository.lockOldest(batchSize);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        batchTimer.record(() -> {
+            // entries are ordered by id, so the last change of an entity overrides the previous ones
+            Map<String, Map<Long, IndexOperation>> changes = new LinkedHashMap<>();
+            for (IndexOutboxEntry entry : entries) {
+                changes
+                    .computeIfAbsent(entry.getEntityType(), type -> new LinkedHashMap<>())
+                    .put(entry.getEntityId(), entry.getOperation());
+            }
+            changes.forEach(this::send);
+            indexOutboxRepository.deleteAllInBatch(entries);
+        });
+        log.debug("Sent {} index outbox entries to Elasticsearch", entries.size());
+        return entries.size();
+    }
+
+    private void send(String entityType, Map<Long, IndexOperation> operations) {
+        OutboxIndexer indexer = indexers.get(entityType);
+        if (indexer == null) {
+            log.warn("No search repository for {}, dropping {} index outbox entries", entityType, operations.size());
+            return;
+        }
+        List<Long> toIndex = new ArrayList<>();
+        List<Long> toDelete = new ArrayList<>();
+        operations.forEach((id, operation) -> (operation == IndexOperation.DELETE ? toDelete : toIndex).add(id));
+        if (!toIndex.isEmpty()) {
+            indexer.indexAllById(toIndex);
+            indexedCounter.increment(toIndex.size());
+        }
+        if (!toDelete.isEmpty()) {
+            indexer.deleteAllFromIndexById(toDelete);
+            deletedCounter.increment(toDelete.size());
+        }
+    }
+
+    /**
+     * Stop draining the changes of an entity type until {@link #resume(String)} is called, on every instance; they keep being
+     * queued meanwhile. The changes of the other entity types are still drained.
+     * <p>
+     * Used while the index of an entity type is rebuilt: the changes made during the rebuild are then replayed onto the new index.
+     * The pause lasts {@code application.search.outbox.pause-lease} unless it is renewed with {@link #renewPause(String)}.
+     *
+     * @param entityType the entity type, as returned by {@link OutboxIndexer#getEntityType()}.
+     * @return {@code true} if the entity type is now paused by this instance, {@code false} if another instance already holds
+     * its pause.
+     */
+    public boolean pause(String entityType) {
+        Integer acquired = transactionTemplate.execute(status ->
+            indexPauseRepository.acquire(entityType, instanceId, pauseLeaseSeconds)
+        );
+        return acquired != null && acquired == 1;
+    }
+
+    /**
+     * Extend the pause of an entity type held by this instance, for another {@code application.search.outbox.pause-lease}.
+     *
+     * @param entityType the entity type, as returned by {@link OutboxIndexer#getEntityType()}.
+     * @return {@code false} if this instance does not hold the pause anymore, its lease having expired.
+     */
+    public boolean renewPause(String entityType) {
+        Integer renewed = transactionTemplate.execute(status -> indexPauseRepository.renew(entityType, instanceId, pauseLeaseSeconds));
+        return renewed != null && renewed == 1;
+    }
+
+    /**
+     * Resume draining the changes of an entity type paused by this instance.
+     *
+     * @param entityType the entity type, as returned by {@link OutboxIndexer#getEntityType()}.
+     */
+    public void resume(String entityType) {
+        transactionTemplate.executeWithoutResult(status -> indexPauseRepository.release(entityType, instanceId));
+    }
+
+    /**
+     * @param entityType the entity type, as returned by {@link OutboxIndexer#getEntityType()}.
+     * @return whether the changes of the entity type are held, by any instance.
+     */
+    public boolean isPaused(String entityType) {
+        return indexPauseRepository.isPaused(entityType);
+    }
+
+    /**
+     * @return the number of changes waiting to be sent.
+     */
+    public long getDepth() {
+        return indexOutboxRepository.count();
+    }
+
+    /**
+     * @return the age of the oldest change waiting to be sent, zero if there is none.
+     */
+    public Duration getLag() {
+        return indexOutboxRepository
+            .findFirstByOrderByIdAsc()
+            .map(entry -> Duration.between(entry.getCreatedDate(), Instant.now()))
+            .orElse(Duration.ZERO);
+    }
+}
@@ -0,0 +1,17 @@
+package com.ebarbe.service;
+
+/**
+ * Thrown when a pagination cursor sent by a client cannot be read, or does not fit the list it is used on.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,137 @@
+package com.ebarbe.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Objects;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Opaque position in a keyset paginated list: the sort used, and the sort key and id of the last row returned.
+ * <p>
+ * It is exchanged with the clients as a base64url token, clients should not build or parse it themselves.
+ */
+public final class KeysetCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private final String property;
+
+    private final Sort.Direction direction;
+
+    private final String key;
+
+    private final Long id;
+
+    private KeysetCursor(String property, Sort.Direction direction, String key, Long id) {
+        this.property = Objects.requireNonNull(property);
+        this.direction = Objects.requireNonNull(direction);
+        this.key = key;
+        this.id = id;
+    }
+
+    /**
+     * Cursor pointing before the first row of a list sorted on {@code property}.
+     */
+    public static KeysetCursor first(String property, Sort.Direction direction) {
+        return new KeysetCursor(property, direction, null, null);
+    }
+
+    /**
+     * Cursor pointing right after the row having the given sort key and id.
+     */
+    public static KeysetCursor after(String property, Sort.Direction direction, Object key, Long id) {
+        return new KeysetCursor(property, direction, String.valueOf(key), Objects.requireNonNull(id));
+    }
+
+    /**
+     * Read a token previously built by {@link #encode()}.
+     *
+     * @param token the token sent by the client.
+     * @return the cursor.
+     * @throws InvalidCursorException if the token is not a valid cursor.
+     */
+    public static KeysetCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // the key is last, as it is the only part which may contain the separator
+            String[] parts = decoded.split(SEPARATOR, 4);
+            if (parts.length != 4) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new KeysetCursor(parts[0], Sort.Direction.fromString(parts[1]), parts[3], Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = property + SEPARATOR + direction.name() + SEPARATOR + id + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * Get the sort key converted to the type of the sorted attribute.
+     *
+     * @param type the java type of the sorted attribute.
+     * @return the typed sort key, {@code null} for a cursor pointing before the first row.
+     * @throws InvalidCursorException if the sort key cannot be read as the given type.
+     */
+    public Object getKey(Class<?> type) {
+        if (key == null) {
+            return null;
+        }
+        try {
+            return parseKey(type);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+
+    private Object parseKey(Class<?> type) {
+        if (String.class.equals(type)) {
+            return key;
+        }
+        if (Long.class.equals(type)) {
+            return Long.valueOf(key);
+        }
+        if (Integer.class.equals(type)) {
+            return Integer.valueOf(key);
+        }
+        if (Double.class.equals(type)) {
+            return Double.valueOf(key);
+        }
+        if (LocalDate.class.equals(type)) {
+            return LocalDate.parse(key);
+        }
+        if (Instant.class.equals(type)) {
+            return Instant.parse(key);
+        }
+        throw new IllegalArgumentException("Unsupported cursor key type " + type.getSimpleName());
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KeysetCursor{" +
+            "property='" + property + "'" +
+            ", direction=" + direction +
+            ", key='" + key + "'" +
+            ", id=" + id +
+            "}";
+    }
+}
@@ -0,0 +1,87 @@
+package com.ebarbe.service;
+
+import com.ebarbe.repository.KeysetQueryExecutor;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * {@link RelationshipQueryService} which can also walk the {@link Specification} it builds with keyset pagination.
+ *
+ * @param <ENTITY> the type of the entity which is queried.
+ */
+public abstract class KeysetQueryService<ENTITY> extends RelationshipQueryService<ENTITY> {
+
+    private final KeysetQueryExecutor keysetQueryExecutor;
+
+    protected KeysetQueryService(KeysetQueryExecutor keysetQueryExecutor) {
+        this.keysetQueryExecutor = keysetQueryExecutor;
+    }
+
+    /**
+     * Get the slice of entities matching the specification right after the given cursor.
+     *
+     * @param domainClass the entity type.
+     * @param specification the filters.
+     * @param sortableAttributes the attributes a client may sort on, by property name. They must not be nullable.
+     * @param idAttribute the id attribute of the entity.
+     * @param after the cursor sent by the client, {@code null} or empty for the first slice.
+     * @param sort the sort of the first slice, the next ones keep the sort stored in the cursor.
+     * @param size the size of the slice.
+     * @return the slice, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid or sorts on an attribute which is not supported.
+     */
+    protected KeysetSlice<ENTITY> findByKeyset(
+        Class<ENTITY> domainClass,
+        Specification<ENTITY> specification,
+        Map<String, SingularAttribute<? super ENTITY, ?>> sortableAttributes,
+        SingularAttribute<? super ENTITY, Long> idAttribute,
+        String after,
+        Sort sort,
+        int size
+    ) {
+        KeysetCursor cursor;
+        if (after == null || after.isEmpty()) {
+            Sort.Order order = sort.stream().findFirst().orElse(Sort.Order.asc(idAttribute.getName()));
+            cursor = KeysetCursor.first(order.getProperty(), order.getDirection());
+        } else {
+            cursor = KeysetCursor.decode(after);
+        }
+        SingularAttribute<? super ENTITY, ?> sortAttribute = sortableAttributes.get(cursor.getProperty());
+        if (sortAttribute == null) {
+            throw new InvalidCursorException("Cursor pagination cannot sort on " + cursor.getProperty());
+        }
+
+        Slice<ENTITY> slice = keysetQueryExecutor.findAll(
+            domainClass,
+            specification,
+            sortAttribute,
+            idAttribute,
+            cursor.getDirection(),
+            cursor.getKey(sortAttribute.getJavaType()),
+            cursor.getId(),
+            size
+        );
+
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            List<ENTITY> content = slice.getContent();
+            BeanWrapper last = new BeanWrapperImpl(content.get(content.size() - 1));
+            nextCursor =
+                KeysetCursor
+                    .after(
+                        cursor.getProperty(),
+                        cursor.getDirection(),
+                        last.getPropertyValue(sortAttribute.getName()),
+                        (Long) last.getPropertyValue(idAttribute.getName())
+                    )
+                    .encode();
+        }
+        return new KeysetSlice<>(slice.getContent(), nextCursor);
+    }
+}
@@ -0,0 +1,40 @@
+package com.ebarbe.service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A slice of a keyset paginated list, with the cursor to get the next one.
+ *
+ * @param <T> the type of the content.
+ */
+public class KeysetSlice<T> {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    public KeysetSlice(List<T> content, String nextCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the cursor of the next slice, or {@code null} if this slice is the last one.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetSlice<>(content.stream().<U>map(converter).toList(), nextCursor);
+    }
+}
@@ -2,20 +2,27 @@ package com.ebarbe.service;
 
 import com.ebarbe.domain.*; // for static metamodels
 import com.ebarbe.domain.MainTask;
+import com.ebarbe.repository.KeysetQueryExecutor;
 import com.ebarbe.repository.MainTaskRepository;
+import com.ebarbe.repository.ProjectionQueryExecutor;
+import com.ebarbe.repository.StreamingQueryExecutor;
 import com.ebarbe.service.criteria.MainTaskCriteria;
 import com.ebarbe.service.dto.MainTaskDTO;
 import com.ebarbe.service.mapper.MainTaskMapper;
-import jakarta.persistence.criteria.JoinType;
+import com.ebarbe.service.mapper.MainTaskProjection;
+import jakarta.persistence.metamodel.SingularAttribute;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link MainTask} entities in the database.
@@ -25,7 +32,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class MainTaskQueryService extends QueryService<MainTask> {
+public class MainTaskQueryService extends KeysetQueryService<MainTask> {
 
     private final Logger log = LoggerFactory.getLogger(MainTaskQueryService.class);
 
@@ -33,13 +40,31 @@ public class MainTaskQueryService extends QueryService<MainTask> {
 
     private final MainTaskMapper mainTaskMapper;
 
-    public MainTaskQueryService(MainTaskRepository mainTaskRepository, MainTaskMapper mainTaskMapper) {
+    private final StreamingQueryExecutor streamingQueryExecutor;
+
+    private final ProjectionQueryExecutor projectionQueryExecutor;
+
+    private final MainTaskProjection mainTaskProjection;
+
+    public MainTaskQueryService(
+        MainTaskRepository mainTaskRepository,
+        MainTaskMapper mainTaskMapper,
+        KeysetQueryExecutor keysetQueryExecutor,
+        StreamingQueryExecutor streamingQueryExecutor,
+        ProjectionQueryExecutor projectionQueryExecutor,
+        MainTaskProjection mainTaskProjection
+    ) {
+        super(keysetQueryExecutor);
         this.mainTaskRepository = mainTaskRepository;
         this.mainTaskMapper = mainTaskMapper;
+        this.streamingQueryExecutor = streamingQueryExecutor;
+        this.projectionQueryExecutor = projectionQueryExecutor;
+        this.mainTaskProjection = mainTaskProjection;
     }
 
     /**
      * Return a {@link List} of {@link MainTaskDTO} which matches the criteria from the database.
+     * The DTOs are read as columns, without loading the entities.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
@@ -47,11 +72,12 @@ public class MainTaskQueryService extends QueryService<MainTask> {
     public List<MainTaskDTO> findByCriteria(MainTaskCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<MainTask> specification = createSpecification(criteria);
-        return mainTaskMapper.toDto(mainTaskRepository.findAll(specification));
+        return projectionQueryExecutor.findAll(MainTask.class, specification, mainTaskProjection, Sort.unsorted());
     }
 
     /**
      * Return a {@link Page} of {@link MainTaskDTO} which matches the criteria from the database.
+     * The DTOs are read as columns, without loading the entities.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -60,7 +86,55 @@ public class MainTaskQueryService extends QueryService<MainTask> {
     public Page<MainTaskDTO> findByCriteria(MainTaskCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<MainTask> specification = createSpecification(criteria);
-        return mainTaskRepository.findAll(specification, page).map(mainTaskMapper::toDto);
+        return projectionQueryExecutor.findAll(MainTask.class, specification, mainTaskProjection, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link MainTaskDTO} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<MainTaskDTO> findSliceByCriteria(MainTaskCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<MainTask> specification = createSpecification(criteria);
+        return mainTaskRepository.findSlice(specification, page).map(mainTaskMapper::toDto);
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of {@link MainTaskDTO} which matches the criteria from the database,
+     * starting right after the given cursor. No count query is run.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The cursor returned with the previous slice, or an empty string for the first one.
+     * @param page The size of the slice, and for the first slice its sort.
+     * @return the matching entities.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<MainTaskDTO> findByCriteria(MainTaskCriteria criteria, String after, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, after, page);
+        final Specification<MainTask> specification = createSpecification(criteria);
+        return findByKeyset(MainTask.class, specification, keysetAttributes(), MainTask_.id, after, page.getSort(), page.getPageSize())
+            .map(mainTaskMapper::toDto);
+    }
+
+    /**
+     * Stream the {@link MainTaskDTO} which match the criteria from the database to the consumer, ordered by id.
+     * The rows are read through a database cursor, so the whole result is never held in memory.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param consumer The consumer of each matching entity.
+     */
+    @Transactional(readOnly = true)
+    public void export(MainTaskCriteria criteria, Consumer<MainTaskDTO> consumer) {
+        log.debug("export by criteria : {}", criteria);
+        final Specification<MainTask> specification = createSpecification(criteria);
+        streamingQueryExecutor.forEach(
+            MainTask.class,
+            specification,
+            MainTask_.id,
+            entity -> consumer.accept(mainTaskMapper.toDto(entity))
+        );
     }
 
     /**
@@ -75,6 +149,14 @@ public class MainTaskQueryService extends QueryService<MainTask> {
         return mainTaskRepository.count(specification);
     }
 
+    /**
+     * The attributes a keyset paginated list can be sorted on, they are all non-nullable.
+     * Built on each call, as the static metamodel is only populated once Hibernate has started.
+     */
+    private static Map<String, SingularAttribute<? super MainTask, ?>> keysetAttributes() {
+        return Map.of("id", MainTask_.id, "deadline", MainTask_.deadline);
+    }
+
     /**
      * Function to convert {@link MainTaskCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -103,31 +185,19 @@ public class MainTaskQueryService extends QueryService<MainTask> {
                 specification = specification.and(buildRangeSpecification(criteria.getCost(), MainTask_.cost));
             }
             if (criteria.getCategoryId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(criteria.getCategoryId(), root -> root.join(MainTask_.category, JoinType.LEFT).get(Category_.id))
-                    );
+                specification = specification.and(buildForeignKeySpecification(criteria.getCategoryId(), MainTask_.category, Category_.id));
             }
             if (criteria.getPersonOwnerId() != null) {
                 specification =
                     specification.and(
-                        buildSpecification(
-                            criteria.getPersonOwnerId(),
-                            root -> root.join(MainTask_.personOwner, JoinType.LEFT).get(Person_.id)
-                        )
+                        buildForeignKeySpecification(criteria.getPersonOwnerId(), MainTask_.personOwner, Person_.id)
                     );
             }
             if (criteria.getStatusId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(criteria.getStatusId(), root -> root.join(MainTask_.status, JoinType.LEFT).get(Status_.id))
-                    );
+                specification = specification.and(buildForeignKeySpecification(criteria.getStatusId(), MainTask_.status, Status_.id));
             }
             if (criteria.getSubTaskId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(criteria.getSubTaskId(), root -> root.join(MainTask_.subTasks, JoinType.LEFT).get(SubTask_.id))
-                    );
+                specification = specification.and(buildExistsSpecification(criteria.getSubTaskId(), MainTask_.subTasks, SubTask_.id));
             }
         }
         return specification;
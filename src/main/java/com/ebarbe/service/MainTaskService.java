@@ -2,14 +2,24 @@ package com.ebarbe.service;
 
 import com.ebarbe.domain.MainTask;
 import com.ebarbe.repository.MainTaskRepository;
+import com.ebarbe.repository.search.FacetedPage;
 import com.ebarbe.repository.search.MainTaskSearchRepository;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.dto.MainTaskDTO;
+import com.ebarbe.service.dto.MainTaskSearchResultDTO;
+import com.ebarbe.service.mapper.MainTaskDocumentMapper;
 import com.ebarbe.service.mapper.MainTaskMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,14 +38,18 @@ public class MainTaskService {
 
     private final MainTaskSearchRepository mainTaskSearchRepository;
 
+    private final MainTaskDocumentMapper mainTaskDocumentMapper;
+
     public MainTaskService(
         MainTaskRepository mainTaskRepository,
         MainTaskMapper mainTaskMapper,
-        MainTaskSearchRepository mainTaskSearchRepository
+        MainTaskSearchRepository mainTaskSearchRepository,
+        MainTaskDocumentMapper mainTaskDocumentMapper
     ) {
         this.mainTaskRepository = mainTaskRepository;
         this.mainTaskMapper = mainTaskMapper;
         this.mainTaskSearchRepository = mainTaskSearchRepository;
+        this.mainTaskDocumentMapper = mainTaskDocumentMapper;
     }
 
     /**
@@ -56,13 +70,15 @@ public class MainTaskService {
     /**
      * Update a mainTask.
      *
-     * @param mainTaskDTO the entity to save.
+     * @param mainTaskDTO the entity to save, with the version it was read at.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the mainTask is no longer at this version.
      */
     public MainTaskDTO update(MainTaskDTO mainTaskDTO) {
         log.debug("Request to update MainTask : {}", mainTaskDTO);
         MainTask mainTask = mainTaskMapper.toEntity(mainTaskDTO);
-        mainTask = mainTaskRepository.save(mainTask);
+        // flushed, so that the mainTask returned has its new version
+        mainTask = mainTaskRepository.saveAndFlush(mainTask);
         MainTaskDTO result = mainTaskMapper.toDto(mainTask);
         mainTaskSearchRepository.index(mainTask);
         return result;
@@ -71,8 +87,9 @@ public class MainTaskService {
     /**
      * Partially update a mainTask.
      *
-     * @param mainTaskDTO the entity to update partially.
+     * @param mainTaskDTO the entity to update partially, with the version it was read at if it is to be checked.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the mainTask is no longer at this version.
      */
     public Optional<MainTaskDTO> partialUpdate(MainTaskDTO mainTaskDTO) {
         log.debug("Request to partially update MainTask : {}", mainTaskDTO);
@@ -80,11 +97,12 @@ public class MainTaskService {
         return mainTaskRepository
             .findById(mainTaskDTO.getId())
             .map(existingMainTask -> {
+                checkVersion(existingMainTask, mainTaskDTO);
                 mainTaskMapper.partialUpdate(existingMainTask, mainTaskDTO);
 
                 return existingMainTask;
             })
-            .map(mainTaskRepository::save)
+            .map(mainTaskRepository::saveAndFlush)
             .map(savedMainTask -> {
                 mainTaskSearchRepository.index(savedMainTask);
                 return savedMainTask;
@@ -92,6 +110,82 @@ public class MainTaskService {
             .map(mainTaskMapper::toDto);
     }
 
+    /**
+     * Save several mainTasks, in a single transaction with batched inserts.
+     *
+     * @param mainTaskDTOs the entities to save.
+     * @return the persisted entities, in the same order.
+     */
+    public List<MainTaskDTO> saveAll(List<MainTaskDTO> mainTaskDTOs) {
+        log.debug("Request to save {} MainTasks", mainTaskDTOs.size());
+        List<MainTask> mainTasks = mainTaskRepository.saveAll(mainTaskMapper.toEntity(mainTaskDTOs));
+        mainTaskSearchRepository.indexAll(mainTasks);
+        return mainTaskMapper.toDto(mainTasks);
+    }
+
+    /**
+     * Update several mainTasks, in a single transaction with batched updates.
+     *
+     * @param mainTaskDTOs the entities to save, those with a version are checked to still be at it.
+     * @return the persisted entities, in the same order.
+     * @throws ObjectOptimisticLockingFailureException if one of the mainTasks is no longer at its version.
+     */
+    public List<MainTaskDTO> updateAll(List<MainTaskDTO> mainTaskDTOs) {
+        log.debug("Request to update {} MainTasks", mainTaskDTOs.size());
+        // load the current state with one query, so the merges below do not select each mainTask
+        Map<Long, MainTask> existingMainTasks = findAllById(mainTaskDTOs);
+        for (MainTaskDTO mainTaskDTO : mainTaskDTOs) {
+            if (mainTaskDTO.getVersion() == null) {
+                mainTaskDTO.setVersion(existingMainTasks.get(mainTaskDTO.getId()).getVersion());
+            }
+        }
+        List<MainTask> mainTasks = mainTaskRepository.saveAllAndFlush(mainTaskMapper.toEntity(mainTaskDTOs));
+        mainTaskSearchRepository.indexAll(mainTasks);
+        return mainTaskMapper.toDto(mainTasks);
+    }
+
+    /**
+     * Partially update several mainTasks, in a single transaction with batched updates.
+     *
+     * @param mainTaskDTOs the entities to update partially.
+     * @return the persisted entities, in the same order.
+     * @throws EntityNotFoundException if one of the mainTasks does not exist.
+     * @throws ObjectOptimisticLockingFailureException if one of the mainTasks given with a version is no longer at it.
+     */
+    public List<MainTaskDTO> partialUpdateAll(List<MainTaskDTO> mainTaskDTOs) {
+        log.debug("Request to partially update {} MainTasks", mainTaskDTOs.size());
+        Map<Long, MainTask> existingMainTasks = findAllById(mainTaskDTOs);
+        List<MainTask> mainTasks = new ArrayList<>();
+        for (MainTaskDTO mainTaskDTO : mainTaskDTOs) {
+            MainTask existingMainTask = existingMainTasks.get(mainTaskDTO.getId());
+            if (existingMainTask == null) {
+                throw new EntityNotFoundException("MainTask not found with id: " + mainTaskDTO.getId());
+            }
+            checkVersion(existingMainTask, mainTaskDTO);
+            mainTaskMapper.partialUpdate(existingMainTask, mainTaskDTO);
+            mainTasks.add(existingMainTask);
+        }
+        mainTasks = mainTaskRepository.saveAllAndFlush(mainTasks);
+        mainTaskSearchRepository.indexAll(mainTasks);
+        return mainTaskMapper.toDto(mainTasks);
+    }
+
+    /**
+     * A mainTask given with a version must still be at it: the version of a loaded mainTask cannot be set back.
+     */
+    private static void checkVersion(MainTask existingMainTask, MainTaskDTO mainTaskDTO) {
+        if (mainTaskDTO.getVersion() != null && !mainTaskDTO.getVersion().equals(existingMainTask.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(MainTask.class, mainTaskDTO.getId());
+        }
+    }
+
+    private Map<Long, MainTask> findAllById(List<MainTaskDTO> mainTaskDTOs) {
+        return mainTaskRepository
+            .findAllById(mainTaskDTOs.stream().map(MainTaskDTO::getId).toList())
+            .stream()
+            .collect(Collectors.toMap(MainTask::getId, Function.identity()));
+    }
+
     /**
      * Get all the mainTasks.
      *
@@ -131,12 +225,53 @@ public class MainTaskService {
      * Search for the mainTask corresponding to the query.
      *
      * @param query the query of the search.
+     * @param mode how the query is read.
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the list of entities, with the labels of their relations and the summary of their subTasks.
      */
     @Transactional(readOnly = true)
-    public Page<MainTaskDTO> search(String query, Pageable pageable) {
+    public Page<MainTaskSearchResultDTO> search(String query, SearchMode mode, Pageable pageable) {
         log.debug("Request to search for a page of MainTasks for query {}", query);
-        return mainTaskSearchRepository.search(query, pageable).map(mainTaskMapper::toDto);
+        return mainTaskSearchRepository.search(query, mode, pageable).map(mainTaskDocumentMapper::toDto);
+    }
+
+    /**
+     * Search for the mainTask corresponding to the query, with facets of all the hits.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param facets the names of the facets to compute, all of them if empty.
+     * @param pageable the pagination information.
+     * @return the page of entities, with the facets.
+     * @throws IllegalArgumentException if a facet is unknown.
+     */
+    @Transactional(readOnly = true)
+    public FacetedPage<MainTaskSearchResultDTO> searchWithFacets(
+        String query,
+        SearchMode mode,
+        List<String> facets,
+        Pageable pageable
+    ) {
+        log.debug("Request to search for a page of MainTasks with facets {} for query {}", facets, query);
+        return mainTaskSearchRepository.searchWithFacets(query, mode, facets, pageable).map(mainTaskDocumentMapper::toDto);
+    }
+
+    /**
+     * Search for the mainTask corresponding to the query, the slice right after the given cursor.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param after the cursor returned with the previous slice, {@code null} or empty for the first one.
+     * @param size the size of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<MainTaskSearchResultDTO> search(String query, SearchMode mode, String after, int size) {
+        log.debug("Request to search for a slice of MainTasks for query {} after {}", query, after);
+        SearchCursor cursor = SearchCursor.decode(after);
+        return SearchCursor
+            .toKeysetSlice(mainTaskSearchRepository.search(query, mode, cursor.getPointInTimeId(), cursor.getSortValues(), size))
+            .map(mainTaskDocumentMapper::toDto);
     }
 }
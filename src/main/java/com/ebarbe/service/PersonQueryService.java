@@ -3,20 +3,22 @@ package com.ebarbe.service;
 import com.ebarbe.domain.*; // for static metamodels
 import com.ebarbe.domain.Person;
 import com.ebarbe.repository.PersonRepository;
+import com.ebarbe.repository.ProjectionQueryExecutor;
 import com.ebarbe.repository.search.PersonSearchRepository;
 import com.ebarbe.service.criteria.PersonCriteria;
 import com.ebarbe.service.dto.PersonDTO;
 import com.ebarbe.service.mapper.PersonMapper;
-import jakarta.persistence.criteria.JoinType;
+import com.ebarbe.service.mapper.PersonProjection;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link Person} entities in the database.
@@ -26,7 +28,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class PersonQueryService extends QueryService<Person> {
+public class PersonQueryService extends RelationshipQueryService<Person> {
 
     private final Logger log = LoggerFactory.getLogger(PersonQueryService.class);
 
@@ -36,14 +38,27 @@ public class PersonQueryService extends QueryService<Person> {
 
     private final PersonSearchRepository personSearchRepository;
 
-    public PersonQueryService(PersonRepository personRepository, PersonMapper personMapper, PersonSearchRepository personSearchRepository) {
+    private final ProjectionQueryExecutor projectionQueryExecutor;
+
+    private final PersonProjection personProjection;
+
+    public PersonQueryService(
+        PersonRepository personRepository,
+        PersonMapper personMapper,
+        PersonSearchRepository personSearchRepository,
+        ProjectionQueryExecutor projectionQueryExecutor,
+        PersonProjection personProjection
+    ) {
         this.personRepository = personRepository;
         this.personMapper = personMapper;
         this.personSearchRepository = personSearchRepository;
+        this.projectionQueryExecutor = projectionQueryExecutor;
+        this.personProjection = personProjection;
     }
 
     /**
      * Return a {@link List} of {@link PersonDTO} which matches the criteria from the database.
+     * The DTOs are read as columns, without loading the entities.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
@@ -51,11 +66,12 @@ public class PersonQueryService extends QueryService<Person> {
     public List<PersonDTO> findByCriteria(PersonCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<Person> specification = createSpecification(criteria);
-        return personMapper.toDto(personRepository.findAll(specification));
+        return projectionQueryExecutor.findAll(Person.class, specification, personProjection, Sort.unsorted());
     }
 
     /**
      * Return a {@link Page} of {@link PersonDTO} which matches the criteria from the database.
+     * The DTOs are read as columns, without loading the entities.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -64,7 +80,20 @@ public class PersonQueryService extends QueryService<Person> {
     public Page<PersonDTO> findByCriteria(PersonCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<Person> specification = createSpecification(criteria);
-        return personRepository.findAll(specification, page).map(personMapper::toDto);
+        return projectionQueryExecutor.findAll(Person.class, specification, personProjection, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link PersonDTO} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<PersonDTO> findSliceByCriteria(PersonCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<Person> specification = createSpecification(criteria);
+        return personRepository.findSlice(specification, page).map(personMapper::toDto);
     }
 
     /**
@@ -104,25 +133,10 @@ public class PersonQueryService extends QueryService<Person> {
                 specification = specification.and(buildStringSpecification(criteria.getName(), Person_.name));
             }
             if (criteria.getUserId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(criteria.getUserId(), root -> root.join(Person_.user, JoinType.LEFT).get(User_.id))
-                    );
+                specification = specification.and(buildForeignKeySpecification(criteria.getUserId(), Person_.user, User_.id));
             }
             if (criteria.getEventId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(criteria.getEventId(), root -> root.join(Person_.events, JoinType.LEFT).get(Event_.id))
-                    );
-            }
-            if (criteria.getRelEventPersonId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(
-                            criteria.getRelEventPersonId(),
-                            root -> root.join(Person_.relEventPeople, JoinType.LEFT).get(RelEventPerson_.id)
-                        )
-                    );
+                specification = specification.and(buildExistsSpecification(criteria.getEventId(), Person_.events, Event_.id));
             }
         }
         return specification;
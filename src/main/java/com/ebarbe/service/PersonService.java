@@ -4,7 +4,9 @@ import com.ebarbe.domain.Person;
 import com.ebarbe.repository.PersonExtendedRepository;
 import com.ebarbe.repository.PersonRepository;
 import com.ebarbe.repository.UserRepository;
+import com.ebarbe.repository.search.MainTaskSearchRepository;
 import com.ebarbe.repository.search.PersonSearchRepository;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.dto.PersonDTO;
 import com.ebarbe.service.dto.UserDTO;
 import com.ebarbe.service.mapper.PersonMapper;
@@ -30,6 +32,7 @@ public class PersonService {
     private final PersonMapper personMapper;
 
     private final PersonSearchRepository personSearchRepository;
+    private final MainTaskSearchRepository mainTaskSearchRepository;
     private final UserRepository userRepository;
     private final UserMapper userMapper;
 
@@ -38,6 +41,7 @@ public class PersonService {
         PersonRepository personRepository,
         PersonMapper personMapper,
         PersonSearchRepository personSearchRepository,
+        MainTaskSearchRepository mainTaskSearchRepository,
         UserRepository userRepository,
         UserMapper userMapper
     ) {
@@ -45,6 +49,7 @@ public class PersonService {
         this.personRepository = personRepository;
         this.personMapper = personMapper;
         this.personSearchRepository = personSearchRepository;
+        this.mainTaskSearchRepository = mainTaskSearchRepository;
         this.userRepository = userRepository;
         this.userMapper = userMapper;
     }
@@ -76,6 +81,8 @@ public class PersonService {
         person = personRepository.save(person);
         PersonDTO result = personMapper.toDto(person);
         personSearchRepository.index(person);
+        // the search documents of the mainTasks embed its name
+        mainTaskSearchRepository.reindexAllByPersonOwnerId(person.getId());
         return result;
     }
 
@@ -98,6 +105,7 @@ public class PersonService {
             .map(personRepository::save)
             .map(savedPerson -> {
                 personSearchRepository.index(savedPerson);
+                mainTaskSearchRepository.reindexAllByPersonOwnerId(savedPerson.getId());
                 return savedPerson;
             })
             .map(personMapper::toDto);
@@ -166,13 +174,33 @@ public class PersonService {
      * Search for the person corresponding to the query.
      *
      * @param query the query of the search.
+     * @param mode how the query is read.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<PersonDTO> search(String query, Pageable pageable) {
+    public Page<PersonDTO> search(String query, SearchMode mode, Pageable pageable) {
         log.debug("Request to search for a page of People for query {}", query);
-        return personSearchRepository.search(query, pageable).map(personMapper::toDto);
+        return personSearchRepository.search(query, mode, pageable).map(personMapper::toDto);
+    }
+
+    /**
+     * Search for the person corresponding to the query, the slice right after the given cursor.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param after the cursor returned with the previous slice, {@code null} or empty for the first one.
+     * @param size the size of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<PersonDTO> search(String query, SearchMode mode, String after, int size) {
+        log.debug("Request to search for a slice of People for query {} after {}", query, after);
+        SearchCursor cursor = SearchCursor.decode(after);
+        return SearchCursor
+            .toKeysetSlice(personSearchRepository.search(query, mode, cursor.getPointInTimeId(), cursor.getSortValues(), size))
+            .map(personMapper::toDto);
     }
 
     /**
@@ -0,0 +1,129 @@
+package com.ebarbe.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of the rebuild of a search index.
+ */
+public class ReindexJob {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private final String alias;
+
+    private final Instant queuedAt = Instant.now();
+
+    private final AtomicLong indexed = new AtomicLong();
+
+    private volatile State state = State.QUEUED;
+
+    private volatile String index;
+
+    private volatile long total;
+
+    private volatile Instant startedAt;
+
+    private volatile Instant finishedAt;
+
+    private volatile String error;
+
+    ReindexJob(String alias) {
+        this.alias = alias;
+    }
+
+    void start(String index, long total) {
+        this.index = index;
+        this.total = total;
+        this.startedAt = Instant.now();
+        this.state = State.RUNNING;
+    }
+
+    void addIndexed(long count) {
+        indexed.addAndGet(count);
+    }
+
+    void complete() {
+        this.finishedAt = Instant.now();
+        this.state = State.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.finishedAt = Instant.now();
+        this.error = error;
+        this.state = State.FAILED;
+    }
+
+    /**
+     * @return the name the index is read through.
+     */
+    public String getAlias() {
+        return alias;
+    }
+
+    /**
+     * @return the versioned index being loaded, {@code null} while the job is queued.
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isActive() {
+        return state == State.QUEUED || state == State.RUNNING;
+    }
+
+    /**
+     * @return the number of rows in the database when the job started.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    public long getIndexed() {
+        return indexed.get();
+    }
+
+    /**
+     * @return the percentage of the rows already indexed.
+     */
+    public double getProgress() {
+        return total == 0 ? (state == State.COMPLETED ? 100 : 0) : Math.min(100, 100.0 * indexed.get() / total);
+    }
+
+    /**
+     * @return the number of documents indexed per second since the job started.
+     */
+    public double getThroughput() {
+        if (startedAt == null) {
+            return 0;
+        }
+        long millis = Duration.between(startedAt, finishedAt == null ? Instant.now() : finishedAt).toMillis();
+        return millis == 0 ? 0 : indexed.get() * 1000.0 / millis;
+    }
+
+    public Instant getQueuedAt() {
+        return queuedAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
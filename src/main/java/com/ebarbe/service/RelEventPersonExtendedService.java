@@ -4,19 +4,22 @@ import com.ebarbe.domain.Event;
 import com.ebarbe.domain.Hierarchy;
 import com.ebarbe.domain.Person;
 import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.repository.EntityChangeCounter;
 import com.ebarbe.repository.RelEventPersonExtendedRepository;
 import com.ebarbe.repository.RelEventPersonExtendedRepositoryWithBagRelationships;
 import com.ebarbe.repository.RelEventPersonRepository;
 import com.ebarbe.repository.RelEventPersonRepositoryWithBagRelationships;
+import com.ebarbe.repository.RelEventPersonUpsertRepository;
 import com.ebarbe.repository.search.RelEventPersonSearchRepository;
+import com.ebarbe.service.dto.EventParticipantDTO;
 import com.ebarbe.service.dto.RelEventPersonDTO;
 import com.ebarbe.service.mapper.RelEventPersonMapper;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +41,10 @@ public class RelEventPersonExtendedService extends RelEventPersonService {
 
     private final RelEventPersonExtendedRepositoryWithBagRelationships repExtRepositoryWBR;
 
+    private final RelEventPersonSearchRepository repSearchRepository;
+
+    private final EntityChangeCounter entityChangeCounter;
+
     public RelEventPersonExtendedService(
         RelEventPersonRepository relEventPersonRepository,
         RelEventPersonMapper relEventPersonMapper,
@@ -45,13 +52,16 @@ public class RelEventPersonExtendedService extends RelEventPersonService {
         RelEventPersonSearchRepository repSearchRepository,
         RelEventPersonExtendedRepository relEventPersonExtendedRepository,
         RelEventPersonExtendedRepository repExtRepository,
-        RelEventPersonExtendedRepositoryWithBagRelationships repExtRepositoryWBR
+        RelEventPersonExtendedRepositoryWithBagRelationships repExtRepositoryWBR,
+        EntityChangeCounter entityChangeCounter
     ) {
         super(relEventPersonRepository, relEventPersonMapper, relEventPersonSearchRepository);
         this.repRepository = relEventPersonRepository;
         this.relEventPersonMapper = relEventPersonMapper;
         this.repExtRepository = repExtRepository;
         this.repExtRepositoryWBR = repExtRepositoryWBR;
+        this.repSearchRepository = repSearchRepository;
+        this.entityChangeCounter = entityChangeCounter;
     }
 
     /**
@@ -63,16 +73,11 @@ public class RelEventPersonExtendedService extends RelEventPersonService {
     @Transactional(readOnly = true)
     public Page<RelEventPersonDTO> findAllREPComplete(Pageable pageable) {
         log.debug("Request to get all RelEventPeople");
-        List<RelEventPerson> resultList = repRepository.findAll();
-        resultList = repRepository.fetchBagRelationships(resultList);
-
-        long totalElements = resultList.size();
-
-        return paginateResults(resultList, pageable, totalElements).map(relEventPersonMapper::toDto);
+        return repExtRepositoryWBR.findAllREPComplete(pageable).map(relEventPersonMapper::toDto);
     }
 
     /**
-     * Get all the relEventPeople with data about relations (person, user, event, hierarchy).
+     * Get all the relEventPeople with data about relations (person, user, hierarchy).
      * concerned by the event in param
      * @param pageable
      * @param eventId
@@ -81,14 +86,11 @@ public class RelEventPersonExtendedService extends RelEventPersonService {
     @Transactional(readOnly = true)
     public Page<RelEventPersonDTO> findAllREPCompleteByEventId(Pageable pageable, Long eventId) {
         log.debug("Request to get all RelEventPeople concerned by event :" + eventId);
-        List<RelEventPerson> resultList = repExtRepositoryWBR.findAllREPCompleteByEventId(eventId);
-        long totalElements = resultList.size();
-
-        return paginateResults(resultList, pageable, totalElements).map(relEventPersonMapper::toDto);
+        return repExtRepositoryWBR.findAllREPCompleteByEventId(eventId, pageable).map(relEventPersonMapper::toRosterDto);
     }
 
     /**
-     * Get all the relEventPeople with data about relations (person, user, event, hierarchy).
+     * Get all the relEventPeople with data about relations (event, event type, hierarchy).
      * concerned by the person in param
      * @param pageable
      * @param person
@@ -97,14 +99,11 @@ public class RelEventPersonExtendedService extends RelEventPersonService {
     @Transactional(readOnly = true)
     public Page<RelEventPersonDTO> findAllREPCompleteByPersonId(Pageable pageable, Long personId) {
         log.debug("Request to get all RelEventPeople concerned by person : {}", personId);
-        List<RelEventPerson> resultList = repExtRepositoryWBR.findAllREPCompleteByPersonId(personId);
-        long totalElements = resultList.size();
-
-        return paginateResults(resultList, pageable, totalElements).map(relEventPersonMapper::toDto);
+        return repExtRepositoryWBR.findAllREPCompleteByPersonId(personId, pageable).map(relEventPersonMapper::toPersonAgendaDto);
     }
 
     /**
-     * Get all the relEventPeople with data about relations (person, user, event, hierarchy).
+     * Get all the relEventPeople with data about relations (person, user, hierarchy).
      * concerned by the event AND the hierarchy in param
      * @param pageable
      * @param event
@@ -116,10 +115,9 @@ public class RelEventPersonExtendedService extends RelEventPersonService {
         log.debug(
             "Request to get all RelEventPeople concerned by event :" + event.getLabel() + " and hierarchy: " + hierarchy.getDescription()
         );
-        List<RelEventPerson> resultList = repExtRepositoryWBR.findAllREPCompleteByEventIdAndHierarchyId(event.getId(), hierarchy.getId());
-        long totalElements = resultList.size();
-
-        return paginateResults(resultList, pageable, totalElements).map(relEventPersonMapper::toDto);
+        return repExtRepositoryWBR
+            .findAllREPCompleteByEventIdAndHierarchyId(event.getId(), hierarchy.getId(), pageable)
+            .map(relEventPersonMapper::toRosterDto);
     }
 
     /**
@@ -137,16 +135,15 @@ public class RelEventPersonExtendedService extends RelEventPersonService {
     }
 
     /**
-     * @param resultList
-     * @param pageable
-     * @param totalElements
-     * @return page of RelEventPerson
+     * Return the relEventPerson of the event and the person in param, without reading the entities linked
+     * @param eventId
+     * @param personId
+     * @return the relEventPerson, with the ids of the entities linked only
      */
-    private Page<RelEventPerson> paginateResults(List<RelEventPerson> resultList, Pageable pageable, long totalElements) {
-        int start = (int) pageable.getOffset();
-        int end = (start + pageable.getPageSize()) > totalElements ? (int) totalElements : (start + pageable.getPageSize());
-
-        return new PageImpl<>(resultList.subList(start, end), pageable, totalElements);
+    @Transactional(readOnly = true)
+    public Optional<RelEventPersonDTO> findIdsOnlyByEventIdAndPersonId(Long eventId, Long personId) {
+        log.debug("Request to get the ids of the RelEventPerson concerned by event : {} and person: {}", eventId, personId);
+        return repExtRepositoryWBR.findIdsOnlyByEventIdAndPersonId(eventId, personId).map(relEventPersonMapper::toIdsOnlyDto);
     }
 
     //DELETE ONE EVENT + PERSON
@@ -184,6 +181,35 @@ public class RelEventPersonExtendedService extends RelEventPersonService {
         }
     }*/
 
+    //UPSERT A LIST BY EVENT
+
+    /**
+     * Link the people in param to the event, or update the hierarchy and the participation of the ones already linked,
+     * with a single statement; the relEventPeople of the event are queued to be indexed again, in the same transaction
+     * @param eventId the event the people take part in
+     * @param participants the participants, with distinct people
+     * @return the ids of the people newly linked to the event, the others were already linked and have been updated
+     */
+    public Set<Long> upsertParticipants(Long eventId, List<EventParticipantDTO> participants) {
+        log.debug("Request to upsert {} RelEventPeople concerned by event : {}", participants.size(), eventId);
+        Set<Long> insertedPersonIds = repRepository.upsertParticipants(
+            eventId,
+            participants
+                .stream()
+                .map(participant ->
+                    new RelEventPersonUpsertRepository.Participant(
+                        participant.getPersonId(),
+                        participant.getHierarchyId(),
+                        participant.getParticipation()
+                    )
+                )
+                .toList()
+        );
+        entityChangeCounter.recordChange(RelEventPerson.class);
+        repSearchRepository.indexAllByEventId(eventId);
+        return insertedPersonIds;
+    }
+
     //UPDATE ONE BY EVENT + PERSON
 
     /**
@@ -207,6 +233,7 @@ public class RelEventPersonExtendedService extends RelEventPersonService {
                 relEventPersonNew.getHierarchy().getId(),
                 relEventPersonNew.getParticipation()
             );
+            entityChangeCounter.recordChange(RelEventPerson.class);
             return relEventPersonMapper.toDto(relEventPersonNew);
             //repSearchRepository.index(relEventPerson); //=> TODO modifier la méthode qui attend un id
 
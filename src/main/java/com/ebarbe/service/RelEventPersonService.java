@@ -1,8 +1,10 @@
 package com.ebarbe.service;
 
 import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.domain.RelEventPersonId;
 import com.ebarbe.repository.RelEventPersonRepository;
 import com.ebarbe.repository.search.RelEventPersonSearchRepository;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.dto.RelEventPersonDTO;
 import com.ebarbe.service.mapper.RelEventPersonMapper;
 import java.util.Optional;
@@ -54,7 +56,7 @@ public class RelEventPersonService {
     }
 
     /**
-     * /!\ do not use beacause relEventPerson doesn't have id  => RelEventPersonExtendedService.update()
+     * /!\ the event and the person can't be changed here, they are the id  => RelEventPersonExtendedService.update()
      * TO CLEAN
      * Update a relEventPerson.
      *
@@ -71,7 +73,7 @@ public class RelEventPersonService {
     }
 
     /**
-     * * /!\ do not use beacause relEventPerson doesn't have id  => RelEventPersonExtendedService.update()
+     * /!\ the event and the person can't be changed here, they are the id  => RelEventPersonExtendedService.update()
      * TO CLEAN
      * Partially update a relEventPerson.
      *
@@ -82,7 +84,7 @@ public class RelEventPersonService {
         log.debug("Request to partially update RelEventPerson : {}", relEventPersonDTO);
 
         return relEventPersonRepository
-            .findById(relEventPersonDTO.getId())
+            .findById(new RelEventPersonId(relEventPersonDTO.getEvent().getId(), relEventPersonDTO.getPerson().getId()))
             .map(existingRelEventPerson -> {
                 relEventPersonMapper.partialUpdate(existingRelEventPerson, relEventPersonDTO);
 
@@ -113,30 +115,29 @@ public class RelEventPersonService {
      *
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<RelEventPersonDTO> findAllWithEagerRelationships(Pageable pageable) {
         return relEventPersonRepository.findAllWithEagerRelationships(pageable).map(relEventPersonMapper::toDto);
     }
 
     /**
-     * /!\ relEventperson doesn't have id, can't use this method => findOneByEventIdAndPersonId
      * Get one relEventPerson by id.
      *
-     * @param id the id of the entity.
+     * @param id the id of the entity: its event and its person.
      * @return the entity.
      */
     @Transactional(readOnly = true)
-    public Optional<RelEventPersonDTO> findOne(Long id) {
+    public Optional<RelEventPersonDTO> findOne(RelEventPersonId id) {
         log.debug("Request to get RelEventPerson : {}", id);
         return relEventPersonRepository.findOneWithEagerRelationships(id).map(relEventPersonMapper::toDto);
     }
 
     /**
-     * /!\ relEventperson doesn't have id, can't use this method => RelEventPersonExtendedRepository
      * Delete the relEventPerson by id.
      *
-     * @param id the id of the entity.
+     * @param id the id of the entity: its event and its person.
      */
-    public void delete(Long id) {
+    public void delete(RelEventPersonId id) {
         log.debug("Request to delete RelEventPerson : {}", id);
         relEventPersonRepository.deleteById(id);
         relEventPersonSearchRepository.deleteFromIndexById(id);
@@ -146,12 +147,32 @@ public class RelEventPersonService {
      * Search for the relEventPerson corresponding to the query.
      *
      * @param query the query of the search.
+     * @param mode how the query is read.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<RelEventPersonDTO> search(String query, Pageable pageable) {
+    public Page<RelEventPersonDTO> search(String query, SearchMode mode, Pageable pageable) {
         log.debug("Request to search for a page of RelEventPeople for query {}", query);
-        return relEventPersonSearchRepository.search(query, pageable).map(relEventPersonMapper::toDto);
+        return relEventPersonSearchRepository.search(query, mode, pageable).map(relEventPersonMapper::toDto);
+    }
+
+    /**
+     * Search for the relEventPerson corresponding to the query, the slice right after the given cursor.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param after the cursor returned with the previous slice, {@code null} or empty for the first one.
+     * @param size the size of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<RelEventPersonDTO> search(String query, SearchMode mode, String after, int size) {
+        log.debug("Request to search for a slice of RelEventPeople for query {} after {}", query, after);
+        SearchCursor cursor = SearchCursor.decode(after);
+        return SearchCursor
+            .toKeysetSlice(relEventPersonSearchRepository.search(query, mode, cursor.getPointInTimeId(), cursor.getSortValues(), size))
+            .map(relEventPersonMapper::toDto);
     }
 }
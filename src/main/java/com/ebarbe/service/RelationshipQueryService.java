@@ -0,0 +1,76 @@
+package com.ebarbe.service;
+
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.metamodel.SetAttribute;
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.jpa.domain.Specification;
+import tech.jhipster.service.QueryService;
+import tech.jhipster.service.filter.RangeFilter;
+
+/**
+ * {@link QueryService} which filters on the relationships of the entity without joining them,
+ * so a filter never adds a row to, nor duplicates a row of, the result.
+ *
+ * @param <ENTITY> the type of the entity which is queried.
+ */
+public abstract class RelationshipQueryService<ENTITY> extends QueryService<ENTITY> {
+
+    /**
+     * Helper function to return a specification for filtering on a to-one relationship, by comparing its foreign key column.
+     *
+     * @param filter the individual attribute filter coming from the frontend.
+     * @param reference the attribute of the static metamodel for the referring entity.
+     * @param idAttribute the id attribute of the static metamodel of the referenced entity.
+     * @param <OTHER> the type of the referenced entity.
+     * @return a Specification.
+     */
+    protected <OTHER> Specification<ENTITY> buildForeignKeySpecification(
+        RangeFilter<Long> filter,
+        SingularAttribute<? super ENTITY, OTHER> reference,
+        SingularAttribute<? super OTHER, Long> idAttribute
+    ) {
+        return buildSpecification(filter, root -> root.get(reference).get(idAttribute));
+    }
+
+    /**
+     * Helper function to return a specification for filtering on a to-many relationship, with {@code EXISTS} subqueries.
+     * <p>
+     * {@code specified=false} matches the entities without any related entity, every other condition matches the entities
+     * having at least one related entity meeting it.
+     *
+     * @param filter the individual attribute filter coming from the frontend.
+     * @param reference the collection attribute of the static metamodel for the referring entity.
+     * @param idAttribute the id attribute of the static metamodel of the referenced entity.
+     * @param <OTHER> the type of the referenced entity.
+     * @return a Specification.
+     */
+    protected <OTHER> Specification<ENTITY> buildExistsSpecification(
+        RangeFilter<Long> filter,
+        SetAttribute<? super ENTITY, OTHER> reference,
+        SingularAttribute<? super OTHER, Long> idAttribute
+    ) {
+        RangeFilter<Long> valueFilter = filter.copy();
+        valueFilter.setSpecified(null);
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getSpecified() != null) {
+                Subquery<Integer> any = query.subquery(Integer.class);
+                any.correlate(root).join(reference);
+                any.select(builder.literal(1));
+                predicates.add(filter.getSpecified() ? builder.exists(any) : builder.not(builder.exists(any)));
+            }
+            Subquery<Integer> matching = query.subquery(Integer.class);
+            Join<ENTITY, OTHER> other = matching.correlate(root).join(reference);
+            Predicate valuePredicate = buildSpecification(valueFilter, ignored -> other.get(idAttribute)).toPredicate(root, query, builder);
+            if (valuePredicate != null) {
+                matching.select(builder.literal(1)).where(valuePredicate);
+                predicates.add(builder.exists(matching));
+            }
+            return builder.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+}
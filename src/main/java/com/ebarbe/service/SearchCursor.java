@@ -0,0 +1,150 @@
+package com.ebarbe.service;
+
+import com.ebarbe.repository.search.SearchAfterSlice;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Opaque position in a search walked with {@code search_after}: the point in time the search is read in, and the sort values
+ * (score, then ids, numbers or keywords) of the last hit returned.
+ * <p>
+ * It is exchanged with the clients as a base64url token, like a {@link KeysetCursor}.
+ */
+public final class SearchCursor {
+
+    private static final String SEPARATOR = ":";
+
+    private static final String VALUE_SEPARATOR = ",";
+
+    private static final char LONG_VALUE = 'l';
+
+    private static final char DOUBLE_VALUE = 'd';
+
+    private static final char STRING_VALUE = 's';
+
+    private final String pointInTimeId;
+
+    private final List<Object> sortValues;
+
+    private SearchCursor(String pointInTimeId, List<Object> sortValues) {
+        this.pointInTimeId = pointInTimeId;
+        this.sortValues = sortValues;
+    }
+
+    /**
+     * Cursor pointing before the first hit of a new search.
+     */
+    public static SearchCursor first() {
+        return new SearchCursor(null, null);
+    }
+
+    /**
+     * Cursor pointing right after the hit having the given sort values, in the given point in time.
+     */
+    public static SearchCursor after(String pointInTimeId, List<Object> sortValues) {
+        return new SearchCursor(Objects.requireNonNull(pointInTimeId), List.copyOf(sortValues));
+    }
+
+    /**
+     * Read a token previously built by {@link #encode()}.
+     *
+     * @param token the token sent by the client, {@code null} or empty for the first slice.
+     * @return the cursor.
+     * @throws InvalidCursorException if the token is not a valid cursor.
+     */
+    public static SearchCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return first();
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // the point in time is last, as it is opaque
+            String[] parts = decoded.split(SEPARATOR, 2);
+            if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            List<Object> sortValues = new ArrayList<>();
+            for (String value : parts[0].split(VALUE_SEPARATOR)) {
+                sortValues.add(decodeValue(value));
+            }
+            return new SearchCursor(parts[1], sortValues);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Build the slice returned to a client, with the cursor of the next one.
+     *
+     * @param slice the slice of hits.
+     * @return the slice, with the cursor of the next one if any.
+     */
+    public static <T> KeysetSlice<T> toKeysetSlice(SearchAfterSlice<T> slice) {
+        String nextCursor = slice.hasNext() ? after(slice.getPointInTimeId(), slice.getNextSortValues()).encode() : null;
+        return new KeysetSlice<>(slice.getContent(), nextCursor);
+    }
+
+    public String encode() {
+        StringBuilder raw = new StringBuilder();
+        for (Object value : sortValues) {
+            if (!raw.isEmpty()) {
+                raw.append(VALUE_SEPARATOR);
+            }
+            raw.append(encodeValue(value));
+        }
+        raw.append(SEPARATOR).append(pointInTimeId);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the point in time of the search, {@code null} for a cursor pointing before the first hit.
+     */
+    public String getPointInTimeId() {
+        return pointInTimeId;
+    }
+
+    /**
+     * @return the sort values of the last hit returned, {@code null} for a cursor pointing before the first hit.
+     */
+    public List<Object> getSortValues() {
+        return sortValues;
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof Long || value instanceof Integer) {
+            return LONG_VALUE + value.toString();
+        }
+        if (value instanceof Double || value instanceof Float) {
+            return DOUBLE_VALUE + value.toString();
+        }
+        if (value instanceof String string) {
+            // a keyword may contain the separators
+            return STRING_VALUE + Base64.getUrlEncoder().withoutPadding().encodeToString(string.getBytes(StandardCharsets.UTF_8));
+        }
+        throw new IllegalArgumentException("Unsupported sort value " + value);
+    }
+
+    private static Object decodeValue(String value) {
+        if (value.isEmpty()) {
+            throw new IllegalArgumentException("Invalid sort value");
+        }
+        return switch (value.charAt(0)) {
+            case LONG_VALUE -> Long.valueOf(value.substring(1));
+            case DOUBLE_VALUE -> Double.valueOf(value.substring(1));
+            case STRING_VALUE -> new String(Base64.getUrlDecoder().decode(value.substring(1)), StandardCharsets.UTF_8);
+            default -> throw new IllegalArgumentException("Invalid sort value");
+        };
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchCursor{" +
+            "pointInTimeId='" + pointInTimeId + "'" +
+            ", sortValues=" + sortValues +
+            "}";
+    }
+}
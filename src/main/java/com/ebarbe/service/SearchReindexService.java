@@ -0,0 +1,226 @@
+package com.ebarbe.service;
+
+import com.ebarbe.config.ApplicationProperties;
+import com.ebarbe.repository.IdRangeReader;
+import com.ebarbe.repository.search.SearchDocumentSource;
+import com.ebarbe.repository.search.VersionedIndexOperations;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service rebuilding the search indices from the database without downtime.
+ * <p>
+ * Each rebuild loads a fresh versioned index: the table is split into ranges of ids which are read and
+ * bulk indexed by {@code application.search.reindex.threads} workers, then the read alias is swapped atomically.
+ * Rebuilds run one after the other. Meanwhile the index outbox holds the changes of the entity type rebuilt, on every instance,
+ * so that they are sent to the new index once it is live, and keeps sending the changes of the other types. This pause also
+ * keeps the other instances from rebuilding the same index at the same time; the jobs themselves are only known to the
+ * instance running them.
+ * <p>
+ * The documents of an index are the entities themselves, or are built from the database by its {@link SearchDocumentSource}.
+ */
+@Service
+public class SearchReindexService {
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexService.class);
+
+    private final IdRangeReader idRangeReader;
+
+    private final VersionedIndexOperations versionedIndexOperations;
+
+    private final IndexOutboxService indexOutboxService;
+
+    private final Map<Class<?>, SearchDocumentSource> documentSources;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final int chunkSize;
+
+    private final ExecutorService coordinator;
+
+    private final ExecutorService workers;
+
+    private final Map<String, ReindexJob> jobs = new LinkedHashMap<>();
+
+    public SearchReindexService(
+        IdRangeReader idRangeReader,
+        VersionedIndexOperations versionedIndexOperations,
+        IndexOutboxService indexOutboxService,
+        List<SearchDocumentSource> documentSources,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.idRangeReader = idRangeReader;
+        this.versionedIndexOperations = versionedIndexOperations;
+        this.indexOutboxService = indexOutboxService;
+        this.documentSources = documentSources
+            .stream()
+            .collect(Collectors.toMap(SearchDocumentSource::getDocumentClass, Function.identity(), (a, b) -> a));
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        ApplicationProperties.Search.Reindex properties = applicationProperties.getSearch().getReindex();
+        this.chunkSize = properties.getChunkSize();
+        this.coordinator = Executors.newSingleThreadExecutor(new CustomizableThreadFactory("reindex-"));
+        this.workers = Executors.newFixedThreadPool(properties.getThreads(), new CustomizableThreadFactory("reindex-worker-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        coordinator.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * @return the names of the indices which can be rebuilt.
+     */
+    public List<String> getAliases() {
+        return versionedIndexOperations.getIndexedClasses().stream().map(versionedIndexOperations::getAlias).sorted().toList();
+    }
+
+    /**
+     * @return the last job of each index.
+     */
+    public synchronized Collection<ReindexJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * @param alias the name of the index.
+     * @return the last job of the index, if any.
+     */
+    public synchronized Optional<ReindexJob> getJob(String alias) {
+        return Optional.ofNullable(jobs.get(alias));
+    }
+
+    /**
+     * Queue the rebuild of an index.
+     *
+     * @param alias the name of the index, e.g. {@code maintask}.
+     * @return the queued job.
+     * @throws IllegalArgumentException if there is no such index.
+     * @throws IllegalStateException if the index is already being rebuilt, by this instance or another one.
+     */
+    public synchronized ReindexJob reindex(String alias) {
+        Class<?> entityClass = versionedIndexOperations
+            .getIndexedClasses()
+            .stream()
+            .filter(type -> versionedIndexOperations.getAlias(type).equals(alias))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("No search index named " + alias));
+        ReindexJob current = jobs.get(alias);
+        if ((current != null && current.isActive()) || indexOutboxService.isPaused(getEntityType(entityClass))) {
+            throw new IllegalStateException("The search index " + alias + " is already being rebuilt");
+        }
+        ReindexJob job = new ReindexJob(alias);
+        jobs.put(alias, job);
+        coordinator.execute(() -> run(job, entityClass));
+        return job;
+    }
+
+    /**
+     * Queue the rebuild of every index which is not already being rebuilt.
+     *
+     * @return the queued jobs.
+     */
+    public synchronized List<ReindexJob> reindexAll() {
+        List<ReindexJob> queued = new ArrayList<>();
+        for (String alias : getAliases()) {
+            try {
+                queued.add(reindex(alias));
+            } catch (IllegalStateException e) {
+                log.debug("Not queuing the rebuild of search index {}: {}", alias, e.getMessage());
+            }
+        }
+        return queued;
+    }
+
+    private void run(ReindexJob job, Class<?> entityClass) {
+        SearchDocumentSource documentSource = documentSources.get(entityClass);
+        Class<?> sourceClass = documentSource != null ? documentSource.getEntityClass() : entityClass;
+        String entityType = getEntityType(entityClass);
+        // checked again when the job starts, another instance may have started the same rebuild meanwhile
+        if (!indexOutboxService.pause(entityType)) {
+            log.warn("Not rebuilding search index {}, it is being rebuilt by another instance", job.getAlias());
+            job.fail("The search index " + job.getAlias() + " is already being rebuilt by another instance");
+            return;
+        }
+        String index = null;
+        try {
+            String rangeAttribute = documentSource != null ? documentSource.getRangeAttribute() : "id";
+            IdRangeReader.IdBounds bounds = readOnlyTransactionTemplate.execute(status ->
+                idRangeReader.findIdBounds(sourceClass, rangeAttribute)
+            );
+            index = versionedIndexOperations.createLoadingIndex(entityClass);
+            job.start(index, bounds.count());
+            log.info("Rebuilding search index {} into {}, {} rows", job.getAlias(), index, bounds.count());
+
+            List<CompletableFuture<Void>> chunks = new ArrayList<>();
+            if (bounds.min() != null) {
+                String target = index;
+                for (long from = bounds.min(); from <= bounds.max(); from += chunkSize) {
+                    long fromId = from;
+                    long toId = from + chunkSize;
+                    chunks.add(
+                        CompletableFuture.runAsync(() -> loadChunk(job, entityClass, entityType, target, fromId, toId), workers)
+                    );
+                }
+            }
+            CompletableFuture.allOf(chunks.toArray(new CompletableFuture[0])).join();
+
+            if (!indexOutboxService.renewPause(entityType)) {
+                throw new IllegalStateException("The changes of " + entityType + " are not held anymore");
+            }
+            versionedIndexOperations.swapAlias(entityClass, index);
+            job.complete();
+            log.info("Rebuilt search index {}: {} documents, {} documents/s", job.getAlias(), job.getIndexed(), job.getThroughput());
+        } catch (RuntimeException e) {
+            log.error("Could not rebuild search index {}", job.getAlias(), e);
+            job.fail(e.getMessage());
+            if (index != null) {
+                versionedIndexOperations.deleteIndex(index);
+            }
+        } finally {
+            indexOutboxService.resume(entityType);
+        }
+    }
+
+    /**
+     * @return the entity type the outbox entries of an index are keyed by: the simple name of the entity its documents are read
+     * from.
+     */
+    private String getEntityType(Class<?> entityClass) {
+        SearchDocumentSource documentSource = documentSources.get(entityClass);
+        return (documentSource != null ? documentSource.getEntityClass() : entityClass).getSimpleName();
+    }
+
+    private void loadChunk(ReindexJob job, Class<?> entityClass, String entityType, String index, long fromId, long toId) {
+        // the changes made meanwhile would be sent to the old index if the pause had expired
+        if (!indexOutboxService.renewPause(entityType)) {
+            throw new IllegalStateException("The changes of " + entityType + " are not held anymore");
+        }
+        readOnlyTransactionTemplate.executeWithoutResult(status -> {
+            SearchDocumentSource documentSource = documentSources.get(entityClass);
+            List<?> entities = documentSource != null
+                ? documentSource.findDocumentsByIdRange(fromId, toId)
+                : idRangeReader.findByIdRange(entityClass, fromId, toId);
+            versionedIndexOperations.bulkIndex(entities, index);
+            job.addIndexed(entities.size());
+        });
+    }
+}
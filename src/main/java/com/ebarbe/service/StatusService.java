@@ -2,7 +2,9 @@ package com.ebarbe.service;
 
 import com.ebarbe.domain.Status;
 import com.ebarbe.repository.StatusRepository;
+import com.ebarbe.repository.search.MainTaskSearchRepository;
 import com.ebarbe.repository.search.StatusSearchRepository;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.dto.StatusDTO;
 import com.ebarbe.service.mapper.StatusMapper;
 import java.util.Optional;
@@ -28,10 +30,18 @@ public class StatusService {
 
     private final StatusSearchRepository statusSearchRepository;
 
-    public StatusService(StatusRepository statusRepository, StatusMapper statusMapper, StatusSearchRepository statusSearchRepository) {
+    private final MainTaskSearchRepository mainTaskSearchRepository;
+
+    public StatusService(
+        StatusRepository statusRepository,
+        StatusMapper statusMapper,
+        StatusSearchRepository statusSearchRepository,
+        MainTaskSearchRepository mainTaskSearchRepository
+    ) {
         this.statusRepository = statusRepository;
         this.statusMapper = statusMapper;
         this.statusSearchRepository = statusSearchRepository;
+        this.mainTaskSearchRepository = mainTaskSearchRepository;
     }
 
     /**
@@ -61,6 +71,8 @@ public class StatusService {
         status = statusRepository.save(status);
         StatusDTO result = statusMapper.toDto(status);
         statusSearchRepository.index(status);
+        // the search documents of the mainTasks embed its description
+        mainTaskSearchRepository.reindexAllByStatusId(status.getId());
         return result;
     }
 
@@ -83,6 +95,7 @@ public class StatusService {
             .map(statusRepository::save)
             .map(savedStatus -> {
                 statusSearchRepository.index(savedStatus);
+                mainTaskSearchRepository.reindexAllByStatusId(savedStatus.getId());
                 return savedStatus;
             })
             .map(statusMapper::toDto);
@@ -127,12 +140,32 @@ public class StatusService {
      * Search for the status corresponding to the query.
      *
      * @param query the query of the search.
+     * @param mode how the query is read.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<StatusDTO> search(String query, Pageable pageable) {
+    public Page<StatusDTO> search(String query, SearchMode mode, Pageable pageable) {
         log.debug("Request to search for a page of Statuses for query {}", query);
-        return statusSearchRepository.search(query, pageable).map(statusMapper::toDto);
+        return statusSearchRepository.search(query, mode, pageable).map(statusMapper::toDto);
+    }
+
+    /**
+     * Search for the status corresponding to the query, the slice right after the given cursor.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param after the cursor returned with the previous slice, {@code null} or empty for the first one.
+     * @param size the size of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<StatusDTO> search(String query, SearchMode mode, String after, int size) {
+        log.debug("Request to search for a slice of Statuses for query {} after {}", query, after);
+        SearchCursor cursor = SearchCursor.decode(after);
+        return SearchCursor
+            .toKeysetSlice(statusSearchRepository.search(query, mode, cursor.getPointInTimeId(), cursor.getSortValues(), size))
+            .map(statusMapper::toDto);
     }
 }
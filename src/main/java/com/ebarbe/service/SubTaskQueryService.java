@@ -2,21 +2,28 @@ package com.ebarbe.service;
 
 import com.ebarbe.domain.*; // for static metamodels
 import com.ebarbe.domain.SubTask;
+import com.ebarbe.repository.KeysetQueryExecutor;
+import com.ebarbe.repository.ProjectionQueryExecutor;
+import com.ebarbe.repository.StreamingQueryExecutor;
 import com.ebarbe.repository.SubTaskRepository;
 import com.ebarbe.repository.search.SubTaskSearchRepository;
 import com.ebarbe.service.criteria.SubTaskCriteria;
 import com.ebarbe.service.dto.SubTaskDTO;
 import com.ebarbe.service.mapper.SubTaskMapper;
-import jakarta.persistence.criteria.JoinType;
+import com.ebarbe.service.mapper.SubTaskProjection;
+import jakarta.persistence.metamodel.SingularAttribute;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import tech.jhipster.service.QueryService;
 
 /**
  * Service for executing complex queries for {@link SubTask} entities in the database.
@@ -26,7 +33,7 @@ import tech.jhipster.service.QueryService;
  */
 @Service
 @Transactional(readOnly = true)
-public class SubTaskQueryService extends QueryService<SubTask> {
+public class SubTaskQueryService extends KeysetQueryService<SubTask> {
 
     private final Logger log = LoggerFactory.getLogger(SubTaskQueryService.class);
 
@@ -34,20 +41,35 @@ public class SubTaskQueryService extends QueryService<SubTask> {
 
     private final SubTaskMapper subTaskMapper;
 
+    private final StreamingQueryExecutor streamingQueryExecutor;
+
     private final SubTaskSearchRepository subTaskSearchRepository;
 
+    private final ProjectionQueryExecutor projectionQueryExecutor;
+
+    private final SubTaskProjection subTaskProjection;
+
     public SubTaskQueryService(
         SubTaskRepository subTaskRepository,
         SubTaskMapper subTaskMapper,
-        SubTaskSearchRepository subTaskSearchRepository
+        SubTaskSearchRepository subTaskSearchRepository,
+        KeysetQueryExecutor keysetQueryExecutor,
+        StreamingQueryExecutor streamingQueryExecutor,
+        ProjectionQueryExecutor projectionQueryExecutor,
+        SubTaskProjection subTaskProjection
     ) {
+        super(keysetQueryExecutor);
         this.subTaskRepository = subTaskRepository;
         this.subTaskMapper = subTaskMapper;
+        this.streamingQueryExecutor = streamingQueryExecutor;
         this.subTaskSearchRepository = subTaskSearchRepository;
+        this.projectionQueryExecutor = projectionQueryExecutor;
+        this.subTaskProjection = subTaskProjection;
     }
 
     /**
      * Return a {@link List} of {@link SubTaskDTO} which matches the criteria from the database.
+     * The DTOs are read as columns, without loading the entities.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @return the matching entities.
      */
@@ -55,11 +77,12 @@ public class SubTaskQueryService extends QueryService<SubTask> {
     public List<SubTaskDTO> findByCriteria(SubTaskCriteria criteria) {
         log.debug("find by criteria : {}", criteria);
         final Specification<SubTask> specification = createSpecification(criteria);
-        return subTaskMapper.toDto(subTaskRepository.findAll(specification));
+        return projectionQueryExecutor.findAll(SubTask.class, specification, subTaskProjection, Sort.unsorted());
     }
 
     /**
      * Return a {@link Page} of {@link SubTaskDTO} which matches the criteria from the database.
+     * The DTOs are read as columns, without loading the entities.
      * @param criteria The object which holds all the filters, which the entities should match.
      * @param page The page, which should be returned.
      * @return the matching entities.
@@ -68,7 +91,50 @@ public class SubTaskQueryService extends QueryService<SubTask> {
     public Page<SubTaskDTO> findByCriteria(SubTaskCriteria criteria, Pageable page) {
         log.debug("find by criteria : {}, page: {}", criteria, page);
         final Specification<SubTask> specification = createSpecification(criteria);
-        return subTaskRepository.findAll(specification, page).map(subTaskMapper::toDto);
+        return projectionQueryExecutor.findAll(SubTask.class, specification, subTaskProjection, page);
+    }
+
+    /**
+     * Return a {@link Slice} of {@link SubTaskDTO} which matches the criteria from the database, without counting them.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Slice<SubTaskDTO> findSliceByCriteria(SubTaskCriteria criteria, Pageable page) {
+        log.debug("find slice by criteria : {}, page: {}", criteria, page);
+        final Specification<SubTask> specification = createSpecification(criteria);
+        return subTaskRepository.findSlice(specification, page).map(subTaskMapper::toDto);
+    }
+
+    /**
+     * Return a {@link KeysetSlice} of {@link SubTaskDTO} which matches the criteria from the database,
+     * starting right after the given cursor. No count query is run.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param after The cursor returned with the previous slice, or an empty string for the first one.
+     * @param page The size of the slice, and for the first slice its sort.
+     * @return the matching entities.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<SubTaskDTO> findByCriteria(SubTaskCriteria criteria, String after, Pageable page) {
+        log.debug("find by criteria : {}, after: {}, page: {}", criteria, after, page);
+        final Specification<SubTask> specification = createSpecification(criteria);
+        return findByKeyset(SubTask.class, specification, keysetAttributes(), SubTask_.id, after, page.getSort(), page.getPageSize())
+            .map(subTaskMapper::toDto);
+    }
+
+    /**
+     * Stream the {@link SubTaskDTO} which match the criteria from the database to the consumer, ordered by id.
+     * The rows are read through a database cursor, so the whole result is never held in memory.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param consumer The consumer of each matching entity.
+     */
+    @Transactional(readOnly = true)
+    public void export(SubTaskCriteria criteria, Consumer<SubTaskDTO> consumer) {
+        log.debug("export by criteria : {}", criteria);
+        final Specification<SubTask> specification = createSpecification(criteria);
+        streamingQueryExecutor.forEach(SubTask.class, specification, SubTask_.id, entity -> consumer.accept(subTaskMapper.toDto(entity)));
     }
 
     /**
@@ -83,6 +149,14 @@ public class SubTaskQueryService extends QueryService<SubTask> {
         return subTaskRepository.count(specification);
     }
 
+    /**
+     * The attributes a keyset paginated list can be sorted on, they are all non-nullable.
+     * Built on each call, as the static metamodel is only populated once Hibernate has started.
+     */
+    private static Map<String, SingularAttribute<? super SubTask, ?>> keysetAttributes() {
+        return Map.of("id", SubTask_.id, "deadline", SubTask_.deadline);
+    }
+
     /**
      * Function to convert {@link SubTaskCriteria} to a {@link Specification}
      * @param criteria The object which holds all the filters, which the entities should match.
@@ -111,25 +185,16 @@ public class SubTaskQueryService extends QueryService<SubTask> {
                 specification = specification.and(buildRangeSpecification(criteria.getCost(), SubTask_.cost));
             }
             if (criteria.getMainTaskId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(criteria.getMainTaskId(), root -> root.join(SubTask_.mainTask, JoinType.LEFT).get(MainTask_.id))
-                    );
+                specification = specification.and(buildForeignKeySpecification(criteria.getMainTaskId(), SubTask_.mainTask, MainTask_.id));
             }
             if (criteria.getPersonDoerId() != null) {
                 specification =
                     specification.and(
-                        buildSpecification(
-                            criteria.getPersonDoerId(),
-                            root -> root.join(SubTask_.personDoer, JoinType.LEFT).get(Person_.id)
-                        )
+                        buildForeignKeySpecification(criteria.getPersonDoerId(), SubTask_.personDoer, Person_.id)
                     );
             }
             if (criteria.getStatusId() != null) {
-                specification =
-                    specification.and(
-                        buildSpecification(criteria.getStatusId(), root -> root.join(SubTask_.status, JoinType.LEFT).get(Status_.id))
-                    );
+                specification = specification.and(buildForeignKeySpecification(criteria.getStatusId(), SubTask_.status, Status_.id));
             }
         }
         return specification;
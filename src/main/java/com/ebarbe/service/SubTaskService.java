@@ -1,15 +1,29 @@
 package com.ebarbe.service;
 
+import com.ebarbe.domain.MainTask;
 import com.ebarbe.domain.SubTask;
 import com.ebarbe.repository.SubTaskRepository;
+import com.ebarbe.repository.search.FacetedPage;
+import com.ebarbe.repository.search.MainTaskSearchRepository;
 import com.ebarbe.repository.search.SubTaskSearchRepository;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.dto.SubTaskDTO;
 import com.ebarbe.service.mapper.SubTaskMapper;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,14 +42,18 @@ public class SubTaskService {
 
     private final SubTaskSearchRepository subTaskSearchRepository;
 
+    private final MainTaskSearchRepository mainTaskSearchRepository;
+
     public SubTaskService(
         SubTaskRepository subTaskRepository,
         SubTaskMapper subTaskMapper,
-        SubTaskSearchRepository subTaskSearchRepository
+        SubTaskSearchRepository subTaskSearchRepository,
+        MainTaskSearchRepository mainTaskSearchRepository
     ) {
         this.subTaskRepository = subTaskRepository;
         this.subTaskMapper = subTaskMapper;
         this.subTaskSearchRepository = subTaskSearchRepository;
+        this.mainTaskSearchRepository = mainTaskSearchRepository;
     }
 
     /**
@@ -50,48 +68,154 @@ public class SubTaskService {
         subTask = subTaskRepository.save(subTask);
         SubTaskDTO result = subTaskMapper.toDto(subTask);
         subTaskSearchRepository.index(subTask);
+        reindexMainTasks(Set.of(), List.of(subTask));
         return result;
     }
 
     /**
      * Update a subTask.
      *
-     * @param subTaskDTO the entity to save.
+     * @param subTaskDTO the entity to save, with the version it was read at.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the subTask is no longer at this version.
      */
     public SubTaskDTO update(SubTaskDTO subTaskDTO) {
         log.debug("Request to update SubTask : {}", subTaskDTO);
         SubTask subTask = subTaskMapper.toEntity(subTaskDTO);
-        subTask = subTaskRepository.save(subTask);
+        Set<Long> previousMainTaskIds = subTaskRepository.findMainTaskIdsByIdIn(List.of(subTaskDTO.getId()));
+        // flushed, so that the subTask returned has its new version
+        subTask = subTaskRepository.saveAndFlush(subTask);
         SubTaskDTO result = subTaskMapper.toDto(subTask);
         subTaskSearchRepository.index(subTask);
+        reindexMainTasks(previousMainTaskIds, List.of(subTask));
         return result;
     }
 
     /**
      * Partially update a subTask.
      *
-     * @param subTaskDTO the entity to update partially.
+     * @param subTaskDTO the entity to update partially, with the version it was read at if it is to be checked.
      * @return the persisted entity.
+     * @throws ObjectOptimisticLockingFailureException if the subTask is no longer at this version.
      */
     public Optional<SubTaskDTO> partialUpdate(SubTaskDTO subTaskDTO) {
         log.debug("Request to partially update SubTask : {}", subTaskDTO);
+        Set<Long> previousMainTaskIds = subTaskRepository.findMainTaskIdsByIdIn(List.of(subTaskDTO.getId()));
 
         return subTaskRepository
             .findById(subTaskDTO.getId())
             .map(existingSubTask -> {
+                checkVersion(existingSubTask, subTaskDTO);
                 subTaskMapper.partialUpdate(existingSubTask, subTaskDTO);
 
                 return existingSubTask;
             })
-            .map(subTaskRepository::save)
+            .map(subTaskRepository::saveAndFlush)
             .map(savedSubTask -> {
                 subTaskSearchRepository.index(savedSubTask);
+                reindexMainTasks(previousMainTaskIds, List.of(savedSubTask));
                 return savedSubTask;
             })
             .map(subTaskMapper::toDto);
     }
 
+    /**
+     * Save several subTasks, in a single transaction with batched inserts.
+     *
+     * @param subTaskDTOs the entities to save.
+     * @return the persisted entities, in the same order.
+     */
+    public List<SubTaskDTO> saveAll(List<SubTaskDTO> subTaskDTOs) {
+        log.debug("Request to save {} SubTasks", subTaskDTOs.size());
+        List<SubTask> subTasks = subTaskRepository.saveAll(subTaskMapper.toEntity(subTaskDTOs));
+        subTaskSearchRepository.indexAll(subTasks);
+        reindexMainTasks(Set.of(), subTasks);
+        return subTaskMapper.toDto(subTasks);
+    }
+
+    /**
+     * Update several subTasks, in a single transaction with batched updates.
+     *
+     * @param subTaskDTOs the entities to save, those with a version are checked to still be at it.
+     * @return the persisted entities, in the same order.
+     * @throws ObjectOptimisticLockingFailureException if one of the subTasks is no longer at its version.
+     */
+    public List<SubTaskDTO> updateAll(List<SubTaskDTO> subTaskDTOs) {
+        log.debug("Request to update {} SubTasks", subTaskDTOs.size());
+        // load the current state with one query, so the merges below do not select each subTask
+        Map<Long, SubTask> existingSubTasks = findAllById(subTaskDTOs);
+        Set<Long> previousMainTaskIds = mainTaskIdsOf(existingSubTasks.values());
+        for (SubTaskDTO subTaskDTO : subTaskDTOs) {
+            if (subTaskDTO.getVersion() == null) {
+                subTaskDTO.setVersion(existingSubTasks.get(subTaskDTO.getId()).getVersion());
+            }
+        }
+        List<SubTask> subTasks = subTaskRepository.saveAllAndFlush(subTaskMapper.toEntity(subTaskDTOs));
+        subTaskSearchRepository.indexAll(subTasks);
+        reindexMainTasks(previousMainTaskIds, subTasks);
+        return subTaskMapper.toDto(subTasks);
+    }
+
+    /**
+     * Partially update several subTasks, in a single transaction with batched updates.
+     *
+     * @param subTaskDTOs the entities to update partially.
+     * @return the persisted entities, in the same order.
+     * @throws EntityNotFoundException if one of the subTasks does not exist.
+     * @throws ObjectOptimisticLockingFailureException if one of the subTasks given with a version is no longer at it.
+     */
+    public List<SubTaskDTO> partialUpdateAll(List<SubTaskDTO> subTaskDTOs) {
+        log.debug("Request to partially update {} SubTasks", subTaskDTOs.size());
+        Map<Long, SubTask> existingSubTasks = findAllById(subTaskDTOs);
+        Set<Long> previousMainTaskIds = mainTaskIdsOf(existingSubTasks.values());
+        List<SubTask> subTasks = new ArrayList<>();
+        for (SubTaskDTO subTaskDTO : subTaskDTOs) {
+            SubTask existingSubTask = existingSubTasks.get(subTaskDTO.getId());
+            if (existingSubTask == null) {
+                throw new EntityNotFoundException("SubTask not found with id: " + subTaskDTO.getId());
+            }
+            checkVersion(existingSubTask, subTaskDTO);
+            subTaskMapper.partialUpdate(existingSubTask, subTaskDTO);
+            subTasks.add(existingSubTask);
+        }
+        subTasks = subTaskRepository.saveAllAndFlush(subTasks);
+        subTaskSearchRepository.indexAll(subTasks);
+        reindexMainTasks(previousMainTaskIds, subTasks);
+        return subTaskMapper.toDto(subTasks);
+    }
+
+    /**
+     * A subTask given with a version must still be at it: the version of a loaded subTask cannot be set back.
+     */
+    private static void checkVersion(SubTask existingSubTask, SubTaskDTO subTaskDTO) {
+        if (subTaskDTO.getVersion() != null && !subTaskDTO.getVersion().equals(existingSubTask.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(SubTask.class, subTaskDTO.getId());
+        }
+    }
+
+    /**
+     * The search document of a mainTask summarizes its subTasks: queue the mainTasks the subTasks belonged to before the
+     * change, and the ones they belong to now, to be indexed again.
+     */
+    private void reindexMainTasks(Collection<Long> previousMainTaskIds, Collection<SubTask> subTasks) {
+        Set<Long> mainTaskIds = new HashSet<>(previousMainTaskIds);
+        mainTaskIds.addAll(mainTaskIdsOf(subTasks));
+        if (!mainTaskIds.isEmpty()) {
+            mainTaskSearchRepository.reindexAllById(mainTaskIds);
+        }
+    }
+
+    private static Set<Long> mainTaskIdsOf(Collection<SubTask> subTasks) {
+        return subTasks.stream().map(SubTask::getMainTask).filter(Objects::nonNull).map(MainTask::getId).collect(Collectors.toSet());
+    }
+
+    private Map<Long, SubTask> findAllById(List<SubTaskDTO> subTaskDTOs) {
+        return subTaskRepository
+            .findAllById(subTaskDTOs.stream().map(SubTaskDTO::getId).toList())
+            .stream()
+            .collect(Collectors.toMap(SubTask::getId, Function.identity()));
+    }
+
     /**
      * Get all the subTasks.
      *
@@ -123,20 +247,58 @@ public class SubTaskService {
      */
     public void delete(Long id) {
         log.debug("Request to delete SubTask : {}", id);
+        Set<Long> previousMainTaskIds = subTaskRepository.findMainTaskIdsByIdIn(List.of(id));
         subTaskRepository.deleteById(id);
         subTaskSearchRepository.deleteFromIndexById(id);
+        reindexMainTasks(previousMainTaskIds, List.of());
     }
 
     /**
      * Search for the subTask corresponding to the query.
      *
      * @param query the query of the search.
+     * @param mode how the query is read.
      * @param pageable the pagination information.
      * @return the list of entities.
      */
     @Transactional(readOnly = true)
-    public Page<SubTaskDTO> search(String query, Pageable pageable) {
+    public Page<SubTaskDTO> search(String query, SearchMode mode, Pageable pageable) {
         log.debug("Request to search for a page of SubTasks for query {}", query);
-        return subTaskSearchRepository.search(query, pageable).map(subTaskMapper::toDto);
+        return subTaskSearchRepository.search(query, mode, pageable).map(subTaskMapper::toDto);
+    }
+
+    /**
+     * Search for the subTask corresponding to the query, with facets of all the hits.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param facets the names of the facets to compute, all of them if empty.
+     * @param pageable the pagination information.
+     * @return the page of entities, with the facets.
+     * @throws IllegalArgumentException if a facet is unknown.
+     */
+    @Transactional(readOnly = true)
+    public FacetedPage<SubTaskDTO> searchWithFacets(String query, SearchMode mode, List<String> facets, Pageable pageable) {
+        log.debug("Request to search for a page of SubTasks with facets {} for query {}", facets, query);
+        return subTaskSearchRepository.searchWithFacets(query, mode, facets, pageable).map(subTaskMapper::toDto);
+    }
+
+    /**
+     * Search for the subTask corresponding to the query, the slice right after the given cursor.
+     *
+     * @param query the query of the search.
+     * @param mode how the query is read.
+     * @param after the cursor returned with the previous slice, {@code null} or empty for the first one.
+     * @param size the size of the slice.
+     * @return the slice of entities, with the cursor of the next one.
+     * @throws InvalidCursorException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public KeysetSlice<SubTaskDTO> search(String query, SearchMode mode, String after, int size) {
+        log.debug("Request to search for a slice of SubTasks for query {} after {}", query, after);
+        SearchCursor cursor = SearchCursor.decode(after);
+        return SearchCursor
+            .toKeysetSlice(subTaskSearchRepository.search(query, mode, cursor.getPointInTimeId(), cursor.getSortValues(), size))
+            .map(subTaskMapper::toDto);
     }
 }
@@ -64,7 +64,7 @@ public class UserService {
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
-                userSearchRepository.save(user);
+                userSearchRepository.index(user);
                 log.debug("Activated user: {}", user);
                 return user;
             });
@@ -131,7 +131,7 @@ public class UserService {
         authorityRepository.findById(AuthoritiesConstants.USER).ifPresent(authorities::add);
         newUser.setAuthorities(authorities);
         userRepository.save(newUser);
-        userSearchRepository.save(newUser);
+        userSearchRepository.index(newUser);
         log.debug("Created Information for User: {}", newUser);
         return newUser;
     }
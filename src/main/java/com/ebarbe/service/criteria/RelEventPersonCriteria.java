@@ -11,7 +11,7 @@ import tech.jhipster.service.filter.*;
  * in {@link com.ebarbe.web.rest.RelEventPersonResource} to receive all the possible filtering options from
  * the Http GET request parameters.
  * For example the following could be a valid request:
- * {@code /rel-event-people?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * {@code /rel-event-people?eventId.equals=5&attr1.contains=something&attr2.specified=false}
  * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
  * fix type specific filters.
  */
@@ -21,8 +21,6 @@ public class RelEventPersonCriteria implements Serializable, Criteria {
 
     private static final long serialVersionUID = 1L;
 
-    private LongFilter id;
-
     private StringFilter participation;
 
     private LongFilter eventId;
@@ -36,7 +34,6 @@ public class RelEventPersonCriteria implements Serializable, Criteria {
     public RelEventPersonCriteria() {}
 
     public RelEventPersonCriteria(RelEventPersonCriteria other) {
-        this.id = other.id == null ? null : other.id.copy();
         this.participation = other.participation == null ? null : other.participation.copy();
         this.eventId = other.eventId == null ? null : other.eventId.copy();
         this.personId = other.personId == null ? null : other.personId.copy();
@@ -49,21 +46,6 @@ public class RelEventPersonCriteria implements Serializable, Criteria {
         return new RelEventPersonCriteria(this);
     }
 
-    public LongFilter getId() {
-        return id;
-    }
-
-    public LongFilter id() {
-        if (id == null) {
-            id = new LongFilter();
-        }
-        return id;
-    }
-
-    public void setId(LongFilter id) {
-        this.id = id;
-    }
-
     public StringFilter getParticipation() {
         return participation;
     }
@@ -142,7 +124,6 @@ public class RelEventPersonCriteria implements Serializable, Criteria {
         }
         final RelEventPersonCriteria that = (RelEventPersonCriteria) o;
         return (
-            Objects.equals(id, that.id) &&
             Objects.equals(participation, that.participation) &&
             Objects.equals(eventId, that.eventId) &&
             Objects.equals(personId, that.personId) &&
@@ -153,14 +134,13 @@ public class RelEventPersonCriteria implements Serializable, Criteria {
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, participation, eventId, personId, hierarchyId, distinct);
+        return Objects.hash(participation, eventId, personId, hierarchyId, distinct);
     }
 
     // prettier-ignore
     @Override
     public String toString() {
         return "RelEventPersonCriteria{" +
-            (id != null ? "id=" + id + ", " : "") +
             (participation != null ? "participation=" + participation + ", " : "") +
             (eventId != null ? "eventId=" + eventId + ", " : "") +
             (personId != null ? "personId=" + personId + ", " : "") +
@@ -15,6 +15,8 @@ public class EventDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     @NotNull
     @Size(min = 3, max = 50)
     private String label;
@@ -53,6 +55,14 @@ public class EventDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getLabel() {
         return label;
     }
@@ -167,6 +177,7 @@ public class EventDTO implements Serializable {
     public String toString() {
         return "EventDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", label='" + getLabel() + "'" +
             ", description='" + getDescription() + "'" +
             ", theme='" + getTheme() + "'" +
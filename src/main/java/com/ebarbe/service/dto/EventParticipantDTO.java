@@ -0,0 +1,79 @@
+package com.ebarbe.service.dto;
+
+import jakarta.validation.constraints.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A DTO for a person taking part in an event, as assigned in bulk to the {@link com.ebarbe.domain.RelEventPerson} entity.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EventParticipantDTO implements Serializable {
+
+    @NotNull
+    private Long personId;
+
+    private Long hierarchyId;
+
+    @Size(max = 255)
+    private String participation;
+
+    public Long getPersonId() {
+        return personId;
+    }
+
+    public void setPersonId(Long personId) {
+        this.personId = personId;
+    }
+
+    public Long getHierarchyId() {
+        return hierarchyId;
+    }
+
+    public void setHierarchyId(Long hierarchyId) {
+        this.hierarchyId = hierarchyId;
+    }
+
+    public String getParticipation() {
+        return participation;
+    }
+
+    public void setParticipation(String participation) {
+        this.participation = participation;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EventParticipantDTO)) {
+            return false;
+        }
+
+        EventParticipantDTO eventParticipantDTO = (EventParticipantDTO) o;
+        if (this.personId == null) {
+            return false;
+        }
+        return (
+            Objects.equals(this.personId, eventParticipantDTO.personId) &&
+            Objects.equals(this.hierarchyId, eventParticipantDTO.hierarchyId) &&
+            Objects.equals(this.participation, eventParticipantDTO.participation)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.personId, this.hierarchyId, this.participation);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EventParticipantDTO{" +
+            "personId=" + getPersonId() +
+            ", hierarchyId=" + getHierarchyId() +
+            ", participation='" + getParticipation() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,49 @@
+package com.ebarbe.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO for a hit of the search of all the entities: the entity found, with its type and its score.
+ */
+public class GlobalSearchHitDTO implements Serializable {
+
+    private final String type;
+
+    private final float score;
+
+    private final Object entity;
+
+    public GlobalSearchHitDTO(String type, float score, Object entity) {
+        this.type = type;
+        this.score = score;
+        this.entity = entity;
+    }
+
+    /**
+     * @return the type of the entity, e.g. {@code mainTask}.
+     */
+    public String getType() {
+        return type;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    /**
+     * @return the DTO of the entity, e.g. a {@link MainTaskSearchResultDTO}.
+     */
+    public Object getEntity() {
+        return entity;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GlobalSearchHitDTO{" +
+            "type='" + getType() + "'" +
+            ", score=" + getScore() +
+            ", entity=" + getEntity() +
+            "}";
+    }
+}
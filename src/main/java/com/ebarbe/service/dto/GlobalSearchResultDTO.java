@@ -0,0 +1,44 @@
+package com.ebarbe.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A DTO for the result of the search of all the entities: the top hits of each type of entity merged by score, and the
+ * number of hits of each type.
+ */
+public class GlobalSearchResultDTO implements Serializable {
+
+    private final List<GlobalSearchHitDTO> hits;
+
+    private final Map<String, Long> totals;
+
+    public GlobalSearchResultDTO(List<GlobalSearchHitDTO> hits, Map<String, Long> totals) {
+        this.hits = hits;
+        this.totals = totals;
+    }
+
+    /**
+     * @return the hits, the best scored first.
+     */
+    public List<GlobalSearchHitDTO> getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of hits of each type of entity, counted up to a limit, which may be more than its hits returned.
+     */
+    public Map<String, Long> getTotals() {
+        return totals;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GlobalSearchResultDTO{" +
+            "hits=" + getHits() +
+            ", totals=" + getTotals() +
+            "}";
+    }
+}
@@ -13,6 +13,8 @@ public class MainTaskDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     @Size(min = 3, max = 100)
     private String description;
 
@@ -37,6 +39,14 @@ public class MainTaskDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -119,6 +129,7 @@ public class MainTaskDTO implements Serializable {
     public String toString() {
         return "MainTaskDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", description='" + getDescription() + "'" +
             ", deadline='" + getDeadline() + "'" +
             ", creation='" + getCreation() + "'" +
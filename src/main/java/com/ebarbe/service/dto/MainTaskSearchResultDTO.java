@@ -0,0 +1,66 @@
+package com.ebarbe.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * A DTO for a {@link com.ebarbe.domain.MainTask} found by a search: the mainTask, with the labels of its category, status
+ * and owner, and a summary of its subTasks.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class MainTaskSearchResultDTO extends MainTaskDTO {
+
+    private Long subTaskCount;
+
+    private Double subTaskTotalCost;
+
+    private LocalDate nearestSubTaskDeadline;
+
+    public Long getSubTaskCount() {
+        return subTaskCount;
+    }
+
+    public void setSubTaskCount(Long subTaskCount) {
+        this.subTaskCount = subTaskCount;
+    }
+
+    /**
+     * @return the sum of the costs of the subTasks, {@code null} if none has a cost.
+     */
+    public Double getSubTaskTotalCost() {
+        return subTaskTotalCost;
+    }
+
+    public void setSubTaskTotalCost(Double subTaskTotalCost) {
+        this.subTaskTotalCost = subTaskTotalCost;
+    }
+
+    /**
+     * @return the earliest deadline of the subTasks, {@code null} if there is none.
+     */
+    public LocalDate getNearestSubTaskDeadline() {
+        return nearestSubTaskDeadline;
+    }
+
+    public void setNearestSubTaskDeadline(LocalDate nearestSubTaskDeadline) {
+        this.nearestSubTaskDeadline = nearestSubTaskDeadline;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MainTaskSearchResultDTO{" +
+            "id=" + getId() +
+            ", version=" + getVersion() +
+            ", description='" + getDescription() + "'" +
+            ", deadline='" + getDeadline() + "'" +
+            ", creation='" + getCreation() + "'" +
+            ", cost=" + getCost() +
+            ", category=" + getCategory() +
+            ", personOwner=" + getPersonOwner() +
+            ", status=" + getStatus() +
+            ", subTaskCount=" + getSubTaskCount() +
+            ", subTaskTotalCost=" + getSubTaskTotalCost() +
+            ", nearestSubTaskDeadline='" + getNearestSubTaskDeadline() + "'" +
+            "}";
+    }
+}
@@ -4,13 +4,11 @@ import java.io.Serializable;
 import java.util.Objects;
 
 /**
- * A DTO for the {@link com.ebarbe.domain.RelEventPerson} entity.
+ * A DTO for the {@link com.ebarbe.domain.RelEventPerson} entity, identified by its event and its person.
  */
 @SuppressWarnings("common-java:DuplicatedBlocks")
 public class RelEventPersonDTO implements Serializable {
 
-    private Long id;
-
     private String participation;
 
     private EventDTO event;
@@ -19,14 +17,6 @@ public class RelEventPersonDTO implements Serializable {
 
     private HierarchyDTO hierarchy;
 
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
     public String getParticipation() {
         return participation;
     }
@@ -69,15 +59,23 @@ public class RelEventPersonDTO implements Serializable {
         }
 
         RelEventPersonDTO relEventPersonDTO = (RelEventPersonDTO) o;
-        if (this.id == null) {
+        if (eventId() == null || personId() == null) {
             return false;
         }
-        return Objects.equals(this.id, relEventPersonDTO.id);
+        return Objects.equals(eventId(), relEventPersonDTO.eventId()) && Objects.equals(personId(), relEventPersonDTO.personId());
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.id);
+        return Objects.hash(eventId(), personId());
+    }
+
+    private Long eventId() {
+        return this.event != null ? this.event.getId() : null;
+    }
+
+    private Long personId() {
+        return this.person != null ? this.person.getId() : null;
     }
 
     // prettier-ignore
@@ -13,6 +13,8 @@ public class SubTaskDTO implements Serializable {
 
     private Long id;
 
+    private Long version;
+
     @NotNull
     @Size(min = 3, max = 300)
     private String description;
@@ -38,6 +40,14 @@ public class SubTaskDTO implements Serializable {
         this.id = id;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public String getDescription() {
         return description;
     }
@@ -120,6 +130,7 @@ public class SubTaskDTO implements Serializable {
     public String toString() {
         return "SubTaskDTO{" +
             "id=" + getId() +
+            ", version=" + getVersion() +
             ", description='" + getDescription() + "'" +
             ", deadline='" + getDeadline() + "'" +
             ", creation='" + getCreation() + "'" +
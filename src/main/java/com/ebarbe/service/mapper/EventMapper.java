@@ -19,9 +19,26 @@ public interface EventMapper extends EntityMapper<EventDTO, Event> {
     //@Mapping(target = "people", source = "people", qualifiedByName = "personIdSet")
     EventDTO toDto(Event s);
 
+    /**
+     * Flat mapping used by the exports: the event type is reduced to its id and the people are left out,
+     * so that no association has to be loaded for each exported row.
+     */
+    @Named("export")
+    @Mapping(target = "eventType", source = "eventType", qualifiedByName = "eventTypeId")
+    @Mapping(target = "people", ignore = true)
+    EventDTO toExportDto(Event s);
+
     @Mapping(target = "removePerson", ignore = true)
     Event toEntity(EventDTO eventDTO);
 
+    /**
+     * The version of a loaded event is the one Hibernate checks and increments: it is compared by the service, never copied.
+     */
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget Event entity, EventDTO dto);
+
     @Named("eventTypeId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
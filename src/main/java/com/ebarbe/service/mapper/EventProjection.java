@@ -0,0 +1,103 @@
+package com.ebarbe.service.mapper;
+
+import com.ebarbe.domain.*; // for static metamodels
+import com.ebarbe.domain.Event;
+import com.ebarbe.domain.EventType;
+import com.ebarbe.repository.TupleProjection;
+import com.ebarbe.service.dto.EventDTO;
+import com.ebarbe.service.dto.EventTypeDTO;
+import com.ebarbe.service.dto.PersonDTO;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+
+/**
+ * Projection of the entity {@link Event} on its DTO {@link EventDTO}, giving the same DTO as {@link EventMapper#toDto}
+ * once the people are added: the event type is read with a left join, the people with the {@link #people()} projection.
+ */
+@Component
+public class EventProjection implements TupleProjection<Event, EventDTO> {
+
+    private final PersonProjection personProjection;
+
+    public EventProjection(PersonProjection personProjection) {
+        this.personProjection = personProjection;
+    }
+
+    @Override
+    public List<Selection<?>> select(From<?, Event> event) {
+        Join<Event, EventType> eventType = event.join(Event_.eventType, JoinType.LEFT);
+        return List.of(
+            event.get(Event_.id),
+            event.get(Event_.version),
+            event.get(Event_.label),
+            event.get(Event_.description),
+            event.get(Event_.theme),
+            event.get(Event_.dateStart),
+            event.get(Event_.dateEnd),
+            event.get(Event_.place),
+            event.get(Event_.placeDetails),
+            event.get(Event_.adress),
+            event.get(Event_.note),
+            eventType.get(EventType_.id),
+            eventType.get(EventType_.label),
+            eventType.get(EventType_.description),
+            eventType.get(EventType_.duration)
+        );
+    }
+
+    @Override
+    public EventDTO map(Tuple row, int first) {
+        int column = first;
+        EventDTO eventDTO = new EventDTO();
+        eventDTO.setId(row.get(column++, Long.class));
+        eventDTO.setVersion(row.get(column++, Long.class));
+        eventDTO.setLabel(row.get(column++, String.class));
+        eventDTO.setDescription(row.get(column++, String.class));
+        eventDTO.setTheme(row.get(column++, String.class));
+        eventDTO.setDateStart(row.get(column++, LocalDate.class));
+        eventDTO.setDateEnd(row.get(column++, LocalDate.class));
+        eventDTO.setPlace(row.get(column++, String.class));
+        eventDTO.setPlaceDetails(row.get(column++, String.class));
+        eventDTO.setAdress(row.get(column++, String.class));
+        eventDTO.setNote(row.get(column++, String.class));
+        Long eventTypeId = row.get(column++, Long.class);
+        if (eventTypeId != null) {
+            EventTypeDTO eventTypeDTO = new EventTypeDTO();
+            eventTypeDTO.setId(eventTypeId);
+            eventTypeDTO.setLabel(row.get(column++, String.class));
+            eventTypeDTO.setDescription(row.get(column++, String.class));
+            eventTypeDTO.setDuration(row.get(column, Duration.class));
+            eventDTO.setEventType(eventTypeDTO);
+        }
+        return eventDTO;
+    }
+
+    /**
+     * Projection of the people of the events, each row giving the id of the event and one of its people.
+     */
+    public TupleProjection<Event, Map.Entry<Long, PersonDTO>> people() {
+        return new TupleProjection<>() {
+            @Override
+            public List<Selection<?>> select(From<?, Event> event) {
+                List<Selection<?>> columns = new ArrayList<>();
+                columns.add(event.get(Event_.id));
+                columns.addAll(personProjection.select(event.join(Event_.person)));
+                return columns;
+            }
+
+            @Override
+            public Map.Entry<Long, PersonDTO> map(Tuple row, int first) {
+                return Map.entry(row.get(first, Long.class), personProjection.map(row, first + 1));
+            }
+        };
+    }
+}
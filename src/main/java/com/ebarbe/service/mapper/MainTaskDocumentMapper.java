@@ -0,0 +1,32 @@
+package com.ebarbe.service.mapper;
+
+import com.ebarbe.domain.search.MainTaskDocument;
+import com.ebarbe.service.dto.CategoryDTO;
+import com.ebarbe.service.dto.MainTaskSearchResultDTO;
+import com.ebarbe.service.dto.PersonDTO;
+import com.ebarbe.service.dto.StatusDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the search document {@link MainTaskDocument} and the DTO of a search result {@link MainTaskSearchResultDTO}:
+ * the relations are reduced to their id and label.
+ */
+@Mapper(componentModel = "spring")
+public interface MainTaskDocumentMapper {
+    MainTaskSearchResultDTO toDto(MainTaskDocument document);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "label", source = "label")
+    CategoryDTO toDtoCategory(MainTaskDocument.CategorySummary category);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "name", source = "name")
+    PersonDTO toDtoPerson(MainTaskDocument.PersonSummary person);
+
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "description", source = "description")
+    StatusDTO toDtoStatus(MainTaskDocument.StatusSummary status);
+}
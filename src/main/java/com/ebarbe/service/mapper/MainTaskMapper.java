@@ -20,6 +20,14 @@ public interface MainTaskMapper extends EntityMapper<MainTaskDTO, MainTask> {
     @Mapping(target = "status", source = "status", qualifiedByName = "statusId")
     MainTaskDTO toDto(MainTask s);
 
+    /**
+     * The version of a loaded mainTask is the one Hibernate checks and increments: it is compared by the service, never copied.
+     */
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget MainTask entity, MainTaskDTO dto);
+
     @Named("categoryId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -0,0 +1,81 @@
+package com.ebarbe.service.mapper;
+
+import com.ebarbe.domain.*; // for static metamodels
+import com.ebarbe.domain.MainTask;
+import com.ebarbe.repository.TupleProjection;
+import com.ebarbe.service.dto.CategoryDTO;
+import com.ebarbe.service.dto.MainTaskDTO;
+import com.ebarbe.service.dto.PersonDTO;
+import com.ebarbe.service.dto.StatusDTO;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Selection;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Projection of the entity {@link MainTask} on its DTO {@link MainTaskDTO}, giving the same DTO as {@link MainTaskMapper#toDto}:
+ * the associations are reduced to their foreign keys, read without any join.
+ */
+@Component
+public class MainTaskProjection implements TupleProjection<MainTask, MainTaskDTO> {
+
+    @Override
+    public List<Selection<?>> select(From<?, MainTask> mainTask) {
+        return List.of(
+            mainTask.get(MainTask_.id),
+            mainTask.get(MainTask_.version),
+            mainTask.get(MainTask_.description),
+            mainTask.get(MainTask_.deadline),
+            mainTask.get(MainTask_.creation),
+            mainTask.get(MainTask_.cost),
+            mainTask.get(MainTask_.category).get(Category_.id),
+            mainTask.get(MainTask_.personOwner).get(Person_.id),
+            mainTask.get(MainTask_.status).get(Status_.id)
+        );
+    }
+
+    @Override
+    public MainTaskDTO map(Tuple row, int first) {
+        int column = first;
+        MainTaskDTO mainTaskDTO = new MainTaskDTO();
+        mainTaskDTO.setId(row.get(column++, Long.class));
+        mainTaskDTO.setVersion(row.get(column++, Long.class));
+        mainTaskDTO.setDescription(row.get(column++, String.class));
+        mainTaskDTO.setDeadline(row.get(column++, LocalDate.class));
+        mainTaskDTO.setCreation(row.get(column++, LocalDate.class));
+        mainTaskDTO.setCost(row.get(column++, Double.class));
+        mainTaskDTO.setCategory(toDtoCategoryId(row.get(column++, Long.class)));
+        mainTaskDTO.setPersonOwner(toDtoPersonId(row.get(column++, Long.class)));
+        mainTaskDTO.setStatus(toDtoStatusId(row.get(column, Long.class)));
+        return mainTaskDTO;
+    }
+
+    private static CategoryDTO toDtoCategoryId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        CategoryDTO categoryDTO = new CategoryDTO();
+        categoryDTO.setId(id);
+        return categoryDTO;
+    }
+
+    private static PersonDTO toDtoPersonId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        PersonDTO personDTO = new PersonDTO();
+        personDTO.setId(id);
+        return personDTO;
+    }
+
+    private static StatusDTO toDtoStatusId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        StatusDTO statusDTO = new StatusDTO();
+        statusDTO.setId(id);
+        return statusDTO;
+    }
+}
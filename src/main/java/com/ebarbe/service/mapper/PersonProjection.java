@@ -0,0 +1,62 @@
+package com.ebarbe.service.mapper;
+
+import com.ebarbe.domain.*; // for static metamodels
+import com.ebarbe.domain.Person;
+import com.ebarbe.domain.User;
+import com.ebarbe.repository.TupleProjection;
+import com.ebarbe.service.dto.PersonDTO;
+import com.ebarbe.service.dto.UserDTO;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Selection;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Projection of the entity {@link Person} on its DTO {@link PersonDTO}, giving the same DTO as {@link PersonMapper#toDto}:
+ * the user is read with a left join.
+ */
+@Component
+public class PersonProjection implements TupleProjection<Person, PersonDTO> {
+
+    @Override
+    public List<Selection<?>> select(From<?, Person> person) {
+        Join<Person, User> user = person.join(Person_.user, JoinType.LEFT);
+        return List.of(
+            person.get(Person_.id),
+            person.get(Person_.description),
+            person.get(Person_.pseudo),
+            person.get(Person_.name),
+            user.get(User_.id),
+            user.get(User_.login),
+            user.get(User_.firstName),
+            user.get(User_.lastName),
+            user.get(User_.email),
+            user.get(User_.activated),
+            user.get(User_.imageUrl)
+        );
+    }
+
+    @Override
+    public PersonDTO map(Tuple row, int first) {
+        int column = first;
+        PersonDTO personDTO = new PersonDTO();
+        personDTO.setId(row.get(column++, Long.class));
+        personDTO.setDescription(row.get(column++, String.class));
+        personDTO.setPseudo(row.get(column++, String.class));
+        personDTO.setName(row.get(column++, String.class));
+        // As with UserMapper#userToUserDTO, a person without user gets an empty one
+        UserDTO userDTO = new UserDTO();
+        userDTO.setId(row.get(column++, Long.class));
+        userDTO.setLogin(row.get(column++, String.class));
+        userDTO.setFirstName(row.get(column++, String.class));
+        userDTO.setLastName(row.get(column++, String.class));
+        userDTO.setEmail(row.get(column++, String.class));
+        userDTO.setActivated(Boolean.TRUE.equals(row.get(column++, Boolean.class)));
+        userDTO.setImageUrl(row.get(column, String.class));
+        personDTO.setUser(userDTO);
+        return personDTO;
+    }
+}
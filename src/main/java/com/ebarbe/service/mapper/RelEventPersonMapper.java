@@ -15,19 +15,62 @@ import org.mapstruct.*;
 /**
  * Mapper for the entity {@link RelEventPerson} and its DTO {@link RelEventPersonDTO}.
  */
-@Mapper(componentModel = "spring", uses = { EventMapper.class, PersonMapper.class, HierarchyMapper.class, UserMapper.class })
+@Mapper(
+    componentModel = "spring",
+    uses = { EventMapper.class, EventTypeMapper.class, PersonMapper.class, HierarchyMapper.class, UserMapper.class }
+)
 public interface RelEventPersonMapper extends EntityMapper<RelEventPersonDTO, RelEventPerson> {
     //@Mapping(target = "event", source = "event", qualifiedByName = "eventId")
     //@Mapping(target = "person", source = "person", qualifiedByName = "personId")
     //@Mapping(target = "hierarchy", source = "hierarchy", qualifiedByName = "hierarchyId")
     RelEventPersonDTO toDto(RelEventPerson s);
 
+    /**
+     * Mapping of the participants of an event, loaded with the "roster" entity graph: the event is reduced to its id.
+     */
+    @Named("roster")
+    @Mapping(target = "event", source = "event", qualifiedByName = "eventId")
+    RelEventPersonDTO toRosterDto(RelEventPerson s);
+
+    /**
+     * Mapping of the events of a person, loaded with the "person-agenda" entity graph: the person is reduced to its id,
+     * and the people of the event are left out.
+     */
+    @Named("personAgenda")
+    @Mapping(target = "event", source = "event", qualifiedByName = "agendaEvent")
+    @Mapping(target = "person", source = "person", qualifiedByName = "relEventPersonPersonId")
+    RelEventPersonDTO toPersonAgendaDto(RelEventPerson s);
+
+    /**
+     * Mapping of a relEventPerson loaded with the "ids-only" entity graph: the entities linked are reduced to their ids.
+     */
+    @Named("idsOnly")
+    @Mapping(target = "event", source = "event", qualifiedByName = "eventId")
+    @Mapping(target = "person", source = "person", qualifiedByName = "relEventPersonPersonId")
+    @Mapping(target = "hierarchy", source = "hierarchy", qualifiedByName = "hierarchyId")
+    RelEventPersonDTO toIdsOnlyDto(RelEventPerson s);
+
+    // the id is derived from the event and the person
+    @Mapping(target = "id", ignore = true)
+    RelEventPerson toEntity(RelEventPersonDTO relEventPersonDTO);
+
+    // the id of a managed entity must not be replaced, it is its primary key
+    @Override
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "id", ignore = true)
+    void partialUpdate(@MappingTarget RelEventPerson entity, RelEventPersonDTO dto);
+
     @Named("eventId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
     EventDTO toDtoEventId(Event event);
 
-    @Named("personId")
+    @Named("agendaEvent")
+    @Mapping(target = "people", ignore = true)
+    EventDTO toAgendaEventDto(Event event);
+
+    @Named("relEventPersonPersonId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
     PersonDTO toDtoPersonId(Person person);
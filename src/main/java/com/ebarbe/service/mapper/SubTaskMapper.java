@@ -20,6 +20,14 @@ public interface SubTaskMapper extends EntityMapper<SubTaskDTO, SubTask> {
     @Mapping(target = "status", source = "status", qualifiedByName = "statusId")
     SubTaskDTO toDto(SubTask s);
 
+    /**
+     * The version of a loaded subTask is the one Hibernate checks and increments: it is compared by the service, never copied.
+     */
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
+    void partialUpdate(@MappingTarget SubTask entity, SubTaskDTO dto);
+
     @Named("mainTaskId")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
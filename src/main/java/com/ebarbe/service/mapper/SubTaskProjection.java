@@ -0,0 +1,81 @@
+package com.ebarbe.service.mapper;
+
+import com.ebarbe.domain.*; // for static metamodels
+import com.ebarbe.domain.SubTask;
+import com.ebarbe.repository.TupleProjection;
+import com.ebarbe.service.dto.MainTaskDTO;
+import com.ebarbe.service.dto.PersonDTO;
+import com.ebarbe.service.dto.StatusDTO;
+import com.ebarbe.service.dto.SubTaskDTO;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.Selection;
+import java.time.LocalDate;
+import java.util.List;
+import org.springframework.stereotype.Component;
+
+/**
+ * Projection of the entity {@link SubTask} on its DTO {@link SubTaskDTO}, giving the same DTO as {@link SubTaskMapper#toDto}:
+ * the associations are reduced to their foreign keys, read without any join.
+ */
+@Component
+public class SubTaskProjection implements TupleProjection<SubTask, SubTaskDTO> {
+
+    @Override
+    public List<Selection<?>> select(From<?, SubTask> subTask) {
+        return List.of(
+            subTask.get(SubTask_.id),
+            subTask.get(SubTask_.version),
+            subTask.get(SubTask_.description),
+            subTask.get(SubTask_.deadline),
+            subTask.get(SubTask_.creation),
+            subTask.get(SubTask_.cost),
+            subTask.get(SubTask_.mainTask).get(MainTask_.id),
+            subTask.get(SubTask_.personDoer).get(Person_.id),
+            subTask.get(SubTask_.status).get(Status_.id)
+        );
+    }
+
+    @Override
+    public SubTaskDTO map(Tuple row, int first) {
+        int column = first;
+        SubTaskDTO subTaskDTO = new SubTaskDTO();
+        subTaskDTO.setId(row.get(column++, Long.class));
+        subTaskDTO.setVersion(row.get(column++, Long.class));
+        subTaskDTO.setDescription(row.get(column++, String.class));
+        subTaskDTO.setDeadline(row.get(column++, LocalDate.class));
+        subTaskDTO.setCreation(row.get(column++, LocalDate.class));
+        subTaskDTO.setCost(row.get(column++, Double.class));
+        subTaskDTO.setMainTask(toDtoMainTaskId(row.get(column++, Long.class)));
+        subTaskDTO.setPersonDoer(toDtoPersonId(row.get(column++, Long.class)));
+        subTaskDTO.setStatus(toDtoStatusId(row.get(column, Long.class)));
+        return subTaskDTO;
+    }
+
+    private static MainTaskDTO toDtoMainTaskId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        MainTaskDTO mainTaskDTO = new MainTaskDTO();
+        mainTaskDTO.setId(id);
+        return mainTaskDTO;
+    }
+
+    private static PersonDTO toDtoPersonId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        PersonDTO personDTO = new PersonDTO();
+        personDTO.setId(id);
+        return personDTO;
+    }
+
+    private static StatusDTO toDtoStatusId(Long id) {
+        if (id == null) {
+            return null;
+        }
+        StatusDTO statusDTO = new StatusDTO();
+        statusDTO.setId(id);
+        return statusDTO;
+    }
+}
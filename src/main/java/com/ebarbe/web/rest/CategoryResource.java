@@ -1,12 +1,17 @@
 package com.ebarbe.web.rest;
 
 import com.ebarbe.repository.CategoryRepository;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.CategoryQueryService;
 import com.ebarbe.service.CategoryService;
+import com.ebarbe.service.InvalidCursorException;
+import com.ebarbe.service.KeysetSlice;
 import com.ebarbe.service.criteria.CategoryCriteria;
 import com.ebarbe.service.dto.CategoryDTO;
 import com.ebarbe.web.rest.errors.BadRequestAlertException;
 import com.ebarbe.web.rest.errors.ElasticsearchExceptionMapper;
+import com.ebarbe.web.rest.util.KeysetPaginationUtil;
+import com.ebarbe.web.rest.util.SearchModeUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -211,18 +216,44 @@ public class CategoryResource {
      * {@code SEARCH  /categories/_search?query=:query} : search for the category corresponding
      * to the query.
      *
+     * <p>
+     * The query is a {@code simple_query_string} on the text fields, unless {@code raw} is set.
+     * <p>
+     * When {@code after} is given, the search is paginated with a cursor instead, at the same cost however deep:
+     * the slice starting after this cursor is returned (an empty cursor gives the first one), sorted by score,
+     * the cursor of the next slice is sent in the {@code Link} header, and no total count is computed.
+     *
      * @param query the query of the category search.
      * @param pageable the pagination information.
-     * @return the result of the search.
+     * @param after the cursor returned with the previous slice, to switch to cursor pagination.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the result of the search, or with status {@code 403 (Forbidden)} if the raw syntax is not allowed.
      */
     @GetMapping("/_search")
     public ResponseEntity<List<CategoryDTO>> searchCategories(
         @RequestParam("query") String query,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
     ) {
         log.debug("REST request to search for a page of Categories for query {}", query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
         try {
-            Page<CategoryDTO> page = categoryService.search(query, pageable);
+            if (after != null) {
+                KeysetSlice<CategoryDTO> slice;
+                try {
+                    slice = categoryService.search(query, mode, after, pageable.getPageSize());
+                } catch (InvalidCursorException e) {
+                    throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+                }
+                HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    slice,
+                    pageable.getPageSize()
+                );
+                return ResponseEntity.ok().headers(headers).body(slice.getContent());
+            }
+            Page<CategoryDTO> page = categoryService.search(query, mode, pageable);
             HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
             return ResponseEntity.ok().headers(headers).body(page.getContent());
         } catch (RuntimeException e) {
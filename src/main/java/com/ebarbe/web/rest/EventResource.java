@@ -1,14 +1,33 @@
 package com.ebarbe.web.rest;
 
+import com.ebarbe.domain.Event;
+import com.ebarbe.domain.EventType;
+import com.ebarbe.domain.Person;
+import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.domain.User;
+import com.ebarbe.repository.EntityChangeCounter;
 import com.ebarbe.repository.EventRepository;
+import com.ebarbe.repository.search.FacetedPage;
+import com.ebarbe.repository.search.SearchMode;
 import com.ebarbe.service.EventQueryService;
 import com.ebarbe.service.EventService;
+import com.ebarbe.service.InvalidCursorException;
+import com.ebarbe.service.KeysetSlice;
 import com.ebarbe.service.criteria.EventCriteria;
 import com.ebarbe.service.dto.EventDTO;
 import com.ebarbe.web.rest.errors.BadRequestAlertException;
 import com.ebarbe.web.rest.errors.ElasticsearchExceptionMapper;
+import com.ebarbe.web.rest.util.ETagUtil;
+import com.ebarbe.web.rest.util.ExportWriter;
+import com.ebarbe.web.rest.util.KeysetPaginationUtil;
+import com.ebarbe.web.rest.util.SearchModeUtil;
+import com.ebarbe.web.rest.util.SlicePaginationUtil;
+import com.ebarbe.web.rest.vm.FacetedSearchResultVM;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -19,9 +38,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -38,6 +60,22 @@ public class EventResource {
 
     private static final String ENTITY_NAME = "event";
 
+    private static final List<ExportWriter.Column<EventDTO>> EXPORT_COLUMNS = List.of(
+        ExportWriter.column("id", EventDTO::getId),
+        ExportWriter.column("label", EventDTO::getLabel),
+        ExportWriter.column("description", EventDTO::getDescription),
+        ExportWriter.column("theme", EventDTO::getTheme),
+        ExportWriter.column("dateStart", EventDTO::getDateStart),
+        ExportWriter.column("dateEnd", EventDTO::getDateEnd),
+        ExportWriter.column("place", EventDTO::getPlace),
+        ExportWriter.column("placeDetails", EventDTO::getPlaceDetails),
+        ExportWriter.column("adress", EventDTO::getAdress),
+        ExportWriter.column("note", EventDTO::getNote),
+        ExportWriter.column("eventTypeId", event -> event.getEventType() == null ? null : event.getEventType().getId())
+    );
+
+    private static final Class<?>[] LISTED_ENTITIES = { Event.class, EventType.class, Person.class, User.class, RelEventPerson.class };
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -47,10 +85,22 @@ public class EventResource {
 
     private final EventQueryService eventQueryService;
 
-    public EventResource(EventService eventService, EventRepository eventRepository, EventQueryService eventQueryService) {
+    private final EntityChangeCounter entityChangeCounter;
+
+    private final ObjectMapper objectMapper;
+
+    public EventResource(
+        EventService eventService,
+        EventRepository eventRepository,
+        EventQueryService eventQueryService,
+        EntityChangeCounter entityChangeCounter,
+        ObjectMapper objectMapper
+    ) {
         this.eventService = eventService;
         this.eventRepository = eventRepository;
         this.eventQueryService = eventQueryService;
+        this.entityChangeCounter = entityChangeCounter;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -69,6 +119,7 @@ public class EventResource {
         EventDTO result = eventService.save(eventDTO);
         return ResponseEntity
             .created(new URI("/api/events/" + result.getId()))
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
@@ -77,16 +128,20 @@ public class EventResource {
      * {@code PUT  /events/:id} : Updates an existing event.
      *
      * @param id the id of the eventDTO to save.
-     * @param eventDTO the eventDTO to update.
+     * @param eventDTO the eventDTO to update, written over the current event if it has no version.
+     * @param ifMatch the {@code If-Match} header, the tags of the event the update was made from.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated eventDTO,
      * or with status {@code 400 (Bad Request)} if the eventDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the eventDTO is not at the current version,
+     * or with status {@code 412 (Precondition Failed)} if the current event does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the eventDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<EventDTO> updateEvent(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody EventDTO eventDTO
+        @Valid @RequestBody EventDTO eventDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update Event : {}, {}", id, eventDTO);
         if (eventDTO.getId() == null) {
@@ -96,13 +151,18 @@ public class EventResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!eventRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long version = eventRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, ETagUtil.fromVersion(version), ENTITY_NAME);
+        if (ifMatch != null || eventDTO.getVersion() == null) {
+            eventDTO.setVersion(version);
         }
 
         EventDTO result = eventService.update(eventDTO);
         return ResponseEntity
             .ok()
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, eventDTO.getId().toString()))
             .body(result);
     }
@@ -111,17 +171,21 @@ public class EventResource {
      * {@code PATCH  /events/:id} : Partial updates given fields of an existing event, field will ignore if it is null
      *
      * @param id the id of the eventDTO to save.
-     * @param eventDTO the eventDTO to update.
+     * @param eventDTO the eventDTO to update, checked against the current event if it has a version.
+     * @param ifMatch the {@code If-Match} header, the tags of the event the update was made from.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated eventDTO,
      * or with status {@code 400 (Bad Request)} if the eventDTO is not valid,
      * or with status {@code 404 (Not Found)} if the eventDTO is not found,
+     * or with status {@code 409 (Conflict)} if the eventDTO is not at the current version,
+     * or with status {@code 412 (Precondition Failed)} if the current event does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the eventDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<EventDTO> partialUpdateEvent(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody EventDTO eventDTO
+        @NotNull @RequestBody EventDTO eventDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update Event partially : {}, {}", id, eventDTO);
         if (eventDTO.getId() == null) {
@@ -131,35 +195,102 @@ public class EventResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!eventRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long version = eventRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, ETagUtil.fromVersion(version), ENTITY_NAME);
+        if (ifMatch != null || eventDTO.getVersion() == null) {
+            eventDTO.setVersion(version);
         }
 
         Optional<EventDTO> result = eventService.partialUpdate(eventDTO);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, eventDTO.getId().toString())
-        );
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, eventDTO.getId().toString());
+        result.ifPresent(updatedEvent -> headers.setETag(ETagUtil.fromVersion(updatedEvent.getVersion())));
+        return ResponseUtil.wrapOrNotFound(result, headers);
     }
 
     /**
      * {@code GET  /events} : get all the events.
      *
+     * <p>
+     * When {@code after} is given, the list is keyset paginated instead: the slice starting after this cursor
+     * is returned (an empty cursor gives the first one), the cursor of the next slice is sent in the {@code Link} header,
+     * and no total count is computed.
+     *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of events in body.
+     * @param after the cursor returned with the previous slice, to switch to keyset pagination.
+     * @param prefer the {@code Prefer} header, {@code count=none} to skip the total count and the {@code X-Total-Count} header.
+     * @param ifNoneMatch the {@code If-None-Match} header, the tag of the list the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of events in body,
+     * or with status {@code 304 (Not Modified)} if none of the entities listed was written since the client read the list.
      */
     @GetMapping("")
     public ResponseEntity<List<EventDTO>> getAllEvents(
         EventCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestHeader(value = SlicePaginationUtil.PREFER, required = false) String prefer,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         log.debug("REST request to get Events by criteria: {}", criteria);
+        // taken before the list is read, so that a write committed in between changes the next tag
+        String eTag = ETagUtil.fromStamp(entityChangeCounter.stamp(LISTED_ENTITIES));
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+
+        if (after != null) {
+            KeysetSlice<EventDTO> slice;
+            try {
+                slice = eventQueryService.findByCriteria(criteria, after, pageable);
+            } catch (InvalidCursorException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                pageable.getPageSize()
+            );
+            return ResponseEntity.ok().headers(headers).eTag(eTag).body(slice.getContent());
+        }
+
+        if (SlicePaginationUtil.isCountSkipped(prefer)) {
+            Slice<EventDTO> slice = eventQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).eTag(eTag).body(slice.getContent());
+        }
 
         Page<EventDTO> page = eventQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /events/_export} : stream all the events matching the criteria, ordered by id.
+     * <p>
+     * The rows are written to the response as they are read from the database, so there is no paging and no size limit.
+     * The people of the events are not exported, the {@code eventType} is reduced to its id.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export, {@code ndjson} (default) or {@code csv}.
+     * @param response the response the rows are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping("/_export")
+    public void exportEvents(
+        EventCriteria criteria,
+        @RequestParam(value = "format", defaultValue = ExportWriter.NDJSON) String format,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export Events by criteria: {}, format: {}", criteria, format);
+        if (!ExportWriter.isSupported(format)) {
+            throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid");
+        }
+        try (ExportWriter<EventDTO> writer = ExportWriter.open(format, "events", EXPORT_COLUMNS, objectMapper, response)) {
+            eventQueryService.export(criteria, writer);
+        }
     }
 
     /**
@@ -176,6 +307,9 @@ public class EventResource {
 
     /**
      * {@code GET  /events/:id} : get the "id" event.
+     * <p>
+     * The event is sent with the tag of its version, to be sent back in {@code If-Match}. It is not compared with
+     * {@code If-None-Match}: the version does not change with the type and the people shown with the event.
      *
      * @param id the id of the eventDTO to retrieve.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the eventDTO, or with status {@code 404 (Not Found)}.
@@ -184,7 +318,9 @@ public class EventResource {
     public ResponseEntity<EventDTO> getEvent(@PathVariable("id") Long id) {
         log.debug("REST request to get Event : {}", id);
         Optional<EventDTO> eventDTO = eventService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(eventDTO);
+        return eventDTO
+            .map(foundEvent -> ResponseEntity.ok().eTag(ETagUtil.fromVersion(foundEvent.getVersion())).body(foundEvent))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -207,22 +343,89 @@ public class EventResource {
      * {@code SEARCH  /events/_search?query=:query} : search for the event corresponding
      * to the query.
      *
+     * <p>
+     * The query is a {@code simple_query_string} on the text fields, unless {@code raw} is set.
+     * <p>
+     * When {@code after} is given, the search is paginated with a cursor instead, at the same cost however deep:
+     * the slice starting after this cursor is returned (an empty cursor gives the first one), sorted by score,
+     * the cursor of the next slice is sent in the {@code Link} header, and no total count is computed.
+     *
      * @param query the query of the event search.
      * @param pageable the pagination information.
-     * @return the result of the search.
+     * @param after the cursor returned with the previous slice, to switch to cursor pagination.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the result of the search, or with status {@code 403 (Forbidden)} if the raw syntax is not allowed.
      */
     @GetMapping("/_search")
     public ResponseEntity<List<EventDTO>> searchEvents(
         @RequestParam("query") String query,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
     ) {
         log.debug("REST request to search for a page of Events for query {}", query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
         try {
-            Page<EventDTO> page = eventService.search(query, pageable);
+            if (after != null) {
+                KeysetSlice<EventDTO> slice;
+                try {
+                    slice = eventService.search(query, mode, after, pageable.getPageSize());
+                } catch (InvalidCursorException e) {
+                    throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+                }
+                HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    slice,
+                    pageable.getPageSize()
+                );
+                return ResponseEntity.ok().headers(headers).body(slice.getContent());
+            }
+            Page<EventDTO> page = eventService.search(query, mode, pageable);
             HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
             return ResponseEntity.ok().headers(headers).body(page.getContent());
         } catch (RuntimeException e) {
             throw ElasticsearchExceptionMapper.mapException(e);
         }
     }
+
+    /**
+     * {@code SEARCH  /events/_search?query=:query&facets=:facets} : search for the event corresponding
+     * to the query, with facets of all the hits computed by the same search.
+     *
+     * <p>
+     * The facets are counts of the hits by id of a related entity, the 50 most frequent by default, or by month
+     * of a date. Each one is named {@code eventType} or {@code dateStart}; all of them are computed when {@code facets} is empty.
+     *
+     * @param query the query of the event search.
+     * @param pageable the pagination information.
+     * @param facets the names of the facets to compute, all of them if empty.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the page of hits with the facets, or with status {@code 400 (Bad Request)} if a facet is unknown,
+     * or with status {@code 403 (Forbidden)} if the raw syntax is not allowed.
+     */
+    @GetMapping(value = "/_search", params = "facets")
+    public ResponseEntity<FacetedSearchResultVM<EventDTO>> searchEventsWithFacets(
+        @RequestParam("query") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam("facets") List<String> facets,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
+    ) {
+        log.debug("REST request to search for a page of Events with facets {} for query {}", facets, query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
+        try {
+            FacetedPage<EventDTO> page;
+            try {
+                page = eventService.searchWithFacets(query, mode, facets, pageable);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "facetinvalid");
+            }
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page.getPage()
+            );
+            return ResponseEntity.ok().headers(headers).body(new FacetedSearchResultVM<>(page));
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+    }
 }
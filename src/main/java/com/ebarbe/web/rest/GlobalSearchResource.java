@@ -0,0 +1,55 @@
+package com.ebarbe.web.rest;
+
+import com.ebarbe.repository.search.SearchMode;
+import com.ebarbe.service.GlobalSearchService;
+import com.ebarbe.service.dto.GlobalSearchResultDTO;
+import com.ebarbe.web.rest.errors.ElasticsearchExceptionMapper;
+import com.ebarbe.web.rest.util.SearchModeUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller searching all the entities at once.
+ */
+@RestController
+@RequestMapping("/api")
+public class GlobalSearchResource {
+
+    private final Logger log = LoggerFactory.getLogger(GlobalSearchResource.class);
+
+    private final GlobalSearchService globalSearchService;
+
+    public GlobalSearchResource(GlobalSearchService globalSearchService) {
+        this.globalSearchService = globalSearchService;
+    }
+
+    /**
+     * {@code GET  /_search?q=query} : search all the entities in a single request to Elasticsearch.
+     * <p>
+     * Each type of entity gives its top hits only, with the number of its hits, and the hits of all the types are merged by
+     * score. A type whose search takes too long gives the hits it found before its timeout.
+     *
+     * @param query the query of the search.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the result of the search in body, or with status
+     * {@code 403 (Forbidden)} if the raw syntax is not allowed.
+     */
+    @GetMapping("/_search")
+    public ResponseEntity<GlobalSearchResultDTO> searchAll(
+        @RequestParam("q") String query,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
+    ) {
+        log.debug("REST request to search all the entities for query {}", query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
+        try {
+            return ResponseEntity.ok(globalSearchService.search(query, mode));
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+    }
+}
@@ -1,27 +1,51 @@
 package com.ebarbe.web.rest;
 
+import com.ebarbe.config.ApplicationProperties;
+import com.ebarbe.domain.MainTask;
+import com.ebarbe.repository.EntityChangeCounter;
 import com.ebarbe.repository.MainTaskRepository;
+import com.ebarbe.repository.search.FacetedPage;
+import com.ebarbe.repository.search.SearchMode;
+import com.ebarbe.service.InvalidCursorException;
+import com.ebarbe.service.KeysetSlice;
 import com.ebarbe.service.MainTaskQueryService;
 import com.ebarbe.service.MainTaskService;
 import com.ebarbe.service.criteria.MainTaskCriteria;
 import com.ebarbe.service.dto.MainTaskDTO;
+import com.ebarbe.service.dto.MainTaskSearchResultDTO;
 import com.ebarbe.web.rest.errors.BadRequestAlertException;
 import com.ebarbe.web.rest.errors.ElasticsearchExceptionMapper;
+import com.ebarbe.web.rest.util.BulkRequestUtil;
+import com.ebarbe.web.rest.util.ETagUtil;
+import com.ebarbe.web.rest.util.ExportWriter;
+import com.ebarbe.web.rest.util.KeysetPaginationUtil;
+import com.ebarbe.web.rest.util.SearchModeUtil;
+import com.ebarbe.web.rest.util.SlicePaginationUtil;
+import com.ebarbe.web.rest.vm.BulkItemResultVM;
+import com.ebarbe.web.rest.vm.FacetedSearchResultVM;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -38,6 +62,17 @@ public class MainTaskResource {
 
     private static final String ENTITY_NAME = "mainTask";
 
+    private static final List<ExportWriter.Column<MainTaskDTO>> EXPORT_COLUMNS = List.of(
+        ExportWriter.column("id", MainTaskDTO::getId),
+        ExportWriter.column("description", MainTaskDTO::getDescription),
+        ExportWriter.column("deadline", MainTaskDTO::getDeadline),
+        ExportWriter.column("creation", MainTaskDTO::getCreation),
+        ExportWriter.column("cost", MainTaskDTO::getCost),
+        ExportWriter.column("categoryId", mainTask -> mainTask.getCategory() == null ? null : mainTask.getCategory().getId()),
+        ExportWriter.column("personOwnerId", mainTask -> mainTask.getPersonOwner() == null ? null : mainTask.getPersonOwner().getId()),
+        ExportWriter.column("statusId", mainTask -> mainTask.getStatus() == null ? null : mainTask.getStatus().getId())
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -47,14 +82,30 @@ public class MainTaskResource {
 
     private final MainTaskQueryService mainTaskQueryService;
 
+    private final EntityChangeCounter entityChangeCounter;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final int bulkMaxSize;
+
     public MainTaskResource(
         MainTaskService mainTaskService,
         MainTaskRepository mainTaskRepository,
-        MainTaskQueryService mainTaskQueryService
+        MainTaskQueryService mainTaskQueryService,
+        EntityChangeCounter entityChangeCounter,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties
     ) {
         this.mainTaskService = mainTaskService;
         this.mainTaskRepository = mainTaskRepository;
         this.mainTaskQueryService = mainTaskQueryService;
+        this.entityChangeCounter = entityChangeCounter;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.bulkMaxSize = applicationProperties.getBulk().getMaxSize();
     }
 
     /**
@@ -73,6 +124,7 @@ public class MainTaskResource {
         MainTaskDTO result = mainTaskService.save(mainTaskDTO);
         return ResponseEntity
             .created(new URI("/api/main-tasks/" + result.getId()))
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
@@ -81,16 +133,20 @@ public class MainTaskResource {
      * {@code PUT  /main-tasks/:id} : Updates an existing mainTask.
      *
      * @param id the id of the mainTaskDTO to save.
-     * @param mainTaskDTO the mainTaskDTO to update.
+     * @param mainTaskDTO the mainTaskDTO to update, written over the current mainTask if it has no version.
+     * @param ifMatch the {@code If-Match} header, the tags of the mainTask the update was made from.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated mainTaskDTO,
      * or with status {@code 400 (Bad Request)} if the mainTaskDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the mainTaskDTO is not at the current version,
+     * or with status {@code 412 (Precondition Failed)} if the current mainTask does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the mainTaskDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<MainTaskDTO> updateMainTask(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody MainTaskDTO mainTaskDTO
+        @Valid @RequestBody MainTaskDTO mainTaskDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update MainTask : {}, {}", id, mainTaskDTO);
         if (mainTaskDTO.getId() == null) {
@@ -100,13 +156,18 @@ public class MainTaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!mainTaskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long version = mainTaskRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, ETagUtil.fromVersion(version), ENTITY_NAME);
+        if (ifMatch != null || mainTaskDTO.getVersion() == null) {
+            mainTaskDTO.setVersion(version);
         }
 
         MainTaskDTO result = mainTaskService.update(mainTaskDTO);
         return ResponseEntity
             .ok()
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, mainTaskDTO.getId().toString()))
             .body(result);
     }
@@ -115,17 +176,21 @@ public class MainTaskResource {
      * {@code PATCH  /main-tasks/:id} : Partial updates given fields of an existing mainTask, field will ignore if it is null
      *
      * @param id the id of the mainTaskDTO to save.
-     * @param mainTaskDTO the mainTaskDTO to update.
+     * @param mainTaskDTO the mainTaskDTO to update, checked against the current mainTask if it has a version.
+     * @param ifMatch the {@code If-Match} header, the tags of the mainTask the update was made from.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated mainTaskDTO,
      * or with status {@code 400 (Bad Request)} if the mainTaskDTO is not valid,
      * or with status {@code 404 (Not Found)} if the mainTaskDTO is not found,
+     * or with status {@code 409 (Conflict)} if the mainTaskDTO is not at the current version,
+     * or with status {@code 412 (Precondition Failed)} if the current mainTask does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the mainTaskDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<MainTaskDTO> partialUpdateMainTask(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody MainTaskDTO mainTaskDTO
+        @NotNull @RequestBody MainTaskDTO mainTaskDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update MainTask partially : {}, {}", id, mainTaskDTO);
         if (mainTaskDTO.getId() == null) {
@@ -135,35 +200,180 @@ public class MainTaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!mainTaskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long version = mainTaskRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, ETagUtil.fromVersion(version), ENTITY_NAME);
+        if (ifMatch != null || mainTaskDTO.getVersion() == null) {
+            mainTaskDTO.setVersion(version);
         }
 
         Optional<MainTaskDTO> result = mainTaskService.partialUpdate(mainTaskDTO);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, mainTaskDTO.getId().toString())
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, mainTaskDTO.getId().toString());
+        result.ifPresent(updatedMainTask -> headers.setETag(ETagUtil.fromVersion(updatedMainTask.getVersion())));
+        return ResponseUtil.wrapOrNotFound(result, headers);
+    }
+
+    /**
+     * {@code POST  /main-tasks/_bulk} : Create new mainTasks.
+     * <p>
+     * All the mainTasks are validated first, then created in a single transaction: either all of them are created or none is.
+     *
+     * @param mainTaskDTOs the mainTaskDTOs to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the result of each mainTask,
+     * in the order of the request, or with status {@code 400 (Bad Request)} and with body the result of each invalid mainTask.
+     */
+    @PostMapping("/_bulk")
+    public ResponseEntity<List<BulkItemResultVM<MainTaskDTO>>> createMainTasks(@RequestBody List<MainTaskDTO> mainTaskDTOs) {
+        log.debug("REST request to save {} MainTasks", mainTaskDTOs.size());
+        BulkRequestUtil.checkSize(mainTaskDTOs, bulkMaxSize, ENTITY_NAME);
+        List<BulkItemResultVM<MainTaskDTO>> failures = BulkRequestUtil.validateNew(
+            mainTaskDTOs,
+            MainTaskDTO::getId,
+            validator,
+            ENTITY_NAME
+        );
+        if (!failures.isEmpty()) {
+            return ResponseEntity.badRequest().body(failures);
+        }
+        List<MainTaskDTO> result = mainTaskService.saveAll(mainTaskDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(toBulkResults(result, HttpStatus.CREATED));
+    }
+
+    /**
+     * {@code PUT  /main-tasks/_bulk} : Updates existing mainTasks.
+     * <p>
+     * All the mainTasks are validated first, then updated in a single transaction: either all of them are updated or none is.
+     *
+     * @param mainTaskDTOs the mainTaskDTOs to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each mainTask,
+     * in the order of the request, or with status {@code 400 (Bad Request)} and with body the result of each invalid or not found mainTask.
+     */
+    @PutMapping("/_bulk")
+    public ResponseEntity<List<BulkItemResultVM<MainTaskDTO>>> updateMainTasks(@RequestBody List<MainTaskDTO> mainTaskDTOs) {
+        log.debug("REST request to update {} MainTasks", mainTaskDTOs.size());
+        BulkRequestUtil.checkSize(mainTaskDTOs, bulkMaxSize, ENTITY_NAME);
+        List<BulkItemResultVM<MainTaskDTO>> failures = BulkRequestUtil.validateExisting(
+            mainTaskDTOs,
+            MainTaskDTO::getId,
+            mainTaskRepository::findExistingIds,
+            validator,
+            ENTITY_NAME
+        );
+        if (!failures.isEmpty()) {
+            return ResponseEntity.badRequest().body(failures);
+        }
+        List<MainTaskDTO> result = mainTaskService.updateAll(mainTaskDTOs);
+        return ResponseEntity.ok().body(toBulkResults(result, HttpStatus.OK));
+    }
+
+    /**
+     * {@code PATCH  /main-tasks/_bulk} : Partial updates given fields of existing mainTasks, field will ignore if it is null
+     * <p>
+     * All the ids are checked first, then the mainTasks are updated in a single transaction: either all of them are updated or none is.
+     *
+     * @param mainTaskDTOs the mainTaskDTOs to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each mainTask,
+     * in the order of the request, or with status {@code 400 (Bad Request)} and with body the result of each invalid or not found mainTask.
+     */
+    @PatchMapping(value = "/_bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultVM<MainTaskDTO>>> partialUpdateMainTasks(@RequestBody List<MainTaskDTO> mainTaskDTOs) {
+        log.debug("REST request to partial update {} MainTasks", mainTaskDTOs.size());
+        BulkRequestUtil.checkSize(mainTaskDTOs, bulkMaxSize, ENTITY_NAME);
+        List<BulkItemResultVM<MainTaskDTO>> failures = BulkRequestUtil.validateExisting(
+            mainTaskDTOs,
+            MainTaskDTO::getId,
+            mainTaskRepository::findExistingIds,
+            ENTITY_NAME
         );
+        if (!failures.isEmpty()) {
+            return ResponseEntity.badRequest().body(failures);
+        }
+        List<MainTaskDTO> result = mainTaskService.partialUpdateAll(mainTaskDTOs);
+        return ResponseEntity.ok().body(toBulkResults(result, HttpStatus.OK));
     }
 
     /**
      * {@code GET  /main-tasks} : get all the mainTasks.
      *
+     * <p>
+     * When {@code after} is given, the list is keyset paginated instead: the slice starting after this cursor
+     * is returned (an empty cursor gives the first one), the cursor of the next slice is sent in the {@code Link} header,
+     * and no total count is computed.
+     *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of mainTasks in body.
+     * @param after the cursor returned with the previous slice, to switch to keyset pagination.
+     * @param prefer the {@code Prefer} header, {@code count=none} to skip the total count and the {@code X-Total-Count} header.
+     * @param ifNoneMatch the {@code If-None-Match} header, the tag of the list the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of mainTasks in body,
+     * or with status {@code 304 (Not Modified)} if none of the entities listed was written since the client read the list.
      */
     @GetMapping("")
     public ResponseEntity<List<MainTaskDTO>> getAllMainTasks(
         MainTaskCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestHeader(value = SlicePaginationUtil.PREFER, required = false) String prefer,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         log.debug("REST request to get MainTasks by criteria: {}", criteria);
+        // taken before the list is read, so that a write committed in between changes the next tag
+        String eTag = ETagUtil.fromStamp(entityChangeCounter.stamp(MainTask.class));
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+
+        if (after != null) {
+            KeysetSlice<MainTaskDTO> slice;
+            try {
+                slice = mainTaskQueryService.findByCriteria(criteria, after, pageable);
+            } catch (InvalidCursorException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                pageable.getPageSize()
+            );
+            return ResponseEntity.ok().headers(headers).eTag(eTag).body(slice.getContent());
+        }
+
+        if (SlicePaginationUtil.isCountSkipped(prefer)) {
+            Slice<MainTaskDTO> slice = mainTaskQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).eTag(eTag).body(slice.getContent());
+        }
 
         Page<MainTaskDTO> page = mainTaskQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /main-tasks/_export} : stream all the mainTasks matching the criteria, ordered by id.
+     * <p>
+     * The rows are written to the response as they are read from the database, so there is no paging and no size limit.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export, {@code ndjson} (default) or {@code csv}.
+     * @param response the response the rows are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping("/_export")
+    public void exportMainTasks(
+        MainTaskCriteria criteria,
+        @RequestParam(value = "format", defaultValue = ExportWriter.NDJSON) String format,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export MainTasks by criteria: {}, format: {}", criteria, format);
+        if (!ExportWriter.isSupported(format)) {
+            throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid");
+        }
+        try (ExportWriter<MainTaskDTO> writer = ExportWriter.open(format, "main-tasks", EXPORT_COLUMNS, objectMapper, response)) {
+            mainTaskQueryService.export(criteria, writer);
+        }
     }
 
     /**
@@ -182,13 +392,27 @@ public class MainTaskResource {
      * {@code GET  /main-tasks/:id} : get the "id" mainTask.
      *
      * @param id the id of the mainTaskDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the mainTaskDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the {@code If-None-Match} header, the tags of the mainTask the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the mainTaskDTO,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<MainTaskDTO> getMainTask(@PathVariable("id") Long id) {
+    public ResponseEntity<MainTaskDTO> getMainTask(
+        @PathVariable("id") Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get MainTask : {}", id);
+        if (ifNoneMatch != null) {
+            // only the version is read to find out, the mainTask is neither loaded nor mapped
+            Optional<String> current = mainTaskRepository.findVersionById(id).map(ETagUtil::fromVersion);
+            if (current.isPresent() && ETagUtil.isNotModified(ifNoneMatch, current.get())) {
+                return ETagUtil.notModified(current.get());
+            }
+        }
         Optional<MainTaskDTO> mainTaskDTO = mainTaskService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(mainTaskDTO);
+        return mainTaskDTO
+            .map(foundMainTask -> ResponseEntity.ok().eTag(ETagUtil.fromVersion(foundMainTask.getVersion())).body(foundMainTask))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -211,22 +435,96 @@ public class MainTaskResource {
      * {@code SEARCH  /main-tasks/_search?query=:query} : search for the mainTask corresponding
      * to the query.
      *
+     * <p>
+     * Each mainTask found comes with the labels of its category, status and owner, and a summary of its subTasks.
+     * <p>
+     * The query is a {@code simple_query_string} on the text fields, unless {@code raw} is set.
+     * <p>
+     * When {@code after} is given, the search is paginated with a cursor instead, at the same cost however deep:
+     * the slice starting after this cursor is returned (an empty cursor gives the first one), sorted by score,
+     * the cursor of the next slice is sent in the {@code Link} header, and no total count is computed.
+     *
      * @param query the query of the mainTask search.
      * @param pageable the pagination information.
-     * @return the result of the search.
+     * @param after the cursor returned with the previous slice, to switch to cursor pagination.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the result of the search, or with status {@code 403 (Forbidden)} if the raw syntax is not allowed.
      */
     @GetMapping("/_search")
-    public ResponseEntity<List<MainTaskDTO>> searchMainTasks(
+    public ResponseEntity<List<MainTaskSearchResultDTO>> searchMainTasks(
         @RequestParam("query") String query,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
     ) {
         log.debug("REST request to search for a page of MainTasks for query {}", query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
         try {
-            Page<MainTaskDTO> page = mainTaskService.search(query, pageable);
+            if (after != null) {
+                KeysetSlice<MainTaskSearchResultDTO> slice;
+                try {
+                    slice = mainTaskService.search(query, mode, after, pageable.getPageSize());
+                } catch (InvalidCursorException e) {
+                    throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+                }
+                HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    slice,
+                    pageable.getPageSize()
+                );
+                return ResponseEntity.ok().headers(headers).body(slice.getContent());
+            }
+            Page<MainTaskSearchResultDTO> page = mainTaskService.search(query, mode, pageable);
             HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
             return ResponseEntity.ok().headers(headers).body(page.getContent());
         } catch (RuntimeException e) {
             throw ElasticsearchExceptionMapper.mapException(e);
         }
     }
+
+    /**
+     * {@code SEARCH  /main-tasks/_search?query=:query&facets=:facets} : search for the mainTask corresponding
+     * to the query, with facets of all the hits computed by the same search.
+     *
+     * <p>
+     * The facets are counts of the hits by id of a related entity, the 50 most frequent by default, or by month
+     * of a date. Each one is named {@code status}, {@code category}, {@code personOwner},
+     * {@code deadline} or {@code creation}; all of them are computed when {@code facets} is empty.
+     *
+     * @param query the query of the mainTask search.
+     * @param pageable the pagination information.
+     * @param facets the names of the facets to compute, all of them if empty.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the page of hits with the facets, or with status {@code 400 (Bad Request)} if a facet is unknown,
+     * or with status {@code 403 (Forbidden)} if the raw syntax is not allowed.
+     */
+    @GetMapping(value = "/_search", params = "facets")
+    public ResponseEntity<FacetedSearchResultVM<MainTaskSearchResultDTO>> searchMainTasksWithFacets(
+        @RequestParam("query") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam("facets") List<String> facets,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
+    ) {
+        log.debug("REST request to search for a page of MainTasks with facets {} for query {}", facets, query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
+        try {
+            FacetedPage<MainTaskSearchResultDTO> page;
+            try {
+                page = mainTaskService.searchWithFacets(query, mode, facets, pageable);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "facetinvalid");
+            }
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page.getPage()
+            );
+            return ResponseEntity.ok().headers(headers).body(new FacetedSearchResultVM<>(page));
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+    }
+
+    private static List<BulkItemResultVM<MainTaskDTO>> toBulkResults(List<MainTaskDTO> mainTaskDTOs, HttpStatus status) {
+        return IntStream.range(0, mainTaskDTOs.size()).mapToObj(i -> BulkItemResultVM.success(i, status, mainTaskDTOs.get(i))).toList();
+    }
 }
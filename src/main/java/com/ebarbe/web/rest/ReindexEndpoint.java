@@ -0,0 +1,68 @@
+package com.ebarbe.web.rest;
+
+import com.ebarbe.service.ReindexJob;
+import com.ebarbe.service.SearchReindexService;
+import java.util.Collection;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Actuator endpoint rebuilding the search indices from the database, under {@code /management/reindex}.
+ * <ul>
+ *     <li>{@code GET /management/reindex}: the last job of each index.</li>
+ *     <li>{@code GET /management/reindex/{index}}: the last job of an index.</li>
+ *     <li>{@code POST /management/reindex}: rebuild all the indices.</li>
+ *     <li>{@code POST /management/reindex/{index}}: rebuild an index, e.g. {@code maintask}.</li>
+ * </ul>
+ * The rebuilds run in the background, their progress and throughput are reported by the {@code GET} operations.
+ */
+@Component
+@Endpoint(id = "reindex")
+public class ReindexEndpoint {
+
+    private final Logger log = LoggerFactory.getLogger(ReindexEndpoint.class);
+
+    private final SearchReindexService searchReindexService;
+
+    public ReindexEndpoint(SearchReindexService searchReindexService) {
+        this.searchReindexService = searchReindexService;
+    }
+
+    @ReadOperation
+    public Collection<ReindexJob> getJobs() {
+        return searchReindexService.getJobs();
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<ReindexJob> getJob(@Selector String index) {
+        return searchReindexService
+            .getJob(index)
+            .map(WebEndpointResponse::new)
+            .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @WriteOperation
+    public List<ReindexJob> reindexAll() {
+        log.debug("Request to rebuild all the search indices");
+        return searchReindexService.reindexAll();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> reindex(@Selector String index) {
+        log.debug("Request to rebuild the search index : {}", index);
+        try {
+            return new WebEndpointResponse<>(searchReindexService.reindex(index), 202);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(e.getMessage(), WebEndpointResponse.STATUS_NOT_FOUND);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(e.getMessage(), 409);
+        }
+    }
+}
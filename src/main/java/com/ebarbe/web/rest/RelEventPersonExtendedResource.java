@@ -1,22 +1,39 @@
 package com.ebarbe.web.rest;
 
+import com.ebarbe.config.ApplicationProperties;
+import com.ebarbe.domain.RelEventPersonId;
+import com.ebarbe.repository.EventRepository;
+import com.ebarbe.repository.HierarchyRepository;
+import com.ebarbe.repository.PersonRepository;
 import com.ebarbe.repository.RelEventPersonRepository;
+import com.ebarbe.repository.search.SearchMode;
+import com.ebarbe.service.InvalidCursorException;
+import com.ebarbe.service.KeysetSlice;
 import com.ebarbe.service.RelEventPersonExtendedService;
 import com.ebarbe.service.RelEventPersonQueryService;
 import com.ebarbe.service.RelEventPersonService;
 import com.ebarbe.service.criteria.RelEventPersonCriteria;
+import com.ebarbe.service.dto.EventParticipantDTO;
 import com.ebarbe.service.dto.RelEventPersonDTO;
 import com.ebarbe.web.rest.errors.BadRequestAlertException;
 import com.ebarbe.web.rest.errors.ElasticsearchExceptionMapper;
+import com.ebarbe.web.rest.util.BulkRequestUtil;
+import com.ebarbe.web.rest.util.KeysetPaginationUtil;
+import com.ebarbe.web.rest.util.SearchModeUtil;
+import com.ebarbe.web.rest.vm.BulkItemResultVM;
+import jakarta.validation.Validator;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -41,18 +58,94 @@ public class RelEventPersonExtendedResource extends RelEventPersonResource {
     private final RelEventPersonExtendedService relEventPersonExtendedService;
     private final RelEventPersonRepository relEventPersonRepository;
     private final RelEventPersonQueryService relEventPersonQueryService;
+    private final EventRepository eventRepository;
+    private final PersonRepository personRepository;
+    private final HierarchyRepository hierarchyRepository;
+    private final Validator validator;
+    private final int bulkMaxSize;
 
     public RelEventPersonExtendedResource(
         RelEventPersonService relEventPersonService,
         RelEventPersonExtendedService relEventPersonExtendedService,
         RelEventPersonRepository relEventPersonRepository,
-        RelEventPersonQueryService relEventPersonQueryService
+        RelEventPersonQueryService relEventPersonQueryService,
+        EventRepository eventRepository,
+        PersonRepository personRepository,
+        HierarchyRepository hierarchyRepository,
+        Validator validator,
+        ApplicationProperties applicationProperties
     ) {
         super(relEventPersonService, relEventPersonRepository, relEventPersonQueryService);
         this.relEventPersonService = relEventPersonService;
         this.relEventPersonExtendedService = relEventPersonExtendedService;
         this.relEventPersonRepository = relEventPersonRepository;
         this.relEventPersonQueryService = relEventPersonQueryService;
+        this.eventRepository = eventRepository;
+        this.personRepository = personRepository;
+        this.hierarchyRepository = hierarchyRepository;
+        this.validator = validator;
+        this.bulkMaxSize = applicationProperties.getBulk().getMaxSize();
+    }
+
+    /*************************************************************************** */
+    /*     U P S E R T    A    L I S T    B Y    E V E N T     */
+    /*************************************************************************** */
+
+    /**
+     * {@code POST  /rel-event-people/management/{eventId}/_bulk} : Links people to an event, or updates the hierarchy
+     * and the participation of the ones already linked to it.
+     * <p>
+     * All the participants are validated first, then written with a single statement: either all of them are written or none is.
+     *
+     * @param eventId the id of the event.
+     * @param participants the participants, with distinct people.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each participant, in the order
+     * of the request, {@code 201 (Created)} for a person newly linked to the event and {@code 200 (OK)} for one updated,
+     * or with status {@code 400 (Bad Request)} and with body the result of each invalid or not found participant, or else of each
+     * participant whose hierarchy is not found.
+     */
+    @PostMapping("/{eventId}/_bulk")
+    public ResponseEntity<List<BulkItemResultVM<EventParticipantDTO>>> upsertParticipants(
+        @PathVariable("eventId") Long eventId,
+        @RequestBody List<EventParticipantDTO> participants
+    ) {
+        log.debug("REST request to upsert {} RelEventPeople concerned by event : {}", participants.size(), eventId);
+        BulkRequestUtil.checkSize(participants, bulkMaxSize, ENTITY_NAME);
+        if (!eventRepository.existsById(eventId)) {
+            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        }
+        List<BulkItemResultVM<EventParticipantDTO>> failures = BulkRequestUtil.validateReferences(
+            participants,
+            "personId",
+            EventParticipantDTO::getPersonId,
+            personRepository::findExistingIds,
+            validator,
+            ENTITY_NAME
+        );
+        if (failures.isEmpty()) {
+            // the hierarchy is not a foreign key of rel_event__person anymore, so it is checked here
+            failures =
+                BulkRequestUtil.validateOptionalReferences(
+                    participants,
+                    "hierarchyId",
+                    EventParticipantDTO::getHierarchyId,
+                    hierarchyRepository::findExistingIds,
+                    ENTITY_NAME
+                );
+        }
+        if (!failures.isEmpty()) {
+            return ResponseEntity.badRequest().body(failures);
+        }
+        Set<Long> insertedPersonIds = relEventPersonExtendedService.upsertParticipants(eventId, participants);
+        List<BulkItemResultVM<EventParticipantDTO>> result = IntStream
+            .range(0, participants.size())
+            .mapToObj(i -> {
+                EventParticipantDTO participant = participants.get(i);
+                HttpStatus status = insertedPersonIds.contains(participant.getPersonId()) ? HttpStatus.CREATED : HttpStatus.OK;
+                return BulkItemResultVM.success(i, status, participant);
+            })
+            .toList();
+        return ResponseEntity.ok().body(result);
     }
 
     /*************************************************************************** */
@@ -96,7 +189,7 @@ public class RelEventPersonExtendedResource extends RelEventPersonResource {
                 "ids invalid"
             );
         }
-        boolean isRepToChangeExist = relEventPersonExtendedService.findREPCompleteByEventIdAndPersonId(eventId, personId).isPresent();
+        boolean isRepToChangeExist = relEventPersonExtendedService.findIdsOnlyByEventIdAndPersonId(eventId, personId).isPresent();
         if (!isRepToChangeExist) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "couple eventId and personId not found");
         }
@@ -165,18 +258,19 @@ public class RelEventPersonExtendedResource extends RelEventPersonResource {
     /*************************************************************************** */
 
     /**
-     * {@code DELETE  /rel-event-people/:id} : delete the "id" relEventPerson.
+     * {@code DELETE  /rel-event-people/management/{eventId}/{personId}} : delete the relEventPerson of the event and the person.
      *
-     * @param id the id of the relEventPersonDTO to delete.
+     * @param eventId the id of the event of the relEventPerson to delete.
+     * @param personId the id of the person of the relEventPerson to delete.
      * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
      */
-    @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteRelEventPerson(@PathVariable("id") Long id) {
-        log.debug("REST request to delete RelEventPerson : {}", id);
-        relEventPersonService.delete(id);
+    @DeleteMapping("/{eventId}/{personId}")
+    public ResponseEntity<Void> deleteRelEventPerson(@PathVariable("eventId") Long eventId, @PathVariable("personId") Long personId) {
+        log.debug("REST request to delete RelEventPerson concerned by event : {} and person : {}", eventId, personId);
+        relEventPersonService.delete(new RelEventPersonId(eventId, personId));
         return ResponseEntity
             .noContent()
-            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, eventId + "/" + personId))
             .build();
     }
 
@@ -188,18 +282,44 @@ public class RelEventPersonExtendedResource extends RelEventPersonResource {
      * {@code SEARCH  /rel-event-people/_search?query=:query} : search for the relEventPerson corresponding
      * to the query.
      *
+     * <p>
+     * The query is a {@code simple_query_string} on the text fields, unless {@code raw} is set.
+     * <p>
+     * When {@code after} is given, the search is paginated with a cursor instead, at the same cost however deep:
+     * the slice starting after this cursor is returned (an empty cursor gives the first one), sorted by score,
+     * the cursor of the next slice is sent in the {@code Link} header, and no total count is computed.
+     *
      * @param query the query of the relEventPerson search.
      * @param pageable the pagination information.
-     * @return the result of the search.
+     * @param after the cursor returned with the previous slice, to switch to cursor pagination.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the result of the search, or with status {@code 403 (Forbidden)} if the raw syntax is not allowed.
      */
     @GetMapping("/_search")
     public ResponseEntity<List<RelEventPersonDTO>> searchRelEventPeople(
         @RequestParam("query") String query,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
     ) {
         log.debug("REST request to search for a page of RelEventPeople for query {}", query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
         try {
-            Page<RelEventPersonDTO> page = relEventPersonService.search(query, pageable);
+            if (after != null) {
+                KeysetSlice<RelEventPersonDTO> slice;
+                try {
+                    slice = relEventPersonService.search(query, mode, after, pageable.getPageSize());
+                } catch (InvalidCursorException e) {
+                    throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+                }
+                HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    slice,
+                    pageable.getPageSize()
+                );
+                return ResponseEntity.ok().headers(headers).body(slice.getContent());
+            }
+            Page<RelEventPersonDTO> page = relEventPersonService.search(query, mode, pageable);
             HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
             return ResponseEntity.ok().headers(headers).body(page.getContent());
         } catch (RuntimeException e) {
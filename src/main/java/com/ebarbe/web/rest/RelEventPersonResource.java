@@ -1,12 +1,18 @@
 package com.ebarbe.web.rest;
 
+import com.ebarbe.domain.RelEventPersonId;
 import com.ebarbe.repository.RelEventPersonRepository;
+import com.ebarbe.repository.search.SearchMode;
+import com.ebarbe.service.InvalidCursorException;
+import com.ebarbe.service.KeysetSlice;
 import com.ebarbe.service.RelEventPersonQueryService;
 import com.ebarbe.service.RelEventPersonService;
 import com.ebarbe.service.criteria.RelEventPersonCriteria;
 import com.ebarbe.service.dto.RelEventPersonDTO;
 import com.ebarbe.web.rest.errors.BadRequestAlertException;
 import com.ebarbe.web.rest.errors.ElasticsearchExceptionMapper;
+import com.ebarbe.web.rest.util.KeysetPaginationUtil;
+import com.ebarbe.web.rest.util.SearchModeUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -59,20 +65,28 @@ public class RelEventPersonResource {
      * {@code POST  /rel-event-people} : Create a new relEventPerson.
      *
      * @param relEventPersonDTO the relEventPersonDTO to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new relEventPersonDTO, or with status {@code 400 (Bad Request)} if the relEventPerson has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new relEventPersonDTO, or with status {@code 400 (Bad Request)} if the relEventPerson has no event or no person, or if this person is already linked to this event.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
     public ResponseEntity<RelEventPersonDTO> createRelEventPerson(@RequestBody RelEventPersonDTO relEventPersonDTO)
         throws URISyntaxException {
         log.debug("REST request to save RelEventPerson : {}", relEventPersonDTO);
-        if (relEventPersonDTO.getId() != null) {
-            throw new BadRequestAlertException("A new relEventPerson cannot already have an ID", ENTITY_NAME, "idexists");
+        RelEventPersonId id = new RelEventPersonId(
+            relEventPersonDTO.getEvent() != null ? relEventPersonDTO.getEvent().getId() : null,
+            relEventPersonDTO.getPerson() != null ? relEventPersonDTO.getPerson().getId() : null
+        );
+        if (!id.isComplete()) {
+            throw new BadRequestAlertException("A new relEventPerson must have an event and a person", ENTITY_NAME, "idnull");
+        }
+        if (relEventPersonRepository.existsById(id)) {
+            throw new BadRequestAlertException("This person is already linked to this event", ENTITY_NAME, "idexists");
         }
         RelEventPersonDTO result = relEventPersonService.save(relEventPersonDTO);
+        String resultId = id.getEventId() + "/" + id.getPersonId();
         return ResponseEntity
-            .created(new URI("/api/rel-event-people/" + result.getId()))
-            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .created(new URI("/api/rel-event-people/management/" + resultId))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, resultId))
             .body(result);
     }
 
@@ -111,18 +125,44 @@ public class RelEventPersonResource {
      * {@code SEARCH  /rel-event-people/_search?query=:query} : search for the relEventPerson corresponding
      * to the query.
      *
+     * <p>
+     * The query is a {@code simple_query_string} on the text fields, unless {@code raw} is set.
+     * <p>
+     * When {@code after} is given, the search is paginated with a cursor instead, at the same cost however deep:
+     * the slice starting after this cursor is returned (an empty cursor gives the first one), sorted by score,
+     * the cursor of the next slice is sent in the {@code Link} header, and no total count is computed.
+     *
      * @param query the query of the relEventPerson search.
      * @param pageable the pagination information.
-     * @return the result of the search.
+     * @param after the cursor returned with the previous slice, to switch to cursor pagination.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the result of the search, or with status {@code 403 (Forbidden)} if the raw syntax is not allowed.
      */
     @GetMapping("/_search")
     public ResponseEntity<List<RelEventPersonDTO>> searchRelEventPeople(
         @RequestParam("query") String query,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
     ) {
         log.debug("REST request to search for a page of RelEventPeople for query {}", query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
         try {
-            Page<RelEventPersonDTO> page = relEventPersonService.search(query, pageable);
+            if (after != null) {
+                KeysetSlice<RelEventPersonDTO> slice;
+                try {
+                    slice = relEventPersonService.search(query, mode, after, pageable.getPageSize());
+                } catch (InvalidCursorException e) {
+                    throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+                }
+                HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    slice,
+                    pageable.getPageSize()
+                );
+                return ResponseEntity.ok().headers(headers).body(slice.getContent());
+            }
+            Page<RelEventPersonDTO> page = relEventPersonService.search(query, mode, pageable);
             HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
             return ResponseEntity.ok().headers(headers).body(page.getContent());
         } catch (RuntimeException e) {
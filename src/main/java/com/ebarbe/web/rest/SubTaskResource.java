@@ -1,27 +1,50 @@
 package com.ebarbe.web.rest;
 
+import com.ebarbe.config.ApplicationProperties;
+import com.ebarbe.domain.SubTask;
+import com.ebarbe.repository.EntityChangeCounter;
 import com.ebarbe.repository.SubTaskRepository;
+import com.ebarbe.repository.search.FacetedPage;
+import com.ebarbe.repository.search.SearchMode;
+import com.ebarbe.service.InvalidCursorException;
+import com.ebarbe.service.KeysetSlice;
 import com.ebarbe.service.SubTaskQueryService;
 import com.ebarbe.service.SubTaskService;
 import com.ebarbe.service.criteria.SubTaskCriteria;
 import com.ebarbe.service.dto.SubTaskDTO;
 import com.ebarbe.web.rest.errors.BadRequestAlertException;
 import com.ebarbe.web.rest.errors.ElasticsearchExceptionMapper;
+import com.ebarbe.web.rest.util.BulkRequestUtil;
+import com.ebarbe.web.rest.util.ETagUtil;
+import com.ebarbe.web.rest.util.ExportWriter;
+import com.ebarbe.web.rest.util.KeysetPaginationUtil;
+import com.ebarbe.web.rest.util.SearchModeUtil;
+import com.ebarbe.web.rest.util.SlicePaginationUtil;
+import com.ebarbe.web.rest.vm.BulkItemResultVM;
+import com.ebarbe.web.rest.vm.FacetedSearchResultVM;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import jakarta.validation.constraints.NotNull;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.IntStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -38,6 +61,17 @@ public class SubTaskResource {
 
     private static final String ENTITY_NAME = "subTask";
 
+    private static final List<ExportWriter.Column<SubTaskDTO>> EXPORT_COLUMNS = List.of(
+        ExportWriter.column("id", SubTaskDTO::getId),
+        ExportWriter.column("description", SubTaskDTO::getDescription),
+        ExportWriter.column("deadline", SubTaskDTO::getDeadline),
+        ExportWriter.column("creation", SubTaskDTO::getCreation),
+        ExportWriter.column("cost", SubTaskDTO::getCost),
+        ExportWriter.column("mainTaskId", subTask -> subTask.getMainTask() == null ? null : subTask.getMainTask().getId()),
+        ExportWriter.column("personDoerId", subTask -> subTask.getPersonDoer() == null ? null : subTask.getPersonDoer().getId()),
+        ExportWriter.column("statusId", subTask -> subTask.getStatus() == null ? null : subTask.getStatus().getId())
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -47,10 +81,30 @@ public class SubTaskResource {
 
     private final SubTaskQueryService subTaskQueryService;
 
-    public SubTaskResource(SubTaskService subTaskService, SubTaskRepository subTaskRepository, SubTaskQueryService subTaskQueryService) {
+    private final EntityChangeCounter entityChangeCounter;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final int bulkMaxSize;
+
+    public SubTaskResource(
+        SubTaskService subTaskService,
+        SubTaskRepository subTaskRepository,
+        SubTaskQueryService subTaskQueryService,
+        EntityChangeCounter entityChangeCounter,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationProperties applicationProperties
+    ) {
         this.subTaskService = subTaskService;
         this.subTaskRepository = subTaskRepository;
         this.subTaskQueryService = subTaskQueryService;
+        this.entityChangeCounter = entityChangeCounter;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.bulkMaxSize = applicationProperties.getBulk().getMaxSize();
     }
 
     /**
@@ -69,6 +123,7 @@ public class SubTaskResource {
         SubTaskDTO result = subTaskService.save(subTaskDTO);
         return ResponseEntity
             .created(new URI("/api/sub-tasks/" + result.getId()))
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
             .body(result);
     }
@@ -77,16 +132,20 @@ public class SubTaskResource {
      * {@code PUT  /sub-tasks/:id} : Updates an existing subTask.
      *
      * @param id the id of the subTaskDTO to save.
-     * @param subTaskDTO the subTaskDTO to update.
+     * @param subTaskDTO the subTaskDTO to update, written over the current subTask if it has no version.
+     * @param ifMatch the {@code If-Match} header, the tags of the subTask the update was made from.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated subTaskDTO,
      * or with status {@code 400 (Bad Request)} if the subTaskDTO is not valid,
+     * or with status {@code 409 (Conflict)} if the subTaskDTO is not at the current version,
+     * or with status {@code 412 (Precondition Failed)} if the current subTask does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the subTaskDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<SubTaskDTO> updateSubTask(
         @PathVariable(value = "id", required = false) final Long id,
-        @Valid @RequestBody SubTaskDTO subTaskDTO
+        @Valid @RequestBody SubTaskDTO subTaskDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to update SubTask : {}, {}", id, subTaskDTO);
         if (subTaskDTO.getId() == null) {
@@ -96,13 +155,18 @@ public class SubTaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!subTaskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long version = subTaskRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, ETagUtil.fromVersion(version), ENTITY_NAME);
+        if (ifMatch != null || subTaskDTO.getVersion() == null) {
+            subTaskDTO.setVersion(version);
         }
 
         SubTaskDTO result = subTaskService.update(subTaskDTO);
         return ResponseEntity
             .ok()
+            .eTag(ETagUtil.fromVersion(result.getVersion()))
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, subTaskDTO.getId().toString()))
             .body(result);
     }
@@ -111,17 +175,21 @@ public class SubTaskResource {
      * {@code PATCH  /sub-tasks/:id} : Partial updates given fields of an existing subTask, field will ignore if it is null
      *
      * @param id the id of the subTaskDTO to save.
-     * @param subTaskDTO the subTaskDTO to update.
+     * @param subTaskDTO the subTaskDTO to update, checked against the current subTask if it has a version.
+     * @param ifMatch the {@code If-Match} header, the tags of the subTask the update was made from.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated subTaskDTO,
      * or with status {@code 400 (Bad Request)} if the subTaskDTO is not valid,
      * or with status {@code 404 (Not Found)} if the subTaskDTO is not found,
+     * or with status {@code 409 (Conflict)} if the subTaskDTO is not at the current version,
+     * or with status {@code 412 (Precondition Failed)} if the current subTask does not match the {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the subTaskDTO couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PatchMapping(value = "/{id}", consumes = { "application/json", "application/merge-patch+json" })
     public ResponseEntity<SubTaskDTO> partialUpdateSubTask(
         @PathVariable(value = "id", required = false) final Long id,
-        @NotNull @RequestBody SubTaskDTO subTaskDTO
+        @NotNull @RequestBody SubTaskDTO subTaskDTO,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) throws URISyntaxException {
         log.debug("REST request to partial update SubTask partially : {}, {}", id, subTaskDTO);
         if (subTaskDTO.getId() == null) {
@@ -131,35 +199,175 @@ public class SubTaskResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!subTaskRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long version = subTaskRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        ETagUtil.checkIfMatch(ifMatch, ETagUtil.fromVersion(version), ENTITY_NAME);
+        if (ifMatch != null || subTaskDTO.getVersion() == null) {
+            subTaskDTO.setVersion(version);
         }
 
         Optional<SubTaskDTO> result = subTaskService.partialUpdate(subTaskDTO);
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, subTaskDTO.getId().toString())
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, subTaskDTO.getId().toString());
+        result.ifPresent(updatedSubTask -> headers.setETag(ETagUtil.fromVersion(updatedSubTask.getVersion())));
+        return ResponseUtil.wrapOrNotFound(result, headers);
+    }
+
+    /**
+     * {@code POST  /sub-tasks/_bulk} : Create new subTasks.
+     * <p>
+     * All the subTasks are validated first, then created in a single transaction: either all of them are created or none is.
+     *
+     * @param subTaskDTOs the subTaskDTOs to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the result of each subTask,
+     * in the order of the request, or with status {@code 400 (Bad Request)} and with body the result of each invalid subTask.
+     */
+    @PostMapping("/_bulk")
+    public ResponseEntity<List<BulkItemResultVM<SubTaskDTO>>> createSubTasks(@RequestBody List<SubTaskDTO> subTaskDTOs) {
+        log.debug("REST request to save {} SubTasks", subTaskDTOs.size());
+        BulkRequestUtil.checkSize(subTaskDTOs, bulkMaxSize, ENTITY_NAME);
+        List<BulkItemResultVM<SubTaskDTO>> failures = BulkRequestUtil.validateNew(subTaskDTOs, SubTaskDTO::getId, validator, ENTITY_NAME);
+        if (!failures.isEmpty()) {
+            return ResponseEntity.badRequest().body(failures);
+        }
+        List<SubTaskDTO> result = subTaskService.saveAll(subTaskDTOs);
+        return ResponseEntity.status(HttpStatus.CREATED).body(toBulkResults(result, HttpStatus.CREATED));
+    }
+
+    /**
+     * {@code PUT  /sub-tasks/_bulk} : Updates existing subTasks.
+     * <p>
+     * All the subTasks are validated first, then updated in a single transaction: either all of them are updated or none is.
+     *
+     * @param subTaskDTOs the subTaskDTOs to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each subTask,
+     * in the order of the request, or with status {@code 400 (Bad Request)} and with body the result of each invalid or not found subTask.
+     */
+    @PutMapping("/_bulk")
+    public ResponseEntity<List<BulkItemResultVM<SubTaskDTO>>> updateSubTasks(@RequestBody List<SubTaskDTO> subTaskDTOs) {
+        log.debug("REST request to update {} SubTasks", subTaskDTOs.size());
+        BulkRequestUtil.checkSize(subTaskDTOs, bulkMaxSize, ENTITY_NAME);
+        List<BulkItemResultVM<SubTaskDTO>> failures = BulkRequestUtil.validateExisting(
+            subTaskDTOs,
+            SubTaskDTO::getId,
+            subTaskRepository::findExistingIds,
+            validator,
+            ENTITY_NAME
+        );
+        if (!failures.isEmpty()) {
+            return ResponseEntity.badRequest().body(failures);
+        }
+        List<SubTaskDTO> result = subTaskService.updateAll(subTaskDTOs);
+        return ResponseEntity.ok().body(toBulkResults(result, HttpStatus.OK));
+    }
+
+    /**
+     * {@code PATCH  /sub-tasks/_bulk} : Partial updates given fields of existing subTasks, field will ignore if it is null
+     * <p>
+     * All the ids are checked first, then the subTasks are updated in a single transaction: either all of them are updated or none is.
+     *
+     * @param subTaskDTOs the subTaskDTOs to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each subTask,
+     * in the order of the request, or with status {@code 400 (Bad Request)} and with body the result of each invalid or not found subTask.
+     */
+    @PatchMapping(value = "/_bulk", consumes = { "application/json", "application/merge-patch+json" })
+    public ResponseEntity<List<BulkItemResultVM<SubTaskDTO>>> partialUpdateSubTasks(@RequestBody List<SubTaskDTO> subTaskDTOs) {
+        log.debug("REST request to partial update {} SubTasks", subTaskDTOs.size());
+        BulkRequestUtil.checkSize(subTaskDTOs, bulkMaxSize, ENTITY_NAME);
+        List<BulkItemResultVM<SubTaskDTO>> failures = BulkRequestUtil.validateExisting(
+            subTaskDTOs,
+            SubTaskDTO::getId,
+            subTaskRepository::findExistingIds,
+            ENTITY_NAME
         );
+        if (!failures.isEmpty()) {
+            return ResponseEntity.badRequest().body(failures);
+        }
+        List<SubTaskDTO> result = subTaskService.partialUpdateAll(subTaskDTOs);
+        return ResponseEntity.ok().body(toBulkResults(result, HttpStatus.OK));
     }
 
     /**
      * {@code GET  /sub-tasks} : get all the subTasks.
      *
+     * <p>
+     * When {@code after} is given, the list is keyset paginated instead: the slice starting after this cursor
+     * is returned (an empty cursor gives the first one), the cursor of the next slice is sent in the {@code Link} header,
+     * and no total count is computed.
+     *
      * @param pageable the pagination information.
      * @param criteria the criteria which the requested entities should match.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of subTasks in body.
+     * @param after the cursor returned with the previous slice, to switch to keyset pagination.
+     * @param prefer the {@code Prefer} header, {@code count=none} to skip the total count and the {@code X-Total-Count} header.
+     * @param ifNoneMatch the {@code If-None-Match} header, the tag of the list the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of subTasks in body,
+     * or with status {@code 304 (Not Modified)} if none of the entities listed was written since the client read the list.
      */
     @GetMapping("")
     public ResponseEntity<List<SubTaskDTO>> getAllSubTasks(
         SubTaskCriteria criteria,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestHeader(value = SlicePaginationUtil.PREFER, required = false) String prefer,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         log.debug("REST request to get SubTasks by criteria: {}", criteria);
+        // taken before the list is read, so that a write committed in between changes the next tag
+        String eTag = ETagUtil.fromStamp(entityChangeCounter.stamp(SubTask.class));
+        if (ETagUtil.isNotModified(ifNoneMatch, eTag)) {
+            return ETagUtil.notModified(eTag);
+        }
+
+        if (after != null) {
+            KeysetSlice<SubTaskDTO> slice;
+            try {
+                slice = subTaskQueryService.findByCriteria(criteria, after, pageable);
+            } catch (InvalidCursorException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+            }
+            HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                slice,
+                pageable.getPageSize()
+            );
+            return ResponseEntity.ok().headers(headers).eTag(eTag).body(slice.getContent());
+        }
+
+        if (SlicePaginationUtil.isCountSkipped(prefer)) {
+            Slice<SubTaskDTO> slice = subTaskQueryService.findSliceByCriteria(criteria, pageable);
+            HttpHeaders headers = SlicePaginationUtil.generateSliceHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), slice);
+            return ResponseEntity.ok().headers(headers).eTag(eTag).body(slice.getContent());
+        }
 
         Page<SubTaskDTO> page = subTaskQueryService.findByCriteria(criteria, pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
-        return ResponseEntity.ok().headers(headers).body(page.getContent());
+        return ResponseEntity.ok().headers(headers).eTag(eTag).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /sub-tasks/_export} : stream all the subTasks matching the criteria, ordered by id.
+     * <p>
+     * The rows are written to the response as they are read from the database, so there is no paging and no size limit.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @param format the format of the export, {@code ndjson} (default) or {@code csv}.
+     * @param response the response the rows are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping("/_export")
+    public void exportSubTasks(
+        SubTaskCriteria criteria,
+        @RequestParam(value = "format", defaultValue = ExportWriter.NDJSON) String format,
+        HttpServletResponse response
+    ) throws IOException {
+        log.debug("REST request to export SubTasks by criteria: {}, format: {}", criteria, format);
+        if (!ExportWriter.isSupported(format)) {
+            throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid");
+        }
+        try (ExportWriter<SubTaskDTO> writer = ExportWriter.open(format, "sub-tasks", EXPORT_COLUMNS, objectMapper, response)) {
+            subTaskQueryService.export(criteria, writer);
+        }
     }
 
     /**
@@ -178,13 +386,27 @@ public class SubTaskResource {
      * {@code GET  /sub-tasks/:id} : get the "id" subTask.
      *
      * @param id the id of the subTaskDTO to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the subTaskDTO, or with status {@code 404 (Not Found)}.
+     * @param ifNoneMatch the {@code If-None-Match} header, the tags of the subTask the client already has.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the subTaskDTO,
+     * or with status {@code 304 (Not Modified)} if it matches the {@code If-None-Match} header, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<SubTaskDTO> getSubTask(@PathVariable("id") Long id) {
+    public ResponseEntity<SubTaskDTO> getSubTask(
+        @PathVariable("id") Long id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
         log.debug("REST request to get SubTask : {}", id);
+        if (ifNoneMatch != null) {
+            // only the version is read to find out, the subTask is neither loaded nor mapped
+            Optional<String> current = subTaskRepository.findVersionById(id).map(ETagUtil::fromVersion);
+            if (current.isPresent() && ETagUtil.isNotModified(ifNoneMatch, current.get())) {
+                return ETagUtil.notModified(current.get());
+            }
+        }
         Optional<SubTaskDTO> subTaskDTO = subTaskService.findOne(id);
-        return ResponseUtil.wrapOrNotFound(subTaskDTO);
+        return subTaskDTO
+            .map(foundSubTask -> ResponseEntity.ok().eTag(ETagUtil.fromVersion(foundSubTask.getVersion())).body(foundSubTask))
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
     }
 
     /**
@@ -207,22 +429,94 @@ public class SubTaskResource {
      * {@code SEARCH  /sub-tasks/_search?query=:query} : search for the subTask corresponding
      * to the query.
      *
+     * <p>
+     * The query is a {@code simple_query_string} on the text fields, unless {@code raw} is set.
+     * <p>
+     * When {@code after} is given, the search is paginated with a cursor instead, at the same cost however deep:
+     * the slice starting after this cursor is returned (an empty cursor gives the first one), sorted by score,
+     * the cursor of the next slice is sent in the {@code Link} header, and no total count is computed.
+     *
      * @param query the query of the subTask search.
      * @param pageable the pagination information.
-     * @return the result of the search.
+     * @param after the cursor returned with the previous slice, to switch to cursor pagination.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the result of the search, or with status {@code 403 (Forbidden)} if the raw syntax is not allowed.
      */
     @GetMapping("/_search")
     public ResponseEntity<List<SubTaskDTO>> searchSubTasks(
         @RequestParam("query") String query,
-        @org.springdoc.core.annotations.ParameterObject Pageable pageable
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(value = "after", required = false) String after,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
     ) {
         log.debug("REST request to search for a page of SubTasks for query {}", query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
         try {
-            Page<SubTaskDTO> page = subTaskService.search(query, pageable);
+            if (after != null) {
+                KeysetSlice<SubTaskDTO> slice;
+                try {
+                    slice = subTaskService.search(query, mode, after, pageable.getPageSize());
+                } catch (InvalidCursorException e) {
+                    throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "cursorinvalid");
+                }
+                HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+                    ServletUriComponentsBuilder.fromCurrentRequest(),
+                    slice,
+                    pageable.getPageSize()
+                );
+                return ResponseEntity.ok().headers(headers).body(slice.getContent());
+            }
+            Page<SubTaskDTO> page = subTaskService.search(query, mode, pageable);
             HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
             return ResponseEntity.ok().headers(headers).body(page.getContent());
         } catch (RuntimeException e) {
             throw ElasticsearchExceptionMapper.mapException(e);
         }
     }
+
+    /**
+     * {@code SEARCH  /sub-tasks/_search?query=:query&facets=:facets} : search for the subTask corresponding
+     * to the query, with facets of all the hits computed by the same search.
+     *
+     * <p>
+     * The facets are counts of the hits by id of a related entity, the 50 most frequent by default, or by month
+     * of a date. Each one is named {@code status}, {@code mainTask}, {@code personDoer},
+     * {@code deadline} or {@code creation}; all of them are computed when {@code facets} is empty.
+     *
+     * @param query the query of the subTask search.
+     * @param pageable the pagination information.
+     * @param facets the names of the facets to compute, all of them if empty.
+     * @param raw whether the query uses the full Lucene syntax, reserved to administrators.
+     * @return the page of hits with the facets, or with status {@code 400 (Bad Request)} if a facet is unknown,
+     * or with status {@code 403 (Forbidden)} if the raw syntax is not allowed.
+     */
+    @GetMapping(value = "/_search", params = "facets")
+    public ResponseEntity<FacetedSearchResultVM<SubTaskDTO>> searchSubTasksWithFacets(
+        @RequestParam("query") String query,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam("facets") List<String> facets,
+        @RequestParam(value = "raw", defaultValue = "false") boolean raw
+    ) {
+        log.debug("REST request to search for a page of SubTasks with facets {} for query {}", facets, query);
+        SearchMode mode = SearchModeUtil.resolve(raw);
+        try {
+            FacetedPage<SubTaskDTO> page;
+            try {
+                page = subTaskService.searchWithFacets(query, mode, facets, pageable);
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "facetinvalid");
+            }
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                page.getPage()
+            );
+            return ResponseEntity.ok().headers(headers).body(new FacetedSearchResultVM<>(page));
+        } catch (RuntimeException e) {
+            throw ElasticsearchExceptionMapper.mapException(e);
+        }
+    }
+
+    private static List<BulkItemResultVM<SubTaskDTO>> toBulkResults(List<SubTaskDTO> subTaskDTOs, HttpStatus status) {
+        return IntStream.range(0, subTaskDTOs.size()).mapToObj(i -> BulkItemResultVM.success(i, status, subTaskDTOs.get(i))).toList();
+    }
 }
@@ -7,6 +7,8 @@ import org.springframework.data.elasticsearch.UncategorizedElasticsearchExceptio
 
 public class ElasticsearchExceptionMapper {
 
+    private static final String SEARCH_CONTEXT_MISSING = "search_context_missing_exception";
+
     private ElasticsearchExceptionMapper() {}
 
     public static RuntimeException mapException(RuntimeException originalException) {
@@ -22,6 +24,10 @@ public class ElasticsearchExceptionMapper {
                 if (reason != null && reason.startsWith("Failed to parse query [")) {
                     return new QuerySyntaxException();
                 }
+                // the point in time of a search cursor was not kept alive until the next slice
+                if (SEARCH_CONTEXT_MISSING.equals(rootCause.get(0).type())) {
+                    return new SearchCursorExpiredException();
+                }
             }
         }
 
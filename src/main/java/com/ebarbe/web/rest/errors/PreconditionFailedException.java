@@ -0,0 +1,29 @@
+package com.ebarbe.web.rest.errors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.ErrorResponseException;
+import tech.jhipster.web.rest.errors.ProblemDetailWithCause.ProblemDetailWithCauseBuilder;
+
+/**
+ * The entity has changed since the client read it: the tag it sent in {@code If-Match} is no longer the current one.
+ */
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class PreconditionFailedException extends ErrorResponseException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String entityName) {
+        super(
+            HttpStatus.PRECONDITION_FAILED,
+            ProblemDetailWithCauseBuilder
+                .instance()
+                .withStatus(HttpStatus.PRECONDITION_FAILED.value())
+                .withType(ErrorConstants.DEFAULT_TYPE)
+                .withTitle("Entity modified since it was read")
+                .withProperty("message", ErrorConstants.ERR_PRECONDITION_FAILED)
+                .withProperty("params", entityName)
+                .build(),
+            null
+        );
+    }
+}
@@ -0,0 +1,11 @@
+package com.ebarbe.web.rest.errors;
+
+@SuppressWarnings("java:S110") // Inheritance tree of classes should not be too deep
+public class SearchCursorExpiredException extends BadRequestAlertException {
+
+    private static final long serialVersionUID = 1L;
+
+    public SearchCursorExpiredException() {
+        super("Search cursor expired, the search must be started again!", "elasticsearch", "cursorExpired");
+    }
+}
@@ -0,0 +1,204 @@
+package com.ebarbe.web.rest.util;
+
+import com.ebarbe.web.rest.errors.BadRequestAlertException;
+import com.ebarbe.web.rest.errors.FieldErrorVM;
+import com.ebarbe.web.rest.vm.BulkItemResultVM;
+import jakarta.validation.Validator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Utility class for validating the items of a {@code _bulk} request.
+ * <p>
+ * All the items are checked in a single pass, with a single query for the existence of their ids,
+ * so the client gets every error of the request at once, each with the position of its item.
+ */
+public final class BulkRequestUtil {
+
+    private BulkRequestUtil() {}
+
+    /**
+     * Check the number of items of a bulk request.
+     *
+     * @param items the items of the request.
+     * @param maxSize the maximum number of items.
+     * @param entityName the name of the entity.
+     * @throws BadRequestAlertException if there is no item, or too many.
+     */
+    public static void checkSize(List<?> items, int maxSize, String entityName) {
+        if (items.isEmpty() || items.size() > maxSize) {
+            throw new BadRequestAlertException(
+                "A bulk request must contain between 1 and " + maxSize + " items",
+                entityName,
+                "bulksizeinvalid"
+            );
+        }
+    }
+
+    /**
+     * Validate the items of a bulk creation: they must meet their constraints and have no id.
+     *
+     * @param items the items of the request.
+     * @param id the id of an item.
+     * @param validator the validator of the constraints.
+     * @param entityName the name of the entity.
+     * @return the result of each invalid item, empty if all of them are valid.
+     */
+    public static <T> List<BulkItemResultVM<T>> validateNew(List<T> items, Function<T, Long> id, Validator validator, String entityName) {
+        List<BulkItemResultVM<T>> failures = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            List<FieldErrorVM> errors = getConstraintErrors(items.get(i), validator, entityName);
+            if (id.apply(items.get(i)) != null) {
+                errors.add(new FieldErrorVM(entityName, "id", "idexists"));
+            }
+            if (!errors.isEmpty()) {
+                failures.add(BulkItemResultVM.failure(i, HttpStatus.BAD_REQUEST, errors));
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Validate the items of a bulk update: they must meet their constraints and have the id of an existing entity,
+     * given at most once.
+     *
+     * @param items the items of the request.
+     * @param id the id of an item.
+     * @param findExistingIds the query returning, among the given ids, the ones of existing entities.
+     * @param validator the validator of the constraints.
+     * @param entityName the name of the entity.
+     * @return the result of each invalid item, empty if all of them are valid.
+     */
+    public static <T> List<BulkItemResultVM<T>> validateExisting(
+        List<T> items,
+        Function<T, Long> id,
+        Function<Set<Long>, Set<Long>> findExistingIds,
+        Validator validator,
+        String entityName
+    ) {
+        return validateIds(items, "id", id, findExistingIds, item -> getConstraintErrors(item, validator, entityName), entityName);
+    }
+
+    /**
+     * Validate the items of a bulk partial update: they must have the id of an existing entity, given at most once.
+     * The constraints are not checked, as the fields left out of an item keep their current value.
+     *
+     * @param items the items of the request.
+     * @param id the id of an item.
+     * @param findExistingIds the query returning, among the given ids, the ones of existing entities.
+     * @param entityName the name of the entity.
+     * @return the result of each invalid item, empty if all of them are valid.
+     */
+    public static <T> List<BulkItemResultVM<T>> validateExisting(
+        List<T> items,
+        Function<T, Long> id,
+        Function<Set<Long>, Set<Long>> findExistingIds,
+        String entityName
+    ) {
+        return validateIds(items, "id", id, findExistingIds, item -> new ArrayList<>(), entityName);
+    }
+
+    /**
+     * Validate items which refer to another entity, e.g. the people assigned to an event: they must meet their constraints
+     * and refer to an existing entity, at most once.
+     *
+     * @param items the items of the request.
+     * @param field the name of the attribute of an item holding the reference.
+     * @param reference the id of the entity an item refers to.
+     * @param findExistingIds the query returning, among the given ids, the ones of existing entities.
+     * @param validator the validator of the constraints.
+     * @param entityName the name of the entity.
+     * @return the result of each invalid item, empty if all of them are valid.
+     */
+    public static <T> List<BulkItemResultVM<T>> validateReferences(
+        List<T> items,
+        String field,
+        Function<T, Long> reference,
+        Function<Set<Long>, Set<Long>> findExistingIds,
+        Validator validator,
+        String entityName
+    ) {
+        return validateIds(items, field, reference, findExistingIds, item -> getConstraintErrors(item, validator, entityName), entityName);
+    }
+
+    /**
+     * Validate an optional reference of the items to another entity, e.g. the hierarchy of the people assigned to an event:
+     * when given, it must be the id of an existing entity. Several items may refer to the same entity.
+     *
+     * @param items the items of the request.
+     * @param field the name of the attribute of an item holding the reference.
+     * @param reference the id of the entity an item refers to, {@code null} if it refers to none.
+     * @param findExistingIds the query returning, among the given ids, the ones of existing entities.
+     * @param entityName the name of the entity.
+     * @return the result of each item referring to an entity which does not exist, empty if there is none.
+     */
+    public static <T> List<BulkItemResultVM<T>> validateOptionalReferences(
+        List<T> items,
+        String field,
+        Function<T, Long> reference,
+        Function<Set<Long>, Set<Long>> findExistingIds,
+        String entityName
+    ) {
+        Set<Long> ids = items.stream().map(reference).filter(Objects::nonNull).collect(Collectors.toSet());
+        Set<Long> existingIds = ids.isEmpty() ? Set.of() : findExistingIds.apply(ids);
+
+        List<BulkItemResultVM<T>> failures = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            Long itemReference = reference.apply(items.get(i));
+            if (itemReference != null && !existingIds.contains(itemReference)) {
+                failures.add(BulkItemResultVM.failure(i, HttpStatus.NOT_FOUND, List.of(new FieldErrorVM(entityName, field, "idnotfound"))));
+            }
+        }
+        return failures;
+    }
+
+    private static <T> List<BulkItemResultVM<T>> validateIds(
+        List<T> items,
+        String field,
+        Function<T, Long> id,
+        Function<Set<Long>, Set<Long>> findExistingIds,
+        Function<T, List<FieldErrorVM>> constraintErrors,
+        String entityName
+    ) {
+        Set<Long> ids = new HashSet<>();
+        Set<Long> duplicateIds = new HashSet<>();
+        for (T item : items) {
+            Long itemId = id.apply(item);
+            if (itemId != null && !ids.add(itemId)) {
+                duplicateIds.add(itemId);
+            }
+        }
+        Set<Long> existingIds = ids.isEmpty() ? Set.of() : findExistingIds.apply(ids);
+
+        List<BulkItemResultVM<T>> failures = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            List<FieldErrorVM> errors = constraintErrors.apply(items.get(i));
+            Long itemId = id.apply(items.get(i));
+            if (itemId == null && errors.stream().noneMatch(error -> field.equals(error.getField()))) {
+                errors.add(new FieldErrorVM(entityName, field, "idnull"));
+            } else if (duplicateIds.contains(itemId)) {
+                errors.add(new FieldErrorVM(entityName, field, "idduplicate"));
+            }
+            if (!errors.isEmpty()) {
+                failures.add(BulkItemResultVM.failure(i, HttpStatus.BAD_REQUEST, errors));
+            } else if (!existingIds.contains(itemId)) {
+                failures.add(BulkItemResultVM.failure(i, HttpStatus.NOT_FOUND, List.of(new FieldErrorVM(entityName, field, "idnotfound"))));
+            }
+        }
+        return failures;
+    }
+
+    private static List<FieldErrorVM> getConstraintErrors(Object item, Validator validator, String entityName) {
+        return validator
+            .validate(item)
+            .stream()
+            .map(violation -> new FieldErrorVM(entityName, violation.getPropertyPath().toString(), violation.getMessage()))
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
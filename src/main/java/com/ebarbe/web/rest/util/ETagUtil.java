@@ -0,0 +1,81 @@
+package com.ebarbe.web.rest.util;
+
+import com.ebarbe.web.rest.errors.PreconditionFailedException;
+import java.util.Arrays;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Utility class for handling entity tags ({@code ETag}) and the conditional requests using them (RFC 9110).
+ * <p>
+ * The tag of an entity is made of its version, incremented by each update. A client sends it back in {@code If-None-Match}
+ * to get a {@code 304 (Not Modified)} without any body as long as the entity has not changed, or in {@code If-Match}
+ * so that its write is refused if the entity has changed since it read it.
+ * The tag of a list is a weak one, made of a stamp of the {@link com.ebarbe.repository.EntityChangeCounter}: it is only good
+ * for a {@code 304 (Not Modified)}, a list is never written to.
+ */
+public final class ETagUtil {
+
+    private static final String ANY = "*";
+
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETagUtil() {}
+
+    /**
+     * @param version the version of an entity.
+     * @return the tag of the entity.
+     */
+    public static String fromVersion(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * @param stamp the stamp of the entities shown by a list.
+     * @return the weak tag of the list.
+     */
+    public static String fromStamp(String stamp) {
+        return WEAK_PREFIX + "\"" + stamp + "\"";
+    }
+
+    /**
+     * Check whether the client already has the current representation, comparing the tags weakly.
+     *
+     * @param ifNoneMatch the value of the {@code If-None-Match} header, may be {@code null}.
+     * @param eTag the current tag.
+     * @return {@code true} if the response is a {@code 304 (Not Modified)}.
+     */
+    public static boolean isNotModified(String ifNoneMatch, String eTag) {
+        return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(",")).map(String::trim).anyMatch(tag -> weaklyMatches(tag, eTag));
+    }
+
+    /**
+     * Check that the client writes over the current representation, comparing the tags strongly.
+     *
+     * @param ifMatch the value of the {@code If-Match} header, may be {@code null} to write unconditionally.
+     * @param eTag the current tag.
+     * @param entityName the name of the entity written.
+     * @throws PreconditionFailedException if none of the tags is the current one.
+     */
+    public static void checkIfMatch(String ifMatch, String eTag, String entityName) {
+        if (ifMatch != null && Arrays.stream(ifMatch.split(",")).map(String::trim).noneMatch(tag -> ANY.equals(tag) || eTag.equals(tag))) {
+            throw new PreconditionFailedException(entityName);
+        }
+    }
+
+    /**
+     * @param eTag the current tag.
+     * @return a {@code 304 (Not Modified)} response, without any body.
+     */
+    public static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+    }
+
+    private static boolean weaklyMatches(String tag, String eTag) {
+        return ANY.equals(tag) || stripWeakPrefix(tag).equals(stripWeakPrefix(eTag));
+    }
+
+    private static String stripWeakPrefix(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -0,0 +1,173 @@
+package com.ebarbe.web.rest.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Writes the rows of an {@code _export} endpoint straight to the response, one at a time.
+ * <p>
+ * Nothing is buffered but the output stream itself, so the rows can be produced by a database cursor
+ * without the whole export ever being held in memory. Two formats are supported:
+ * <ul>
+ *     <li>{@code ndjson}: one JSON document per line, with the same shape as the list endpoints.</li>
+ *     <li>{@code csv}: a header line, then one line per row with the given columns.</li>
+ * </ul>
+ *
+ * @param <T> the type of the rows.
+ */
+public abstract class ExportWriter<T> implements Consumer<T>, AutoCloseable {
+
+    public static final String NDJSON = "ndjson";
+
+    public static final String CSV = "csv";
+
+    public static final String NDJSON_CONTENT_TYPE = "application/x-ndjson";
+
+    public static final String CSV_CONTENT_TYPE = "text/csv";
+
+    private static final Set<String> FORMATS = Set.of(NDJSON, CSV);
+
+    protected final Writer writer;
+
+    private ExportWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * @param format the format asked by the client.
+     * @return {@code true} if the format is supported.
+     */
+    public static boolean isSupported(String format) {
+        return FORMATS.contains(format);
+    }
+
+    /**
+     * Set the headers of the response and open a writer on its body.
+     *
+     * @param format the format, see {@link #isSupported(String)}.
+     * @param fileName the name of the downloaded file, without extension.
+     * @param columns the columns of the {@code csv} format.
+     * @param objectMapper the mapper of the {@code ndjson} format.
+     * @param response the response to write to.
+     * @param <T> the type of the rows.
+     * @return the writer, to close once all the rows are written.
+     * @throws IOException if the response cannot be written.
+     * @throws IllegalArgumentException if the format is not supported.
+     */
+    public static <T> ExportWriter<T> open(
+        String format,
+        String fileName,
+        List<Column<T>> columns,
+        ObjectMapper objectMapper,
+        HttpServletResponse response
+    ) throws IOException {
+        if (!isSupported(format)) {
+            throw new IllegalArgumentException("Unsupported export format: " + format);
+        }
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(NDJSON.equals(format) ? NDJSON_CONTENT_TYPE : CSV_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "." + format + "\"");
+        Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        if (NDJSON.equals(format)) {
+            return new NdjsonWriter<>(writer, objectMapper);
+        }
+        return new CsvWriter<>(writer, columns);
+    }
+
+    /**
+     * Build a {@code csv} column.
+     *
+     * @param header the header of the column.
+     * @param value the function extracting the value of the column from a row, it may return {@code null}.
+     * @param <T> the type of the rows.
+     * @return the column.
+     */
+    public static <T> Column<T> column(String header, Function<T, ?> value) {
+        return new Column<>(header, value);
+    }
+
+    @Override
+    public void accept(T row) {
+        try {
+            write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract void write(T row) throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * A column of the {@code csv} format.
+     *
+     * @param header the header of the column.
+     * @param value the function extracting the value of the column from a row.
+     * @param <T> the type of the rows.
+     */
+    public record Column<T>(String header, Function<T, ?> value) {}
+
+    private static final class NdjsonWriter<T> extends ExportWriter<T> {
+
+        private final ObjectMapper objectMapper;
+
+        private NdjsonWriter(Writer writer, ObjectMapper objectMapper) {
+            super(writer);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected void write(T row) throws IOException {
+            writer.write(objectMapper.writeValueAsString(row));
+            writer.write('\n');
+        }
+    }
+
+    private static final class CsvWriter<T> extends ExportWriter<T> {
+
+        private final List<Column<T>> columns;
+
+        private CsvWriter(Writer writer, List<Column<T>> columns) throws IOException {
+            super(writer);
+            this.columns = columns;
+            writeLine(columns.stream().map(Column::header).collect(Collectors.toList()));
+        }
+
+        @Override
+        protected void write(T row) throws IOException {
+            writeLine(columns.stream().map(column -> column.value().apply(row)).collect(Collectors.toList()));
+        }
+
+        private void writeLine(List<?> values) throws IOException {
+            writer.write(values.stream().map(CsvWriter::escape).collect(Collectors.joining(",")));
+            writer.write("\r\n");
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ebarbe.web.rest.util;
+
+import com.ebarbe.service.KeysetSlice;
+import java.text.MessageFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * Mirrors {@link tech.jhipster.web.util.PaginationUtil}, but only a {@code next} link is sent:
+ * a cursor cannot go backward, and there is no {@code X-Total-Count} as no count is made.
+ */
+public final class KeysetPaginationUtil {
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate pagination headers for a Spring Data {@link KeysetSlice} object.
+     *
+     * @param uriBuilder The URI builder.
+     * @param slice The slice.
+     * @param size The size asked by the client.
+     * @return http header.
+     */
+    public static HttpHeaders generateKeysetHttpHeaders(UriComponentsBuilder uriBuilder, KeysetSlice<?> slice, int size) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            String next = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam("after", slice.getNextCursor())
+                .replaceQueryParam("size", size)
+                .toUriString();
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, next, "next"));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,29 @@
+package com.ebarbe.web.rest.util;
+
+import com.ebarbe.repository.search.SearchMode;
+import com.ebarbe.security.AuthoritiesConstants;
+import com.ebarbe.security.SecurityUtils;
+import org.springframework.security.access.AccessDeniedException;
+
+/**
+ * Utility class choosing how the query of a {@code _search} endpoint is read.
+ */
+public final class SearchModeUtil {
+
+    private SearchModeUtil() {}
+
+    /**
+     * @param raw whether the client asked for the full query syntax, with the {@code raw} parameter.
+     * @return the mode of the search.
+     * @throws AccessDeniedException if the raw mode is asked by a user who is not an administrator.
+     */
+    public static SearchMode resolve(boolean raw) {
+        if (!raw) {
+            return SearchMode.SIMPLE;
+        }
+        if (!SecurityUtils.hasCurrentUserThisAuthority(AuthoritiesConstants.ADMIN)) {
+            throw new AccessDeniedException("The raw search mode is reserved to administrators");
+        }
+        return SearchMode.RAW;
+    }
+}
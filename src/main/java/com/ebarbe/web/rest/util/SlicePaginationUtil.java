@@ -0,0 +1,71 @@
+package com.ebarbe.web.rest.util;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling pagination without a total count.
+ * <p>
+ * A client which does not need the {@code X-Total-Count} header sends {@code Prefer: count=none} (RFC 7240):
+ * the page is then read as a {@link Slice}, without any count, and {@code Preference-Applied: count=none} is sent back.
+ * Mirrors {@link tech.jhipster.web.util.PaginationUtil}, but there is no {@code last} link as the number of pages is unknown.
+ */
+public final class SlicePaginationUtil {
+
+    public static final String PREFER = "Prefer";
+
+    public static final String PREFERENCE_APPLIED = "Preference-Applied";
+
+    public static final String COUNT_NONE = "count=none";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Check whether the client prefers to go without the total count.
+     *
+     * @param prefer the value of the {@code Prefer} header, may be {@code null}.
+     * @return {@code true} if {@code count=none} is one of the preferences.
+     */
+    public static boolean isCountSkipped(String prefer) {
+        return prefer != null && Arrays.stream(prefer.split(",")).map(String::trim).anyMatch(COUNT_NONE::equalsIgnoreCase);
+    }
+
+    /**
+     * Generate pagination headers for a Spring Data {@link Slice} object.
+     *
+     * @param uriBuilder The URI builder.
+     * @param slice The slice.
+     * @return http header.
+     */
+    public static HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<?> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(PREFERENCE_APPLIED, COUNT_NONE);
+        int pageNumber = slice.getNumber();
+        int pageSize = slice.getSize();
+        StringBuilder link = new StringBuilder();
+        if (slice.hasNext()) {
+            link.append(prepareLink(uriBuilder, pageNumber + 1, pageSize, "next")).append(",");
+        }
+        if (slice.hasPrevious()) {
+            link.append(prepareLink(uriBuilder, pageNumber - 1, pageSize, "prev")).append(",");
+        }
+        link.append(prepareLink(uriBuilder, 0, pageSize, "first"));
+        headers.add(HttpHeaders.LINK, link.toString());
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page", pageNumber)
+            .replaceQueryParam("size", pageSize)
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return MessageFormat.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
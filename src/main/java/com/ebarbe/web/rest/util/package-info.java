@@ -0,0 +1,4 @@
+/**
+ * Utility classes for the REST controllers.
+ */
+package com.ebarbe.web.rest.util;
@@ -0,0 +1,71 @@
+package com.ebarbe.web.rest.vm;
+
+import com.ebarbe.web.rest.errors.FieldErrorVM;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+
+/**
+ * View Model object for the result of one item of a {@code _bulk} request.
+ *
+ * @param <T> the type of the DTO of the item.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BulkItemResultVM<T> {
+
+    private final int index;
+
+    private final int status;
+
+    private final T entity;
+
+    private final List<FieldErrorVM> errors;
+
+    private BulkItemResultVM(int index, HttpStatus status, T entity, List<FieldErrorVM> errors) {
+        this.index = index;
+        this.status = status.value();
+        this.entity = entity;
+        this.errors = errors;
+    }
+
+    /**
+     * @param index the position of the item in the request.
+     * @param status the status of the write of the item.
+     * @param entity the item as written.
+     * @return the result of an item which was written.
+     */
+    public static <T> BulkItemResultVM<T> success(int index, HttpStatus status, T entity) {
+        return new BulkItemResultVM<>(index, status, entity, List.of());
+    }
+
+    /**
+     * @param index the position of the item in the request.
+     * @param status the status explaining why the item was rejected.
+     * @param errors the errors of the item.
+     * @return the result of an item which was rejected.
+     */
+    public static <T> BulkItemResultVM<T> failure(int index, HttpStatus status, List<FieldErrorVM> errors) {
+        return new BulkItemResultVM<>(index, status, null, errors);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public T getEntity() {
+        return entity;
+    }
+
+    public List<FieldErrorVM> getErrors() {
+        return errors;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkItemResultVM{" + "index=" + index + ", status=" + status + ", entity=" + entity + ", errors=" + errors + "}";
+    }
+}
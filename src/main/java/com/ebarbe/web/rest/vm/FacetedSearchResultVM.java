@@ -0,0 +1,36 @@
+package com.ebarbe.web.rest.vm;
+
+import com.ebarbe.repository.search.FacetBucket;
+import com.ebarbe.repository.search.FacetedPage;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * View Model object for a page of the hits of a {@code _search} request, with the facets of all the hits.
+ *
+ * @param <T> the type of the DTO of the hits.
+ */
+public class FacetedSearchResultVM<T> {
+
+    private final List<T> content;
+
+    private final Map<String, List<FacetBucket>> facets;
+
+    public FacetedSearchResultVM(FacetedPage<T> page) {
+        this.content = page.getPage().getContent();
+        this.facets = page.getFacets();
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public Map<String, List<FacetBucket>> getFacets() {
+        return facets;
+    }
+
+    @Override
+    public String toString() {
+        return "FacetedSearchResultVM{" + "content=" + content + ", facets=" + facets + "}";
+    }
+}
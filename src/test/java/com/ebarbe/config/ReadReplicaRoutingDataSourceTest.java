@@ -0,0 +1,148 @@
+package com.ebarbe.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Test class for the {@link ReadReplicaRoutingDataSource}, behind a {@link LazyConnectionDataSourceProxy} as configured
+ * by {@link ReadReplicaConfiguration}, with a primary and a replica whose connections are told apart.
+ */
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final Connection replicaConnection = mock(Connection.class);
+
+    private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+    private LazyConnectionDataSourceProxy dataSource;
+
+    private DataSourceTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() throws Exception {
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        dataSource = new LazyConnectionDataSourceProxy();
+        dataSource.setTargetDataSource(new ReadReplicaRoutingDataSource(primary, replica, new ReplicaLagGuard(WINDOW, new TestClock())));
+        dataSource.setDefaultAutoCommit(false);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.afterPropertiesSet();
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void cleanup() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionShouldUseTheReplica() {
+        assertThat(connectionIn(true)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void readWriteTransactionShouldUseThePrimary() {
+        assertThat(connectionIn(false)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void connectionOutsideTransactionShouldUseThePrimary() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(((ConnectionProxy) connection).getTargetConnection()).isSameAs(primaryConnection);
+        }
+    }
+
+    @Test
+    void readsOfAWriterShouldStayOnThePrimaryDuringTheWindow() {
+        authenticate("writer");
+        connectionIn(false);
+
+        assertThat(connectionIn(true)).isSameAs(primaryConnection);
+        now = now.plus(WINDOW);
+        assertThat(connectionIn(true)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void readsOfOtherUsersShouldUseTheReplicaAfterAWrite() {
+        authenticate("writer");
+        connectionIn(false);
+
+        authenticate("reader");
+        assertThat(connectionIn(true)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void rolledBackWriteShouldNotKeepTheReadsOnThePrimary() {
+        authenticate("writer");
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            targetConnection();
+            status.setRollbackOnly();
+        });
+
+        assertThat(connectionIn(true)).isSameAs(replicaConnection);
+    }
+
+    /**
+     * Run a transaction using a connection, and return the connection of the primary or the replica it got.
+     */
+    private Connection connectionIn(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> targetConnection());
+    }
+
+    private Connection targetConnection() {
+        return ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+    }
+
+    private static void authenticate(String login) {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(login, login));
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    private class TestClock extends Clock {
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.ebarbe.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} recording the SQL sent by the current thread, between {@link #start()} and {@link #stop()}.
+ * <p>
+ * It is registered in the test profiles with the {@code hibernate.session_factory.statement_inspector} property.
+ */
+public class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    /**
+     * Start recording the statements of the current thread, dropping the ones recorded before.
+     */
+    public static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    /**
+     * Stop recording the statements of the current thread.
+     *
+     * @return the statements recorded since {@link #start()}, in order.
+     */
+    public static List<String> stop() {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements == null ? List.of() : statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
@@ -1,3 +1,39 @@
 package com.ebarbe.domain;
 
-class RelEventPersonTest {}
+import static com.ebarbe.domain.EventTestSamples.*;
+import static com.ebarbe.domain.PersonTestSamples.*;
+import static com.ebarbe.domain.RelEventPersonTestSamples.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ebarbe.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class RelEventPersonTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(RelEventPerson.class);
+        RelEventPerson relEventPerson1 = getRelEventPersonSample1();
+        RelEventPerson relEventPerson2 = new RelEventPerson();
+        assertThat(relEventPerson1).isNotEqualTo(relEventPerson2);
+
+        relEventPerson2.setId(new RelEventPersonId(relEventPerson1.getId().getEventId(), relEventPerson1.getId().getPersonId()));
+        assertThat(relEventPerson1).isEqualTo(relEventPerson2);
+
+        relEventPerson2 = getRelEventPersonSample2();
+        assertThat(relEventPerson1).isNotEqualTo(relEventPerson2);
+    }
+
+    @Test
+    void idTest() throws Exception {
+        RelEventPerson relEventPerson = getRelEventPersonRandomSampleGenerator();
+        Event eventBack = getEventRandomSampleGenerator();
+        Person personBack = getPersonRandomSampleGenerator();
+
+        relEventPerson.event(eventBack).person(personBack);
+        assertThat(relEventPerson.getId()).isEqualTo(new RelEventPersonId(eventBack.getId(), personBack.getId()));
+
+        relEventPerson.setPerson(null);
+        assertThat(relEventPerson.getId().isComplete()).isFalse();
+    }
+}
@@ -4,4 +4,23 @@ import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
-public class RelEventPersonTestSamples {}
+public class RelEventPersonTestSamples {
+
+    private static final Random random = new Random();
+    private static final AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
+
+    public static RelEventPerson getRelEventPersonSample1() {
+        return new RelEventPerson().event(new Event().id(1L)).person(new Person().id(1L)).participation("participation1");
+    }
+
+    public static RelEventPerson getRelEventPersonSample2() {
+        return new RelEventPerson().event(new Event().id(1L)).person(new Person().id(2L)).participation("participation2");
+    }
+
+    public static RelEventPerson getRelEventPersonRandomSampleGenerator() {
+        return new RelEventPerson()
+            .event(new Event().id(longCount.incrementAndGet()))
+            .person(new Person().id(longCount.incrementAndGet()))
+            .participation(UUID.randomUUID().toString());
+    }
+}
@@ -0,0 +1,102 @@
+package com.ebarbe.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.domain.MainTask;
+import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.domain.SubTask;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link EntityChangeCounter}: a write changes the stamps of its entity once it is committed only,
+ * whichever instance committed it.
+ * <p>
+ * The transactions are the real ones, not the rolled back one of a test: the mainTasks committed are deleted.
+ */
+@IntegrationTest
+class EntityChangeCounterIT {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MainTaskRepository mainTaskRepository;
+
+    @Autowired
+    private EntityChangeCounter entityChangeCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> committedIds = new ArrayList<>();
+
+    @AfterEach
+    public void cleanup() {
+        mainTaskRepository.deleteAllById(committedIds);
+    }
+
+    @Test
+    void committedWriteShouldChangeTheStampOfItsEntityOnly() {
+        String mainTaskStamp = entityChangeCounter.stamp(MainTask.class);
+        String subTaskStamp = entityChangeCounter.stamp(SubTask.class);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            committedIds.add(mainTaskRepository.saveAndFlush(createMainTask()).getId());
+            // flushed, not committed yet
+            assertThat(entityChangeCounter.stamp(MainTask.class)).isEqualTo(mainTaskStamp);
+        });
+
+        assertThat(entityChangeCounter.stamp(MainTask.class)).isNotEqualTo(mainTaskStamp);
+        assertThat(entityChangeCounter.stamp(SubTask.class)).isEqualTo(subTaskStamp);
+    }
+
+    @Test
+    void rolledBackWriteShouldNotChangeTheStamp() {
+        String mainTaskStamp = entityChangeCounter.stamp(MainTask.class);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            mainTaskRepository.saveAndFlush(createMainTask());
+            status.setRollbackOnly();
+        });
+
+        assertThat(entityChangeCounter.stamp(MainTask.class)).isEqualTo(mainTaskStamp);
+    }
+
+    @Test
+    void recordedChangeShouldBeCountedOnCommit() {
+        String relEventPersonStamp = entityChangeCounter.stamp(RelEventPerson.class);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            entityChangeCounter.recordChange(RelEventPerson.class);
+            assertThat(entityChangeCounter.stamp(RelEventPerson.class)).isEqualTo(relEventPersonStamp);
+        });
+
+        assertThat(entityChangeCounter.stamp(RelEventPerson.class)).isNotEqualTo(relEventPersonStamp);
+    }
+
+    @Test
+    void changeCountedByAnotherInstanceShouldChangeTheStamp() {
+        String subTaskStamp = entityChangeCounter.stamp(SubTask.class);
+
+        // the counts are only kept in the database, as another instance writes them
+        jdbcTemplate.update(
+            "insert into entity_change (entity_type, change_count) values ('SubTask', 1) " +
+            "on conflict (entity_type) do update set change_count = entity_change.change_count + 1"
+        );
+
+        assertThat(entityChangeCounter.stamp(SubTask.class)).isNotEqualTo(subTaskStamp);
+    }
+
+    private static MainTask createMainTask() {
+        return new MainTask().description("AAAAAAAAAA").deadline(LocalDate.ofEpochDay(0L));
+    }
+}
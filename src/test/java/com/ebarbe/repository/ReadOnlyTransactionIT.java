@@ -0,0 +1,119 @@
+package com.ebarbe.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.domain.MainTask;
+import com.ebarbe.domain.MainTask_;
+import jakarta.persistence.EntityManager;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import org.hibernate.FlushMode;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the read-only transactions of the services: their session is read-only, with {@code FlushMode.MANUAL},
+ * so the entities they load keep no snapshot of their state.
+ * <p>
+ * The transactions are the real ones, not the rolled back one of a test: the rows are committed, then deleted.
+ * The memory allocated to load a page of 1000 mainTasks in each mode is logged.
+ */
+@IntegrationTest
+class ReadOnlyTransactionIT {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadOnlyTransactionIT.class);
+
+    private static final long FIRST_ID = 2_000_000L;
+
+    private static final int PAGE_SIZE = 1000;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MainTaskRepository mainTaskRepository;
+
+    @BeforeEach
+    public void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update(
+                "insert into main_task (id, description, deadline) " +
+                "select ? + n, 'task-' || n, date '2024-01-01' + n % 365 from generate_series(0, ?) n",
+                FIRST_ID,
+                PAGE_SIZE - 1
+            )
+        );
+    }
+
+    @AfterEach
+    public void cleanup() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+            jdbcTemplate.update("delete from main_task where id >= ?", FIRST_ID)
+        );
+    }
+
+    @Test
+    void readOnlyTransactionShouldLoadEntitiesWithoutSnapshot() {
+        PageLoad readWrite = loadPage(false);
+        PageLoad readOnly = loadPage(true);
+
+        assertThat(readOnly.flushMode()).isEqualTo(FlushMode.MANUAL);
+        assertThat(readOnly.entities()).isEqualTo(PAGE_SIZE);
+        assertThat(readOnly.snapshots()).isZero();
+        assertThat(readWrite.entities()).isEqualTo(PAGE_SIZE);
+        assertThat(readWrite.snapshots()).isEqualTo(PAGE_SIZE);
+        log.info(
+            "A page of {} mainTasks: {} KB allocated read-only, {} KB read-write",
+            PAGE_SIZE,
+            readOnly.allocatedBytes() / 1024,
+            readWrite.allocatedBytes() / 1024
+        );
+    }
+
+    /**
+     * Load the page of mainTasks in a new transaction, and describe the persistence context it leaves.
+     */
+    private PageLoad loadPage(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        Specification<MainTask> seeded = (root, query, builder) -> builder.greaterThanOrEqualTo(root.get(MainTask_.id), FIRST_ID);
+        return transactionTemplate.execute(status -> {
+            long allocatedBefore = allocatedBytes();
+            mainTaskRepository.findSlice(seeded, PageRequest.of(0, PAGE_SIZE, Sort.by("id")));
+            long allocated = allocatedBytes() - allocatedBefore;
+
+            SessionImplementor session = em.unwrap(SessionImplementor.class);
+            PersistenceContext persistenceContext = session.getPersistenceContextInternal();
+            long snapshots = Arrays
+                .stream(persistenceContext.reentrantSafeEntityEntries())
+                .filter(entry -> entry.getValue().getLoadedState() != null)
+                .count();
+            return new PageLoad(persistenceContext.getNumberOfManagedEntities(), snapshots, session.getHibernateFlushMode(), allocated);
+        });
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private record PageLoad(int entities, long snapshots, FlushMode flushMode, long allocatedBytes) {}
+}
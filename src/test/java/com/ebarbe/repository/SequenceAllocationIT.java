@@ -0,0 +1,52 @@
+package com.ebarbe.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.domain.Category;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the per-table sequences, read with the pooled-lo optimizer.
+ */
+@IntegrationTest
+@Transactional
+class SequenceAllocationIT {
+
+    private static final int ALLOCATION_SIZE = 50;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void idsShouldBeAllocatedByBlocks() {
+        long lastValueBefore = lastValue();
+
+        List<Category> categories = categoryRepository.saveAllAndFlush(
+            IntStream.range(0, ALLOCATION_SIZE + 10).mapToObj(i -> new Category().label("category-" + i)).toList()
+        );
+
+        // At most 2 nextval for 60 rows: the one left over from a previous test, if any, and a new one
+        assertThat(lastValue() - lastValueBefore).isLessThanOrEqualTo(2L * ALLOCATION_SIZE);
+        assertThat(categories).extracting(Category::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void sequenceShouldStartAfterTheExistingIds() {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from category", Long.class);
+
+        assertThat(lastValue()).isGreaterThan(maxId == null ? 0 : maxId - ALLOCATION_SIZE);
+    }
+
+    private long lastValue() {
+        return jdbcTemplate.queryForObject("select last_value from category_seq", Long.class);
+    }
+}
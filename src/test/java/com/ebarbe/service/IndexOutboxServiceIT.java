@@ -0,0 +1,165 @@
+package com.ebarbe.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.domain.Category;
+import com.ebarbe.domain.EventType;
+import com.ebarbe.domain.IndexOutboxEntry;
+import com.ebarbe.domain.enumeration.IndexOperation;
+import com.ebarbe.repository.CategoryRepository;
+import com.ebarbe.repository.EventTypeRepository;
+import com.ebarbe.repository.IndexOutboxRepository;
+import com.ebarbe.repository.IndexPauseRepository;
+import com.ebarbe.repository.search.CategorySearchRepository;
+import com.ebarbe.repository.search.EventTypeSearchRepository;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link IndexOutboxService}.
+ */
+@IntegrationTest
+@Transactional
+class IndexOutboxServiceIT {
+
+    @Autowired
+    private IndexOutboxService indexOutboxService;
+
+    @Autowired
+    private IndexOutboxRepository indexOutboxRepository;
+
+    @Autowired
+    private IndexPauseRepository indexPauseRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategorySearchRepository categorySearchRepository;
+
+    @Autowired
+    private EventTypeRepository eventTypeRepository;
+
+    @Autowired
+    private EventTypeSearchRepository eventTypeSearchRepository;
+
+    private Category category;
+
+    @BeforeEach
+    public void init() {
+        indexOutboxRepository.deleteAll();
+        category = categoryRepository.saveAndFlush(new Category().label("AAAAAAAAAA").description("AAAAAAAAAA"));
+    }
+
+    @AfterEach
+    public void cleanupElasticSearchRepository() {
+        categorySearchRepository.deleteAll();
+        eventTypeSearchRepository.deleteAll();
+    }
+
+    @Test
+    void indexShouldOnlyBeQueued() {
+        categorySearchRepository.index(category);
+
+        assertThat(indexOutboxService.getDepth()).isEqualTo(1);
+        assertThat(categorySearchRepository.existsById(category.getId())).isFalse();
+    }
+
+    @Test
+    void drainShouldIndexTheCurrentState() {
+        categorySearchRepository.index(category);
+        category.setLabel("BBBBBBBBBB");
+        categorySearchRepository.index(category);
+
+        // before the drain, the changes are queued and the document is not indexed
+        assertThat(indexOutboxRepository.findAll())
+            .hasSize(2)
+            .allSatisfy(entry -> {
+                assertThat(entry.getEntityType()).isEqualTo(Category.class.getSimpleName());
+                assertThat(entry.getEntityId()).isEqualTo(category.getId());
+                assertThat(entry.getOperation()).isEqualTo(IndexOperation.INDEX);
+            });
+        assertThat(categorySearchRepository.existsById(category.getId())).isFalse();
+
+        assertThat(indexOutboxService.drain()).isEqualTo(2);
+
+        // after the drain, the queue is empty and the document is indexed with its current state
+        assertThat(indexOutboxRepository.count()).isZero();
+        assertThat(categorySearchRepository.findById(category.getId())).hasValueSatisfying(indexed ->
+            assertThat(indexed.getLabel()).isEqualTo("BBBBBBBBBB")
+        );
+    }
+
+    @Test
+    void lastChangeOfAnEntityShouldWin() {
+        categorySearchRepository.index(category);
+        indexOutboxService.drain();
+        categorySearchRepository.index(category);
+        categorySearchRepository.deleteFromIndexById(category.getId());
+
+        // before the drain, both changes are queued and the document is still indexed
+        assertThat(indexOutboxRepository.findAll())
+            .extracting(IndexOutboxEntry::getOperation)
+            .containsExactlyInAnyOrder(IndexOperation.INDEX, IndexOperation.DELETE);
+        assertThat(categorySearchRepository.existsById(category.getId())).isTrue();
+
+        assertThat(indexOutboxService.drain()).isEqualTo(2);
+
+        // after the drain, the queue is empty and the deletion, which came last, is applied
+        assertThat(indexOutboxRepository.count()).isZero();
+        assertThat(categorySearchRepository.existsById(category.getId())).isFalse();
+        assertThat(indexOutboxService.getLag()).isZero();
+    }
+
+    @Test
+    void pausedEntityTypeShouldStayQueued() {
+        EventType eventType = eventTypeRepository.saveAndFlush(
+            new EventType().label("AAAAAAAAAA").description("AAAAAAAAAA").duration(Duration.ofHours(6))
+        );
+        categorySearchRepository.index(category);
+        eventTypeSearchRepository.index(eventType);
+
+        assertThat(indexOutboxService.pause(Category.class.getSimpleName())).isTrue();
+        try {
+            assertThat(indexOutboxService.drain()).isEqualTo(1);
+        } finally {
+            indexOutboxService.resume(Category.class.getSimpleName());
+        }
+
+        // the changes of the paused type are held, the changes of the other types are sent
+        assertThat(indexOutboxRepository.findAll()).extracting(IndexOutboxEntry::getEntityType).containsExactly("Category");
+        assertThat(categorySearchRepository.existsById(category.getId())).isFalse();
+        assertThat(eventTypeSearchRepository.existsById(eventType.getId())).isTrue();
+        assertThat(indexOutboxService.isPaused(Category.class.getSimpleName())).isFalse();
+    }
+
+    @Test
+    void entityTypePausedByAnotherInstanceShouldStayQueued() {
+        categorySearchRepository.index(category);
+        indexPauseRepository.acquire(Category.class.getSimpleName(), "another-instance", 60);
+
+        // the pause is held by the other instance, it is honoured here but cannot be taken nor ended
+        assertThat(indexOutboxService.isPaused(Category.class.getSimpleName())).isTrue();
+        assertThat(indexOutboxService.pause(Category.class.getSimpleName())).isFalse();
+        indexOutboxService.resume(Category.class.getSimpleName());
+        assertThat(indexOutboxService.drain()).isZero();
+        assertThat(indexOutboxRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredPauseShouldBeTakenOver() {
+        // the other instance died during its rebuild, its lease is over
+        indexPauseRepository.acquire(Category.class.getSimpleName(), "another-instance", -1);
+        assertThat(indexOutboxService.isPaused(Category.class.getSimpleName())).isFalse();
+
+        assertThat(indexOutboxService.pause(Category.class.getSimpleName())).isTrue();
+        assertThat(indexOutboxService.renewPause(Category.class.getSimpleName())).isTrue();
+        indexOutboxService.resume(Category.class.getSimpleName());
+        assertThat(indexOutboxService.isPaused(Category.class.getSimpleName())).isFalse();
+    }
+}
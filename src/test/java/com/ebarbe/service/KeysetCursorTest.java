@@ -0,0 +1,67 @@
+package com.ebarbe.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Test class for the {@link KeysetCursor} class.
+ */
+class KeysetCursorTest {
+
+    @Test
+    void encodedCursorShouldBeDecoded() {
+        String token = KeysetCursor.after("deadline", Sort.Direction.DESC, LocalDate.of(2024, 1, 31), 42L).encode();
+
+        KeysetCursor cursor = KeysetCursor.decode(token);
+
+        assertThat(cursor.getProperty()).isEqualTo("deadline");
+        assertThat(cursor.getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(cursor.getId()).isEqualTo(42L);
+        assertThat(cursor.getKey(LocalDate.class)).isEqualTo(LocalDate.of(2024, 1, 31));
+    }
+
+    @Test
+    void keyContainingTheSeparatorShouldBeKept() {
+        String token = KeysetCursor.after("label", Sort.Direction.ASC, "meeting: 10:30", 7L).encode();
+
+        KeysetCursor cursor = KeysetCursor.decode(token);
+
+        assertThat(cursor.getKey(String.class)).isEqualTo("meeting: 10:30");
+        assertThat(cursor.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void firstCursorShouldNotHaveAKey() {
+        KeysetCursor cursor = KeysetCursor.first("id", Sort.Direction.ASC);
+
+        assertThat(cursor.getId()).isNull();
+        assertThat(cursor.getKey(Long.class)).isNull();
+    }
+
+    @Test
+    void invalidTokenShouldBeRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor")).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("aWQ6QVNDOnh4eDox")).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void keyOfAnotherTypeShouldBeRejected() {
+        KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.after("deadline", Sort.Direction.ASC, "tomorrow", 7L).encode());
+
+        assertThatThrownBy(() -> cursor.getKey(LocalDate.class)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> cursor.getKey(Long.class)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void unsupportedKeyTypeShouldNotBeTakenForAnInvalidCursor() {
+        KeysetCursor cursor = KeysetCursor.after("done", Sort.Direction.ASC, true, 7L);
+
+        assertThatThrownBy(() -> cursor.getKey(Boolean.class))
+            .isInstanceOf(IllegalArgumentException.class)
+            .isNotInstanceOf(InvalidCursorException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package com.ebarbe.service;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * A large dataset, seeded with plain SQL in the current transaction, for the tests on query plans and query speed.
+ * <p>
+ * Every id starts at {@link #FIRST_ID}: 200 categories and statuses, 100 event types, 10 hierarchies, 5000 users and people,
+ * 50000 main tasks with 2 sub tasks each, and 20000 events with 3 people each.
+ */
+final class LargeDataset {
+
+    static final long FIRST_ID = 1_000_000L;
+
+    static final List<String> TABLES = List.of(
+        "category",
+        "status",
+        "event_type",
+        "hierarchy",
+        "jhi_user",
+        "person",
+        "main_task",
+        "sub_task",
+        "event",
+        "rel_event__person"
+    );
+
+    private LargeDataset() {}
+
+    static void seed(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("insert into category (id, label) select ? + n, 'category-' || n from generate_series(0, 199) n", FIRST_ID);
+        jdbcTemplate.update("insert into status (id, description) select ? + n, 'status-' || n from generate_series(0, 199) n", FIRST_ID);
+        jdbcTemplate.update("insert into event_type (id, label) select ? + n, 'type-' || n from generate_series(0, 99) n", FIRST_ID);
+        jdbcTemplate.update("insert into hierarchy (id, description) select ? + n, 'level-' || n from generate_series(0, 9) n", FIRST_ID);
+        jdbcTemplate.update(
+            "insert into jhi_user (id, login, activated, activation_key, reset_key, created_by) " +
+            "select ? + n, 'plan-' || n, false, 'activation-' || n, 'reset-' || n, 'system' from generate_series(0, 4999) n",
+            FIRST_ID
+        );
+        jdbcTemplate.update(
+            "insert into person (id, name, user_id) select ? + n, 'person-' || n, ? + n from generate_series(0, 4999) n",
+            FIRST_ID,
+            FIRST_ID
+        );
+        jdbcTemplate.update(
+            "insert into main_task (id, description, deadline, category_id, person_owner_id, status_id) " +
+            "select ? + n, 'task-' || n, date '2024-01-01' + n % 365, ? + n % 200, ? + n % 5000, ? + (n / 7) % 200 " +
+            "from generate_series(0, 49999) n",
+            FIRST_ID,
+            FIRST_ID,
+            FIRST_ID,
+            FIRST_ID
+        );
+        jdbcTemplate.update(
+            "insert into sub_task (id, description, deadline, main_task_id, person_doer_id, status_id) " +
+            "select ? + n, 'sub-task-' || n, date '2024-01-01' + n % 365, ? + n / 2, ? + n % 5000, ? + n % 200 " +
+            "from generate_series(0, 99999) n",
+            FIRST_ID,
+            FIRST_ID,
+            FIRST_ID,
+            FIRST_ID
+        );
+        jdbcTemplate.update(
+            "insert into event (id, label, date_start, date_end, place, event_type_id) " +
+            "select ? + n, 'event-' || n, date '2024-01-01' + n % 365, date '2024-01-02' + n % 365, 'place', ? + n % 100 " +
+            "from generate_series(0, 19999) n",
+            FIRST_ID,
+            FIRST_ID
+        );
+        jdbcTemplate.update(
+            "insert into rel_event__person (event_id, person_id, hierarchy_id) " +
+            "select ? + n / 3, ? + (n * 7919) % 5000, ? + n % 10 from generate_series(0, 59999) n",
+            FIRST_ID,
+            FIRST_ID,
+            FIRST_ID
+        );
+        // The rows of the current transaction are sampled too, so the statistics match the seeded dataset
+        TABLES.forEach(table -> jdbcTemplate.execute("analyze " + table));
+    }
+}
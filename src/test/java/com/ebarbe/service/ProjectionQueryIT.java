@@ -0,0 +1,228 @@
+package com.ebarbe.service;
+
+import static com.ebarbe.service.LargeDataset.FIRST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.config.RecordingStatementInspector;
+import com.ebarbe.domain.Event;
+import com.ebarbe.domain.MainTask;
+import com.ebarbe.domain.Person;
+import com.ebarbe.domain.SubTask;
+import com.ebarbe.repository.EventRepository;
+import com.ebarbe.repository.MainTaskRepository;
+import com.ebarbe.repository.PersonRepository;
+import com.ebarbe.repository.SubTaskRepository;
+import com.ebarbe.service.criteria.EventCriteria;
+import com.ebarbe.service.criteria.MainTaskCriteria;
+import com.ebarbe.service.criteria.PersonCriteria;
+import com.ebarbe.service.criteria.SubTaskCriteria;
+import com.ebarbe.service.mapper.EventMapper;
+import com.ebarbe.service.mapper.MainTaskMapper;
+import com.ebarbe.service.mapper.PersonMapper;
+import com.ebarbe.service.mapper.SubTaskMapper;
+import jakarta.persistence.EntityManager;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the list queries reading the DTOs as columns, with the {@link com.ebarbe.repository.ProjectionQueryExecutor}.
+ * <p>
+ * On the {@link LargeDataset}, each projected page must equal the page of entities mapped to DTOs, be read without any managed
+ * entity, and with a single statement per query. The last test is a benchmark: both timings are logged.
+ */
+@IntegrationTest
+@Transactional
+class ProjectionQueryIT {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectionQueryIT.class);
+
+    private static final int WARMUP = 3;
+
+    private static final int ITERATIONS = 10;
+
+    private static final Pageable PAGE = PageRequest.of(2, 100, Sort.by("id"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MainTaskQueryService mainTaskQueryService;
+
+    @Autowired
+    private SubTaskQueryService subTaskQueryService;
+
+    @Autowired
+    private EventQueryService eventQueryService;
+
+    @Autowired
+    private PersonQueryService personQueryService;
+
+    @Autowired
+    private MainTaskRepository mainTaskRepository;
+
+    @Autowired
+    private SubTaskRepository subTaskRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private MainTaskMapper mainTaskMapper;
+
+    @Autowired
+    private SubTaskMapper subTaskMapper;
+
+    @Autowired
+    private EventMapper eventMapper;
+
+    @Autowired
+    private PersonMapper personMapper;
+
+    @BeforeEach
+    public void seed() {
+        LargeDataset.seed(jdbcTemplate);
+    }
+
+    @Test
+    void mainTaskProjectionShouldMatchTheMappedEntities() {
+        MainTaskCriteria criteria = new MainTaskCriteria();
+        criteria.id().setGreaterThanOrEqual(FIRST_ID);
+
+        assertProjected(
+            () -> mainTaskQueryService.findByCriteria(criteria, PAGE).getContent(),
+            () -> mainTaskMapper.toDto(mainTaskRepository.findAll(mainTaskQueryService.createSpecification(criteria), PAGE).getContent()),
+            1
+        );
+    }
+
+    @Test
+    void subTaskProjectionShouldMatchTheMappedEntities() {
+        SubTaskCriteria criteria = new SubTaskCriteria();
+        criteria.id().setGreaterThanOrEqual(FIRST_ID);
+
+        assertProjected(
+            () -> subTaskQueryService.findByCriteria(criteria, PAGE).getContent(),
+            () -> subTaskMapper.toDto(subTaskRepository.findAll(subTaskQueryService.createSpecification(criteria), PAGE).getContent()),
+            1
+        );
+    }
+
+    @Test
+    void personProjectionShouldMatchTheMappedEntities() {
+        PersonCriteria criteria = new PersonCriteria();
+        criteria.id().setGreaterThanOrEqual(FIRST_ID);
+
+        assertProjected(
+            () -> personQueryService.findByCriteria(criteria, PAGE).getContent(),
+            () -> personMapper.toDto(personRepository.findAll(personQueryService.createSpecification(criteria), PAGE).getContent()),
+            1
+        );
+    }
+
+    @Test
+    void eventProjectionShouldMatchTheMappedEntities() {
+        EventCriteria criteria = new EventCriteria();
+        criteria.id().setGreaterThanOrEqual(FIRST_ID);
+
+        // The page of events, then the people of all of them
+        assertProjected(
+            () -> eventQueryService.findByCriteria(criteria, PAGE).getContent(),
+            () -> eventMapper.toDto(eventRepository.findAll(eventQueryService.createSpecification(criteria), PAGE).getContent()),
+            2
+        );
+    }
+
+    @Test
+    void benchmarkProjectionAgainstMappedEntities() {
+        Specification<MainTask> mainTasks = mainTaskQueryService.createSpecification(new MainTaskCriteria());
+        benchmark(
+            "MainTask",
+            () -> mainTaskQueryService.findByCriteria(new MainTaskCriteria(), PAGE),
+            () -> mainTaskRepository.findAll(mainTasks, PAGE).map(mainTaskMapper::toDto)
+        );
+
+        Specification<SubTask> subTasks = subTaskQueryService.createSpecification(new SubTaskCriteria());
+        benchmark(
+            "SubTask",
+            () -> subTaskQueryService.findByCriteria(new SubTaskCriteria(), PAGE),
+            () -> subTaskRepository.findAll(subTasks, PAGE).map(subTaskMapper::toDto)
+        );
+
+        Specification<Person> people = personQueryService.createSpecification(new PersonCriteria());
+        benchmark(
+            "Person",
+            () -> personQueryService.findByCriteria(new PersonCriteria(), PAGE),
+            () -> personRepository.findAll(people, PAGE).map(personMapper::toDto)
+        );
+
+        Specification<Event> events = eventQueryService.createSpecification(new EventCriteria());
+        benchmark(
+            "Event",
+            () -> eventQueryService.findByCriteria(new EventCriteria(), PAGE),
+            () -> eventRepository.fetchBagRelationships(eventRepository.findAll(events, PAGE)).map(eventMapper::toDto)
+        );
+    }
+
+    /**
+     * Check the projected DTOs equal the mapped entities, and are read with the given number of statements
+     * without any entity added to the persistence context.
+     */
+    private <D> void assertProjected(Supplier<List<D>> projected, Supplier<List<D>> mapped, int statements) {
+        em.clear();
+        RecordingStatementInspector.start();
+        List<D> projectedDTOs;
+        List<String> sent;
+        try {
+            projectedDTOs = projected.get();
+        } finally {
+            sent = RecordingStatementInspector.stop();
+        }
+        assertThat(sent).hasSize(statements);
+        assertThat(em.unwrap(SharedSessionContractImplementor.class).getPersistenceContext().getNumberOfManagedEntities()).isZero();
+
+        assertThat(projectedDTOs).hasSize(PAGE.getPageSize()).usingRecursiveComparison().isEqualTo(mapped.get());
+    }
+
+    /**
+     * Log the median time of a page of 100 DTOs, read as columns and mapped from the entities.
+     */
+    private void benchmark(String name, Runnable projected, Runnable mapped) {
+        long projectedMedian = median(projected);
+        long mappedMedian = median(mapped);
+        log.info("{}: {} µs projected, {} µs mapped from the entities", name, projectedMedian / 1000, mappedMedian / 1000);
+    }
+
+    private long median(Runnable query) {
+        long[] durations = new long[ITERATIONS];
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            em.clear();
+            long start = System.nanoTime();
+            query.run();
+            if (i >= 0) {
+                durations[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(durations);
+        return durations[ITERATIONS / 2];
+    }
+}
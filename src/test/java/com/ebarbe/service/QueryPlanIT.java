@@ -0,0 +1,185 @@
+package com.ebarbe.service;
+
+import static com.ebarbe.service.LargeDataset.FIRST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.config.RecordingStatementInspector;
+import com.ebarbe.repository.EventRepository;
+import com.ebarbe.repository.MainTaskRepository;
+import com.ebarbe.repository.PersonExtendedRepository;
+import com.ebarbe.repository.SubTaskRepository;
+import com.ebarbe.repository.UserRepository;
+import com.ebarbe.service.criteria.EventCriteria;
+import com.ebarbe.service.criteria.MainTaskCriteria;
+import com.ebarbe.service.criteria.SubTaskCriteria;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests checking that every filter of the criteria, and the lookups by key, are served by an index.
+ * <p>
+ * A large dataset is seeded and analyzed, then the SQL of each {@code createSpecification} shape is captured
+ * and explained with a generic plan, so the plan does not depend on the values used.
+ * The unfiltered lists, and the text or range only filters, are not checked: they have no index to use.
+ */
+@IntegrationTest
+@Transactional
+class QueryPlanIT {
+
+    private static final Set<String> LARGE_TABLES = Set.of("main_task", "sub_task", "event", "rel_event__person", "person", "jhi_user");
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    private static final LocalDate DEADLINE = LocalDate.of(2024, 6, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MainTaskQueryService mainTaskQueryService;
+
+    @Autowired
+    private SubTaskQueryService subTaskQueryService;
+
+    @Autowired
+    private EventQueryService eventQueryService;
+
+    @Autowired
+    private MainTaskRepository mainTaskRepository;
+
+    @Autowired
+    private SubTaskRepository subTaskRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PersonExtendedRepository personExtendedRepository;
+
+    @BeforeEach
+    public void seed() {
+        LargeDataset.seed(jdbcTemplate);
+    }
+
+    @Test
+    void mainTaskFiltersShouldUseAnIndex() {
+        assertMainTaskIndexed(criteria -> criteria.id().setEquals(FIRST_ID));
+        assertMainTaskIndexed(criteria -> criteria.categoryId().setEquals(FIRST_ID));
+        assertMainTaskIndexed(criteria -> criteria.personOwnerId().setEquals(FIRST_ID));
+        assertMainTaskIndexed(criteria -> criteria.statusId().setEquals(FIRST_ID));
+        assertMainTaskIndexed(criteria -> criteria.subTaskId().setEquals(FIRST_ID));
+        assertMainTaskIndexed(criteria -> {
+            criteria.personOwnerId().setEquals(FIRST_ID);
+            criteria.deadline().setGreaterThanOrEqual(DEADLINE);
+        });
+    }
+
+    @Test
+    void subTaskFiltersShouldUseAnIndex() {
+        assertSubTaskIndexed(criteria -> criteria.id().setEquals(FIRST_ID));
+        assertSubTaskIndexed(criteria -> criteria.mainTaskId().setEquals(FIRST_ID));
+        assertSubTaskIndexed(criteria -> criteria.personDoerId().setEquals(FIRST_ID));
+        assertSubTaskIndexed(criteria -> criteria.statusId().setEquals(FIRST_ID));
+        assertSubTaskIndexed(criteria -> {
+            criteria.personDoerId().setEquals(FIRST_ID);
+            criteria.deadline().setGreaterThanOrEqual(DEADLINE);
+        });
+    }
+
+    @Test
+    void eventFiltersShouldUseAnIndex() {
+        assertEventIndexed(criteria -> criteria.id().setEquals(FIRST_ID));
+        assertEventIndexed(criteria -> criteria.eventTypeId().setEquals(FIRST_ID));
+        assertEventIndexed(criteria -> criteria.personId().setEquals(FIRST_ID));
+        assertEventIndexed(criteria -> {
+            criteria.eventTypeId().setEquals(FIRST_ID);
+            criteria.dateStart().setGreaterThanOrEqual(DEADLINE);
+        });
+    }
+
+    @Test
+    void lookupsByKeyShouldUseAnIndex() {
+        assertIndexed(() -> userRepository.findOneByActivationKey("activation-1"));
+        assertIndexed(() -> userRepository.findOneByResetKey("reset-1"));
+        assertIndexed(() -> personExtendedRepository.findOneByUserId(FIRST_ID));
+    }
+
+    private void assertMainTaskIndexed(Consumer<MainTaskCriteria> filter) {
+        MainTaskCriteria criteria = new MainTaskCriteria();
+        filter.accept(criteria);
+        assertIndexed(() -> {
+            mainTaskRepository.findAll(mainTaskQueryService.createSpecification(criteria));
+            mainTaskRepository.count(mainTaskQueryService.createSpecification(criteria));
+        });
+    }
+
+    private void assertSubTaskIndexed(Consumer<SubTaskCriteria> filter) {
+        SubTaskCriteria criteria = new SubTaskCriteria();
+        filter.accept(criteria);
+        assertIndexed(() -> {
+            subTaskRepository.findAll(subTaskQueryService.createSpecification(criteria));
+            subTaskRepository.count(subTaskQueryService.createSpecification(criteria));
+        });
+    }
+
+    private void assertEventIndexed(Consumer<EventCriteria> filter) {
+        EventCriteria criteria = new EventCriteria();
+        filter.accept(criteria);
+        assertIndexed(() -> {
+            eventRepository.findAll(eventQueryService.createSpecification(criteria));
+            eventRepository.count(eventQueryService.createSpecification(criteria));
+        });
+    }
+
+    /**
+     * Run the queries, then explain each distinct statement they sent and fail on a sequential scan of a large table.
+     */
+    private void assertIndexed(Runnable queries) {
+        Set<String> statements;
+        RecordingStatementInspector.start();
+        try {
+            queries.run();
+        } finally {
+            statements = new LinkedHashSet<>(RecordingStatementInspector.stop());
+        }
+        assertThat(statements).isNotEmpty();
+        for (String statement : statements) {
+            List<String> lines = jdbcTemplate.queryForList("explain (generic_plan) " + numberParameters(statement), String.class);
+            String plan = String.join("\n", lines);
+            Matcher matcher = SEQ_SCAN.matcher(plan);
+            while (matcher.find()) {
+                assertThat(LARGE_TABLES).as("Sequential scan in the plan of %s%n%s", statement, plan).doesNotContain(matcher.group(1));
+            }
+        }
+    }
+
+    /**
+     * Replace the JDBC placeholders by numbered ones, the only kind a generic plan accepts.
+     */
+    private static String numberParameters(String statement) {
+        StringBuilder sql = new StringBuilder();
+        int parameter = 0;
+        for (char c : statement.toCharArray()) {
+            if (c == '?') {
+                sql.append('$').append(++parameter);
+            } else {
+                sql.append(c);
+            }
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,199 @@
+package com.ebarbe.service;
+
+import static com.ebarbe.service.LargeDataset.FIRST_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.config.RecordingStatementInspector;
+import com.ebarbe.domain.*; // for static metamodels
+import com.ebarbe.domain.Event;
+import com.ebarbe.domain.MainTask;
+import com.ebarbe.repository.EventRepository;
+import com.ebarbe.repository.MainTaskRepository;
+import com.ebarbe.service.criteria.EventCriteria;
+import com.ebarbe.service.criteria.MainTaskCriteria;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.JoinType;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link RelationshipQueryService} specifications.
+ * <p>
+ * The last test is a benchmark: on the {@link LargeDataset}, each filter is run with the joins the specifications
+ * used to make and with the join-free specifications, and both timings are logged.
+ */
+@IntegrationTest
+@Transactional
+class RelationshipQueryServiceIT {
+
+    private static final Logger log = LoggerFactory.getLogger(RelationshipQueryServiceIT.class);
+
+    private static final int WARMUP = 3;
+
+    private static final int ITERATIONS = 10;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MainTaskQueryService mainTaskQueryService;
+
+    @Autowired
+    private EventQueryService eventQueryService;
+
+    @Autowired
+    private MainTaskRepository mainTaskRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @BeforeEach
+    public void seed() {
+        LargeDataset.seed(jdbcTemplate);
+    }
+
+    @Test
+    void toOneFilterShouldCompareTheForeignKey() {
+        MainTaskCriteria criteria = new MainTaskCriteria();
+        criteria.categoryId().setEquals(FIRST_ID);
+
+        RecordingStatementInspector.start();
+        List<MainTask> mainTasks = mainTaskRepository.findAll(mainTaskQueryService.createSpecification(criteria));
+        List<String> statements = RecordingStatementInspector.stop();
+
+        assertThat(statements).singleElement().asString().doesNotContainIgnoringCase(" join ");
+        assertThat(mainTasks).hasSize(250).allMatch(mainTask -> FIRST_ID == mainTask.getCategory().getId());
+    }
+
+    @Test
+    void toManyFilterShouldNotDuplicateRows() {
+        // Both sub tasks belong to the first main task
+        MainTaskCriteria criteria = new MainTaskCriteria();
+        criteria.subTaskId().setIn(List.of(FIRST_ID, FIRST_ID + 1));
+
+        Specification<MainTask> specification = mainTaskQueryService.createSpecification(criteria);
+
+        assertThat(mainTaskRepository.findAll(specification)).extracting(MainTask::getId).containsExactly(FIRST_ID);
+        assertThat(mainTaskRepository.count(specification)).isEqualTo(1);
+    }
+
+    @Test
+    void unspecifiedToManyFilterShouldMatchEntitiesWithoutAny() {
+        jdbcTemplate.update("insert into main_task (id, description, deadline) values (?, 'alone', date '2024-01-01')", FIRST_ID - 1);
+        MainTaskCriteria criteria = new MainTaskCriteria();
+        criteria.id().setGreaterThanOrEqual(FIRST_ID - 1);
+        criteria.subTaskId().setSpecified(false);
+
+        assertThat(mainTaskRepository.findAll(mainTaskQueryService.createSpecification(criteria)))
+            .extracting(MainTask::getId)
+            .containsExactly(FIRST_ID - 1);
+    }
+
+    @Test
+    void joinFreeSpecificationsShouldMatchTheJoinedOnes() {
+        MainTaskCriteria byCategory = new MainTaskCriteria();
+        byCategory.categoryId().setEquals(FIRST_ID);
+        benchmark(
+            "MainTask by categoryId",
+            mainTaskRepository::findAll,
+            mainTaskRepository::findAll,
+            MainTask::getId,
+            (root, query, builder) -> builder.equal(root.join(MainTask_.category, JoinType.LEFT).get(Category_.id), FIRST_ID),
+            mainTaskQueryService.createSpecification(byCategory)
+        );
+
+        MainTaskCriteria byOwnerAndDeadline = new MainTaskCriteria();
+        byOwnerAndDeadline.personOwnerId().setEquals(FIRST_ID);
+        byOwnerAndDeadline.deadline().setGreaterThanOrEqual(LocalDate.of(2024, 6, 1));
+        benchmark(
+            "MainTask by personOwnerId and deadline",
+            mainTaskRepository::findAll,
+            mainTaskRepository::findAll,
+            MainTask::getId,
+            (root, query, builder) ->
+                builder.and(
+                    builder.equal(root.join(MainTask_.personOwner, JoinType.LEFT).get(Person_.id), FIRST_ID),
+                    builder.greaterThanOrEqualTo(root.get(MainTask_.deadline), LocalDate.of(2024, 6, 1))
+                ),
+            mainTaskQueryService.createSpecification(byOwnerAndDeadline)
+        );
+
+        List<Long> subTaskIds = List.of(FIRST_ID, FIRST_ID + 1, FIRST_ID + 2, FIRST_ID + 3);
+        MainTaskCriteria bySubTask = new MainTaskCriteria();
+        bySubTask.subTaskId().setIn(subTaskIds);
+        benchmark(
+            "MainTask by subTaskId",
+            mainTaskRepository::findAll,
+            mainTaskRepository::findAll,
+            MainTask::getId,
+            (root, query, builder) -> root.join(MainTask_.subTasks, JoinType.LEFT).get(SubTask_.id).in(subTaskIds),
+            mainTaskQueryService.createSpecification(bySubTask)
+        );
+
+        List<Long> personIds = List.of(FIRST_ID, FIRST_ID + 1, FIRST_ID + 2);
+        EventCriteria byPerson = new EventCriteria();
+        byPerson.personId().setIn(personIds);
+        benchmark(
+            "Event by personId",
+            eventRepository::findAll,
+            eventRepository::findAll,
+            Event::getId,
+            (root, query, builder) -> root.join(Event_.person, JoinType.LEFT).get(Person_.id).in(personIds),
+            eventQueryService.createSpecification(byPerson)
+        );
+    }
+
+    /**
+     * Check both specifications match the same entities, the join-free one without duplicates,
+     * then log the median time of a page of 20 entities and its total count with each of them.
+     */
+    private <T> void benchmark(
+        String name,
+        Function<Specification<T>, List<T>> findAll,
+        BiFunction<Specification<T>, Pageable, Page<T>> findPage,
+        Function<T, Long> id,
+        Specification<T> joined,
+        Specification<T> joinFree
+    ) {
+        List<Long> joinedIds = findAll.apply(joined).stream().map(id).distinct().toList();
+        List<Long> joinFreeIds = findAll.apply(joinFree).stream().map(id).toList();
+        assertThat(joinFreeIds).isNotEmpty().doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(joinedIds);
+
+        long joinedMedian = median(() -> findPage.apply(joined, PageRequest.of(0, 20, Sort.by("id"))));
+        long joinFreeMedian = median(() -> findPage.apply(joinFree, PageRequest.of(0, 20, Sort.by("id"))));
+        log.info("{}: {} µs with joins, {} µs join-free", name, joinedMedian / 1000, joinFreeMedian / 1000);
+    }
+
+    private long median(Runnable query) {
+        long[] durations = new long[ITERATIONS];
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            em.clear();
+            long start = System.nanoTime();
+            query.run();
+            if (i >= 0) {
+                durations[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(durations);
+        return durations[ITERATIONS / 2];
+    }
+}
@@ -0,0 +1,52 @@
+package com.ebarbe.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.ebarbe.repository.search.SearchAfterSlice;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link SearchCursor} class.
+ */
+class SearchCursorTest {
+
+    @Test
+    void encodedCursorShouldBeDecoded() {
+        String token = SearchCursor.after("46ToAwMDaWR5:BCR1dWlk==", List.of(1.25D, 42L)).encode();
+
+        SearchCursor cursor = SearchCursor.decode(token);
+
+        assertThat(cursor.getPointInTimeId()).isEqualTo("46ToAwMDaWR5:BCR1dWlk==");
+        assertThat(cursor.getSortValues()).containsExactly(1.25D, 42L);
+    }
+
+    @Test
+    void keywordSortValueShouldBeKept() {
+        String token = SearchCursor.after("pit", List.of(0.5D, "12:3,4")).encode();
+
+        assertThat(SearchCursor.decode(token).getSortValues()).containsExactly(0.5D, "12:3,4");
+    }
+
+    @Test
+    void emptyTokenShouldStartTheSearch() {
+        assertThat(SearchCursor.decode(null).getPointInTimeId()).isNull();
+        assertThat(SearchCursor.decode("").getSortValues()).isNull();
+    }
+
+    @Test
+    void lastSliceShouldNotHaveANextCursor() {
+        KeysetSlice<String> slice = SearchCursor.toKeysetSlice(new SearchAfterSlice<>(List.of("a"), null, null));
+
+        assertThat(slice.hasNext()).isFalse();
+        assertThat(slice.getContent()).containsExactly("a");
+    }
+
+    @Test
+    void invalidTokenShouldBeRejected() {
+        assertThatThrownBy(() -> SearchCursor.decode("not a cursor")).isInstanceOf(InvalidCursorException.class);
+        // "x42:pit", a sort value of an unknown type
+        assertThatThrownBy(() -> SearchCursor.decode("eDQyOnBpdA")).isInstanceOf(InvalidCursorException.class);
+    }
+}
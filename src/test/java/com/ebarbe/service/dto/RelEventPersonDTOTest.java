@@ -10,15 +10,23 @@ class RelEventPersonDTOTest {
     @Test
     void dtoEqualsVerifier() throws Exception {
         TestUtil.equalsVerifier(RelEventPersonDTO.class);
+        EventDTO eventDTO = new EventDTO();
+        eventDTO.setId(1L);
+        PersonDTO personDTO1 = new PersonDTO();
+        personDTO1.setId(1L);
+        PersonDTO personDTO2 = new PersonDTO();
+        personDTO2.setId(2L);
         RelEventPersonDTO relEventPersonDTO1 = new RelEventPersonDTO();
-        relEventPersonDTO1.setId(1L);
+        relEventPersonDTO1.setEvent(eventDTO);
+        relEventPersonDTO1.setPerson(personDTO1);
         RelEventPersonDTO relEventPersonDTO2 = new RelEventPersonDTO();
         assertThat(relEventPersonDTO1).isNotEqualTo(relEventPersonDTO2);
-        relEventPersonDTO2.setId(relEventPersonDTO1.getId());
+        relEventPersonDTO2.setEvent(eventDTO);
+        relEventPersonDTO2.setPerson(personDTO1);
         assertThat(relEventPersonDTO1).isEqualTo(relEventPersonDTO2);
-        relEventPersonDTO2.setId(2L);
+        relEventPersonDTO2.setPerson(personDTO2);
         assertThat(relEventPersonDTO1).isNotEqualTo(relEventPersonDTO2);
-        relEventPersonDTO1.setId(null);
+        relEventPersonDTO1.setPerson(null);
         assertThat(relEventPersonDTO1).isNotEqualTo(relEventPersonDTO2);
     }
 }
@@ -12,6 +12,7 @@ import com.ebarbe.domain.Category;
 import com.ebarbe.domain.MainTask;
 import com.ebarbe.repository.CategoryRepository;
 import com.ebarbe.repository.search.CategorySearchRepository;
+import com.ebarbe.service.IndexOutboxService;
 import com.ebarbe.service.dto.CategoryDTO;
 import com.ebarbe.service.mapper.CategoryMapper;
 import jakarta.persistence.EntityManager;
@@ -61,6 +62,9 @@ class CategoryResourceIT {
     @Autowired
     private CategorySearchRepository categorySearchRepository;
 
+    @Autowired
+    private IndexOutboxService indexOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -116,6 +120,7 @@ class CategoryResourceIT {
         // Validate the Category in the database
         List<Category> categoryList = categoryRepository.findAll();
         assertThat(categoryList).hasSize(databaseSizeBeforeCreate + 1);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -449,6 +454,7 @@ class CategoryResourceIT {
         Category testCategory = categoryList.get(categoryList.size() - 1);
         assertThat(testCategory.getLabel()).isEqualTo(UPDATED_LABEL);
         assertThat(testCategory.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -689,6 +695,7 @@ class CategoryResourceIT {
         // Validate the database contains one less item
         List<Category> categoryList = categoryRepository.findAll();
         assertThat(categoryList).hasSize(databaseSizeBeforeDelete - 1);
+        indexOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(categorySearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
@@ -702,7 +709,7 @@ class CategoryResourceIT {
 
         // Search the category
         restCategoryMockMvc
-            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + category.getId()))
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(category.getId().intValue())))
@@ -3,6 +3,8 @@ package com.ebarbe.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -11,10 +13,11 @@ import com.ebarbe.IntegrationTest;
 import com.ebarbe.domain.Event;
 import com.ebarbe.domain.EventType;
 import com.ebarbe.domain.Person;
-import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.domain.User;
 import com.ebarbe.repository.EventRepository;
 import com.ebarbe.repository.search.EventSearchRepository;
 import com.ebarbe.service.EventService;
+import com.ebarbe.service.IndexOutboxService;
 import com.ebarbe.service.dto.EventDTO;
 import com.ebarbe.service.mapper.EventMapper;
 import jakarta.persistence.EntityManager;
@@ -37,6 +40,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -102,6 +106,9 @@ class EventResourceIT {
     @Autowired
     private EventSearchRepository eventSearchRepository;
 
+    @Autowired
+    private IndexOutboxService indexOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -175,6 +182,7 @@ class EventResourceIT {
         // Validate the Event in the database
         List<Event> eventList = eventRepository.findAll();
         assertThat(eventList).hasSize(databaseSizeBeforeCreate + 1);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -322,6 +330,117 @@ class EventResourceIT {
             .andExpect(jsonPath("$.[*].note").value(hasItem(DEFAULT_NOTE)));
     }
 
+    @Test
+    @Transactional
+    void getAllEventsShouldStayWithinStatementBudget() throws Exception {
+        // Initialize the database with events of distinct types, each with two people
+        for (int i = 0; i < 3; i++) {
+            EventType eventType = EventTypeResourceIT.createEntity(em);
+            em.persist(eventType);
+            Event event = createEntity(em).eventType(eventType);
+            for (int j = 0; j < 2; j++) {
+                User user = UserResourceIT.createEntity(em);
+                em.persist(user);
+                Person person = PersonResourceIT.createEntity(em).user(user);
+                em.persist(person);
+                event.addPerson(person);
+            }
+            em.persist(event);
+        }
+
+        // The page, its total and the types, read as columns, then the people and their users of all the events of the page
+        StatementBudget.assertListWithinBudget(restEventMockMvc, em, size -> get(ENTITY_API_URL + "?sort=id,desc&size=" + size), 3, 2);
+    }
+
+    @Test
+    @Transactional
+    void exportEvents() throws Exception {
+        // Initialize the database with an event of a type and with a person, and an event without any type
+        EventType eventType = EventTypeResourceIT.createEntity(em);
+        em.persist(eventType);
+        Person person = PersonResourceIT.createEntity(em);
+        em.persist(person);
+        event.setEventType(eventType);
+        event.addPerson(person);
+        event = eventRepository.saveAndFlush(event);
+        eventRepository.saveAndFlush(createEntity(em));
+
+        // Export the events of the type, one JSON document per line, without their people and with the id of their type only
+        restEventMockMvc
+            .perform(get(ENTITY_API_URL + "/_export?eventTypeId.equals=" + eventType.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(content().string(startsWith("{\"id\":" + event.getId() + ",")))
+            .andExpect(jsonPath("$.label").value(DEFAULT_LABEL))
+            .andExpect(jsonPath("$.eventType.id").value(eventType.getId().intValue()))
+            .andExpect(jsonPath("$.eventType.label").doesNotExist())
+            .andExpect(jsonPath("$.people").isEmpty());
+
+        // Export the same events as CSV, the type reduced to its id
+        restEventMockMvc
+            .perform(get(ENTITY_API_URL + "/_export?format=csv&eventTypeId.equals=" + eventType.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(
+                content()
+                    .string(
+                        "id,label,description,theme,dateStart,dateEnd,place,placeDetails,adress,note,eventTypeId\r\n" +
+                        event.getId() +
+                        "," +
+                        DEFAULT_LABEL +
+                        "," +
+                        DEFAULT_DESCRIPTION +
+                        "," +
+                        DEFAULT_THEME +
+                        "," +
+                        DEFAULT_DATE_START +
+                        "," +
+                        DEFAULT_DATE_END +
+                        "," +
+                        DEFAULT_PLACE +
+                        "," +
+                        DEFAULT_PLACE_DETAILS +
+                        "," +
+                        DEFAULT_ADRESS +
+                        "," +
+                        DEFAULT_NOTE +
+                        "," +
+                        eventType.getId() +
+                        "\r\n"
+                    )
+            );
+    }
+
+    @Test
+    @Transactional
+    void exportEventsWithUnsupportedFormat() throws Exception {
+        restEventMockMvc.perform(get(ENTITY_API_URL + "/_export?format=xml")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getEventShouldReadItsAssociationsInOneQuery() throws Exception {
+        // Initialize the database with an event with a type and two people
+        EventType eventType = EventTypeResourceIT.createEntity(em);
+        em.persist(eventType);
+        event.eventType(eventType);
+        for (int i = 0; i < 2; i++) {
+            User user = UserResourceIT.createEntity(em);
+            em.persist(user);
+            Person person = PersonResourceIT.createEntity(em).user(user);
+            em.persist(person);
+            event.addPerson(person);
+        }
+        em.persist(event);
+
+        StatementBudget.RecordedCall call = StatementBudget.record(restEventMockMvc, em, get(ENTITY_API_URL_ID, event.getId()));
+
+        call.andExpectOk();
+        jsonPath("$.eventType.label").value(eventType.getLabel()).match(call.result());
+        jsonPath("$.people[*].user.login").value(hasSize(2)).match(call.result());
+        assertThat(call.statements()).hasSize(1);
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllEventsWithEagerRelationshipsIsEnabled() throws Exception {
         when(eventServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -362,6 +481,55 @@ class EventResourceIT {
             .andExpect(jsonPath("$.note").value(DEFAULT_NOTE));
     }
 
+    @Test
+    @Transactional
+    void getEventShouldSendTheETagOfItsVersion() throws Exception {
+        // Initialize the database
+        eventRepository.saveAndFlush(event);
+
+        restEventMockMvc
+            .perform(get(ENTITY_API_URL_ID, event.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        // the version does not cover the type and the people shown with the event, it is always sent
+        restEventMockMvc
+            .perform(get(ENTITY_API_URL_ID, event.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(event.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void putEventWithCurrentIfMatchAfterAPersonChanged() throws Exception {
+        // Initialize the database
+        eventRepository.saveAndFlush(event);
+
+        String eTag = restEventMockMvc
+            .perform(get(ENTITY_API_URL_ID, event.getId()))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // a write to another entity does not change the tag of the event
+        em.persist(PersonResourceIT.createEntity(em));
+        em.flush();
+
+        EventDTO eventDTO = eventMapper.toDto(event);
+        eventDTO.setLabel(UPDATED_LABEL);
+
+        restEventMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, eventDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(eventDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+    }
+
     @Test
     @Transactional
     void getEventsByIdFiltering() throws Exception {
@@ -1061,28 +1229,6 @@ class EventResourceIT {
         defaultEventShouldNotBeFound("personId.equals=" + (personId + 1));
     }
 
-    @Test
-    @Transactional
-    void getAllEventsByRelEventPersonIsEqualToSomething() throws Exception {
-        RelEventPerson relEventPerson;
-        if (TestUtil.findAll(em, RelEventPerson.class).isEmpty()) {
-            eventRepository.saveAndFlush(event);
-            relEventPerson = RelEventPersonResourceIT.createEntity(em);
-        } else {
-            relEventPerson = TestUtil.findAll(em, RelEventPerson.class).get(0);
-        }
-        em.persist(relEventPerson);
-        em.flush();
-        event.addRelEventPerson(relEventPerson);
-        eventRepository.saveAndFlush(event);
-        Long relEventPersonId = relEventPerson.getId();
-        // Get all the eventList where relEventPerson equals to relEventPersonId
-        defaultEventShouldBeFound("relEventPersonId.equals=" + relEventPersonId);
-
-        // Get all the eventList where relEventPerson equals to (relEventPersonId + 1)
-        defaultEventShouldNotBeFound("relEventPersonId.equals=" + (relEventPersonId + 1));
-    }
-
     /**
      * Executes the search, and checks that the default entity is returned.
      */
@@ -1183,6 +1329,7 @@ class EventResourceIT {
         assertThat(testEvent.getPlaceDetails()).isEqualTo(UPDATED_PLACE_DETAILS);
         assertThat(testEvent.getAdress()).isEqualTo(UPDATED_ADRESS);
         assertThat(testEvent.getNote()).isEqualTo(UPDATED_NOTE);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -1453,6 +1600,7 @@ class EventResourceIT {
         // Validate the database contains one less item
         List<Event> eventList = eventRepository.findAll();
         assertThat(eventList).hasSize(databaseSizeBeforeDelete - 1);
+        indexOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(eventSearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
@@ -1466,7 +1614,7 @@ class EventResourceIT {
 
         // Search the event
         restEventMockMvc
-            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + event.getId()))
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(event.getId().intValue())))
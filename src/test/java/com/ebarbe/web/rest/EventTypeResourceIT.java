@@ -12,6 +12,7 @@ import com.ebarbe.domain.Event;
 import com.ebarbe.domain.EventType;
 import com.ebarbe.repository.EventTypeRepository;
 import com.ebarbe.repository.search.EventTypeSearchRepository;
+import com.ebarbe.service.IndexOutboxService;
 import com.ebarbe.service.dto.EventTypeDTO;
 import com.ebarbe.service.mapper.EventTypeMapper;
 import jakarta.persistence.EntityManager;
@@ -66,6 +67,9 @@ class EventTypeResourceIT {
     @Autowired
     private EventTypeSearchRepository eventTypeSearchRepository;
 
+    @Autowired
+    private IndexOutboxService indexOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -121,6 +125,7 @@ class EventTypeResourceIT {
         // Validate the EventType in the database
         List<EventType> eventTypeList = eventTypeRepository.findAll();
         assertThat(eventTypeList).hasSize(databaseSizeBeforeCreate + 1);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -550,6 +555,7 @@ class EventTypeResourceIT {
         assertThat(testEventType.getLabel()).isEqualTo(UPDATED_LABEL);
         assertThat(testEventType.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
         assertThat(testEventType.getDuration()).isEqualTo(UPDATED_DURATION);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -795,6 +801,7 @@ class EventTypeResourceIT {
         // Validate the database contains one less item
         List<EventType> eventTypeList = eventTypeRepository.findAll();
         assertThat(eventTypeList).hasSize(databaseSizeBeforeDelete - 1);
+        indexOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(eventTypeSearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
@@ -808,7 +815,7 @@ class EventTypeResourceIT {
 
         // Search the eventType
         restEventTypeMockMvc
-            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + eventType.getId()))
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(eventType.getId().intValue())))
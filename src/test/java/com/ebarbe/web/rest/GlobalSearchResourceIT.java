@@ -0,0 +1,103 @@
+package com.ebarbe.web.rest;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.domain.MainTask;
+import com.ebarbe.domain.Person;
+import com.ebarbe.repository.MainTaskRepository;
+import com.ebarbe.repository.PersonRepository;
+import com.ebarbe.repository.search.MainTaskSearchRepository;
+import com.ebarbe.repository.search.PersonSearchRepository;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link GlobalSearchResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class GlobalSearchResourceIT {
+
+    private static final String SEARCH_API_URL = "/api/_search";
+
+    private static final String QUERY = "AAAAAAAAAA";
+
+    @Autowired
+    private MainTaskRepository mainTaskRepository;
+
+    @Autowired
+    private MainTaskSearchRepository mainTaskSearchRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private PersonSearchRepository personSearchRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restGlobalSearchMockMvc;
+
+    @AfterEach
+    public void cleanupElasticSearchRepositories() {
+        mainTaskSearchRepository.deleteAll();
+        personSearchRepository.deleteAll();
+    }
+
+    @Test
+    @Transactional
+    void searchAllShouldMergeTheHitsOfEachType() throws Exception {
+        // Initialize the database
+        MainTask mainTask = mainTaskRepository.saveAndFlush(MainTaskResourceIT.createEntity(em));
+        mainTaskSearchRepository.indexAllById(List.of(mainTask.getId()));
+        Person person = personRepository.saveAndFlush(PersonResourceIT.createEntity(em));
+        personSearchRepository.save(person);
+
+        // Search all the entities
+        restGlobalSearchMockMvc
+            .perform(get(SEARCH_API_URL + "?q=" + QUERY))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.hits[*].type").value(hasItems("mainTask", "person")))
+            .andExpect(jsonPath("$.hits[?(@.type == 'mainTask')].entity.id").value(hasItem(mainTask.getId().intValue())))
+            .andExpect(jsonPath("$.hits[?(@.type == 'mainTask')].entity.subTaskCount").value(hasItem(0)))
+            .andExpect(jsonPath("$.hits[?(@.type == 'person')].entity.id").value(hasItem(person.getId().intValue())))
+            .andExpect(jsonPath("$.totals.mainTask").value(1))
+            .andExpect(jsonPath("$.totals.person").value(1))
+            .andExpect(jsonPath("$.totals.subTask").value(0));
+    }
+
+    @Test
+    @Transactional
+    void searchAllShouldReturnTheTopHitsOfEachType() throws Exception {
+        // Initialize the database, with one more mainTask than the top hits of a type
+        List<MainTask> mainTasks = mainTaskRepository.saveAllAndFlush(
+            IntStream.range(0, 6).mapToObj(i -> MainTaskResourceIT.createEntity(em)).toList()
+        );
+        mainTaskSearchRepository.indexAllById(mainTasks.stream().map(MainTask::getId).toList());
+
+        // Search all the entities
+        restGlobalSearchMockMvc
+            .perform(get(SEARCH_API_URL + "?q=" + QUERY))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.hits[?(@.type == 'mainTask')]", hasSize(5)))
+            .andExpect(jsonPath("$.totals.mainTask").value(6));
+    }
+}
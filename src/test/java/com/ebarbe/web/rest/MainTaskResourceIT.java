@@ -2,7 +2,13 @@ package com.ebarbe.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -13,8 +19,11 @@ import com.ebarbe.domain.MainTask;
 import com.ebarbe.domain.Person;
 import com.ebarbe.domain.Status;
 import com.ebarbe.domain.SubTask;
+import com.ebarbe.domain.search.MainTaskDocument;
 import com.ebarbe.repository.MainTaskRepository;
 import com.ebarbe.repository.search.MainTaskSearchRepository;
+import com.ebarbe.security.AuthoritiesConstants;
+import com.ebarbe.service.IndexOutboxService;
 import com.ebarbe.service.dto.MainTaskDTO;
 import com.ebarbe.service.mapper.MainTaskMapper;
 import jakarta.persistence.EntityManager;
@@ -24,6 +33,7 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
@@ -31,6 +41,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -62,6 +73,7 @@ class MainTaskResourceIT {
     private static final String ENTITY_API_URL = "/api/main-tasks";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
     private static final String ENTITY_SEARCH_API_URL = "/api/main-tasks/_search";
+    private static final String ENTITY_BULK_API_URL = "/api/main-tasks/_bulk";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -75,6 +87,9 @@ class MainTaskResourceIT {
     @Autowired
     private MainTaskSearchRepository mainTaskSearchRepository;
 
+    @Autowired
+    private IndexOutboxService indexOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -138,6 +153,7 @@ class MainTaskResourceIT {
         // Validate the MainTask in the database
         List<MainTask> mainTaskList = mainTaskRepository.findAll();
         assertThat(mainTaskList).hasSize(databaseSizeBeforeCreate + 1);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -212,6 +228,137 @@ class MainTaskResourceIT {
             .andExpect(jsonPath("$.[*].cost").value(hasItem(DEFAULT_COST.doubleValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllMainTasksShouldStayWithinStatementBudget() throws Exception {
+        // Initialize the database with main tasks linked to distinct entities
+        for (int i = 0; i < 3; i++) {
+            Category category = CategoryResourceIT.createEntity(em);
+            em.persist(category);
+            Status status = StatusResourceIT.createEntity(em);
+            em.persist(status);
+            Person person = PersonResourceIT.createEntity(em);
+            em.persist(person);
+            em.persist(createEntity(em).category(category).status(status).personOwner(person));
+        }
+
+        // The page and its total are read with a single query, the entities linked are reduced to their ids
+        StatementBudget.assertListWithinBudget(restMainTaskMockMvc, em, size -> get(ENTITY_API_URL + "?sort=id,desc&size=" + size), 3, 1);
+    }
+
+    @Test
+    @Transactional
+    void getAllMainTasksWithCursor() throws Exception {
+        // Initialize the database
+        mainTaskRepository.saveAndFlush(mainTask);
+        MainTask otherMainTask = mainTaskRepository.saveAndFlush(createEntity(em));
+
+        // Get the first slice, with a single element
+        String link = restMainTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1&after=&id.in=" + mainTask.getId() + "," + otherMainTask.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(mainTask.getId().intValue()))
+            .andReturn()
+            .getResponse()
+            .getHeader("Link");
+        assertThat(link).contains("rel=\"next\"");
+
+        // Follow the next link, which is the last slice
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restMainTaskMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(jsonPath("$.[*].id").value(otherMainTask.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getAllMainTasksWithInvalidCursor() throws Exception {
+        restMainTaskMockMvc.perform(get(ENTITY_API_URL + "?after=invalid")).andExpect(status().isBadRequest());
+        restMainTaskMockMvc.perform(get(ENTITY_API_URL + "?after=&sort=cost,asc")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllMainTasksWithTotalCount() throws Exception {
+        // Initialize the database
+        mainTaskRepository.saveAndFlush(mainTask);
+        MainTask otherMainTask = mainTaskRepository.saveAndFlush(createEntity(em));
+        String filter = "&id.in=" + mainTask.getId() + "," + otherMainTask.getId();
+
+        // The total is read along with the rows of the page
+        restMainTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$.[*].id").value(mainTask.getId().intValue()));
+
+        // Past the last page, the total is still sent
+        restMainTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1&page=5" + filter))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    @Transactional
+    void getAllMainTasksWithoutTotalCount() throws Exception {
+        // Initialize the database
+        mainTaskRepository.saveAndFlush(mainTask);
+        MainTask otherMainTask = mainTaskRepository.saveAndFlush(createEntity(em));
+        String filter = "&id.in=" + mainTask.getId() + "," + otherMainTask.getId();
+
+        // Get the first page, with a single element
+        restMainTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1" + filter).header("Prefer", "count=none"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Preference-Applied", "count=none"))
+            .andExpect(header().string("Link", containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.[*].id").value(mainTask.getId().intValue()));
+
+        // The last page has no next link
+        restMainTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,asc&size=1&page=1" + filter).header("Prefer", "count=none"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string("Link", not(containsString("rel=\"next\""))))
+            .andExpect(jsonPath("$.[*].id").value(otherMainTask.getId().intValue()));
+    }
+
+    @Test
+    @Transactional
+    void exportMainTasks() throws Exception {
+        // Initialize the database
+        mainTaskRepository.saveAndFlush(mainTask);
+
+        // Export the mainTasks matching the criteria, one JSON document per line
+        restMainTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/_export?id.equals=" + mainTask.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(content().string(startsWith("{\"id\":" + mainTask.getId() + ",")))
+            .andExpect(content().string(containsString("\"description\":\"" + DEFAULT_DESCRIPTION + "\"")));
+
+        // Export the same mainTasks as CSV
+        restMainTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/_export?format=csv&id.equals=" + mainTask.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(content().string(startsWith("id,description,deadline,creation,cost,categoryId,personOwnerId,statusId\r\n")))
+            .andExpect(content().string(containsString("\r\n" + mainTask.getId() + "," + DEFAULT_DESCRIPTION + "," + DEFAULT_DEADLINE)));
+    }
+
+    @Test
+    @Transactional
+    void exportMainTasksWithUnsupportedFormat() throws Exception {
+        restMainTaskMockMvc.perform(get(ENTITY_API_URL + "/_export?format=xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getMainTask() throws Exception {
@@ -230,6 +377,54 @@ class MainTaskResourceIT {
             .andExpect(jsonPath("$.cost").value(DEFAULT_COST.doubleValue()));
     }
 
+    @Test
+    @Transactional
+    void getMainTaskShouldBeNotModifiedWithItsETag() throws Exception {
+        // Initialize the database
+        mainTaskRepository.saveAndFlush(mainTask);
+
+        restMainTaskMockMvc
+            .perform(get(ENTITY_API_URL_ID, mainTask.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"0\""));
+
+        StatementBudget.RecordedCall call = StatementBudget.record(
+            restMainTaskMockMvc,
+            em,
+            get(ENTITY_API_URL_ID, mainTask.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\"")
+        );
+
+        status().isNotModified().match(call.result());
+        header().string(HttpHeaders.ETAG, "\"0\"").match(call.result());
+        assertThat(call.content()).isEmpty();
+        // only the version is read
+        assertThat(call.statements()).hasSize(1);
+    }
+
+    @Test
+    @Transactional
+    void getAllMainTasksShouldBeNotModifiedWithTheirETag() throws Exception {
+        // Initialize the database
+        mainTaskRepository.saveAndFlush(mainTask);
+
+        String eTag = restMainTaskMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        StatementBudget.RecordedCall call = StatementBudget.record(
+            restMainTaskMockMvc,
+            em,
+            get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag)
+        );
+
+        status().isNotModified().match(call.result());
+        assertThat(call.statements()).isEmpty();
+    }
+
     @Test
     @Transactional
     void getMainTasksByIdFiltering() throws Exception {
@@ -729,7 +924,7 @@ class MainTaskResourceIT {
         mainTaskRepository.saveAndFlush(mainTask);
 
         int databaseSizeBeforeUpdate = mainTaskRepository.findAll().size();
-        mainTaskSearchRepository.save(mainTask);
+        mainTaskSearchRepository.indexAllById(List.of(mainTask.getId()));
         int searchDatabaseSizeBefore = IterableUtil.sizeOf(mainTaskSearchRepository.findAll());
 
         // Update the mainTask
@@ -755,13 +950,14 @@ class MainTaskResourceIT {
         assertThat(testMainTask.getDeadline()).isEqualTo(UPDATED_DEADLINE);
         assertThat(testMainTask.getCreation()).isEqualTo(UPDATED_CREATION);
         assertThat(testMainTask.getCost()).isEqualTo(UPDATED_COST);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
                 int searchDatabaseSizeAfter = IterableUtil.sizeOf(mainTaskSearchRepository.findAll());
                 assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-                List<MainTask> mainTaskSearchList = IterableUtils.toList(mainTaskSearchRepository.findAll());
-                MainTask testMainTaskSearch = mainTaskSearchList.get(searchDatabaseSizeAfter - 1);
+                List<MainTaskDocument> mainTaskSearchList = IterableUtils.toList(mainTaskSearchRepository.findAll());
+                MainTaskDocument testMainTaskSearch = mainTaskSearchList.get(searchDatabaseSizeAfter - 1);
                 assertThat(testMainTaskSearch.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
                 assertThat(testMainTaskSearch.getDeadline()).isEqualTo(UPDATED_DEADLINE);
                 assertThat(testMainTaskSearch.getCreation()).isEqualTo(UPDATED_CREATION);
@@ -769,6 +965,59 @@ class MainTaskResourceIT {
             });
     }
 
+    @Test
+    @Transactional
+    void putMainTaskWithCurrentIfMatch() throws Exception {
+        // Initialize the database
+        mainTaskRepository.saveAndFlush(mainTask);
+
+        MainTaskDTO mainTaskDTO = mainTaskMapper.toDto(mainTask);
+        mainTaskDTO.setDescription(UPDATED_DESCRIPTION);
+
+        restMainTaskMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, mainTaskDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"0\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(mainTaskDTO))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+            .andExpect(jsonPath("$.version").value(1));
+
+        // Validate the MainTask in the database
+        em.clear();
+        MainTask testMainTask = mainTaskRepository.findById(mainTask.getId()).orElseThrow();
+        assertThat(testMainTask.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
+        assertThat(testMainTask.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    @Transactional
+    void putMainTaskWithStaleIfMatch() throws Exception {
+        // Initialize the database
+        mainTaskRepository.saveAndFlush(mainTask);
+
+        MainTaskDTO mainTaskDTO = mainTaskMapper.toDto(mainTask);
+        mainTaskDTO.setDescription(UPDATED_DESCRIPTION);
+
+        // If the mainTask was updated since the client read it, it will throw PreconditionFailedException
+        restMainTaskMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, mainTaskDTO.getId())
+                    .header(HttpHeaders.IF_MATCH, "\"41\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(mainTaskDTO))
+            )
+            .andExpect(status().isPreconditionFailed());
+
+        // Validate the MainTask in the database
+        em.clear();
+        MainTask testMainTask = mainTaskRepository.findById(mainTask.getId()).orElseThrow();
+        assertThat(testMainTask.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+        assertThat(testMainTask.getVersion()).isZero();
+    }
+
     @Test
     @Transactional
     void putNonExistingMainTask() throws Exception {
@@ -907,6 +1156,31 @@ class MainTaskResourceIT {
         assertThat(testMainTask.getCost()).isEqualTo(UPDATED_COST);
     }
 
+    @Test
+    @Transactional
+    void patchMainTaskWithStaleVersion() throws Exception {
+        // Initialize the database
+        mainTaskRepository.saveAndFlush(mainTask);
+
+        MainTaskDTO partialUpdatedMainTaskDTO = new MainTaskDTO();
+        partialUpdatedMainTaskDTO.setId(mainTask.getId());
+        partialUpdatedMainTaskDTO.setVersion(41L);
+        partialUpdatedMainTaskDTO.setDescription(UPDATED_DESCRIPTION);
+
+        // If the mainTask was updated since the client read it, it will throw ObjectOptimisticLockingFailureException
+        restMainTaskMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedMainTaskDTO.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedMainTaskDTO))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the MainTask in the database
+        em.clear();
+        assertThat(mainTaskRepository.findById(mainTask.getId()).orElseThrow().getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+    }
+
     @Test
     @Transactional
     void patchNonExistingMainTask() throws Exception {
@@ -983,13 +1257,80 @@ class MainTaskResourceIT {
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
     }
 
+    @Test
+    @Transactional
+    void bulkCreateMainTasks() throws Exception {
+        int databaseSizeBeforeCreate = mainTaskRepository.findAll().size();
+        int searchDatabaseSizeBefore = IterableUtil.sizeOf(mainTaskSearchRepository.findAll());
+        // More main tasks than the JDBC batch size
+        List<MainTaskDTO> mainTaskDTOs = IntStream.range(0, 30).mapToObj(i -> mainTaskMapper.toDto(createEntity(em))).toList();
+
+        restMainTaskMockMvc
+            .perform(
+                post(ENTITY_BULK_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(mainTaskDTOs))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.length()").value(30))
+            .andExpect(jsonPath("$.[29].index").value(29))
+            .andExpect(jsonPath("$.[29].status").value(201))
+            .andExpect(jsonPath("$.[29].entity.id").isNumber());
+
+        // Validate the MainTasks in the database
+        assertThat(mainTaskRepository.findAll()).hasSize(databaseSizeBeforeCreate + 30);
+        indexOutboxService.drain();
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(mainTaskSearchRepository.findAll());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 30);
+            });
+    }
+
+    @Test
+    @Transactional
+    void bulkUpdateMainTasks() throws Exception {
+        // Initialize the database
+        MainTask otherMainTask = createEntity(em);
+        mainTaskRepository.saveAllAndFlush(List.of(mainTask, otherMainTask));
+
+        List<MainTaskDTO> updatedMainTaskDTOs = List
+            .of(mainTask, otherMainTask)
+            .stream()
+            .map(existingMainTask -> {
+                MainTaskDTO updatedMainTaskDTO = mainTaskMapper.toDto(createUpdatedEntity(em));
+                updatedMainTaskDTO.setId(existingMainTask.getId());
+                return updatedMainTaskDTO;
+            })
+            .toList();
+
+        restMainTaskMockMvc
+            .perform(
+                put(ENTITY_BULK_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedMainTaskDTOs))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].status").value(everyItem(is(200))))
+            .andExpect(jsonPath("$.[*].entity.description").value(everyItem(is(UPDATED_DESCRIPTION))));
+
+        // Validate the MainTasks in the database
+        em.flush();
+        em.clear();
+        assertThat(mainTaskRepository.findAllById(List.of(mainTask.getId(), otherMainTask.getId())))
+            .hasSize(2)
+            .allSatisfy(testMainTask -> {
+                assertThat(testMainTask.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
+                assertThat(testMainTask.getDeadline()).isEqualTo(UPDATED_DEADLINE);
+            });
+    }
+
     @Test
     @Transactional
     void deleteMainTask() throws Exception {
         // Initialize the database
         mainTaskRepository.saveAndFlush(mainTask);
         mainTaskRepository.save(mainTask);
-        mainTaskSearchRepository.save(mainTask);
+        mainTaskSearchRepository.indexAllById(List.of(mainTask.getId()));
 
         int databaseSizeBeforeDelete = mainTaskRepository.findAll().size();
         int searchDatabaseSizeBefore = IterableUtil.sizeOf(mainTaskSearchRepository.findAll());
@@ -1003,6 +1344,7 @@ class MainTaskResourceIT {
         // Validate the database contains one less item
         List<MainTask> mainTaskList = mainTaskRepository.findAll();
         assertThat(mainTaskList).hasSize(databaseSizeBeforeDelete - 1);
+        indexOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(mainTaskSearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
@@ -1012,11 +1354,11 @@ class MainTaskResourceIT {
     void searchMainTask() throws Exception {
         // Initialize the database
         mainTask = mainTaskRepository.saveAndFlush(mainTask);
-        mainTaskSearchRepository.save(mainTask);
+        mainTaskSearchRepository.indexAllById(List.of(mainTask.getId()));
 
         // Search the mainTask
         restMainTaskMockMvc
-            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + mainTask.getId()))
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(mainTask.getId().intValue())))
@@ -1025,4 +1367,123 @@ class MainTaskResourceIT {
             .andExpect(jsonPath("$.[*].creation").value(hasItem(DEFAULT_CREATION.toString())))
             .andExpect(jsonPath("$.[*].cost").value(hasItem(DEFAULT_COST.doubleValue())));
     }
+
+    @Test
+    @Transactional
+    void searchMainTasksWithCursor() throws Exception {
+        // Initialize the database
+        List<MainTask> mainTasks = mainTaskRepository.saveAllAndFlush(List.of(mainTask, createEntity(em), createEntity(em)));
+        mainTaskSearchRepository.indexAllById(mainTasks.stream().map(MainTask::getId).toList());
+
+        // Get the first slice, with two of the three mainTasks of the same score, sorted by id
+        String link = restMainTaskMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION + "&size=2&after="))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(contains(mainTasks.get(0).getId().intValue(), mainTasks.get(1).getId().intValue())))
+            .andReturn()
+            .getResponse()
+            .getHeader("Link");
+        assertThat(link).contains("rel=\"next\"");
+
+        // Follow the next link, which is the last slice
+        String next = link.substring(link.indexOf('<') + 1, link.indexOf('>'));
+        restMainTaskMockMvc
+            .perform(get(next))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(jsonPath("$.[*].id").value(contains(mainTasks.get(2).getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void searchMainTasksWithInvalidCursor() throws Exception {
+        restMainTaskMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION + "&after=invalid")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void searchMainTasksWithWildcardsShouldNotFail() throws Exception {
+        // Initialize the database
+        mainTask = mainTaskRepository.saveAndFlush(mainTask);
+        mainTaskSearchRepository.indexAllById(List.of(mainTask.getId()));
+
+        // neither a leading wildcard nor a syntax error reaches Elasticsearch as such
+        restMainTaskMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?query=*AAA*")).andExpect(status().isOk());
+        restMainTaskMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?query=description:(AAA")).andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    void searchMainTasksInRawModeShouldBeForbidden() throws Exception {
+        restMainTaskMockMvc.perform(get(ENTITY_SEARCH_API_URL + "?query=id:1&raw=true")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+    void searchMainTasksInRawMode() throws Exception {
+        // Initialize the database
+        mainTask = mainTaskRepository.saveAndFlush(mainTask);
+        mainTaskSearchRepository.indexAllById(List.of(mainTask.getId()));
+
+        // Search the mainTask with the full query syntax
+        restMainTaskMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?raw=true&query=id:" + mainTask.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(contains(mainTask.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    void searchMainTaskShouldGiveTheSummaryOfItsRelations() throws Exception {
+        // Initialize the database
+        Category category = CategoryResourceIT.createEntity(em);
+        em.persist(category);
+        mainTask = mainTaskRepository.saveAndFlush(mainTask.category(category));
+        em.persist(SubTaskResourceIT.createEntity(em).mainTask(mainTask).cost(2D).deadline(LocalDate.ofEpochDay(10L)));
+        em.persist(SubTaskResourceIT.createEntity(em).mainTask(mainTask).cost(3D).deadline(LocalDate.ofEpochDay(5L)));
+        em.flush();
+        mainTaskSearchRepository.indexAllById(List.of(mainTask.getId()));
+
+        // Search the mainTask, a hit is a full result row
+        restMainTaskMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].id").value(mainTask.getId().intValue()))
+            .andExpect(jsonPath("$.[0].category.id").value(category.getId().intValue()))
+            .andExpect(jsonPath("$.[0].category.label").value(category.getLabel()))
+            .andExpect(jsonPath("$.[0].subTaskCount").value(2))
+            .andExpect(jsonPath("$.[0].subTaskTotalCost").value(5D))
+            .andExpect(jsonPath("$.[0].nearestSubTaskDeadline").value(LocalDate.ofEpochDay(5L).toString()));
+    }
+
+    @Test
+    @Transactional
+    void searchMainTasksWithFacets() throws Exception {
+        // Initialize the database
+        Status status = StatusResourceIT.createEntity(em);
+        em.persist(status);
+        mainTask = mainTaskRepository.saveAndFlush(mainTask.status(status));
+        mainTaskSearchRepository.indexAllById(List.of(mainTask.getId()));
+        String deadlineMonth = DEFAULT_DEADLINE.toString().substring(0, 7);
+
+        // Search the mainTask, with the facets asked computed by the same search
+        restMainTaskMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION + "&facets=status,deadline"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.content.[*].id").value(hasItem(mainTask.getId().intValue())))
+            .andExpect(jsonPath("$.facets.status.[*].key").value(hasItem(status.getId().toString())))
+            .andExpect(jsonPath("$.facets.deadline.[*].key").value(hasItem(deadlineMonth)))
+            .andExpect(jsonPath("$.facets.category").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void searchMainTasksWithUnknownFacetShouldFail() throws Exception {
+        restMainTaskMockMvc
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION + "&facets=cost"))
+            .andExpect(status().isBadRequest());
+    }
 }
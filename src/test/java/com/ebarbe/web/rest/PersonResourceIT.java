@@ -10,10 +10,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.ebarbe.IntegrationTest;
 import com.ebarbe.domain.Event;
 import com.ebarbe.domain.Person;
-import com.ebarbe.domain.RelEventPerson;
 import com.ebarbe.domain.User;
 import com.ebarbe.repository.PersonRepository;
 import com.ebarbe.repository.search.PersonSearchRepository;
+import com.ebarbe.service.IndexOutboxService;
 import com.ebarbe.service.dto.PersonDTO;
 import com.ebarbe.service.mapper.PersonMapper;
 import jakarta.persistence.EntityManager;
@@ -66,6 +66,9 @@ class PersonResourceIT {
     @Autowired
     private PersonSearchRepository personSearchRepository;
 
+    @Autowired
+    private IndexOutboxService indexOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -121,6 +124,7 @@ class PersonResourceIT {
         // Validate the Person in the database
         List<Person> personList = personRepository.findAll();
         assertThat(personList).hasSize(databaseSizeBeforeCreate + 1);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -172,6 +176,20 @@ class PersonResourceIT {
             .andExpect(jsonPath("$.[*].name").value(hasItem(DEFAULT_NAME)));
     }
 
+    @Test
+    @Transactional
+    void getAllPeopleShouldStayWithinStatementBudget() throws Exception {
+        // Initialize the database with people, each with a user
+        for (int i = 0; i < 3; i++) {
+            User user = UserResourceIT.createEntity(em);
+            em.persist(user);
+            em.persist(createEntity(em).user(user));
+        }
+
+        // The page, its total and the users of its people, read as columns in one query
+        StatementBudget.assertListWithinBudget(restPersonMockMvc, em, size -> get(ENTITY_API_URL + "?sort=id,desc&size=" + size), 3, 1);
+    }
+
     @Test
     @Transactional
     void getPerson() throws Exception {
@@ -446,28 +464,6 @@ class PersonResourceIT {
         defaultPersonShouldNotBeFound("eventId.equals=" + (eventId + 1));
     }
 
-    @Test
-    @Transactional
-    void getAllPeopleByRelEventPersonIsEqualToSomething() throws Exception {
-        RelEventPerson relEventPerson;
-        if (TestUtil.findAll(em, RelEventPerson.class).isEmpty()) {
-            personRepository.saveAndFlush(person);
-            relEventPerson = RelEventPersonResourceIT.createEntity(em);
-        } else {
-            relEventPerson = TestUtil.findAll(em, RelEventPerson.class).get(0);
-        }
-        em.persist(relEventPerson);
-        em.flush();
-        person.addRelEventPerson(relEventPerson);
-        personRepository.saveAndFlush(person);
-        Long relEventPersonId = relEventPerson.getId();
-        // Get all the personList where relEventPerson equals to relEventPersonId
-        defaultPersonShouldBeFound("relEventPersonId.equals=" + relEventPersonId);
-
-        // Get all the personList where relEventPerson equals to (relEventPersonId + 1)
-        defaultPersonShouldNotBeFound("relEventPersonId.equals=" + (relEventPersonId + 1));
-    }
-
     /**
      * Executes the search, and checks that the default entity is returned.
      */
@@ -547,6 +543,7 @@ class PersonResourceIT {
         assertThat(testPerson.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
         assertThat(testPerson.getPseudo()).isEqualTo(UPDATED_PSEUDO);
         assertThat(testPerson.getName()).isEqualTo(UPDATED_NAME);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -792,6 +789,7 @@ class PersonResourceIT {
         // Validate the database contains one less item
         List<Person> personList = personRepository.findAll();
         assertThat(personList).hasSize(databaseSizeBeforeDelete - 1);
+        indexOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(personSearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
@@ -805,7 +803,7 @@ class PersonResourceIT {
 
         // Search the person
         restPersonMockMvc
-            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + person.getId()))
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(person.getId().intValue())))
@@ -0,0 +1,110 @@
+package com.ebarbe.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.domain.Category;
+import com.ebarbe.repository.CategoryRepository;
+import com.ebarbe.repository.IndexPauseRepository;
+import com.ebarbe.repository.search.CategorySearchRepository;
+import com.ebarbe.security.AuthoritiesConstants;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ReindexEndpoint} actuator endpoint.
+ */
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+@IntegrationTest
+class ReindexEndpointIT {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategorySearchRepository categorySearchRepository;
+
+    @Autowired
+    private IndexPauseRepository indexPauseRepository;
+
+    @Autowired
+    private ElasticsearchClient elasticsearchClient;
+
+    @Autowired
+    private ElasticsearchTemplate elasticsearchTemplate;
+
+    @Autowired
+    private MockMvc restMockMvc;
+
+    private Category category;
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        if (category != null) {
+            categoryRepository.deleteById(category.getId());
+        }
+        categorySearchRepository.deleteAll();
+        restoreCategoryIndex();
+    }
+
+    /**
+     * Replace the versioned index loaded by a rebuild, and the alias pointing to it, by a plain index as created at startup,
+     * so that the other tests do not depend on the order they run in.
+     */
+    private void restoreCategoryIndex() throws IOException {
+        if (elasticsearchClient.indices().existsAlias(request -> request.name("category")).value()) {
+            Set<String> aliased = elasticsearchClient.indices().getAlias(request -> request.name("category")).result().keySet();
+            elasticsearchClient.indices().delete(request -> request.index(List.copyOf(aliased)));
+            elasticsearchTemplate.indexOps(Category.class).createWithMapping();
+        }
+    }
+
+    @Test
+    void reindexShouldLoadTheDatabaseBehindTheAlias() throws Exception {
+        // Committed, but not sent to Elasticsearch
+        category = categoryRepository.saveAndFlush(new Category().label("AAAAAAAAAA"));
+        assertThat(categorySearchRepository.existsById(category.getId())).isFalse();
+
+        restMockMvc.perform(post("/management/reindex/category")).andExpect(status().isAccepted());
+
+        await()
+            .atMost(30, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                restMockMvc
+                    .perform(get("/management/reindex/category"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.state").value("COMPLETED"))
+                    .andExpect(jsonPath("$.index").value(org.hamcrest.Matchers.startsWith("category-")))
+            );
+        assertThat(categorySearchRepository.existsById(category.getId())).isTrue();
+    }
+
+    @Test
+    @Transactional
+    void reindexRebuiltByAnotherInstanceShouldConflict() throws Exception {
+        // Another instance holds the changes of the categories while it rebuilds their index
+        indexPauseRepository.acquire(Category.class.getSimpleName(), "another-instance", 60);
+
+        restMockMvc.perform(post("/management/reindex/category")).andExpect(status().isConflict());
+    }
+
+    @Test
+    void reindexUnknownIndexShouldFail() throws Exception {
+        restMockMvc.perform(post("/management/reindex/unknown")).andExpect(status().isNotFound());
+    }
+}
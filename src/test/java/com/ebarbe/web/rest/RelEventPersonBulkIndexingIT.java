@@ -0,0 +1,118 @@
+package com.ebarbe.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.domain.Event;
+import com.ebarbe.domain.Hierarchy;
+import com.ebarbe.domain.Person;
+import com.ebarbe.domain.RelEventPersonId;
+import com.ebarbe.repository.EventRepository;
+import com.ebarbe.repository.HierarchyRepository;
+import com.ebarbe.repository.PersonRepository;
+import com.ebarbe.repository.RelEventPersonRepository;
+import com.ebarbe.repository.search.RelEventPersonSearchRepository;
+import com.ebarbe.service.dto.EventParticipantDTO;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the indexing of the participants assigned in bulk by the {@link RelEventPersonExtendedResource} REST
+ * controller.
+ * <p>
+ * The participants are queued in the index outbox with the upsert, and only drained once it is committed, so these tests do
+ * not run in a transaction rolled back at the end: the rows they write are deleted after each test.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class RelEventPersonBulkIndexingIT {
+
+    private static final String PARTICIPATION = "AAAAAAAAAA";
+
+    private static final String ENTITY_BULK_API_URL = "/api/rel-event-people/management/{eventId}/_bulk";
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private PersonRepository personRepository;
+
+    @Autowired
+    private HierarchyRepository hierarchyRepository;
+
+    @Autowired
+    private RelEventPersonRepository relEventPersonRepository;
+
+    @Autowired
+    private RelEventPersonSearchRepository relEventPersonSearchRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restRelEventPersonMockMvc;
+
+    private Event event;
+
+    private Person person;
+
+    private Hierarchy hierarchy;
+
+    @BeforeEach
+    public void initTest() {
+        event = eventRepository.saveAndFlush(EventResourceIT.createEntity(em));
+        person = personRepository.saveAndFlush(PersonResourceIT.createEntity(em));
+        hierarchy = hierarchyRepository.saveAndFlush(HierarchyResourceIT.createEntity(em));
+    }
+
+    @AfterEach
+    public void cleanup() {
+        relEventPersonRepository.deleteById(new RelEventPersonId(event.getId(), person.getId()));
+        eventRepository.deleteById(event.getId());
+        personRepository.deleteById(person.getId());
+        hierarchyRepository.deleteById(hierarchy.getId());
+        relEventPersonSearchRepository.deleteAll();
+    }
+
+    @Test
+    void bulkUpsertParticipantsShouldIndexThemOnceCommitted() throws Exception {
+        EventParticipantDTO participant = new EventParticipantDTO();
+        participant.setPersonId(person.getId());
+        participant.setHierarchyId(hierarchy.getId());
+        participant.setParticipation(PARTICIPATION);
+
+        restRelEventPersonMockMvc
+            .perform(
+                post(ENTITY_BULK_API_URL, event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(participant)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(201));
+
+        // The participant is indexed with the entities linked to it by the scheduled drain of the outbox
+        await()
+            .atMost(10, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                assertThat(relEventPersonSearchRepository.findById(new RelEventPersonId(event.getId(), person.getId())))
+                    .hasValueSatisfying(indexed -> {
+                        assertThat(indexed.getParticipation()).isEqualTo(PARTICIPATION);
+                        assertThat(indexed.getEvent().getLabel()).isEqualTo(event.getLabel());
+                        assertThat(indexed.getHierarchy().getDescription()).isEqualTo(hierarchy.getDescription());
+                    })
+            );
+    }
+}
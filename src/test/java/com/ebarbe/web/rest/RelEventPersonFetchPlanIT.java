@@ -0,0 +1,317 @@
+package com.ebarbe.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.ebarbe.IntegrationTest;
+import com.ebarbe.config.RecordingStatementInspector;
+import com.ebarbe.domain.Event;
+import com.ebarbe.domain.EventType;
+import com.ebarbe.domain.Hierarchy;
+import com.ebarbe.domain.Person;
+import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.domain.User;
+import com.ebarbe.repository.search.RelEventPersonSearchRepository;
+import com.ebarbe.service.dto.EventDTO;
+import com.ebarbe.service.dto.EventParticipantDTO;
+import com.ebarbe.service.dto.HierarchyDTO;
+import com.ebarbe.service.dto.PersonDTO;
+import com.ebarbe.service.dto.RelEventPersonDTO;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the statements sent by each endpoint of the {@link RelEventPersonExtendedResource} REST controller.
+ * <p>
+ * The associations of a relEventPerson are lazy: each endpoint reads the ones it shows with a single query, whatever the
+ * number of relEventPeople returned, and the others are reduced to their ids without being read.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+@Transactional
+class RelEventPersonFetchPlanIT {
+
+    private static final String PARTICIPATION = "AAAAAAAAAA";
+
+    private static final String ENTITY_API_URL = "/api/rel-event-people/management";
+
+    @Autowired
+    private RelEventPersonSearchRepository relEventPersonSearchRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restRelEventPersonMockMvc;
+
+    private Event event;
+
+    private Event otherEvent;
+
+    private Hierarchy hierarchy;
+
+    private List<Person> people;
+
+    private List<RelEventPerson> relEventPeople;
+
+    /**
+     * Two events of the same type: the first one with three participants, the second one with the first of them.
+     */
+    @BeforeEach
+    public void initTest() {
+        EventType eventType = EventTypeResourceIT.createEntity(em);
+        em.persist(eventType);
+        event = EventResourceIT.createEntity(em).eventType(eventType);
+        em.persist(event);
+        otherEvent = EventResourceIT.createEntity(em).eventType(eventType);
+        em.persist(otherEvent);
+        hierarchy = HierarchyResourceIT.createEntity(em);
+        em.persist(hierarchy);
+        people = List.of(createPerson(), createPerson(), createPerson());
+        relEventPeople =
+            List.of(
+                createRelEventPerson(event, people.get(0)),
+                createRelEventPerson(event, people.get(1)),
+                createRelEventPerson(event, people.get(2)),
+                createRelEventPerson(otherEvent, people.get(0))
+            );
+        em.flush();
+        em.clear();
+    }
+
+    @AfterEach
+    public void cleanupElasticSearchRepository() {
+        relEventPersonSearchRepository.deleteAll();
+    }
+
+    @Test
+    void getAllRelEventPeopleShouldStayWithinStatementBudget() throws Exception {
+        // the page and its count, then the types and the people of all the events of the page at once
+        StatementBudget.assertListWithinBudget(restRelEventPersonMockMvc, em, size -> get(ENTITY_API_URL + "?size=" + size), 4, 4);
+    }
+
+    @Test
+    void getRelEventPeopleByEventShouldStayWithinStatementBudget() throws Exception {
+        StatementBudget.assertListWithinBudget(
+            restRelEventPersonMockMvc,
+            em,
+            size -> get(ENTITY_API_URL + "/byEvent/{eventId}?size=" + size, event.getId()),
+            3,
+            2
+        );
+    }
+
+    @Test
+    void getRelEventPeopleByPersonShouldStayWithinStatementBudget() throws Exception {
+        StatementBudget.assertListWithinBudget(
+            restRelEventPersonMockMvc,
+            em,
+            size -> get(ENTITY_API_URL + "/byPerson/{personId}?size=" + size, people.get(0).getId()),
+            3,
+            2
+        );
+    }
+
+    @Test
+    void getRelEventPeopleByEventShouldReadTheRosterInOneQuery() throws Exception {
+        List<String> statements = record(
+            get(ENTITY_API_URL + "/byEvent/{eventId}", event.getId()),
+            jsonPath("$", hasSize(3)),
+            jsonPath("$.[*].person.user.login").value(everyItem(notNullValue())),
+            jsonPath("$.[*].hierarchy.description").value(everyItem(notNullValue())),
+            jsonPath("$.[*].event.label").value(everyItem(nullValue()))
+        );
+
+        // the person, their user and the hierarchy are read with the relEventPeople, the event is not read
+        assertThat(statements).singleElement().asString().doesNotContainIgnoringCase("event_type");
+    }
+
+    @Test
+    void getRelEventPeopleByPersonShouldReadTheAgendaInOneQuery() throws Exception {
+        List<String> statements = record(
+            get(ENTITY_API_URL + "/byPerson/{personId}", people.get(0).getId()),
+            jsonPath("$", hasSize(2)),
+            jsonPath("$.[*].event.eventType.label").value(everyItem(notNullValue())),
+            jsonPath("$.[*].hierarchy.description").value(everyItem(notNullValue())),
+            jsonPath("$.[*].person.name").value(everyItem(nullValue()))
+        );
+
+        // the event, its type and the hierarchy are read with the relEventPeople, the person is not read
+        assertThat(statements).singleElement().asString().containsIgnoringCase("event_type");
+    }
+
+    @Test
+    void getAllRelEventPeopleShouldKeepTheOnesWithoutUserOrHierarchy() throws Exception {
+        Person personWithoutUser = createPersonWithoutUser();
+        em.persist(new RelEventPerson().event(otherEvent).person(people.get(1)).participation(PARTICIPATION));
+        em.persist(new RelEventPerson().event(otherEvent).person(personWithoutUser).hierarchy(hierarchy).participation(PARTICIPATION));
+        em.flush();
+        em.clear();
+
+        restRelEventPersonMockMvc
+            .perform(get(ENTITY_API_URL + "?size=20"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "6"))
+            .andExpect(jsonPath("$", hasSize(6)))
+            .andExpect(jsonPath("$.[*].person.id").value(hasItem(personWithoutUser.getId().intValue())));
+    }
+
+    @Test
+    void getRelEventPeopleByEventShouldKeepTheOnesWithoutUserOrHierarchy() throws Exception {
+        Person personWithoutUser = createPersonWithoutUser();
+        em.persist(new RelEventPerson().event(otherEvent).person(people.get(1)).participation(PARTICIPATION));
+        em.persist(new RelEventPerson().event(otherEvent).person(personWithoutUser).hierarchy(hierarchy).participation(PARTICIPATION));
+        em.flush();
+        em.clear();
+
+        restRelEventPersonMockMvc
+            .perform(get(ENTITY_API_URL + "/byEvent/{eventId}", otherEvent.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$", hasSize(3)))
+            .andExpect(jsonPath("$.[*].person.id").value(hasItems(people.get(1).getId().intValue(), personWithoutUser.getId().intValue())));
+    }
+
+    @Test
+    void updateRelEventPersonShouldNotReadTheEntitiesLinked() throws Exception {
+        RelEventPersonDTO relEventPersonDTO = new RelEventPersonDTO();
+        relEventPersonDTO.setEvent(toEventDTO(event));
+        relEventPersonDTO.setPerson(toPersonDTO(people.get(1)));
+        relEventPersonDTO.setHierarchy(toHierarchyDTO(hierarchy));
+        relEventPersonDTO.setParticipation("BBBBBBBBBB");
+
+        List<String> statements = record(
+            put(ENTITY_API_URL + "/{eventId}/{personId}", event.getId(), people.get(1).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO)),
+            status().isOk()
+        );
+
+        // the relEventPerson is checked with its ids only, then updated, besides the change queued for the index
+        assertThat(withoutOutbox(statements)).hasSize(2);
+        assertThat(statements.get(0)).doesNotContainIgnoringCase(" join ");
+    }
+
+    @Test
+    void deleteRelEventPersonShouldNotReadTheEntitiesLinked() throws Exception {
+        RecordingStatementInspector.start();
+        restRelEventPersonMockMvc
+            .perform(delete(ENTITY_API_URL + "/{eventId}/{personId}", event.getId(), people.get(2).getId()))
+            .andExpect(status().isNoContent());
+        em.flush();
+        List<String> statements = RecordingStatementInspector.stop();
+
+        // the relEventPerson is read without the entities linked, then deleted, besides the change queued for the index
+        assertThat(withoutOutbox(statements)).hasSize(2);
+        assertThat(statements.get(0)).doesNotContainIgnoringCase(" join ");
+    }
+
+    @Test
+    void upsertParticipantsShouldWriteInOneStatement() throws Exception {
+        List<String> statements = record(
+            post(ENTITY_API_URL + "/{eventId}/_bulk", otherEvent.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(TestUtil.convertObjectToJsonBytes(List.of(createParticipant(people.get(0)), createParticipant(people.get(1))))),
+            status().isOk()
+        );
+
+        // the event, the people and the hierarchies are checked, then the participants are written, besides the change queued
+        // for the index
+        assertThat(withoutOutbox(statements)).hasSize(4);
+    }
+
+    @Test
+    void searchRelEventPeopleShouldNotReadTheDatabase() throws Exception {
+        relEventPersonSearchRepository.saveAll(relEventPeople);
+
+        List<String> statements = record(get(ENTITY_API_URL + "/_search?query=" + PARTICIPATION), jsonPath("$", hasSize(4)));
+
+        assertThat(statements).isEmpty();
+    }
+
+    /**
+     * Perform the request, and check its response once the statements it sent are recorded.
+     *
+     * @return the statements sent by the request.
+     */
+    private List<String> record(RequestBuilder request, ResultMatcher... matchers) throws Exception {
+        StatementBudget.RecordedCall call = StatementBudget.record(restRelEventPersonMockMvc, em, request);
+        status().is2xxSuccessful().match(call.result());
+        for (ResultMatcher matcher : matchers) {
+            matcher.match(call.result());
+        }
+        return call.statements();
+    }
+
+    /**
+     * @return the statements, without the ones queuing a change in the index outbox.
+     */
+    private static List<String> withoutOutbox(List<String> statements) {
+        return statements.stream().filter(sql -> !sql.toLowerCase().contains("index_outbox")).toList();
+    }
+
+    private Person createPerson() {
+        User user = UserResourceIT.createEntity(em);
+        em.persist(user);
+        Person person = PersonResourceIT.createEntity(em).user(user);
+        em.persist(person);
+        return person;
+    }
+
+    private Person createPersonWithoutUser() {
+        Person person = PersonResourceIT.createEntity(em);
+        em.persist(person);
+        return person;
+    }
+
+    private RelEventPerson createRelEventPerson(Event event, Person person) {
+        RelEventPerson relEventPerson = new RelEventPerson().event(event).person(person).hierarchy(hierarchy).participation(PARTICIPATION);
+        em.persist(relEventPerson);
+        return relEventPerson;
+    }
+
+    private EventParticipantDTO createParticipant(Person person) {
+        EventParticipantDTO participant = new EventParticipantDTO();
+        participant.setPersonId(person.getId());
+        participant.setHierarchyId(hierarchy.getId());
+        participant.setParticipation(PARTICIPATION);
+        return participant;
+    }
+
+    private static EventDTO toEventDTO(Event event) {
+        EventDTO eventDTO = new EventDTO();
+        eventDTO.setId(event.getId());
+        return eventDTO;
+    }
+
+    private static PersonDTO toPersonDTO(Person person) {
+        PersonDTO personDTO = new PersonDTO();
+        personDTO.setId(person.getId());
+        return personDTO;
+    }
+
+    private static HierarchyDTO toHierarchyDTO(Hierarchy hierarchy) {
+        HierarchyDTO hierarchyDTO = new HierarchyDTO();
+        hierarchyDTO.setId(hierarchy.getId());
+        return hierarchyDTO;
+    }
+}
@@ -3,7 +3,6 @@ package com.ebarbe.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
-import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -12,29 +11,22 @@ import com.ebarbe.domain.Event;
 import com.ebarbe.domain.Hierarchy;
 import com.ebarbe.domain.Person;
 import com.ebarbe.domain.RelEventPerson;
+import com.ebarbe.domain.RelEventPersonId;
 import com.ebarbe.repository.RelEventPersonRepository;
 import com.ebarbe.repository.search.RelEventPersonSearchRepository;
-import com.ebarbe.service.RelEventPersonService;
+import com.ebarbe.service.IndexOutboxService;
+import com.ebarbe.service.dto.EventParticipantDTO;
 import com.ebarbe.service.dto.RelEventPersonDTO;
 import com.ebarbe.service.mapper.RelEventPersonMapper;
 import jakarta.persistence.EntityManager;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
-import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.Mock;
-import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -44,7 +36,6 @@ import org.springframework.transaction.annotation.Transactional;
  * Integration tests for the {@link RelEventPersonResource} REST controller.
  */
 @IntegrationTest
-@ExtendWith(MockitoExtension.class)
 @AutoConfigureMockMvc
 @WithMockUser
 class RelEventPersonResourceIT {
@@ -53,27 +44,22 @@ class RelEventPersonResourceIT {
     private static final String UPDATED_PARTICIPATION = "BBBBBBBBBB";
 
     private static final String ENTITY_API_URL = "/api/rel-event-people";
-    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
+    private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/management/{eventId}/{personId}";
     private static final String ENTITY_SEARCH_API_URL = "/api/rel-event-people/_search";
-
-    private static Random random = new Random();
-    private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
+    private static final String ENTITY_BULK_API_URL = "/api/rel-event-people/management/{eventId}/_bulk";
 
     @Autowired
     private RelEventPersonRepository relEventPersonRepository;
 
-    @Mock
-    private RelEventPersonRepository relEventPersonRepositoryMock;
-
     @Autowired
     private RelEventPersonMapper relEventPersonMapper;
 
-    @Mock
-    private RelEventPersonService relEventPersonServiceMock;
-
     @Autowired
     private RelEventPersonSearchRepository relEventPersonSearchRepository;
 
+    @Autowired
+    private IndexOutboxService indexOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -90,6 +76,21 @@ class RelEventPersonResourceIT {
      */
     public static RelEventPerson createEntity(EntityManager em) {
         RelEventPerson relEventPerson = new RelEventPerson().participation(DEFAULT_PARTICIPATION);
+        // Add required entity
+        Event event;
+        if (TestUtil.findAll(em, Event.class).isEmpty()) {
+            event = EventResourceIT.createEntity(em);
+            em.persist(event);
+            em.flush();
+        } else {
+            event = TestUtil.findAll(em, Event.class).get(0);
+        }
+        relEventPerson.setEvent(event);
+        // Add required entity
+        Person person = PersonResourceIT.createEntity(em);
+        em.persist(person);
+        em.flush();
+        relEventPerson.setPerson(person);
         return relEventPerson;
     }
 
@@ -100,7 +101,8 @@ class RelEventPersonResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static RelEventPerson createUpdatedEntity(EntityManager em) {
-        RelEventPerson relEventPerson = new RelEventPerson().participation(UPDATED_PARTICIPATION);
+        RelEventPerson relEventPerson = createEntity(em);
+        relEventPerson.participation(UPDATED_PARTICIPATION);
         return relEventPerson;
     }
 
@@ -131,27 +133,28 @@ class RelEventPersonResourceIT {
         // Validate the RelEventPerson in the database
         List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
         assertThat(relEventPersonList).hasSize(databaseSizeBeforeCreate + 1);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
                 int searchDatabaseSizeAfter = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
                 assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 1);
             });
-        RelEventPerson testRelEventPerson = relEventPersonList.get(relEventPersonList.size() - 1);
+        RelEventPerson testRelEventPerson = relEventPersonRepository.findById(relEventPerson.getId()).orElseThrow();
         assertThat(testRelEventPerson.getParticipation()).isEqualTo(DEFAULT_PARTICIPATION);
     }
 
     @Test
     @Transactional
     void createRelEventPersonWithExistingId() throws Exception {
-        // Create the RelEventPerson with an existing ID
-        relEventPerson.setId(1L);
+        // Link the person to the event
+        relEventPersonRepository.saveAndFlush(relEventPerson);
         RelEventPersonDTO relEventPersonDTO = relEventPersonMapper.toDto(relEventPerson);
 
         int databaseSizeBeforeCreate = relEventPersonRepository.findAll().size();
         int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
 
-        // An entity with an existing ID cannot be created, so this API call must fail
+        // A person already linked to the event cannot be linked again, so this API call must fail
         restRelEventPersonMockMvc
             .perform(
                 post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO))
@@ -167,67 +170,53 @@ class RelEventPersonResourceIT {
 
     @Test
     @Transactional
-    void getAllRelEventPeople() throws Exception {
-        // Initialize the database
-        relEventPersonRepository.saveAndFlush(relEventPerson);
+    void createRelEventPersonWithoutPerson() throws Exception {
+        int databaseSizeBeforeCreate = relEventPersonRepository.findAll().size();
+        // The person is part of the id, so a relEventPerson without one cannot be created
+        relEventPerson.setPerson(null);
+        RelEventPersonDTO relEventPersonDTO = relEventPersonMapper.toDto(relEventPerson);
 
-        // Get all the relEventPersonList
         restRelEventPersonMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
-            .andExpect(status().isOk())
-            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(relEventPerson.getId().intValue())))
-            .andExpect(jsonPath("$.[*].participation").value(hasItem(DEFAULT_PARTICIPATION)));
-    }
-
-    @SuppressWarnings({ "unchecked" })
-    void getAllRelEventPeopleWithEagerRelationshipsIsEnabled() throws Exception {
-        when(relEventPersonServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
-
-        restRelEventPersonMockMvc.perform(get(ENTITY_API_URL + "?eagerload=true")).andExpect(status().isOk());
-
-        verify(relEventPersonServiceMock, times(1)).findAllWithEagerRelationships(any());
-    }
-
-    @SuppressWarnings({ "unchecked" })
-    void getAllRelEventPeopleWithEagerRelationshipsIsNotEnabled() throws Exception {
-        when(relEventPersonServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
+            .perform(
+                post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO))
+            )
+            .andExpect(status().isBadRequest());
 
-        restRelEventPersonMockMvc.perform(get(ENTITY_API_URL + "?eagerload=false")).andExpect(status().isOk());
-        verify(relEventPersonRepositoryMock, times(1)).findAll(any(Pageable.class));
+        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
+        assertThat(relEventPersonList).hasSize(databaseSizeBeforeCreate);
     }
 
     @Test
     @Transactional
-    void getRelEventPerson() throws Exception {
+    void getAllRelEventPeople() throws Exception {
         // Initialize the database
         relEventPersonRepository.saveAndFlush(relEventPerson);
 
-        // Get the relEventPerson
+        // Get all the relEventPersonList
         restRelEventPersonMockMvc
-            .perform(get(ENTITY_API_URL_ID, relEventPerson.getId()))
+            .perform(get(ENTITY_API_URL))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.id").value(relEventPerson.getId().intValue()))
-            .andExpect(jsonPath("$.participation").value(DEFAULT_PARTICIPATION));
+            .andExpect(jsonPath("$.[*].event.id").value(hasItem(relEventPerson.getEvent().getId().intValue())))
+            .andExpect(jsonPath("$.[*].person.id").value(hasItem(relEventPerson.getPerson().getId().intValue())))
+            .andExpect(jsonPath("$.[*].participation").value(hasItem(DEFAULT_PARTICIPATION)));
     }
 
     @Test
     @Transactional
-    void getRelEventPeopleByIdFiltering() throws Exception {
+    void getRelEventPersonById() throws Exception {
         // Initialize the database
         relEventPersonRepository.saveAndFlush(relEventPerson);
-
-        Long id = relEventPerson.getId();
-
-        defaultRelEventPersonShouldBeFound("id.equals=" + id);
-        defaultRelEventPersonShouldNotBeFound("id.notEquals=" + id);
-
-        defaultRelEventPersonShouldBeFound("id.greaterThanOrEqual=" + id);
-        defaultRelEventPersonShouldNotBeFound("id.greaterThan=" + id);
-
-        defaultRelEventPersonShouldBeFound("id.lessThanOrEqual=" + id);
-        defaultRelEventPersonShouldNotBeFound("id.lessThan=" + id);
+        em.clear();
+
+        // Get the relEventPerson by its (event, person) primary key
+        RelEventPerson testRelEventPerson = relEventPersonRepository
+            .findById(new RelEventPersonId(relEventPerson.getEvent().getId(), relEventPerson.getPerson().getId()))
+            .orElseThrow();
+        assertThat(testRelEventPerson.getEvent().getId()).isEqualTo(relEventPerson.getEvent().getId());
+        assertThat(testRelEventPerson.getPerson().getId()).isEqualTo(relEventPerson.getPerson().getId());
+        assertThat(testRelEventPerson.getParticipation()).isEqualTo(DEFAULT_PARTICIPATION);
+        assertThat(testRelEventPerson).isEqualTo(relEventPerson);
     }
 
     @Test
@@ -298,18 +287,9 @@ class RelEventPersonResourceIT {
     @Test
     @Transactional
     void getAllRelEventPeopleByEventIsEqualToSomething() throws Exception {
-        Event event;
-        if (TestUtil.findAll(em, Event.class).isEmpty()) {
-            relEventPersonRepository.saveAndFlush(relEventPerson);
-            event = EventResourceIT.createEntity(em);
-        } else {
-            event = TestUtil.findAll(em, Event.class).get(0);
-        }
-        em.persist(event);
-        em.flush();
-        relEventPerson.setEvent(event);
+        // Initialize the database
         relEventPersonRepository.saveAndFlush(relEventPerson);
-        Long eventId = event.getId();
+        Long eventId = relEventPerson.getEvent().getId();
         // Get all the relEventPersonList where event equals to eventId
         defaultRelEventPersonShouldBeFound("eventId.equals=" + eventId);
 
@@ -320,18 +300,9 @@ class RelEventPersonResourceIT {
     @Test
     @Transactional
     void getAllRelEventPeopleByPersonIsEqualToSomething() throws Exception {
-        Person person;
-        if (TestUtil.findAll(em, Person.class).isEmpty()) {
-            relEventPersonRepository.saveAndFlush(relEventPerson);
-            person = PersonResourceIT.createEntity(em);
-        } else {
-            person = TestUtil.findAll(em, Person.class).get(0);
-        }
-        em.persist(person);
-        em.flush();
-        relEventPerson.setPerson(person);
+        // Initialize the database
         relEventPersonRepository.saveAndFlush(relEventPerson);
-        Long personId = person.getId();
+        Long personId = relEventPerson.getPerson().getId();
         // Get all the relEventPersonList where person equals to personId
         defaultRelEventPersonShouldBeFound("personId.equals=" + personId);
 
@@ -344,13 +315,12 @@ class RelEventPersonResourceIT {
     void getAllRelEventPeopleByHierarchyIsEqualToSomething() throws Exception {
         Hierarchy hierarchy;
         if (TestUtil.findAll(em, Hierarchy.class).isEmpty()) {
-            relEventPersonRepository.saveAndFlush(relEventPerson);
             hierarchy = HierarchyResourceIT.createEntity(em);
+            em.persist(hierarchy);
+            em.flush();
         } else {
             hierarchy = TestUtil.findAll(em, Hierarchy.class).get(0);
         }
-        em.persist(hierarchy);
-        em.flush();
         relEventPerson.setHierarchy(hierarchy);
         relEventPersonRepository.saveAndFlush(relEventPerson);
         Long hierarchyId = hierarchy.getId();
@@ -366,15 +336,15 @@ class RelEventPersonResourceIT {
      */
     private void defaultRelEventPersonShouldBeFound(String filter) throws Exception {
         restRelEventPersonMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .perform(get(ENTITY_API_URL + "?eventId.equals=" + relEventPerson.getEvent().getId() + "&" + filter))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(relEventPerson.getId().intValue())))
+            .andExpect(jsonPath("$.[*].person.id").value(hasItem(relEventPerson.getPerson().getId().intValue())))
             .andExpect(jsonPath("$.[*].participation").value(hasItem(DEFAULT_PARTICIPATION)));
 
         // Check, that the count call also returns 1
         restRelEventPersonMockMvc
-            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .perform(get(ENTITY_API_URL + "/count?personId.equals=" + relEventPerson.getPerson().getId() + "&" + filter))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(content().string("1"));
@@ -385,7 +355,7 @@ class RelEventPersonResourceIT {
      */
     private void defaultRelEventPersonShouldNotBeFound(String filter) throws Exception {
         restRelEventPersonMockMvc
-            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .perform(get(ENTITY_API_URL + "?personId.equals=" + relEventPerson.getPerson().getId() + "&" + filter))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$").isArray())
@@ -393,7 +363,7 @@ class RelEventPersonResourceIT {
 
         // Check, that the count call also returns 0
         restRelEventPersonMockMvc
-            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .perform(get(ENTITY_API_URL + "/count?personId.equals=" + relEventPerson.getPerson().getId() + "&" + filter))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(content().string("0"));
@@ -401,301 +371,186 @@ class RelEventPersonResourceIT {
 
     @Test
     @Transactional
-    void getNonExistingRelEventPerson() throws Exception {
-        // Get the relEventPerson
-        restRelEventPersonMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
-    }
-
-    @Test
-    @Transactional
-    void putExistingRelEventPerson() throws Exception {
+    void deleteRelEventPerson() throws Exception {
         // Initialize the database
         relEventPersonRepository.saveAndFlush(relEventPerson);
-
-        int databaseSizeBeforeUpdate = relEventPersonRepository.findAll().size();
+        relEventPersonRepository.save(relEventPerson);
         relEventPersonSearchRepository.save(relEventPerson);
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
 
-        // Update the relEventPerson
-        RelEventPerson updatedRelEventPerson = relEventPersonRepository.findById(relEventPerson.getId()).orElseThrow();
-        // Disconnect from session so that the updates on updatedRelEventPerson are not directly saved in db
-        em.detach(updatedRelEventPerson);
-        updatedRelEventPerson.participation(UPDATED_PARTICIPATION);
-        RelEventPersonDTO relEventPersonDTO = relEventPersonMapper.toDto(updatedRelEventPerson);
+        int databaseSizeBeforeDelete = relEventPersonRepository.findAll().size();
+        int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
+        assertThat(searchDatabaseSizeBefore).isEqualTo(databaseSizeBeforeDelete);
 
+        // Delete the relEventPerson
         restRelEventPersonMockMvc
             .perform(
-                put(ENTITY_API_URL_ID, relEventPersonDTO.getId())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO))
+                delete(ENTITY_API_URL_ID, relEventPerson.getEvent().getId(), relEventPerson.getPerson().getId())
+                    .accept(MediaType.APPLICATION_JSON)
             )
-            .andExpect(status().isOk());
+            .andExpect(status().isNoContent());
 
-        // Validate the RelEventPerson in the database
+        // Validate the database contains one less item
         List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeUpdate);
-        RelEventPerson testRelEventPerson = relEventPersonList.get(relEventPersonList.size() - 1);
-        assertThat(testRelEventPerson.getParticipation()).isEqualTo(UPDATED_PARTICIPATION);
+        assertThat(relEventPersonList).hasSize(databaseSizeBeforeDelete - 1);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
                 int searchDatabaseSizeAfter = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-                List<RelEventPerson> relEventPersonSearchList = IterableUtils.toList(relEventPersonSearchRepository.findAll());
-                RelEventPerson testRelEventPersonSearch = relEventPersonSearchList.get(searchDatabaseSizeAfter - 1);
-                assertThat(testRelEventPersonSearch.getParticipation()).isEqualTo(UPDATED_PARTICIPATION);
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
             });
     }
 
     @Test
     @Transactional
-    void putNonExistingRelEventPerson() throws Exception {
-        int databaseSizeBeforeUpdate = relEventPersonRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        relEventPerson.setId(longCount.incrementAndGet());
-
-        // Create the RelEventPerson
-        RelEventPersonDTO relEventPersonDTO = relEventPersonMapper.toDto(relEventPerson);
-
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
-        restRelEventPersonMockMvc
-            .perform(
-                put(ENTITY_API_URL_ID, relEventPersonDTO.getId())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO))
-            )
-            .andExpect(status().isBadRequest());
-
-        // Validate the RelEventPerson in the database
-        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeUpdate);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-    }
-
-    @Test
-    @Transactional
-    void putWithIdMismatchRelEventPerson() throws Exception {
-        int databaseSizeBeforeUpdate = relEventPersonRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        relEventPerson.setId(longCount.incrementAndGet());
-
-        // Create the RelEventPerson
-        RelEventPersonDTO relEventPersonDTO = relEventPersonMapper.toDto(relEventPerson);
-
-        // If url ID doesn't match entity ID, it will throw BadRequestAlertException
-        restRelEventPersonMockMvc
-            .perform(
-                put(ENTITY_API_URL_ID, longCount.incrementAndGet())
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO))
-            )
-            .andExpect(status().isBadRequest());
-
-        // Validate the RelEventPerson in the database
-        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeUpdate);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-    }
-
-    @Test
-    @Transactional
-    void putWithMissingIdPathParamRelEventPerson() throws Exception {
-        int databaseSizeBeforeUpdate = relEventPersonRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        relEventPerson.setId(longCount.incrementAndGet());
-
-        // Create the RelEventPerson
-        RelEventPersonDTO relEventPersonDTO = relEventPersonMapper.toDto(relEventPerson);
-
-        // If url ID doesn't match entity ID, it will throw BadRequestAlertException
-        restRelEventPersonMockMvc
-            .perform(
-                put(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO))
-            )
-            .andExpect(status().isMethodNotAllowed());
-
-        // Validate the RelEventPerson in the database
-        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeUpdate);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-    }
-
-    @Test
-    @Transactional
-    void partialUpdateRelEventPersonWithPatch() throws Exception {
+    void searchRelEventPerson() throws Exception {
         // Initialize the database
-        relEventPersonRepository.saveAndFlush(relEventPerson);
-
-        int databaseSizeBeforeUpdate = relEventPersonRepository.findAll().size();
-
-        // Update the relEventPerson using partial update
-        RelEventPerson partialUpdatedRelEventPerson = new RelEventPerson();
-        partialUpdatedRelEventPerson.setId(relEventPerson.getId());
+        relEventPerson = relEventPersonRepository.saveAndFlush(relEventPerson);
+        relEventPersonSearchRepository.save(relEventPerson);
 
-        partialUpdatedRelEventPerson.participation(UPDATED_PARTICIPATION);
+        // The document is identified by the (event, person) primary key
+        assertThat(relEventPersonSearchRepository.findById(relEventPerson.getId())).isPresent();
 
+        // Search the relEventPerson
         restRelEventPersonMockMvc
-            .perform(
-                patch(ENTITY_API_URL_ID, partialUpdatedRelEventPerson.getId())
-                    .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedRelEventPerson))
-            )
-            .andExpect(status().isOk());
-
-        // Validate the RelEventPerson in the database
-        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeUpdate);
-        RelEventPerson testRelEventPerson = relEventPersonList.get(relEventPersonList.size() - 1);
-        assertThat(testRelEventPerson.getParticipation()).isEqualTo(UPDATED_PARTICIPATION);
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_PARTICIPATION))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].person.id").value(hasItem(relEventPerson.getPerson().getId().intValue())))
+            .andExpect(jsonPath("$.[*].participation").value(hasItem(DEFAULT_PARTICIPATION)));
     }
 
     @Test
     @Transactional
-    void fullUpdateRelEventPersonWithPatch() throws Exception {
-        // Initialize the database
-        relEventPersonRepository.saveAndFlush(relEventPerson);
-
-        int databaseSizeBeforeUpdate = relEventPersonRepository.findAll().size();
-
-        // Update the relEventPerson using partial update
-        RelEventPerson partialUpdatedRelEventPerson = new RelEventPerson();
-        partialUpdatedRelEventPerson.setId(relEventPerson.getId());
-
-        partialUpdatedRelEventPerson.participation(UPDATED_PARTICIPATION);
+    void bulkUpsertParticipants() throws Exception {
+        Event event = EventResourceIT.createEntity(em);
+        em.persist(event);
+        Person linkedPerson = PersonResourceIT.createEntity(em);
+        em.persist(linkedPerson);
+        Person newPerson = PersonResourceIT.createEntity(em);
+        em.persist(newPerson);
+        em.flush();
 
         restRelEventPersonMockMvc
             .perform(
-                patch(ENTITY_API_URL_ID, partialUpdatedRelEventPerson.getId())
-                    .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedRelEventPerson))
+                post(ENTITY_BULK_API_URL, event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(createParticipant(linkedPerson, DEFAULT_PARTICIPATION))))
             )
-            .andExpect(status().isOk());
-
-        // Validate the RelEventPerson in the database
-        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeUpdate);
-        RelEventPerson testRelEventPerson = relEventPersonList.get(relEventPersonList.size() - 1);
-        assertThat(testRelEventPerson.getParticipation()).isEqualTo(UPDATED_PARTICIPATION);
-    }
-
-    @Test
-    @Transactional
-    void patchNonExistingRelEventPerson() throws Exception {
-        int databaseSizeBeforeUpdate = relEventPersonRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        relEventPerson.setId(longCount.incrementAndGet());
-
-        // Create the RelEventPerson
-        RelEventPersonDTO relEventPersonDTO = relEventPersonMapper.toDto(relEventPerson);
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(201));
 
-        // If the entity doesn't have an ID, it will throw BadRequestAlertException
+        // The person already linked to the event is updated, the other one is linked
         restRelEventPersonMockMvc
             .perform(
-                patch(ENTITY_API_URL_ID, relEventPersonDTO.getId())
-                    .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO))
+                post(ENTITY_BULK_API_URL, event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        TestUtil.convertObjectToJsonBytes(
+                            List.of(
+                                createParticipant(linkedPerson, UPDATED_PARTICIPATION),
+                                createParticipant(newPerson, DEFAULT_PARTICIPATION)
+                            )
+                        )
+                    )
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[0].entity.participation").value(UPDATED_PARTICIPATION))
+            .andExpect(jsonPath("$.[1].status").value(201));
 
-        // Validate the RelEventPerson in the database
-        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeUpdate);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
+        // Validate the participants in the database
+        List<String> participations = em
+            .createNativeQuery("select participation from rel_event__person where event_id = :eventId order by person_id", String.class)
+            .setParameter("eventId", event.getId())
+            .getResultList();
+        assertThat(participations).containsExactly(UPDATED_PARTICIPATION, DEFAULT_PARTICIPATION);
     }
 
     @Test
     @Transactional
-    void patchWithIdMismatchRelEventPerson() throws Exception {
-        int databaseSizeBeforeUpdate = relEventPersonRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        relEventPerson.setId(longCount.incrementAndGet());
-
-        // Create the RelEventPerson
-        RelEventPersonDTO relEventPersonDTO = relEventPersonMapper.toDto(relEventPerson);
+    void bulkUpsertParticipantsWithInvalidItems() throws Exception {
+        Event event = EventResourceIT.createEntity(em);
+        em.persist(event);
+        Person person = PersonResourceIT.createEntity(em);
+        em.persist(person);
+        em.flush();
+        EventParticipantDTO participantWithoutPerson = new EventParticipantDTO();
+        EventParticipantDTO participantWithUnknownPerson = new EventParticipantDTO();
+        participantWithUnknownPerson.setPersonId(Long.MAX_VALUE);
 
-        // If url ID doesn't match entity ID, it will throw BadRequestAlertException
+        // The whole request is rejected, with the errors of each invalid item
         restRelEventPersonMockMvc
             .perform(
-                patch(ENTITY_API_URL_ID, longCount.incrementAndGet())
-                    .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO))
+                post(ENTITY_BULK_API_URL, event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        TestUtil.convertObjectToJsonBytes(
+                            List.of(
+                                createParticipant(person, DEFAULT_PARTICIPATION),
+                                participantWithoutPerson,
+                                participantWithUnknownPerson
+                            )
+                        )
+                    )
             )
-            .andExpect(status().isBadRequest());
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].index").value(1))
+            .andExpect(jsonPath("$.[0].status").value(400))
+            .andExpect(jsonPath("$.[0].errors.[0].field").value("personId"))
+            .andExpect(jsonPath("$.[1].index").value(2))
+            .andExpect(jsonPath("$.[1].status").value(404));
 
-        // Validate the RelEventPerson in the database
-        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeUpdate);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
+        Number count = (Number) em
+            .createNativeQuery("select count(*) from rel_event__person where event_id = :eventId")
+            .setParameter("eventId", event.getId())
+            .getSingleResult();
+        assertThat(count.longValue()).isZero();
     }
 
     @Test
     @Transactional
-    void patchWithMissingIdPathParamRelEventPerson() throws Exception {
-        int databaseSizeBeforeUpdate = relEventPersonRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        relEventPerson.setId(longCount.incrementAndGet());
-
-        // Create the RelEventPerson
-        RelEventPersonDTO relEventPersonDTO = relEventPersonMapper.toDto(relEventPerson);
+    void bulkUpsertParticipantsWithUnknownHierarchy() throws Exception {
+        Event event = EventResourceIT.createEntity(em);
+        em.persist(event);
+        Person person = PersonResourceIT.createEntity(em);
+        em.persist(person);
+        Person otherPerson = PersonResourceIT.createEntity(em);
+        em.persist(otherPerson);
+        Hierarchy hierarchy = HierarchyResourceIT.createEntity(em);
+        em.persist(hierarchy);
+        em.flush();
+        EventParticipantDTO participantWithHierarchy = createParticipant(person, DEFAULT_PARTICIPATION);
+        participantWithHierarchy.setHierarchyId(hierarchy.getId());
+        EventParticipantDTO participantWithUnknownHierarchy = createParticipant(otherPerson, DEFAULT_PARTICIPATION);
+        participantWithUnknownHierarchy.setHierarchyId(Long.MAX_VALUE);
 
-        // If url ID doesn't match entity ID, it will throw BadRequestAlertException
+        // The whole request is rejected, as the hierarchy is not checked by a foreign key
         restRelEventPersonMockMvc
             .perform(
-                patch(ENTITY_API_URL)
-                    .contentType("application/merge-patch+json")
-                    .content(TestUtil.convertObjectToJsonBytes(relEventPersonDTO))
+                post(ENTITY_BULK_API_URL, event.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(participantWithHierarchy, participantWithUnknownHierarchy)))
             )
-            .andExpect(status().isMethodNotAllowed());
-
-        // Validate the RelEventPerson in the database
-        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeUpdate);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
-    }
-
-    @Test
-    @Transactional
-    void deleteRelEventPerson() throws Exception {
-        // Initialize the database
-        relEventPersonRepository.saveAndFlush(relEventPerson);
-        relEventPersonRepository.save(relEventPerson);
-        relEventPersonSearchRepository.save(relEventPerson);
-
-        int databaseSizeBeforeDelete = relEventPersonRepository.findAll().size();
-        int searchDatabaseSizeBefore = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        assertThat(searchDatabaseSizeBefore).isEqualTo(databaseSizeBeforeDelete);
-
-        // Delete the relEventPerson
-        restRelEventPersonMockMvc
-            .perform(delete(ENTITY_API_URL_ID, relEventPerson.getId()).accept(MediaType.APPLICATION_JSON))
-            .andExpect(status().isNoContent());
-
-        // Validate the database contains one less item
-        List<RelEventPerson> relEventPersonList = relEventPersonRepository.findAll();
-        assertThat(relEventPersonList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(relEventPersonSearchRepository.findAll());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
-    }
-
-    @Test
-    @Transactional
-    void searchRelEventPerson() throws Exception {
-        // Initialize the database
-        relEventPerson = relEventPersonRepository.saveAndFlush(relEventPerson);
-        relEventPersonSearchRepository.save(relEventPerson);
-
-        // Search the relEventPerson
-        restRelEventPersonMockMvc
-            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + relEventPerson.getId()))
-            .andExpect(status().isOk())
-            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
-            .andExpect(jsonPath("$.[*].id").value(hasItem(relEventPerson.getId().intValue())))
-            .andExpect(jsonPath("$.[*].participation").value(hasItem(DEFAULT_PARTICIPATION)));
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].index").value(1))
+            .andExpect(jsonPath("$.[0].status").value(404))
+            .andExpect(jsonPath("$.[0].errors.[0].field").value("hierarchyId"));
+
+        Number count = (Number) em
+            .createNativeQuery("select count(*) from rel_event__person where event_id = :eventId")
+            .setParameter("eventId", event.getId())
+            .getSingleResult();
+        assertThat(count.longValue()).isZero();
+    }
+
+    private static EventParticipantDTO createParticipant(Person person, String participation) {
+        EventParticipantDTO participant = new EventParticipantDTO();
+        participant.setPersonId(person.getId());
+        participant.setParticipation(participation);
+        return participant;
     }
 }
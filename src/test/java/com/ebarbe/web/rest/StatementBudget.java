@@ -0,0 +1,88 @@
+package com.ebarbe.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.ebarbe.config.RecordingStatementInspector;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.function.IntFunction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Utility class checking the number of SQL statements sent by a REST call, recorded with the {@link RecordingStatementInspector}.
+ * <p>
+ * A list endpoint has a budget: the statements its page of one element sends. A larger page must stay within it,
+ * so an association loaded once per element of the page, an N+1, makes the check fail.
+ */
+public final class StatementBudget {
+
+    private StatementBudget() {}
+
+    /**
+     * Perform a request, starting from an empty persistence context, and record the statements it sends.
+     *
+     * @param mockMvc the REST controller under test.
+     * @param em the entity manager of the test transaction, cleared so that nothing is read from it.
+     * @param request the request.
+     * @return the response and the statements sent, in order.
+     */
+    public static RecordedCall record(MockMvc mockMvc, EntityManager em, RequestBuilder request) throws Exception {
+        em.flush();
+        em.clear();
+        RecordingStatementInspector.start();
+        MvcResult result;
+        List<String> statements;
+        try {
+            result = mockMvc.perform(request).andReturn();
+        } finally {
+            statements = RecordingStatementInspector.stop();
+        }
+        return new RecordedCall(result, statements);
+    }
+
+    /**
+     * Check that a list endpoint sends at most {@code budget} statements, and no more for a page of {@code pageSize} elements
+     * than for a page of one.
+     *
+     * @param mockMvc the REST controller under test.
+     * @param em the entity manager of the test transaction.
+     * @param listRequest the request of a page of the given size.
+     * @param pageSize the size of the larger page, which must hold more than one element.
+     * @param budget the maximum number of statements of a page.
+     */
+    public static void assertListWithinBudget(
+        MockMvc mockMvc,
+        EntityManager em,
+        IntFunction<RequestBuilder> listRequest,
+        int pageSize,
+        int budget
+    ) throws Exception {
+        RecordedCall single = record(mockMvc, em, listRequest.apply(1));
+        single.andExpectOk();
+        RecordedCall page = record(mockMvc, em, listRequest.apply(pageSize));
+        page.andExpectOk();
+
+        assertThat(JsonPath.<Integer>read(page.content(), "$.length()")).as("elements of the larger page").isGreaterThan(1);
+        assertThat(single.statements()).as("statements of a page of 1 element").hasSizeLessThanOrEqualTo(budget);
+        assertThat(page.statements())
+            .as("statements of a page of %d elements, compared with the %d of a page of 1", pageSize, single.statements().size())
+            .hasSizeLessThanOrEqualTo(single.statements().size());
+    }
+
+    /**
+     * A REST call and the statements it sent.
+     */
+    public record RecordedCall(MvcResult result, List<String> statements) {
+        public void andExpectOk() throws Exception {
+            status().isOk().match(result);
+        }
+
+        public String content() throws Exception {
+            return result.getResponse().getContentAsString();
+        }
+    }
+}
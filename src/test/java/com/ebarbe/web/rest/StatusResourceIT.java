@@ -13,6 +13,7 @@ import com.ebarbe.domain.Status;
 import com.ebarbe.domain.SubTask;
 import com.ebarbe.repository.StatusRepository;
 import com.ebarbe.repository.search.StatusSearchRepository;
+import com.ebarbe.service.IndexOutboxService;
 import com.ebarbe.service.dto.StatusDTO;
 import com.ebarbe.service.mapper.StatusMapper;
 import jakarta.persistence.EntityManager;
@@ -59,6 +60,9 @@ class StatusResourceIT {
     @Autowired
     private StatusSearchRepository statusSearchRepository;
 
+    @Autowired
+    private IndexOutboxService indexOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -114,6 +118,7 @@ class StatusResourceIT {
         // Validate the Status in the database
         List<Status> statusList = statusRepository.findAll();
         assertThat(statusList).hasSize(databaseSizeBeforeCreate + 1);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -399,6 +404,7 @@ class StatusResourceIT {
         assertThat(statusList).hasSize(databaseSizeBeforeUpdate);
         Status testStatus = statusList.get(statusList.size() - 1);
         assertThat(testStatus.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -638,6 +644,7 @@ class StatusResourceIT {
         // Validate the database contains one less item
         List<Status> statusList = statusRepository.findAll();
         assertThat(statusList).hasSize(databaseSizeBeforeDelete - 1);
+        indexOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(statusSearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
@@ -651,7 +658,7 @@ class StatusResourceIT {
 
         // Search the status
         restStatusMockMvc
-            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + status.getId()))
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(status.getId().intValue())))
@@ -3,6 +3,7 @@ package com.ebarbe.web.rest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -14,6 +15,7 @@ import com.ebarbe.domain.Status;
 import com.ebarbe.domain.SubTask;
 import com.ebarbe.repository.SubTaskRepository;
 import com.ebarbe.repository.search.SubTaskSearchRepository;
+import com.ebarbe.service.IndexOutboxService;
 import com.ebarbe.service.dto.SubTaskDTO;
 import com.ebarbe.service.mapper.SubTaskMapper;
 import jakarta.persistence.EntityManager;
@@ -23,6 +25,7 @@ import java.util.List;
 import java.util.Random;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 import org.apache.commons.collections4.IterableUtils;
 import org.assertj.core.util.IterableUtil;
 import org.junit.jupiter.api.AfterEach;
@@ -61,6 +64,7 @@ class SubTaskResourceIT {
     private static final String ENTITY_API_URL = "/api/sub-tasks";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
     private static final String ENTITY_SEARCH_API_URL = "/api/sub-tasks/_search";
+    private static final String ENTITY_BULK_API_URL = "/api/sub-tasks/_bulk";
 
     private static Random random = new Random();
     private static AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
@@ -74,6 +78,9 @@ class SubTaskResourceIT {
     @Autowired
     private SubTaskSearchRepository subTaskSearchRepository;
 
+    @Autowired
+    private IndexOutboxService indexOutboxService;
+
     @Autowired
     private EntityManager em;
 
@@ -137,6 +144,7 @@ class SubTaskResourceIT {
         // Validate the SubTask in the database
         List<SubTask> subTaskList = subTaskRepository.findAll();
         assertThat(subTaskList).hasSize(databaseSizeBeforeCreate + 1);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -232,6 +240,75 @@ class SubTaskResourceIT {
             .andExpect(jsonPath("$.[*].cost").value(hasItem(DEFAULT_COST.doubleValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllSubTasksShouldStayWithinStatementBudget() throws Exception {
+        // Initialize the database with sub tasks linked to distinct entities
+        for (int i = 0; i < 3; i++) {
+            MainTask mainTask = MainTaskResourceIT.createEntity(em);
+            em.persist(mainTask);
+            Status status = StatusResourceIT.createEntity(em);
+            em.persist(status);
+            Person person = PersonResourceIT.createEntity(em);
+            em.persist(person);
+            em.persist(createEntity(em).mainTask(mainTask).status(status).personDoer(person));
+        }
+
+        // The page and its total are read with a single query, the entities linked are reduced to their ids
+        StatementBudget.assertListWithinBudget(restSubTaskMockMvc, em, size -> get(ENTITY_API_URL + "?sort=id,desc&size=" + size), 3, 1);
+    }
+
+    @Test
+    @Transactional
+    void exportSubTasks() throws Exception {
+        // Initialize the database with a sub task of each of two main tasks
+        MainTask mainTask = MainTaskResourceIT.createEntity(em);
+        em.persist(mainTask);
+        MainTask otherMainTask = MainTaskResourceIT.createEntity(em);
+        em.persist(otherMainTask);
+        subTask = subTaskRepository.saveAndFlush(subTask.mainTask(mainTask));
+        subTaskRepository.saveAndFlush(createEntity(em).mainTask(otherMainTask));
+
+        // Export the subTasks of the first main task, one JSON document per line
+        restSubTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/_export?mainTaskId.equals=" + mainTask.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andExpect(content().string(startsWith("{\"id\":" + subTask.getId() + ",")))
+            .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
+            .andExpect(jsonPath("$.mainTask.id").value(mainTask.getId().intValue()));
+
+        // Export the same subTasks as CSV, the entities linked reduced to their ids
+        restSubTaskMockMvc
+            .perform(get(ENTITY_API_URL + "/_export?format=csv&mainTaskId.equals=" + mainTask.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/csv"))
+            .andExpect(
+                content()
+                    .string(
+                        "id,description,deadline,creation,cost,mainTaskId,personDoerId,statusId\r\n" +
+                        subTask.getId() +
+                        "," +
+                        DEFAULT_DESCRIPTION +
+                        "," +
+                        DEFAULT_DEADLINE +
+                        "," +
+                        DEFAULT_CREATION +
+                        "," +
+                        DEFAULT_COST +
+                        "," +
+                        mainTask.getId() +
+                        ",,\r\n"
+                    )
+            );
+    }
+
+    @Test
+    @Transactional
+    void exportSubTasksWithUnsupportedFormat() throws Exception {
+        restSubTaskMockMvc.perform(get(ENTITY_API_URL + "/_export?format=xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getSubTask() throws Exception {
@@ -753,6 +830,7 @@ class SubTaskResourceIT {
         assertThat(testSubTask.getDeadline()).isEqualTo(UPDATED_DEADLINE);
         assertThat(testSubTask.getCreation()).isEqualTo(UPDATED_CREATION);
         assertThat(testSubTask.getCost()).isEqualTo(UPDATED_COST);
+        indexOutboxService.drain();
         await()
             .atMost(5, TimeUnit.SECONDS)
             .untilAsserted(() -> {
@@ -767,6 +845,30 @@ class SubTaskResourceIT {
             });
     }
 
+    @Test
+    @Transactional
+    void putSubTaskWithStaleVersion() throws Exception {
+        // Initialize the database
+        subTaskRepository.saveAndFlush(subTask);
+
+        SubTaskDTO subTaskDTO = subTaskMapper.toDto(subTask);
+        subTaskDTO.setVersion(41L);
+        subTaskDTO.setDescription(UPDATED_DESCRIPTION);
+
+        // If the subTask was updated since the client read it, it will throw ObjectOptimisticLockingFailureException
+        restSubTaskMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, subTaskDTO.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(subTaskDTO))
+            )
+            .andExpect(status().isConflict());
+
+        // Validate the SubTask in the database
+        em.clear();
+        assertThat(subTaskRepository.findById(subTask.getId()).orElseThrow().getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+    }
+
     @Test
     @Transactional
     void putNonExistingSubTask() throws Exception {
@@ -981,6 +1083,126 @@ class SubTaskResourceIT {
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore);
     }
 
+    @Test
+    @Transactional
+    void bulkCreateSubTasks() throws Exception {
+        int databaseSizeBeforeCreate = subTaskRepository.findAll().size();
+        int searchDatabaseSizeBefore = IterableUtil.sizeOf(subTaskSearchRepository.findAll());
+        // More sub tasks than the JDBC batch size
+        List<SubTaskDTO> subTaskDTOs = IntStream.range(0, 30).mapToObj(i -> subTaskMapper.toDto(createEntity(em))).toList();
+
+        restSubTaskMockMvc
+            .perform(
+                post(ENTITY_BULK_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(subTaskDTOs))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.length()").value(30))
+            .andExpect(jsonPath("$.[29].index").value(29))
+            .andExpect(jsonPath("$.[29].status").value(201))
+            .andExpect(jsonPath("$.[29].entity.id").isNumber())
+            .andExpect(jsonPath("$.[29].entity.description").value(DEFAULT_DESCRIPTION));
+
+        // Validate the SubTasks in the database
+        assertThat(subTaskRepository.findAll()).hasSize(databaseSizeBeforeCreate + 30);
+        indexOutboxService.drain();
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(subTaskSearchRepository.findAll());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore + 30);
+            });
+    }
+
+    @Test
+    @Transactional
+    void bulkCreateSubTasksWithInvalidItems() throws Exception {
+        int databaseSizeBeforeCreate = subTaskRepository.findAll().size();
+        SubTaskDTO validSubTaskDTO = subTaskMapper.toDto(createEntity(em));
+        SubTaskDTO subTaskDTOWithoutDescription = subTaskMapper.toDto(createEntity(em).description(null));
+        SubTaskDTO subTaskDTOWithId = subTaskMapper.toDto(createEntity(em));
+        subTaskDTOWithId.setId(1L);
+
+        // The whole request is rejected, with the errors of each invalid item
+        restSubTaskMockMvc
+            .perform(
+                post(ENTITY_BULK_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(validSubTaskDTO, subTaskDTOWithoutDescription, subTaskDTOWithId)))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].index").value(1))
+            .andExpect(jsonPath("$.[0].status").value(400))
+            .andExpect(jsonPath("$.[0].errors.[0].field").value("description"))
+            .andExpect(jsonPath("$.[1].index").value(2))
+            .andExpect(jsonPath("$.[1].errors.[0].message").value("idexists"));
+
+        assertThat(subTaskRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void bulkPartialUpdateSubTasks() throws Exception {
+        // Initialize the database
+        SubTask otherSubTask = createEntity(em);
+        subTaskRepository.saveAllAndFlush(List.of(subTask, otherSubTask));
+
+        SubTaskDTO partialUpdatedSubTask = new SubTaskDTO();
+        partialUpdatedSubTask.setId(subTask.getId());
+        partialUpdatedSubTask.setCost(UPDATED_COST);
+        SubTaskDTO otherPartialUpdatedSubTask = new SubTaskDTO();
+        otherPartialUpdatedSubTask.setId(otherSubTask.getId());
+        otherPartialUpdatedSubTask.setDeadline(UPDATED_DEADLINE);
+
+        restSubTaskMockMvc
+            .perform(
+                patch(ENTITY_BULK_API_URL)
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(partialUpdatedSubTask, otherPartialUpdatedSubTask)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[0].entity.cost").value(UPDATED_COST))
+            .andExpect(jsonPath("$.[1].entity.deadline").value(UPDATED_DEADLINE.toString()));
+
+        // Validate the SubTasks in the database, the fields left out keep their value
+        em.flush();
+        em.clear();
+        SubTask testSubTask = subTaskRepository.findById(subTask.getId()).orElseThrow();
+        assertThat(testSubTask.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+        assertThat(testSubTask.getCost()).isEqualTo(UPDATED_COST);
+        SubTask testOtherSubTask = subTaskRepository.findById(otherSubTask.getId()).orElseThrow();
+        assertThat(testOtherSubTask.getDeadline()).isEqualTo(UPDATED_DEADLINE);
+        assertThat(testOtherSubTask.getCost()).isEqualTo(DEFAULT_COST);
+    }
+
+    @Test
+    @Transactional
+    void bulkUpdateNonExistingSubTask() throws Exception {
+        // Initialize the database
+        subTaskRepository.saveAndFlush(subTask);
+
+        SubTaskDTO updatedSubTaskDTO = subTaskMapper.toDto(createUpdatedEntity(em));
+        updatedSubTaskDTO.setId(subTask.getId());
+        SubTaskDTO nonExistingSubTaskDTO = subTaskMapper.toDto(createUpdatedEntity(em));
+        nonExistingSubTaskDTO.setId(longCount.incrementAndGet());
+
+        restSubTaskMockMvc
+            .perform(
+                put(ENTITY_BULK_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(updatedSubTaskDTO, nonExistingSubTaskDTO)))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].index").value(1))
+            .andExpect(jsonPath("$.[0].status").value(404));
+
+        // Nothing is updated
+        em.clear();
+        assertThat(subTaskRepository.findById(subTask.getId()).orElseThrow().getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
+    }
+
     @Test
     @Transactional
     void deleteSubTask() throws Exception {
@@ -1001,6 +1223,7 @@ class SubTaskResourceIT {
         // Validate the database contains one less item
         List<SubTask> subTaskList = subTaskRepository.findAll();
         assertThat(subTaskList).hasSize(databaseSizeBeforeDelete - 1);
+        indexOutboxService.drain();
         int searchDatabaseSizeAfter = IterableUtil.sizeOf(subTaskSearchRepository.findAll());
         assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
     }
@@ -1014,7 +1237,7 @@ class SubTaskResourceIT {
 
         // Search the subTask
         restSubTaskMockMvc
-            .perform(get(ENTITY_SEARCH_API_URL + "?query=id:" + subTask.getId()))
+            .perform(get(ENTITY_SEARCH_API_URL + "?query=" + DEFAULT_DESCRIPTION))
             .andExpect(status().isOk())
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(subTask.getId().intValue())))